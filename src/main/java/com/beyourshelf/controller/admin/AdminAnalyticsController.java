@@ -0,0 +1,166 @@
+package com.beyourshelf.controller.admin;
+
+import javafx.collections.FXCollections;
+import javafx.fxml.FXML;
+import javafx.scene.chart.BarChart;
+import javafx.scene.chart.XYChart;
+import javafx.scene.control.*;
+import javafx.scene.control.cell.PropertyValueFactory;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import com.beyourshelf.model.dao.analytics.ISalesAnalyticsDAO.Granularity;
+import com.beyourshelf.model.entity.BookSales;
+import com.beyourshelf.model.entity.SalesPeriod;
+import com.beyourshelf.service.ServiceManager;
+import com.beyourshelf.service.analytics.ISalesAnalyticsServiceAsync;
+import com.beyourshelf.utils.ui.FxThread;
+import com.beyourshelf.utils.ui.UIUtils;
+
+/**
+ * Controller for the sales analytics view in the admin panel.
+ * Shows revenue per day, week or month and the best-selling books for a date
+ * range, read from the daily sales rollup.
+ */
+public class AdminAnalyticsController {
+
+    private static final int TOP_BOOKS_LIMIT = 20; // Number of books shown in the best-sellers table
+
+    @FXML
+    private DatePicker fromDatePicker; // First day of the reported range
+
+    @FXML
+    private DatePicker toDatePicker; // Last day of the reported range
+
+    @FXML
+    private ComboBox<String> granularityComboBox; // Grouping of the revenue chart
+
+    @FXML
+    private BarChart<String, Number> revenueChart; // Chart of revenue per period
+
+    @FXML
+    private Label summaryLabel; // Total copies and revenue of the range
+
+    @FXML
+    private TableView<BookSales> topBooksTableView; // Best-selling books of the range
+
+    @FXML
+    private TableColumn<BookSales, Integer> bookIdColumn; // Column for book ID
+
+    @FXML
+    private TableColumn<BookSales, String> bookTitleColumn; // Column for book title
+
+    @FXML
+    private TableColumn<BookSales, Integer> copiesSoldColumn; // Column for copies sold
+
+    @FXML
+    private TableColumn<BookSales, Double> revenueColumn; // Column for revenue
+
+    // Service for reading the sales rollup off the FX thread
+    private final ISalesAnalyticsServiceAsync analyticsService = ServiceManager.getInstance()
+            .getSalesAnalyticsServiceAsync();
+
+    private int latestLoad; // Number of the latest load, so results of older ranges are ignored
+
+    /**
+     * Initializes the view with the last 30 days grouped by day.
+     */
+    @FXML
+    public void initialize() {
+        bookIdColumn.setCellValueFactory(new PropertyValueFactory<>("bookId"));
+        bookTitleColumn.setCellValueFactory(new PropertyValueFactory<>("title"));
+        copiesSoldColumn.setCellValueFactory(new PropertyValueFactory<>("copiesSold"));
+        revenueColumn.setCellValueFactory(new PropertyValueFactory<>("revenue"));
+
+        granularityComboBox.setItems(FXCollections.observableArrayList("Day", "Week", "Month"));
+        granularityComboBox.setValue("Day");
+        toDatePicker.setValue(LocalDate.now());
+        fromDatePicker.setValue(LocalDate.now().minusDays(29));
+
+        loadAnalytics();
+        UIUtils.loadCSS(topBooksTableView, "/com/beyourshelf/css/table-style.css");
+    }
+
+    /**
+     * Reloads the chart and the best-sellers table for the selected range. Both
+     * queries run at the same time and the view is updated once both return.
+     */
+    @FXML
+    public void loadAnalytics() {
+        LocalDate from = fromDatePicker.getValue();
+        LocalDate to = toDatePicker.getValue();
+        if (from == null || to == null) {
+            UIUtils.showError("Invalid Range", "Please select both a start and an end date.");
+            return;
+        }
+
+        int load = ++latestLoad;
+        CompletableFuture<List<SalesPeriod>> periods = analyticsService.getRevenueByPeriod(from, to,
+                toGranularity(granularityComboBox.getValue()));
+        CompletableFuture<List<BookSales>> topBooks = analyticsService.getTopBooks(from, to, TOP_BOOKS_LIMIT);
+        FxThread.onSuccess(periods.thenCombine(topBooks, (_, _) -> load), _ -> {
+            if (load == latestLoad) {
+                showAnalytics(periods.join(), topBooks.join()); // Both are complete here
+            }
+        }, "Failed to load sales data.");
+    }
+
+    /**
+     * Shows the revenue chart and the best-sellers table.
+     *
+     * @param periods  The sales per period.
+     * @param topBooks The best-selling books.
+     */
+    private void showAnalytics(List<SalesPeriod> periods, List<BookSales> topBooks) {
+        XYChart.Series<String, Number> series = new XYChart.Series<>();
+        series.setName("Revenue");
+        int totalCopies = 0;
+        double totalRevenue = 0;
+        for (SalesPeriod period : periods) {
+            series.getData().add(new XYChart.Data<>(period.getPeriod(), period.getRevenue()));
+            totalCopies += period.getCopiesSold();
+            totalRevenue += period.getRevenue();
+        }
+        revenueChart.getData().setAll(List.of(series));
+        summaryLabel.setText(String.format("%d copies sold, $%.2f revenue", totalCopies, totalRevenue));
+
+        topBooksTableView.getItems().setAll(topBooks);
+    }
+
+    /**
+     * Rebuilds the sales rollup from the order history and reloads the view.
+     */
+    @FXML
+    public void handleRebuildRollup() {
+        boolean confirm = UIUtils.showConfirmation("Rebuild Sales Data",
+                "Recalculate all sales figures from the order history?");
+        if (!confirm) {
+            return;
+        }
+        FxThread.onSuccess(analyticsService.rebuildRollup(), rebuilt -> {
+            if (rebuilt) {
+                loadAnalytics();
+                UIUtils.showAlert("Success", "Sales data rebuilt from the order history.");
+            } else {
+                UIUtils.showError("Error", "Failed to rebuild sales data.");
+            }
+        }, "Failed to rebuild sales data.");
+    }
+
+    /**
+     * Maps the selected grouping option to the rollup granularity.
+     *
+     * @param option The selected option (Day, Week or Month).
+     * @return The matching granularity, by day if nothing is selected.
+     */
+    private Granularity toGranularity(String option) {
+        if ("Week".equals(option)) {
+            return Granularity.WEEK;
+        } else if ("Month".equals(option)) {
+            return Granularity.MONTH;
+        }
+        return Granularity.DAY;
+    }
+}
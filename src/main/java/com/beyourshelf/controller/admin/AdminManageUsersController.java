@@ -1,24 +1,32 @@
 package com.beyourshelf.controller.admin;
 
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.geometry.Pos;
 import javafx.scene.control.Button;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableCell;
+import javafx.scene.control.TableRow;
 import javafx.scene.control.TableView;
 import javafx.scene.control.TextField;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.HBox;
+import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 import javafx.util.Callback;
 
-import java.util.List;
-import java.util.stream.Collectors;
+import java.io.File;
+import java.nio.file.Path;
 
+import com.beyourshelf.model.dao.user.UserPage;
 import com.beyourshelf.model.entity.User;
+import com.beyourshelf.model.entity.UserImportResult;
 import com.beyourshelf.service.ServiceManager;
 import com.beyourshelf.service.user.IUserService;
+import com.beyourshelf.service.user.IUserServiceAsync;
+import com.beyourshelf.utils.ui.FxThread;
 import com.beyourshelf.utils.ui.UIUtils;
 
 /**
@@ -48,11 +56,26 @@ public class AdminManageUsersController {
     @FXML
     private TextField searchField; // Input field for searching users
 
+    @FXML
+    private Button importUsersButton; // Button for importing users from CSV, disabled during an import
+
     // Service for handling user-related operations
     private final IUserService userService = ServiceManager.getInstance().getUserService();
 
-    // List to hold all user data loaded from the database
-    private List<User> allUsers;
+    // Runs user imports on the shared service executor, off the JavaFX thread
+    private final IUserServiceAsync userServiceAsync = ServiceManager.getInstance().getUserServiceAsync();
+
+    private static final int PAGE_SIZE = 50; // Users fetched per page
+    private static final int PREFETCH_ROWS = 10; // Fetch the next page when this close to the end
+
+    // Users fetched so far for the current search, shown in the table
+    private final ObservableList<User> loadedUsers = FXCollections.observableArrayList();
+
+    // The search shown in the table, empty for every regular user
+    private String currentSearch = "";
+
+    // The last page fetched, or null when every matching user has been loaded
+    private UserPage lastPage;
 
     /**
      * Initializes the controller by setting up the table columns, loading the
@@ -62,7 +85,8 @@ public class AdminManageUsersController {
     public void initialize() {
         setupTableColumns(); // Setup table column mappings
         addActionButtonsToTable(); // Add action buttons to the table
-        loadUsers(); // Load users into the table on initialization
+        setupLazyLoading(); // Fetch further pages as the admin scrolls
+        loadUsers(""); // Load the first page of users on initialization
         applyStyles(); // Apply custom CSS styles
     }
 
@@ -135,61 +159,111 @@ public class AdminManageUsersController {
     }
 
     /**
-     * Fetches the user data from the database and loads it into the table view.
-     * Filters out admin users.
+     * Makes the table fetch the next page whenever a row near the end of the
+     * loaded users is rendered. Only visible rows are rendered, so pages are
+     * fetched as the admin scrolls down.
      */
-    private void loadUsers() {
-        allUsers = userService.getAllUsers()
-                .stream()
-                .filter(user -> !user.isAdmin()) // Filter out admin users from the list
-                .collect(Collectors.toList());
-
-        updateTableView(allUsers); // Update the table view with the user list
+    private void setupLazyLoading() {
+        userTableView.setItems(loadedUsers);
+        userTableView.setRowFactory(_ -> new TableRow<>() {
+            @Override
+            protected void updateItem(User user, boolean empty) {
+                super.updateItem(user, empty);
+                if (!empty && lastPage != null && getIndex() >= loadedUsers.size() - PREFETCH_ROWS) {
+                    // Defer the fetch so the items are not changed during layout
+                    Platform.runLater(AdminManageUsersController.this::loadNextPage);
+                }
+            }
+        });
     }
 
     /**
-     * Updates the table view with the provided list of users.
+     * Replaces the table contents with the first page of regular users matching
+     * the search. Admin users are filtered out by the query.
      *
-     * @param users The list of users to display in the table.
+     * @param search A username prefix or user ID, or empty for every user.
+     * @return true if at least one user matches.
      */
-    private void updateTableView(List<User> users) {
-        userTableView.setItems(FXCollections.observableArrayList(users));
+    private boolean loadUsers(String search) {
+        currentSearch = search;
+        loadedUsers.clear();
+        lastPage = null;
+        UserPage page = userService.searchUsers(search, null, PAGE_SIZE);
+        loadedUsers.addAll(page.getUsers());
+        lastPage = page.hasMore() ? page : null;
+        return !page.getUsers().isEmpty();
     }
 
     /**
-     * Handles the search operation by filtering users based on the search query.
-     * If the search field is empty, all users are displayed again.
+     * Appends the next page of users to the table, if there is one.
+     */
+    private void loadNextPage() {
+        if (lastPage == null) {
+            return; // Every matching user is already loaded
+        }
+        UserPage previous = lastPage;
+        lastPage = null; // Prevents fetching the same page twice
+        UserPage page = userService.searchUsers(currentSearch, previous, PAGE_SIZE);
+        loadedUsers.addAll(page.getUsers());
+        lastPage = page.hasMore() ? page : null;
+    }
+
+    /**
+     * Handles the search operation by showing the users whose username starts
+     * with the query, ignoring case, or whose ID equals it. If the search field
+     * is empty, all users are displayed again.
      */
     @FXML
     public void handleSearchUser() {
-        String query = searchField.getText().trim().toLowerCase();
+        String query = searchField.getText().trim();
+        if (!loadUsers(query) && !query.isEmpty()) {
+            UIUtils.showError("Search Error", "No matching users found.");
+        }
+    }
 
-        // If no search query is provided, show all users
-        if (query.isEmpty()) {
-            updateTableView(allUsers);
+    /**
+     * Imports users from a CSV file chosen by the admin. The import hashes every
+     * password, so it runs in the background; rows that cannot be imported are
+     * written to a reject file next to the chosen file.
+     */
+    @FXML
+    public void handleImportUsers() {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Import Users from CSV");
+        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV Files", "*.csv"));
+        File file = fileChooser.showOpenDialog(importUsersButton.getScene().getWindow());
+        if (file == null) {
             return;
         }
 
-        // Filter users based on the query
-        List<User> filteredUsers = filterUsers(query);
-        if (filteredUsers.isEmpty()) {
-            UIUtils.showError("Search Error", "No matching users found.");
-        } else {
-            updateTableView(filteredUsers); // Show filtered results
-        }
+        Path csvFile = file.toPath();
+        Path rejectFile = csvFile.resolveSibling(file.getName().replaceFirst("\\.csv$", "") + "-rejects.csv");
+        importUsersButton.setDisable(true);
+        FxThread.onComplete(userServiceAsync.importUsers(csvFile, rejectFile),
+                result -> showImportResult(result, rejectFile), error -> {
+                    System.err.println("User import failed: " + error);
+                    showImportResult(null, rejectFile); // Re-enables the button and reports the failure
+                });
     }
 
     /**
-     * Filters users by their ID or username.
+     * Shows the outcome of a user import and reloads the table.
      *
-     * @param query The search query entered by the admin.
-     * @return A list of users matching the query.
+     * @param result     The summary of the import, or null if it failed.
+     * @param rejectFile The file holding the rejected rows.
      */
-    private List<User> filterUsers(String query) {
-        return allUsers.stream()
-                .filter(user -> String.valueOf(user.getId()).equals(query) ||
-                        user.getUsername().toLowerCase().contains(query))
-                .collect(Collectors.toList());
+    private void showImportResult(UserImportResult result, Path rejectFile) {
+        importUsersButton.setDisable(false);
+        if (result == null) {
+            UIUtils.showError("Import Failed", "The file could not be imported.");
+            return;
+        }
+        String message = result.getImported() + " users imported.";
+        if (result.getRejected() > 0) {
+            message += "\n" + result.getRejected() + " rows rejected, see " + rejectFile;
+        }
+        UIUtils.showAlert("Import Complete", message);
+        loadUsers(currentSearch);
     }
 
     /**
@@ -235,7 +309,7 @@ public class AdminManageUsersController {
         boolean success = userService.deleteUser(user.getId());
         if (success) {
             UIUtils.showAlert("Success", "User removed successfully.");
-            loadUsers(); // Reload the updated list of users after deletion
+            loadedUsers.remove(user); // Drop the row without refetching the loaded pages
         } else {
             UIUtils.showError("Error", "Failed to remove user.");
         }
@@ -1,6 +1,8 @@
 package com.beyourshelf.controller.admin;
 
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
@@ -9,11 +11,17 @@ import javafx.util.Callback;
 
 import java.io.File;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
+import com.beyourshelf.model.dao.order.OrderPage;
+import com.beyourshelf.model.dao.order.OrderQuery;
 import com.beyourshelf.model.entity.Order;
 import com.beyourshelf.service.ServiceManager;
+import com.beyourshelf.service.order.IOrderArchiveService;
+import com.beyourshelf.service.order.IOrderArchiveServiceAsync;
 import com.beyourshelf.service.order.IOrderService;
+import com.beyourshelf.utils.ui.FxThread;
 import com.beyourshelf.utils.ui.UIUtils;
 
 /**
@@ -46,17 +54,36 @@ public class AdminOrderController {
     @FXML
     private TextField filterUserIdField; // Input field for filtering orders by user ID
 
+    @FXML
+    private TextField filterOrderNumberField; // Input field for filtering orders by order number prefix
+
     @FXML
     private ComboBox<String> sortComboBox; // Combo box for sorting options
 
     @FXML
     private Button exportOrdersButton; // Button for exporting orders to CSV
 
+    @FXML
+    private Button archiveOrdersButton; // Button for archiving old orders
+
     // Injected service for handling order-related operations
     private final IOrderService orderService = ServiceManager.getInstance().getOrderService();
 
-    // List to store all fetched orders
-    private List<Order> allOrders;
+    // Injected service for archiving and looking up old orders
+    private final IOrderArchiveService orderArchiveService = ServiceManager.getInstance().getOrderArchiveService();
+
+    // Runs the archive off the JavaFX thread, since it moves orders in many batches
+    private final IOrderArchiveServiceAsync orderArchiveServiceAsync = ServiceManager.getInstance()
+            .getOrderArchiveServiceAsync();
+
+    private static final int PAGE_SIZE = 50; // Orders fetched per page
+    private static final int PREFETCH_ROWS = 10; // Fetch the next page when this close to the end
+
+    // Orders fetched so far for the current filter, shown in the table
+    private final ObservableList<Order> loadedOrders = FXCollections.observableArrayList();
+
+    // Query for the next page, or null when every matching order has been loaded
+    private OrderQuery nextPageQuery;
 
     /**
      * Initializes the controller by setting up table columns, action buttons, and
@@ -67,7 +94,8 @@ public class AdminOrderController {
         setupTableColumns(); // Initialize table column mappings
         setupActionButtons(); // Add action buttons (Remove) to the table
         setupSortComboBox(); // Setup sorting options in the ComboBox
-        loadOrders(); // Load all orders during initialization
+        setupLazyLoading(); // Fetch further pages as the admin scrolls
+        loadOrders(new OrderQuery()); // Load the first page of orders during initialization
         UIUtils.loadCSS(orderTableView, "/com/beyourshelf/css/table-style.css");
     }
 
@@ -126,62 +154,108 @@ public class AdminOrderController {
     }
 
     /**
-     * Loads all orders from the order service and displays them in the table view.
+     * Makes the table fetch the next page whenever a row near the end of the
+     * loaded orders is rendered. Only visible rows are rendered, so pages are
+     * fetched as the admin scrolls down.
      */
-    private void loadOrders() {
-        allOrders = orderService.getAllOrders();
-        updateTableView(allOrders); // Display the fetched orders in the table
+    private void setupLazyLoading() {
+        orderTableView.setItems(loadedOrders);
+        orderTableView.setRowFactory(_ -> new TableRow<>() {
+            {
+                // Double-clicking a row shows its items, fetched on demand
+                setOnMouseClicked(event -> {
+                    if (event.getClickCount() == 2 && !isEmpty()) {
+                        showOrderItems(getItem());
+                    }
+                });
+            }
+
+            @Override
+            protected void updateItem(Order order, boolean empty) {
+                super.updateItem(order, empty);
+                if (!empty && nextPageQuery != null && getIndex() >= loadedOrders.size() - PREFETCH_ROWS) {
+                    // Defer the fetch so the items are not changed during layout
+                    Platform.runLater(AdminOrderController.this::loadNextPage);
+                }
+            }
+        });
     }
 
     /**
-     * Applies filter and sorting to the list of orders based on user input.
+     * Shows the items of an order in a dialog. Items are not part of the table
+     * pages, so they are fetched here, from the service cache when possible.
+     *
+     * @param order The order whose items are shown.
      */
-    @FXML
-    public void applyFilterAndSort() {
-        List<Order> filteredOrders = applyFilter(allOrders, filterUserIdField.getText().trim()); // Apply user ID filter
-        List<Order> sortedOrders = applySort(filteredOrders, sortComboBox.getValue()); // Apply selected sort option
-        updateTableView(sortedOrders); // Update the table view with the filtered and sorted orders
+    private void showOrderItems(Order order) {
+        StringBuilder itemDetails = new StringBuilder();
+        orderService.getOrderItems(order.getOrderId()).forEach(item -> itemDetails.append(
+                String.format("%s (x%d): $%.2f%n", item.getTitle(), item.getQuantity(), item.getPrice())));
+        UIUtils.showAlert("Order #" + order.getOrderNumber(),
+                itemDetails.length() > 0 ? itemDetails.toString() : "No items found.");
     }
 
     /**
-     * Filters orders based on the user ID provided in the input field.
+     * Replaces the table contents with the first page of orders matching the
+     * query.
      *
-     * @param orders       The list of orders to filter.
-     * @param userIdFilter The user ID filter input.
-     * @return A filtered list of orders that match the user ID.
+     * @param query The filters and sort order to apply.
      */
-    private List<Order> applyFilter(List<Order> orders, String userIdFilter) {
-        if (userIdFilter.isEmpty()) {
-            return orders; // If no filter is provided, return the original list
+    private void loadOrders(OrderQuery query) {
+        query.setPageSize(PAGE_SIZE);
+        loadedOrders.clear();
+        nextPageQuery = query;
+        loadNextPage();
+    }
+
+    /**
+     * Appends the next page of orders to the table, if there is one.
+     */
+    private void loadNextPage() {
+        if (nextPageQuery == null) {
+            return; // Every matching order is already loaded
         }
-        return orders.stream()
-                .filter(order -> String.valueOf(order.getUserId()).equals(userIdFilter))
-                .collect(Collectors.toList());
+        OrderQuery query = nextPageQuery;
+        nextPageQuery = null; // Prevents fetching the same page twice
+        OrderPage page = orderService.findOrders(query);
+        loadedOrders.addAll(page.getOrders());
+        nextPageQuery = page.nextQuery();
     }
 
     /**
-     * Sorts the filtered list of orders based on the selected sort option.
-     *
-     * @param orders     The list of orders to sort.
-     * @param sortOption The selected sorting criterion (Order Date or Total Price).
-     * @return A sorted list of orders.
+     * Applies the filters and sort option entered by the admin. Filtering and
+     * sorting are done by the database, one page at a time.
      */
-    private List<Order> applySort(List<Order> orders, String sortOption) {
-        if ("Order Date".equals(sortOption)) {
-            orders.sort((o1, o2) -> o2.getOrderDate().compareTo(o1.getOrderDate()));
-        } else if ("Total Price".equals(sortOption)) {
-            orders.sort((o1, o2) -> Double.compare(o2.getTotalPrice(), o1.getTotalPrice()));
+    @FXML
+    public void applyFilterAndSort() {
+        OrderQuery query = new OrderQuery();
+
+        String userIdFilter = filterUserIdField.getText().trim();
+        if (!userIdFilter.isEmpty()) {
+            try {
+                query.setUserId(Integer.parseInt(userIdFilter));
+            } catch (NumberFormatException e) {
+                UIUtils.showError("Invalid Filter", "User ID must be a number.");
+                return;
+            }
         }
-        return orders;
+        query.setOrderNumberPrefix(filterOrderNumberField.getText());
+        query.setSortField(toSortField(sortComboBox.getValue()));
+
+        loadOrders(query);
     }
 
     /**
-     * Updates the table view with the provided list of orders.
+     * Maps the selected sort option to the sort field of the query.
      *
-     * @param orders The list of orders to display.
+     * @param sortOption The selected sorting criterion (Order Date or Total Price).
+     * @return The matching sort field, by order date if nothing is selected.
      */
-    private void updateTableView(List<Order> orders) {
-        orderTableView.setItems(FXCollections.observableArrayList(orders));
+    private OrderQuery.SortField toSortField(String sortOption) {
+        if ("Total Price".equals(sortOption)) {
+            return OrderQuery.SortField.TOTAL_PRICE;
+        }
+        return OrderQuery.SortField.ORDER_DATE;
     }
 
     /**
@@ -226,6 +300,105 @@ public class AdminOrderController {
         }
     }
 
+    /**
+     * Handles the removal of all selected orders, in a single transaction unless
+     * they span more than eight closed months.
+     */
+    @FXML
+    public void handleRemoveSelectedOrders() {
+        List<Order> selectedOrders = List.copyOf(orderTableView.getSelectionModel().getSelectedItems());
+
+        if (selectedOrders.isEmpty()) {
+            UIUtils.showError("No Selection", "Please select at least one order to remove.");
+            return;
+        }
+
+        boolean confirm = UIUtils.showConfirmation("Confirm Deletion",
+                "Are you sure you want to remove " + selectedOrders.size() + " orders?");
+        if (confirm) {
+            List<Integer> orderIds = selectedOrders.stream().map(Order::getOrderId).collect(Collectors.toList());
+            if (orderService.deleteOrders(orderIds)) {
+                UIUtils.showAlert("Success", selectedOrders.size() + " orders removed successfully!");
+                loadedOrders.removeAll(selectedOrders);
+            } else {
+                // A selection spanning many months is removed in groups, so part of it may be gone
+                UIUtils.showError("Error", "Failed to remove some or all of the selected orders. "
+                        + "The table has been reloaded to show the orders that remain.");
+                applyFilterAndSort();
+            }
+        }
+    }
+
+    /**
+     * Moves orders older than the number of days entered by the admin into the
+     * archive database, then reloads the table. The button stays disabled until
+     * the archive finishes.
+     */
+    @FXML
+    public void handleArchiveOldOrders() {
+        TextInputDialog dialog = new TextInputDialog("365");
+        dialog.setTitle("Archive Old Orders");
+        dialog.setHeaderText("Orders older than this many days will be moved to the archive.");
+        dialog.setContentText("Days:");
+        Optional<String> input = dialog.showAndWait();
+        if (input.isEmpty()) {
+            return;
+        }
+
+        int days;
+        try {
+            days = Integer.parseInt(input.get().trim());
+        } catch (NumberFormatException e) {
+            UIUtils.showError("Invalid Input", "Please enter a whole number of days.");
+            return;
+        }
+        if (days < 0) {
+            UIUtils.showError("Invalid Input", "The number of days cannot be negative.");
+            return;
+        }
+
+        archiveOrdersButton.setDisable(true);
+        FxThread.onComplete(orderArchiveServiceAsync.archiveOrdersOlderThan(days), archived -> {
+            archiveOrdersButton.setDisable(false);
+            UIUtils.showAlert("Archive Complete", archived + " orders moved to the archive.");
+            applyFilterAndSort();
+        }, error -> {
+            archiveOrdersButton.setDisable(false);
+            System.err.println("Failed to archive old orders. " + error);
+            UIUtils.showError("Error", "Failed to archive old orders. " + error.getMessage());
+            applyFilterAndSort(); // Batches archived before the failure are gone from the table
+        });
+    }
+
+    /**
+     * Looks up an archived order by the order number entered by the admin.
+     */
+    @FXML
+    public void handleSearchArchive() {
+        TextInputDialog dialog = new TextInputDialog();
+        dialog.setTitle("Search Archive");
+        dialog.setHeaderText("Look up an archived order.");
+        dialog.setContentText("Order number:");
+        Optional<String> input = dialog.showAndWait();
+        if (input.isEmpty() || input.get().isBlank()) {
+            return;
+        }
+
+        Optional<Order> archived = orderArchiveService.findArchivedOrder(input.get().trim());
+        if (archived.isEmpty()) {
+            UIUtils.showError("Not Found", "No archived order with number " + input.get().trim() + ".");
+            return;
+        }
+
+        Order order = archived.get();
+        StringBuilder details = new StringBuilder();
+        details.append(String.format("User ID: %d%nDate: %s%nTotal: $%.2f%n%n",
+                order.getUserId(), order.getOrderDate(), order.getTotalPrice()));
+        order.getOrderItems().forEach(item -> details.append(
+                String.format("%s (x%d): $%.2f%n", item.getTitle(), item.getQuantity(), item.getPrice())));
+        UIUtils.showAlert("Archived Order #" + order.getOrderNumber(), details.toString());
+    }
+
     /**
      * Handles the removal of a specific order from the system.
      *
@@ -242,7 +415,7 @@ public class AdminOrderController {
             boolean success = orderService.deleteOrderById(order.getOrderId());
             if (success) {
                 UIUtils.showAlert("Success", "Order removed successfully!");
-                loadOrders(); // Reload the table after successful deletion
+                loadedOrders.remove(order); // The keyset cursor is unaffected, so no reload is needed
             } else {
                 UIUtils.showError("Error", "Failed to remove order. Order may not exist or there was an issue.");
             }
@@ -2,6 +2,7 @@ package com.beyourshelf.controller.admin;
 
 import com.beyourshelf.controller.common.LoginController;
 import com.beyourshelf.controller.user.EditProfileController;
+import com.beyourshelf.model.entity.Session;
 import com.beyourshelf.service.ServiceManager;
 import com.beyourshelf.utils.auth.SessionManager;
 import com.beyourshelf.utils.ui.UIUtils;
@@ -78,6 +79,15 @@ public class AdminSidebarController {
         loadSceneWithoutData("/com/beyourshelf/fxml/admin/admin_manage_orders.fxml", "Manage All Orders");
     }
 
+    /**
+     * Handles the "Sales Analytics" button click event.
+     * Loads the Sales Analytics view.
+     */
+    @FXML
+    public void handleViewAnalytics() {
+        loadSceneWithoutData("/com/beyourshelf/fxml/admin/admin_analytics.fxml", "Sales Analytics");
+    }
+
     /**
      * Handles the "Manage Users" button click event.
      * Loads the Manage Users view.
@@ -106,7 +116,11 @@ public class AdminSidebarController {
      */
     @FXML
     public void handleLogout() {
-        // Clear the session when logging out
+        // Close the session when logging out
+        Session session = SessionManager.getInstance().getCurrentSession();
+        if (session != null) {
+            serviceManager.getSessionService().closeSession(session.getToken());
+        }
         SessionManager.getInstance().clearSession();
         UIUtils.loadSceneWithData("/com/beyourshelf/fxml/common/login.fxml", getCurrentStage(), "Login",
                 controller -> {
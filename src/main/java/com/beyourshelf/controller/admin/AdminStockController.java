@@ -13,6 +13,7 @@ import java.util.List;
 import com.beyourshelf.model.entity.Book;
 import com.beyourshelf.service.ServiceManager;
 import com.beyourshelf.service.book.IBookService;
+import com.beyourshelf.service.inventory.IInventoryService;
 import com.beyourshelf.utils.ui.UIUtils;
 
 /**
@@ -57,6 +58,9 @@ public class AdminStockController {
     // Service for handling book-related operations
     private final IBookService bookService = ServiceManager.getInstance().getBookService();
 
+    // Service for keeping inventory state in sync with manual stock changes
+    private final IInventoryService inventoryService = ServiceManager.getInstance().getInventoryService();
+
     /**
      * Initializes the controller by setting up the table and loading books.
      */
@@ -148,6 +152,7 @@ public class AdminStockController {
             AdminEditBookController editBookController = (AdminEditBookController) controller;
             editBookController.setBook(book);
         }, (Stage) bookTableView.getScene().getWindow());
+        inventoryService.refreshStock(book.getBookId()); // Stock may have been edited in the modal
         loadBooks();
     }
 
@@ -204,6 +209,7 @@ public class AdminStockController {
 
             boolean success = bookService.updatePhysicalCopies(bookId, newStock);
             if (success) {
+                inventoryService.refreshStock(bookId); // Keep cached stock in line with the new value
                 UIUtils.showAlert("Success", "Stock updated successfully!");
                 loadBooks(); // Reload the book list after stock update
             } else {
@@ -1,20 +1,19 @@
 package com.beyourshelf.controller.common;
 
+import javafx.application.Platform;
 import javafx.fxml.FXML;
+import javafx.scene.control.Button;
 import javafx.scene.control.PasswordField;
 import javafx.scene.control.TextField;
 import javafx.scene.image.ImageView;
 import javafx.stage.Stage;
 
-import java.util.Optional;
-
 import com.beyourshelf.controller.user.UserDashboardController;
-import com.beyourshelf.model.entity.Book;
+import com.beyourshelf.model.entity.LoginResult;
+import com.beyourshelf.model.entity.Session;
 import com.beyourshelf.model.entity.ShoppingCart;
 import com.beyourshelf.model.entity.User;
 import com.beyourshelf.service.ServiceManager;
-import com.beyourshelf.service.book.IBookService;
-import com.beyourshelf.service.cart.ICartService;
 import com.beyourshelf.service.user.IUserService;
 import com.beyourshelf.utils.auth.SessionManager;
 import com.beyourshelf.utils.ui.UIUtils;
@@ -31,6 +30,9 @@ public class LoginController {
     @FXML
     private PasswordField passwordField; // Input field for the password
 
+    @FXML
+    private Button loginButton; // Sign-in button, disabled while a login is in progress
+
     private IUserService userService; // Service for user-related operations
 
     @FXML
@@ -57,8 +59,9 @@ public class LoginController {
 
     /**
      * Handles the login button action.
-     * Validates the input fields, checks user credentials, and redirects users
-     * based on their roles.
+     * Validates the input fields, then checks the credentials in the background
+     * and redirects users based on their roles once the result comes back. The
+     * form is disabled while the check runs.
      */
     @FXML
     public void handleLogin() {
@@ -73,14 +76,36 @@ public class LoginController {
         if (!validateInputFields(username, password))
             return;
 
-        // Check if the credentials are valid and proceed accordingly
-        if (userService.validateUserLogin(username, password)) {
-            processSuccessfulLogin(username); // Handle login success
+        setFormDisabled(true);
+        userService.loginAsync(username, password)
+                .thenAccept(result -> Platform.runLater(() -> handleLoginResult(result)));
+    }
+
+    /**
+     * Handles the result of a login attempt on the JavaFX thread.
+     *
+     * @param result The result of the login attempt.
+     */
+    private void handleLoginResult(LoginResult result) {
+        setFormDisabled(false);
+        if (result.isSuccess()) {
+            processSuccessfulLogin(result); // Handle login success
         } else {
-            UIUtils.showError("Login Failed", "Invalid username or password.");
+            UIUtils.showError("Login Failed", result.getMessage());
         }
     }
 
+    /**
+     * Enables or disables the login form, so a login cannot be submitted twice.
+     *
+     * @param disabled true to disable the form, false to enable it.
+     */
+    private void setFormDisabled(boolean disabled) {
+        usernameField.setDisable(disabled);
+        passwordField.setDisable(disabled);
+        loginButton.setDisable(disabled);
+    }
+
     /**
      * Checks if the user service is initialized.
      *
@@ -112,31 +137,31 @@ public class LoginController {
      * Processes successful login by setting session data and redirecting the user
      * based on their role.
      *
-     * @param username The username of the successfully authenticated user.
+     * @param result The result of the successful login.
      */
-    private void processSuccessfulLogin(String username) {
-        // Retrieve user details based on username
-        Optional<User> userOptional = userService.getUserByUsername(username);
-        userOptional.ifPresent(user -> {
-            setSessionData(user); // Set session details
-
-            // Redirect to appropriate dashboard based on user role (admin or regular user)
-            if (userService.isAdminUser(username)) {
-                redirectToAdminDashboard(user);
-            } else {
-                initializeUserDashboard(user);
-            }
-        });
+    private void processSuccessfulLogin(LoginResult result) {
+        User user = result.getUser();
+        Session session = openSession(result); // Open the session and bind this window to it
+
+        // Redirect to appropriate dashboard based on user role (admin or regular user)
+        if (result.isAdmin()) {
+            redirectToAdminDashboard(user);
+        } else {
+            initializeUserDashboard(user, session.getShoppingCart());
+        }
     }
 
     /**
-     * Sets user details in the session after successful login.
+     * Opens a session for the logged-in user and makes it the session of this
+     * window.
      *
-     * @param user The logged-in user.
+     * @param result The successful login result.
+     * @return The new session.
      */
-    private void setSessionData(User user) {
-        SessionManager.getInstance().setUserDetails(user.getId(), user.getUsername(), user.getFirstName(),
-                user.getLastName());
+    private Session openSession(LoginResult result) {
+        Session session = ServiceManager.getInstance().getSessionService().openDesktopSession(result);
+        SessionManager.getInstance().setCurrentSession(session);
+        return session;
     }
 
     /**
@@ -154,14 +179,11 @@ public class LoginController {
      * Initializes the user dashboard for regular users by setting up their shopping
      * cart and loading the dashboard view.
      *
-     * @param user The logged-in regular user.
+     * @param user         The logged-in regular user.
+     * @param shoppingCart The user's cart, already loaded during login and held
+     *                     by the session.
      */
-    private void initializeUserDashboard(User user) {
-        // Create a new shopping cart for the user and set it in the session
-        ShoppingCart shoppingCart = createShoppingCart(user);
-
-        // Store the cart in the session
-        SessionManager.getInstance().setShoppingCart(shoppingCart);
+    private void initializeUserDashboard(User user, ShoppingCart shoppingCart) {
         UIUtils.loadSceneWithData("/com/beyourshelf/fxml/user/user_dashboard.fxml", getStage(), "User Dashboard",
                 controller -> {
                     UserDashboardController userController = (UserDashboardController) controller;
@@ -171,28 +193,6 @@ public class LoginController {
                 });
     }
 
-    /**
-     * Creates a shopping cart for the user by retrieving their cart items from the
-     * cart service.
-     *
-     * @param user The logged-in user.
-     * @return A ShoppingCart object populated with the user's items.
-     */
-    private ShoppingCart createShoppingCart(User user) {
-        ICartService cartService = ServiceManager.getInstance().getCartService(); // Get cart service through
-                                                                                  // ServiceManager
-        IBookService bookService = ServiceManager.getInstance().getBookService(); // Get book service through
-                                                                                  // ServiceManager
-        int cartId = cartService.getOrCreateCart(user.getId()); // Get or create cart for the user
-        ShoppingCart shoppingCart = new ShoppingCart(user.getId(), cartId); // Pass both user ID and cart ID
-        // Populate the shopping cart with items
-        cartService.getCartItems(cartId).forEach(item -> {
-            Book book = bookService.findBookById(item.getBookId());
-            shoppingCart.addBook(book, item.getQuantity());
-        });
-        return shoppingCart;
-    }
-
     /**
      * Handles the registration button click event, loading the registration screen.
      */
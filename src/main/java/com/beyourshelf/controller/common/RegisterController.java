@@ -4,6 +4,7 @@ import com.beyourshelf.service.user.IUserService;
 import com.beyourshelf.utils.ui.UIUtils;
 
 import javafx.fxml.FXML;
+import javafx.scene.control.Label;
 import javafx.scene.control.PasswordField;
 import javafx.scene.control.TextField;
 import javafx.scene.image.ImageView;
@@ -19,6 +20,9 @@ public class RegisterController {
     @FXML
     private TextField usernameField; // TextField for entering the username
 
+    @FXML
+    private Label usernameStatusLabel; // Label showing whether the username is available
+
     @FXML
     private TextField firstNameField; // TextField for entering the first name
 
@@ -49,6 +53,28 @@ public class RegisterController {
     public void initialize() {
         // Use helper method in UIUtils to load and set the image
         UIUtils.loadImage(imageView, "/com/beyourshelf/assets/images/Library.jpg");
+
+        // Report availability as the user types, from the in-memory username index
+        usernameField.textProperty().addListener((_, _, text) -> updateUsernameStatus(text.trim()));
+    }
+
+    /**
+     * Shows whether the entered username is available. The check uses the
+     * service's username index, so it does not query the database on each
+     * keystroke.
+     *
+     * @param username The username entered so far.
+     */
+    private void updateUsernameStatus(String username) {
+        if (userService == null || username.isEmpty()) {
+            usernameStatusLabel.setText("");
+        } else if (userService.isUsernameAvailable(username)) {
+            usernameStatusLabel.setText("Username is available");
+            usernameStatusLabel.setStyle("-fx-font-size: 12px; -fx-text-fill: #2e7d32;");
+        } else {
+            usernameStatusLabel.setText("Username is already taken");
+            usernameStatusLabel.setStyle("-fx-font-size: 12px; -fx-text-fill: #c62828;");
+        }
     }
 
     /**
@@ -115,6 +141,8 @@ public class RegisterController {
         // Check if any field is empty or if the password is too short
         if (isAnyFieldEmpty(username, firstName, lastName, password, confirmPassword)) {
             errorMessage = "All fields must be filled out.";
+        } else if (!userService.isUsernameAvailable(username)) {
+            errorMessage = "Username already exists. Please choose another.";
         } else if (password.length() < 8) {
             errorMessage = "Password must be at least 8 characters long.";
         } else if (!password.equals(confirmPassword)) {
@@ -6,11 +6,10 @@ import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 import javafx.scene.control.TextInputDialog;
 
-import java.util.List;
 import java.util.Optional;
 
 import com.beyourshelf.model.entity.Book;
-import com.beyourshelf.model.entity.CartItem;
+import com.beyourshelf.model.entity.CartDelta;
 import com.beyourshelf.model.entity.ShoppingCart;
 import com.beyourshelf.service.ServiceManager;
 import com.beyourshelf.service.book.IBookService;
@@ -180,27 +179,23 @@ public abstract class BookTableController {
      * @param quantity The quantity of the book.
      */
     private void updateCart(Book book, int quantity) {
-        shoppingCart.addBook(book, quantity);
         int cartId = cartService.getOrCreateCart(shoppingCart.getUserId());
-        cartService.addOrUpdateBookInCart(cartId, book.getBookId(), quantity);
+        // Write debounced quantity changes so a reload below does not revert them
+        ServiceManager.getInstance().getCartSyncService().flush(cartId);
+        CartDelta delta = cartService.addOrUpdateBookInCart(cartId, book.getBookId(), quantity);
 
-        // Sync the shopping cart with the latest items
-        syncCartWithDatabase(cartId);
+        // Apply the single changed line; reload only if another writer got in between
+        if (!shoppingCart.applyDelta(book, delta)) {
+            syncCartWithDatabase();
+        }
     }
 
     /**
      * Synchronizes the shopping cart with the database, ensuring the latest items
-     * are reflected in the cart.
-     *
-     * @param cartId The ID of the shopping cart in the database.
+     * and cart version are reflected in the cart.
      */
-    private void syncCartWithDatabase(int cartId) {
-        List<CartItem> updatedCartItems = cartService.getCartItems(cartId);
-        shoppingCart.clearCart();
-        for (CartItem item : updatedCartItems) {
-            Book cartBook = bookService.findBookById(item.getBookId());
-            shoppingCart.addBook(cartBook, item.getQuantity());
-        }
+    private void syncCartWithDatabase() {
+        cartService.reloadCart(shoppingCart);
     }
 
     /**
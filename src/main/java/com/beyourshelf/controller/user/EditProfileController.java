@@ -6,7 +6,9 @@ import javafx.scene.control.TextField;
 
 import java.util.Optional;
 
+import com.beyourshelf.model.entity.Session;
 import com.beyourshelf.model.entity.User;
+import com.beyourshelf.service.ServiceManager;
 import com.beyourshelf.service.user.IUserService;
 import com.beyourshelf.utils.auth.SessionManager;
 import com.beyourshelf.utils.ui.UIUtils;
@@ -122,7 +124,7 @@ public class EditProfileController {
             if (userService.updateUserProfile(currentUsername, newFirstName, newLastName, newPassword,
                     currentUser.isAdmin())) {
                 // Update the session data with the new user details
-                updateSessionData(currentUser, newFirstName, newLastName);
+                updateSessionData(newFirstName, newLastName);
                 UIUtils.showAlert("Success", "Profile updated successfully.");
             } else {
                 UIUtils.showError("Error", "Failed to update profile.");
@@ -137,12 +139,20 @@ public class EditProfileController {
      * This ensures that the session reflects the latest changes in the user's
      * profile.
      *
-     * @param user         The user object.
      * @param newFirstName The updated first name.
      * @param newLastName  The updated last name.
      */
-    private void updateSessionData(User user, String newFirstName, String newLastName) {
-        SessionManager.getInstance().setUserDetails(user.getId(), user.getUsername(), newFirstName, newLastName);
+    private void updateSessionData(String newFirstName, String newLastName) {
+        SessionManager sessionManager = SessionManager.getInstance();
+        Session current = sessionManager.getCurrentSession();
+        if (current == null) {
+            return;
+        }
+        // Sessions are immutable, so the profile change replaces the session
+        Session updated = ServiceManager.getInstance().getSessionService()
+                .updateProfile(current.getToken(), newFirstName, newLastName)
+                .orElse(current.withProfile(newFirstName, newLastName)); // No longer registered with the session service
+        sessionManager.setCurrentSession(updated);
     }
 
     // Utility methods to retrieve session data
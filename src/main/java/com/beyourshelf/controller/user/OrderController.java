@@ -3,9 +3,11 @@ package com.beyourshelf.controller.user;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
 import javafx.scene.control.CheckBox;
+import javafx.scene.control.Hyperlink;
 import javafx.scene.control.Label;
 import javafx.scene.control.ListView;
 import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
 import javafx.stage.FileChooser;
 
 import java.util.ArrayList;
@@ -13,8 +15,10 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import com.beyourshelf.model.entity.Order;
-import com.beyourshelf.service.order.IOrderService;
+import com.beyourshelf.model.entity.OrderItem;
+import com.beyourshelf.service.order.IOrderServiceAsync;
 import com.beyourshelf.utils.auth.SessionManager;
+import com.beyourshelf.utils.ui.FxThread;
 import com.beyourshelf.utils.ui.UIUtils;
 
 /**
@@ -24,7 +28,7 @@ import com.beyourshelf.utils.ui.UIUtils;
 public class OrderController {
 
     private List<Order> userOrders; // Holds the list of the user's orders
-    private IOrderService orderService; // Service for handling order-related operations
+    private IOrderServiceAsync orderService; // Service for handling order-related operations off the FX thread
     private List<CheckBox> orderCheckBoxes = new ArrayList<>(); // Track checkboxes for each order
 
     @FXML
@@ -38,7 +42,7 @@ public class OrderController {
      *
      * @param orderService The service used to handle order-related operations.
      */
-    public void setOrderService(IOrderService orderService) {
+    public void setOrderService(IOrderServiceAsync orderService) {
         this.orderService = orderService;
     }
 
@@ -66,12 +70,24 @@ public class OrderController {
     }
 
     /**
-     * Fetches and loads the user's orders into the ListView with checkboxes.
+     * Fetches the user's order headers in the background and loads them into the
+     * ListView with checkboxes. Items are only fetched when an order is expanded
+     * or exported.
      *
      * @param userId The ID of the user whose orders are to be displayed.
      */
     private void loadUserOrders(int userId) {
-        userOrders = orderService.getAllOrdersByUser(userId);
+        FxThread.onSuccess(orderService.getOrderSummariesByUser(userId), this::showUserOrders,
+                "Unable to load your orders.");
+    }
+
+    /**
+     * Shows the user's order headers in the ListView.
+     *
+     * @param orders The user's orders.
+     */
+    private void showUserOrders(List<Order> orders) {
+        userOrders = orders;
         orderListView.getItems().clear(); // Clear previous order entries
         orderCheckBoxes.clear(); // Clear previous checkboxes
 
@@ -88,7 +104,8 @@ public class OrderController {
     }
 
     /**
-     * Creates an HBox representing an order with a CheckBox and a Label.
+     * Creates an HBox representing an order with a CheckBox, the order header,
+     * and a link that expands the order's items.
      *
      * @param order The order to display.
      * @return HBox containing the checkbox and formatted order details.
@@ -96,30 +113,68 @@ public class OrderController {
     private HBox createOrderItem(Order order) {
         CheckBox checkBox = new CheckBox(); // Checkbox for selecting the order
         Label orderLabel = new Label(formatOrderForDisplay(order)); // Label for displaying order details
+        Label itemsLabel = new Label(); // Filled in when the order is expanded
+        itemsLabel.setVisible(false);
+        itemsLabel.setManaged(false);
+
+        Hyperlink toggleLink = new Hyperlink("Show items");
+        toggleLink.setOnAction(_ -> toggleOrderItems(order, itemsLabel, toggleLink));
+
         orderCheckBoxes.add(checkBox); // Add checkbox to the list of checkboxes
-        HBox orderBox = new HBox(10, checkBox, orderLabel); // Create an HBox with spacing
+        VBox details = new VBox(2, orderLabel, itemsLabel, toggleLink);
+        HBox orderBox = new HBox(10, checkBox, details); // Create an HBox with spacing
         orderBox.setStyle("-fx-padding: 5px;"); // Add padding to each item
         return orderBox;
     }
 
     /**
-     * Formats the order details for display in the ListView.
+     * Shows or hides the items of an order, fetching them on first expansion.
+     *
+     * @param order      The order to expand or collapse.
+     * @param itemsLabel The label showing the order's items.
+     * @param toggleLink The link that toggles the items.
+     */
+    private void toggleOrderItems(Order order, Label itemsLabel, Hyperlink toggleLink) {
+        boolean expand = !itemsLabel.isVisible();
+        if (expand && itemsLabel.getText().isEmpty()) {
+            itemsLabel.setText("   Loading items...");
+            FxThread.onSuccess(orderService.getOrderItems(order.getOrderId()),
+                    items -> itemsLabel.setText(formatItemsForDisplay(items)), "Unable to load the order's items.");
+        }
+        itemsLabel.setVisible(expand);
+        itemsLabel.setManaged(expand);
+        toggleLink.setText(expand ? "Hide items" : "Show items");
+    }
+
+    /**
+     * Formats the order header for display in the ListView.
      *
      * @param order The order to format.
-     * @return A string representing the order and its items for display.
+     * @return A string representing the order for display.
      */
     private String formatOrderForDisplay(Order order) {
-        StringBuilder orderDetails = new StringBuilder(String.format("Order #%s | Date: %s | Total: $%.2f\n",
+        return String.format("Order #%s | Date: %s | Total: $%.2f",
                 order.getOrderNumber(), // Order number
                 order.getFormattedOrderDate(), // Order date
-                order.getTotalPrice())); // Total order price
+                order.getTotalPrice()); // Total order price
+    }
 
-        order.getOrderItems().forEach(item -> orderDetails.append(String.format("   - %s (x%d): $%.2f\n",
+    /**
+     * Formats the items of an order for display below its header.
+     *
+     * @param items The items of the order.
+     * @return A string listing the items for display.
+     */
+    private String formatItemsForDisplay(List<OrderItem> items) {
+        if (items.isEmpty()) {
+            return "   No items found.";
+        }
+        StringBuilder itemDetails = new StringBuilder();
+        items.forEach(item -> itemDetails.append(String.format("   - %s (x%d): $%.2f\n",
                 item.getTitle(), // Item title
                 item.getQuantity(), // Quantity of the item
                 item.getPrice()))); // Item price
-
-        return orderDetails.toString(); // Return formatted order details
+        return itemDetails.toString().stripTrailing();
     }
 
     /**
@@ -168,14 +223,19 @@ public class OrderController {
      */
     private void exportOrdersToFile(java.io.File file, List<Order> selectedOrders) {
         List<Integer> selectedOrderIds = selectedOrders.stream().map(Order::getOrderId).collect(Collectors.toList());
-        boolean success = orderService.exportOrdersToCSV(SessionManager.getInstance().getUserId(), selectedOrderIds,
-                file.getAbsolutePath());
-
-        // Show a success or error message based on the export result
-        if (success) {
-            UIUtils.showAlert("Export Successful", "Orders exported to: " + file.getAbsolutePath());
-        } else {
-            UIUtils.showError("Export Failed", "Failed to export orders.");
-        }
+        exportOrdersButton.setDisable(true); // Prevent a second export while this one runs
+        FxThread.onComplete(orderService.exportOrdersToCSV(SessionManager.getInstance().getUserId(), selectedOrderIds,
+                file.getAbsolutePath()), success -> {
+                    exportOrdersButton.setDisable(false);
+                    // Show a success or error message based on the export result
+                    if (success) {
+                        UIUtils.showAlert("Export Successful", "Orders exported to: " + file.getAbsolutePath());
+                    } else {
+                        UIUtils.showError("Export Failed", "Failed to export orders.");
+                    }
+                }, error -> {
+                    exportOrdersButton.setDisable(false);
+                    UIUtils.showError("Export Failed", "Failed to export orders.");
+                });
     }
 }
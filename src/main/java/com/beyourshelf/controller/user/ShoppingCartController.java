@@ -14,10 +14,12 @@ import java.util.Map;
 import java.util.stream.Collectors;
 
 import com.beyourshelf.model.entity.Book;
+import com.beyourshelf.model.entity.CartDelta;
 import com.beyourshelf.model.entity.CartTableItem;
 import com.beyourshelf.model.entity.ShoppingCart;
 import com.beyourshelf.service.ServiceManager;
 import com.beyourshelf.service.cart.ICartService;
+import com.beyourshelf.service.cart.ICartSyncService;
 import com.beyourshelf.service.inventory.IInventoryService;
 import com.beyourshelf.utils.auth.SessionManager;
 import com.beyourshelf.utils.ui.UIUtils;
@@ -54,6 +56,8 @@ public class ShoppingCartController {
 
     private final ICartService cartService = ServiceManager.getInstance().getCartService(); // Cart service for managing
                                                                                             // cart operations
+    private final ICartSyncService cartSyncService = ServiceManager.getInstance().getCartSyncService(); // Debounced
+                                                                                                        // cart writes
     private final IInventoryService inventoryService = ServiceManager.getInstance().getInventoryService(); // Inventory
                                                                                                            // service
 
@@ -74,22 +78,26 @@ public class ShoppingCartController {
             }
         });
 
-        // Configure item selection checkbox in the table
+        // Configure item selection checkbox in the table. The checkbox is bound to
+        // the row's selected property and unbound when the cell is reused, so no
+        // listeners accumulate as rows scroll.
         selectColumn.setCellFactory(_ -> new TableCell<>() {
             private final CheckBox checkBox = new CheckBox();
+            private CartTableItem boundItem; // Item the checkbox is currently bound to
 
             @Override
             protected void updateItem(Boolean isSelected, boolean empty) {
                 super.updateItem(isSelected, empty);
-                if (empty) {
+                if (boundItem != null) {
+                    checkBox.selectedProperty().unbindBidirectional(boundItem.selectedProperty());
+                    boundItem = null;
+                }
+                CartTableItem cartItem = empty ? null : getTableRow().getItem();
+                if (cartItem == null) {
                     setGraphic(null); // Clear the graphic if the cell is empty
                 } else {
-                    CartTableItem cartItem = getTableView().getItems().get(getIndex());
-                    checkBox.setSelected(cartItem.isSelected());
-                    checkBox.selectedProperty().addListener((_, _, newValue) -> {
-                        cartItem.setSelected(newValue); // Update selection state
-                        updateTotalPrice(); // Recalculate total price when selection changes
-                    });
+                    checkBox.selectedProperty().bindBidirectional(cartItem.selectedProperty());
+                    boundItem = cartItem;
                     setGraphic(checkBox); // Set the checkbox in the table cell
                 }
             }
@@ -183,8 +191,8 @@ public class ShoppingCartController {
      */
     private void loadCartItems() {
         List<CartTableItem> cartItems = shoppingCart.getBooks().entrySet().stream()
-                .map(entry -> new CartTableItem(entry.getKey(), entry.getValue())) // Convert each book and its quantity
-                                                                                   // into a CartTableItem
+                .map(entry -> createCartTableItem(entry.getKey(), entry.getValue())) // Convert each book and its
+                                                                                     // quantity into a CartTableItem
                 .collect(Collectors.toList()); // Collect the items into a list
 
         cartTableView.getItems().setAll(cartItems); // Set items in the TableView
@@ -192,14 +200,29 @@ public class ShoppingCartController {
     }
 
     /**
-     * Recalculates and updates the total price of the selected items.
+     * Creates a table row for a cart line. Its selection state mirrors the
+     * shopping cart, which keeps the selected subtotal up to date.
+     *
+     * @param book     The book in the cart.
+     * @param quantity The quantity of the book.
+     * @return The table row for the cart line.
+     */
+    private CartTableItem createCartTableItem(Book book, int quantity) {
+        CartTableItem item = new CartTableItem(book, quantity);
+        item.setSelected(shoppingCart.isSelected(book.getBookId()));
+        item.selectedProperty().addListener((_, _, isSelected) -> {
+            shoppingCart.setSelected(book.getBookId(), isSelected); // Update selection state
+            updateTotalPrice(); // Refresh the total price when selection changes
+        });
+        return item;
+    }
+
+    /**
+     * Updates the total price of the selected items from the running subtotal
+     * kept by the shopping cart.
      */
     private void updateTotalPrice() {
-        double total = cartTableView.getItems().stream()
-                .filter(CartTableItem::isSelected) // Calculate total for only selected items
-                .mapToDouble(CartTableItem::getTotalAmount)
-                .sum();
-        totalPrice.set(total); // Update the bound total price
+        totalPrice.set(shoppingCart.getSelectedSubtotal()); // Update the bound total price
     }
 
     /**
@@ -220,6 +243,7 @@ public class ShoppingCartController {
         // Confirm checkout with the user
         boolean confirmed = UIUtils.showConfirmation("Confirm Checkout", "Are you sure you want to checkout?");
         if (confirmed) {
+            cartSyncService.flush(shoppingCart.getCartId()); // Persist pending quantity changes first
             reserveStockInMemory(selectedItems);
             // Attempt to reserve stock in the database atomically
             boolean reserved = inventoryService.reserveBooks(reservedStock);
@@ -262,7 +286,8 @@ public class ShoppingCartController {
      * payment.
      */
     public void finalizeStockAfterPayment() {
-        inventoryService.finalizeStockAdjustments(reservedStock); // Finalize stock in the inventory
+        // Sold copies were recorded in the same transaction as the order, so the
+        // reservation only needs to be released from memory here
         reservedStock.clear(); // Clear reserved stock in memory
 
         // Reset the cart by removing checked-out items
@@ -284,8 +309,11 @@ public class ShoppingCartController {
                 .toList(); // Collect the books
 
         // Remove books from the cart via the service
-        cartService.removeBooksFromCart(shoppingCart.getCartId(), booksToRemove);
+        int version = cartService.removeBooksFromCart(shoppingCart.getCartId(), booksToRemove);
         shoppingCart.removeBooks(booksToRemove); // Remove books from in-memory cart
+        if (!shoppingCart.advanceVersion(version)) {
+            shoppingCart.setVersion(-1); // Another writer changed the cart; reload on next sync
+        }
         cartTableView.getItems().removeAll(selectedItems); // Remove items from the UI
         updateTotalPrice(); // Recalculate total price
     }
@@ -297,9 +325,7 @@ public class ShoppingCartController {
      * @return true if the book is selected, false otherwise.
      */
     public boolean isBookSelected(Book book) {
-        return cartTableView.getItems().stream()
-                .filter(cartItem -> cartItem.getBook().equals(book))
-                .anyMatch(CartTableItem::isSelected); // Check if the book is selected
+        return shoppingCart.isSelected(book.getBookId()); // Constant-time lookup in the cart model
     }
 
     /**
@@ -326,8 +352,11 @@ public class ShoppingCartController {
         System.out.println("Removing book from cart - Cart ID: " + shoppingCart.getCartId() + ", Book ID: "
                 + cartItem.getBook().getBookId());
         shoppingCart.removeBook(cartItem.getBook()); // Remove from the cart model in memory
-        cartService.removeBookFromCart(shoppingCart.getCartId(), cartItem.getBook().getBookId()); // Remove from the
-                                                                                                  // database
+        cartSyncService.cancelPendingUpdate(shoppingCart.getCartId(), cartItem.getBook().getBookId());
+        CartDelta delta = cartService.removeBookFromCart(shoppingCart.getCartId(), cartItem.getBook().getBookId());
+        if (!shoppingCart.applyDelta(cartItem.getBook(), delta)) {
+            shoppingCart.setVersion(-1); // Another writer changed the cart; reload on next sync
+        }
         cartTableView.getItems().remove(cartItem); // Remove the item from the table view
         updateTotalPrice(); // Update the total price
     }
@@ -344,7 +373,8 @@ public class ShoppingCartController {
         if (newQuantity > 0) {
             cartItem.setQuantity(newQuantity);
             shoppingCart.updateBookQuantity(cartItem.getBook(), newQuantity);
-            cartService.updateBookQuantity(shoppingCart.getCartId(), cartItem.getBook().getBookId(), newQuantity);
+            // Coalesced and written in the background instead of one commit per click
+            cartSyncService.scheduleQuantityUpdate(shoppingCart, cartItem.getBook().getBookId(), newQuantity);
             updateTotalPrice();
         } else {
             // Quantity reached zero or below: remove the item from cart and DB
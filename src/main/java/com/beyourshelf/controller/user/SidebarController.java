@@ -1,6 +1,7 @@
 package com.beyourshelf.controller.user;
 
 import com.beyourshelf.controller.common.LoginController;
+import com.beyourshelf.model.entity.Session;
 import com.beyourshelf.model.entity.ShoppingCart;
 import com.beyourshelf.service.ServiceManager;
 import com.beyourshelf.utils.auth.SessionManager;
@@ -98,7 +99,7 @@ public class SidebarController {
      * @param userId     The ID of the user whose orders are being viewed.
      */
     private void setupOrderController(OrderController controller, int userId) {
-        controller.setOrderService(ServiceManager.getInstance().getOrderService()); // Inject the order service
+        controller.setOrderService(ServiceManager.getInstance().getOrderServiceAsync()); // Inject the order service
         controller.setUserId(userId); // Inject the user ID
     }
 
@@ -176,7 +177,9 @@ public class SidebarController {
      */
     @FXML
     public void handleLogout() {
-        SessionManager.getInstance().clearSession(); // Clear the session data
+        // Closing the session persists its pending cart changes
+        ServiceManager.getInstance().getSessionService().closeSession(getSessionToken());
+        SessionManager.getInstance().clearSession(); // Unbind the window from the session
         UIUtils.loadSceneWithData("/com/beyourshelf/fxml/common/login.fxml", getCurrentStage(), "Login",
                 controller -> {
                     LoginController loginController = (LoginController) controller;
@@ -203,4 +206,14 @@ public class SidebarController {
     private ShoppingCart getShoppingCartFromSession() {
         return SessionManager.getInstance().getShoppingCart(); // Get the shopping cart from the session
     }
+
+    /**
+     * Retrieves the token of the current session.
+     *
+     * @return The session token, or null if there is no session.
+     */
+    private String getSessionToken() {
+        Session session = SessionManager.getInstance().getCurrentSession();
+        return session != null ? session.getToken() : null;
+    }
 }
@@ -6,12 +6,11 @@ import javafx.scene.control.Label;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 
-import java.util.List;
-
 import com.beyourshelf.model.entity.Book;
 import com.beyourshelf.model.entity.ShoppingCart;
 import com.beyourshelf.service.ServiceManager;
-import com.beyourshelf.service.book.IBookService;
+import com.beyourshelf.service.book.IBookServiceAsync;
+import com.beyourshelf.utils.ui.FxThread;
 import com.beyourshelf.utils.ui.UIUtils;
 
 /**
@@ -45,7 +44,7 @@ public class UserDashboardController extends BookTableController {
     @FXML
     private TableColumn<Book, Button> topActionColumn; // Column for action buttons (like "Add to Cart")
 
-    private IBookService bookService; // Service for handling book-related operations
+    private IBookServiceAsync bookService; // Service for handling book-related operations off the FX thread
 
     /**
      * Initializes the controller by setting up the table and loading the
@@ -55,7 +54,7 @@ public class UserDashboardController extends BookTableController {
     @FXML
     public void initialize() {
         // Initialize the book service using the ServiceManager
-        bookService = ServiceManager.getInstance().getBookService();
+        bookService = ServiceManager.getInstance().getBookServiceAsync();
 
         UIUtils.loadCSS(topBooksTableView, "/com/beyourshelf/css/table-style.css");
 
@@ -70,16 +69,17 @@ public class UserDashboardController extends BookTableController {
     /**
      * Loads the top 5 best-selling books into the table.
      * This method is overridden from the parent BookTableController class.
+     * The query runs in the background and the table is filled once it returns.
      */
     @Override
     protected void loadBooks() {
         // Retrieve the top 5 best-selling books from the book service
-        List<Book> topBooks = bookService.getTop5Books();
-
-        // Update the table view with the retrieved books
-        if (booksTableView != null) {
-            booksTableView.getItems().setAll(topBooks);
-        }
+        FxThread.onSuccess(bookService.getTop5Books(), topBooks -> {
+            // Update the table view with the retrieved books
+            if (booksTableView != null) {
+                booksTableView.getItems().setAll(topBooks);
+            }
+        }, "Unable to load the best-selling books.");
     }
 
     /**
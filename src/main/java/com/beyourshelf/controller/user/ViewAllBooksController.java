@@ -7,10 +7,12 @@ import javafx.scene.control.TableView;
 import javafx.scene.control.TextField;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import com.beyourshelf.model.entity.Book;
 import com.beyourshelf.service.ServiceManager;
-import com.beyourshelf.service.book.IBookService;
+import com.beyourshelf.service.book.IBookServiceAsync;
+import com.beyourshelf.utils.ui.FxThread;
 import com.beyourshelf.utils.ui.UIUtils;
 
 /**
@@ -20,7 +22,9 @@ import com.beyourshelf.utils.ui.UIUtils;
  */
 public class ViewAllBooksController extends BookTableController {
 
-    private IBookService bookService; // Service for managing book-related operations
+    private IBookServiceAsync bookService; // Service for managing book-related operations off the FX thread
+
+    private int latestLoad; // Number of the latest load, so results of older loads or searches are ignored
 
     @FXML
     private TableView<Book> allBooksTableView; // Table view to display all books
@@ -53,7 +57,7 @@ public class ViewAllBooksController extends BookTableController {
     @FXML
     public void initialize() {
         // Initialize the book service using the ServiceManager
-        bookService = ServiceManager.getInstance().getBookService();
+        bookService = ServiceManager.getInstance().getBookServiceAsync();
 
         // Initialize the book table with the necessary columns
         initializeBookTable(allBooksTableView, allTitleColumn, allAuthorColumn, allPriceColumn, allStockColumn,
@@ -63,9 +67,6 @@ public class ViewAllBooksController extends BookTableController {
 
         // Disable column resizing and apply a fixed policy
         allBooksTableView.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
-
-        // Load all available books when the controller is initialized
-        loadBooks();
     }
 
     /**
@@ -75,11 +76,8 @@ public class ViewAllBooksController extends BookTableController {
     @Override
     protected void loadBooks() {
         if (allBooksTableView != null) { // Ensure the table view is initialized
-            // Fetch all books using the book service
-            List<Book> allBooks = bookService.getAllBooks();
-
-            // Update the table view with the retrieved books
-            booksTableView.getItems().setAll(allBooks);
+            // Fetch all books using the book service, then update the table view
+            showBooks(bookService.getAllBooks());
         } else {
             // Log an error if the table view is null
             System.err.println("Error: allBooksTableView is null.");
@@ -98,8 +96,7 @@ public class ViewAllBooksController extends BookTableController {
 
             if (!keyword.isEmpty()) {
                 // If a keyword is provided, search for books by title
-                List<Book> searchResults = bookService.searchBooksByTitle(keyword);
-                booksTableView.getItems().setAll(searchResults); // Update the table with search results
+                showBooks(bookService.searchBooksByTitle(keyword)); // Update the table with search results
             } else {
                 // If no keyword is provided, reload all books
                 loadBooks();
@@ -109,4 +106,19 @@ public class ViewAllBooksController extends BookTableController {
             System.err.println("Error: booksTableView or searchField is null.");
         }
     }
+
+    /**
+     * Shows the books of a load or search once they arrive, unless a newer load
+     * or search has been started in the meantime.
+     *
+     * @param books The pending books.
+     */
+    private void showBooks(CompletableFuture<List<Book>> books) {
+        int load = ++latestLoad;
+        FxThread.onSuccess(books, result -> {
+            if (load == latestLoad) {
+                booksTableView.getItems().setAll(result);
+            }
+        }, "Unable to load books.");
+    }
 }
@@ -79,21 +79,43 @@ public abstract class BaseDAO {
      *         executed without errors).
      */
     protected boolean executeBatchUpdate(String sql, Iterable<Object[]> paramsList) {
+        return executeBatchUpdateWithCounts(sql, paramsList) != null;
+    }
+
+    /**
+     * Execute a batch update in a single transaction and report how many rows
+     * each statement affected. Either the whole batch is committed or none of it.
+     *
+     * @param sql        The SQL statement to execute.
+     * @param paramsList A list of parameter arrays, where each array corresponds to
+     *                   the parameters for one statement.
+     * @return The number of rows affected by each statement, in order, or null if
+     *         the batch failed.
+     */
+    protected int[] executeBatchUpdateWithCounts(String sql, Iterable<Object[]> paramsList) {
         try (Connection conn = Database.getInstance().getConnection();
                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            conn.setAutoCommit(false); // One commit for the whole batch
+            try {
+                // Loop through each set of parameters and add them to the batch
+                for (Object[] params : paramsList) {
+                    setPreparedStatementParams(pstmt, params);
+                    pstmt.addBatch();
+                }
 
-            // Loop through each set of parameters and add them to the batch
-            for (Object[] params : paramsList) {
-                setPreparedStatementParams(pstmt, params);
-                pstmt.addBatch();
+                // Execute the batch of updates
+                int[] counts = pstmt.executeBatch();
+                conn.commit();
+                return counts;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
             }
-
-            // Execute the batch of updates
-            pstmt.executeBatch();
-            return true; // Return true if batch execution was successful
         } catch (SQLException e) {
             System.out.println("Error executing batch update: " + e.getMessage());
-            return false; // Return false in case of an error
+            return null; // Return null in case of an error
         }
     }
 
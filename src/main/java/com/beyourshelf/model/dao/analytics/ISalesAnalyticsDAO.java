@@ -0,0 +1,51 @@
+package com.beyourshelf.model.dao.analytics;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.beyourshelf.model.entity.BookSales;
+import com.beyourshelf.model.entity.SalesPeriod;
+
+/**
+ * Interface for sales analytics data access operations.
+ * Queries read the sales_daily rollup, which holds one row per day and book
+ * and is kept up to date by OrderDAO when orders are saved or deleted.
+ */
+public interface ISalesAnalyticsDAO {
+
+    /**
+     * The periods revenue can be grouped by.
+     */
+    enum Granularity {
+        DAY,
+        WEEK,
+        MONTH
+    }
+
+    /**
+     * Retrieves the copies sold and revenue per period in a date range.
+     *
+     * @param from        the first day of the range, inclusive
+     * @param to          the last day of the range, inclusive
+     * @param granularity the period to group by
+     * @return the sales per period, oldest first; periods without sales are omitted
+     */
+    List<SalesPeriod> getRevenueByPeriod(LocalDate from, LocalDate to, Granularity granularity);
+
+    /**
+     * Retrieves the best-selling books by revenue in a date range.
+     *
+     * @param from  the first day of the range, inclusive
+     * @param to    the last day of the range, inclusive
+     * @param limit the maximum number of books to return
+     * @return the sales per book, highest revenue first
+     */
+    List<BookSales> getTopBooks(LocalDate from, LocalDate to, int limit);
+
+    /**
+     * Rebuilds the sales_daily rollup from orders and order_items.
+     *
+     * @return true if the rollup was rebuilt, false otherwise
+     */
+    boolean rebuildSalesDaily();
+}
@@ -0,0 +1,154 @@
+package com.beyourshelf.model.dao.analytics;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.beyourshelf.model.dao.BaseDAO;
+import com.beyourshelf.model.dao.database.Database;
+import com.beyourshelf.model.dao.order.OrderPartitionRouter;
+import com.beyourshelf.model.entity.BookSales;
+import com.beyourshelf.model.entity.SalesPeriod;
+
+/**
+ * DAO implementation for sales analytics.
+ * All queries are range scans over the sales_daily primary key (day, book_id)
+ * or its (book_id, day) index, so their cost depends on the number of days in
+ * the range rather than on the number of orders ever placed.
+ */
+public class SalesAnalyticsDAO extends BaseDAO implements ISalesAnalyticsDAO {
+
+    /**
+     * SQL expression for the local calendar day of orders.order_date, as stored
+     * by OrderDAO (epoch milliseconds) or by the column default (text).
+     */
+    public static final String ORDER_DAY_SQL = "CASE WHEN typeof(o.order_date) = 'integer' "
+            + "THEN date(o.order_date / 1000, 'unixepoch', 'localtime') ELSE date(o.order_date) END";
+
+    /**
+     * Retrieves the copies sold and revenue per period in a date range.
+     *
+     * @param from        the first day of the range, inclusive.
+     * @param to          the last day of the range, inclusive.
+     * @param granularity the period to group by.
+     * @return the sales per period, oldest first.
+     */
+    @Override
+    public List<SalesPeriod> getRevenueByPeriod(LocalDate from, LocalDate to, Granularity granularity) {
+        String periodSQL = switch (granularity) {
+            case DAY -> "day";
+            case WEEK -> "strftime('%Y-W%W', day)";
+            case MONTH -> "strftime('%Y-%m', day)";
+        };
+        String sql = "SELECT " + periodSQL + " AS period, SUM(qty) AS qty, SUM(revenue) AS revenue "
+                + "FROM sales_daily WHERE day BETWEEN ? AND ? GROUP BY period ORDER BY period";
+        List<SalesPeriod> periods = executeQuery(sql, rs -> {
+            List<SalesPeriod> result = new ArrayList<>();
+            try {
+                while (rs.next()) {
+                    result.add(new SalesPeriod(rs.getString("period"), rs.getInt("qty"), rs.getDouble("revenue")));
+                }
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+            return result;
+        }, from.toString(), to.toString());
+        return periods != null ? periods : new ArrayList<>();
+    }
+
+    /**
+     * Retrieves the best-selling books by revenue in a date range.
+     *
+     * @param from  the first day of the range, inclusive.
+     * @param to    the last day of the range, inclusive.
+     * @param limit the maximum number of books to return.
+     * @return the sales per book, highest revenue first.
+     */
+    @Override
+    public List<BookSales> getTopBooks(LocalDate from, LocalDate to, int limit) {
+        String sql = "SELECT s.book_id, COALESCE(b.title, 'Book #' || s.book_id) AS title, "
+                + "SUM(s.qty) AS qty, SUM(s.revenue) AS revenue "
+                + "FROM sales_daily s LEFT JOIN books b ON b.id = s.book_id "
+                + "WHERE s.day BETWEEN ? AND ? GROUP BY s.book_id ORDER BY revenue DESC LIMIT ?";
+        List<BookSales> books = executeQuery(sql, rs -> {
+            List<BookSales> result = new ArrayList<>();
+            try {
+                while (rs.next()) {
+                    result.add(new BookSales(rs.getInt("book_id"), rs.getString("title"), rs.getInt("qty"),
+                            rs.getDouble("revenue")));
+                }
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+            return result;
+        }, from.toString(), to.toString(), limit);
+        return books != null ? books : new ArrayList<>();
+    }
+
+    /**
+     * Rebuilds the sales_daily rollup from orders and order_items in one
+     * transaction, so readers never see a half-built rollup. Orders in the live
+     * monthly partitions and in the archive are included, so moving orders
+     * between them never changes reported revenue.
+     *
+     * The partitions are first aggregated one at a time into a temporary table,
+     * because partitions can only be attached outside a transaction and SQLite
+     * limits how many can be attached at once.
+     *
+     * @return true if the rollup was rebuilt, false otherwise.
+     */
+    @Override
+    public boolean rebuildSalesDaily() {
+        String createPartitionSalesSQL = "CREATE TEMP TABLE IF NOT EXISTS partition_sales "
+                + "(day TEXT, book_id INTEGER, qty INTEGER, revenue REAL)";
+        String rebuildSQL = "INSERT INTO sales_daily (day, book_id, qty, revenue) "
+                + "SELECT s.day, s.book_id, SUM(s.qty), SUM(s.revenue) FROM ("
+                + "SELECT " + ORDER_DAY_SQL + " AS day, oi.book_id, oi.quantity AS qty, oi.quantity * oi.price AS revenue "
+                + "FROM main.order_items oi JOIN main.orders o ON o.order_id = oi.order_id "
+                + "UNION ALL SELECT day, book_id, qty, revenue FROM temp.partition_sales"
+                + ") s GROUP BY s.day, s.book_id";
+        try (Connection conn = Database.getInstance().getConnection();
+                Statement stmt = conn.createStatement()) {
+            try {
+                stmt.executeUpdate(createPartitionSalesSQL);
+                stmt.executeUpdate("DELETE FROM temp.partition_sales");
+                for (OrderPartitionRouter router : List.of(OrderPartitionRouter.live(), OrderPartitionRouter.archive())) {
+                    String collectSalesSQL = "INSERT INTO temp.partition_sales (day, book_id, qty, revenue) "
+                            + "SELECT " + ORDER_DAY_SQL + " AS day, oi.book_id, SUM(oi.quantity), SUM(oi.quantity * oi.price) "
+                            + "FROM " + router.getSchema() + ".order_items oi JOIN " + router.getSchema()
+                            + ".orders o ON o.order_id = oi.order_id GROUP BY day, oi.book_id";
+                    for (YearMonth month : router.listPartitions()) {
+                        router.attachPartition(conn, month);
+                        try {
+                            stmt.executeUpdate(collectSalesSQL);
+                        } finally {
+                            router.detachPartition(conn);
+                        }
+                    }
+                }
+
+                conn.setAutoCommit(false); // Begin transaction
+                try {
+                    stmt.executeUpdate("DELETE FROM sales_daily");
+                    stmt.executeUpdate(rebuildSQL);
+                    conn.commit();
+                    return true;
+                } catch (SQLException e) {
+                    conn.rollback();
+                    throw e;
+                } finally {
+                    conn.setAutoCommit(true);
+                }
+            } finally {
+                stmt.executeUpdate("DROP TABLE IF EXISTS temp.partition_sales");
+            }
+        } catch (SQLException e) {
+            System.out.println("Error rebuilding sales rollup: " + e.getMessage());
+            return false;
+        }
+    }
+}
@@ -6,6 +6,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import com.beyourshelf.model.dao.BaseDAO;
 import com.beyourshelf.model.dao.database.Database;
@@ -18,6 +19,9 @@ import com.beyourshelf.model.entity.Book;
  */
 public class BookDAO extends BaseDAO implements IBookDAO {
 
+    // The one statement that records sales against books
+    private static final String UPDATE_SOLD_COPIES_SQL = "UPDATE books SET sold_copies = sold_copies + ? WHERE id = ?";
+
     /**
      * Retrieve all books from the database.
      * 
@@ -100,8 +104,27 @@ public class BookDAO extends BaseDAO implements IBookDAO {
      */
     @Override
     public boolean updateSoldCopies(int bookId, int quantity) {
-        String query = "UPDATE books SET sold_copies = sold_copies + ? WHERE id = ?";
-        return executeUpdate(query, quantity, bookId);
+        return executeUpdate(UPDATE_SOLD_COPIES_SQL, quantity, bookId);
+    }
+
+    /**
+     * Add to the sold copies of several books as one batch on the caller's
+     * connection, so the sale is recorded in the caller's transaction.
+     *
+     * @param conn       the connection whose transaction the updates join.
+     * @param soldCopies a map of book ID to the number of copies sold to add.
+     * @throws SQLException if an update fails.
+     */
+    @Override
+    public void updateSoldCopies(Connection conn, Map<Integer, Integer> soldCopies) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(UPDATE_SOLD_COPIES_SQL)) {
+            for (Map.Entry<Integer, Integer> entry : soldCopies.entrySet()) {
+                pstmt.setInt(1, entry.getValue());
+                pstmt.setInt(2, entry.getKey());
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        }
     }
 
     /**
@@ -243,6 +266,7 @@ public class BookDAO extends BaseDAO implements IBookDAO {
      * @param bookId the ID of the book.
      * @return the number of physical copies available, or 0 if an error occurs.
      */
+    @Override
     public int getStockForBook(int bookId) {
         String query = "SELECT physical_copies FROM books WHERE id = ?";
         try (Connection conn = Database.getInstance().getConnection();
@@ -257,4 +281,23 @@ public class BookDAO extends BaseDAO implements IBookDAO {
         }
         return 0;
     }
+
+    /**
+     * Retrieve the stock of a book by its ID, or null if it cannot be read.
+     *
+     * @param bookId the ID of the book.
+     * @return the number of physical copies available, or null if the book does
+     *         not exist or an error occurs.
+     */
+    @Override
+    public Integer findStockForBook(int bookId) {
+        String query = "SELECT physical_copies FROM books WHERE id = ?";
+        return executeQuery(query, rs -> {
+            try {
+                return rs.next() ? rs.getInt("physical_copies") : null;
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+        }, bookId);
+    }
 }
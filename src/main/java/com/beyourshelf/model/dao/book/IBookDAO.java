@@ -1,6 +1,9 @@
 package com.beyourshelf.model.dao.book;
 
+import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.List;
+import java.util.Map;
 
 import com.beyourshelf.model.entity.Book;
 
@@ -33,6 +36,24 @@ public interface IBookDAO {
      */
     int getAvailableCopies(Book book);
 
+    /**
+     * Get the number of available physical copies for a book by its ID.
+     *
+     * @param bookId the ID of the book.
+     * @return the number of available physical copies, or 0 if not found.
+     */
+    int getStockForBook(int bookId);
+
+    /**
+     * Get the number of available physical copies for a book by its ID,
+     * telling a missing book or failed read apart from an empty stock.
+     *
+     * @param bookId the ID of the book.
+     * @return the number of available physical copies, or null if the book was
+     *         not found or the stock could not be read.
+     */
+    Integer findStockForBook(int bookId);
+
     /**
      * Update the physical stock of a given book.
      * 
@@ -69,6 +90,16 @@ public interface IBookDAO {
      */
     boolean updateSoldCopies(int bookId, int quantity);
 
+    /**
+     * Update the number of sold copies for several books on the caller's
+     * connection, as part of the caller's transaction.
+     *
+     * @param conn       the connection whose transaction the updates join.
+     * @param soldCopies a map of book ID to the number of copies sold to add.
+     * @throws SQLException if an update fails.
+     */
+    void updateSoldCopies(Connection conn, Map<Integer, Integer> soldCopies) throws SQLException;
+
     /**
      * Search for books by their title (case-insensitive).
      * 
@@ -5,12 +5,18 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import com.beyourshelf.model.dao.BaseDAO;
 import com.beyourshelf.model.dao.database.Database;
 import com.beyourshelf.model.entity.Book;
+import com.beyourshelf.model.entity.CartChange;
+import com.beyourshelf.model.entity.CartDelta;
 import com.beyourshelf.model.entity.CartItem;
+import com.beyourshelf.model.entity.CartLine;
+import com.beyourshelf.model.entity.CartState;
 
 /**
  * DAO implementation for managing cart-related operations.
@@ -35,6 +41,19 @@ public class CartDAO extends BaseDAO implements ICartDAO {
         return cartId;
     }
 
+    /**
+     * Creates a new active cart for a user, without checking for an existing one.
+     * Callers that already know the user has no active cart use this to save the
+     * lookup done by getOrCreateCart.
+     *
+     * @param userId the user ID.
+     * @return the new cart ID, or -1 on failure.
+     */
+    @Override
+    public int createCart(int userId) {
+        return createNewCart(userId);
+    }
+
     /**
      * Fetches the active cart for a user.
      * 
@@ -63,7 +82,7 @@ public class CartDAO extends BaseDAO implements ICartDAO {
      * @return the newly created cart ID.
      */
     private int createNewCart(int userId) {
-        String sql = "INSERT INTO cart (user_id, status) VALUES (?, 'active')";
+        String sql = "INSERT INTO cart (user_id, status, updated_at) VALUES (?, 'active', CURRENT_TIMESTAMP)";
         try (Connection conn = Database.getInstance().getConnection();
                 PreparedStatement pstmt = conn.prepareStatement(sql, PreparedStatement.RETURN_GENERATED_KEYS)) {
             pstmt.setInt(1, userId);
@@ -106,16 +125,34 @@ public class CartDAO extends BaseDAO implements ICartDAO {
         return cartItems;
     }
 
+    /**
+     * Retrieves all items in a cart with their books in one query. The join is
+     * driven by the (cart_id, book_id) unique index on cart_items.
+     * 
+     * @param cartId the cart ID.
+     * @return a list of CartLine objects with fully populated books.
+     */
+    @Override
+    public List<CartLine> getCartWithBooks(int cartId) {
+        try (Connection conn = Database.getInstance().getConnection()) {
+            return readCartLines(conn, cartId);
+        } catch (SQLException e) {
+            System.out.println("Error fetching cart with books: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
     /**
      * Removes a book from the cart.
      * 
      * @param cartId the cart ID.
      * @param bookId the book ID to remove.
+     * @return the resulting line state, or null if the removal failed.
      */
     @Override
-    public void removeBookFromCart(int cartId, int bookId) {
+    public CartDelta removeBookFromCart(int cartId, int bookId) {
         String sql = "DELETE FROM cart_items WHERE cart_id = ? AND book_id = ?";
-        executeUpdate(sql, cartId, bookId);
+        return mutateLine(cartId, bookId, sql, cartId, bookId);
     }
 
     /**
@@ -124,11 +161,48 @@ public class CartDAO extends BaseDAO implements ICartDAO {
      * @param cartId   the cart ID.
      * @param bookId   the book ID.
      * @param quantity the new quantity.
+     * @return the resulting line state, or null if the update failed.
+     */
+    @Override
+    public CartDelta updateBookQuantity(int cartId, int bookId, int quantity) {
+        String sql = "UPDATE cart_items SET quantity = ? WHERE cart_id = ? AND book_id = ?";
+        return mutateLine(cartId, bookId, sql, quantity, cartId, bookId);
+    }
+
+    /**
+     * Updates the quantities of several books in the cart using one prepared
+     * statement batch in a single transaction, and bumps the cart version so
+     * other sessions see the change. The owning session advances its in-memory
+     * cart to the returned version.
+     *
+     * @param cartId     the cart ID.
+     * @param quantities a map of book ID to the new quantity.
+     * @return the new cart version, or -1 if the updates failed.
      */
     @Override
-    public void updateBookQuantity(int cartId, int bookId, int quantity) {
+    public int updateBookQuantities(int cartId, Map<Integer, Integer> quantities) {
         String sql = "UPDATE cart_items SET quantity = ? WHERE cart_id = ? AND book_id = ?";
-        executeUpdate(sql, quantity, cartId, bookId);
+        try (Connection conn = Database.getInstance().getConnection()) {
+            conn.setAutoCommit(false); // Begin transaction
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                for (Map.Entry<Integer, Integer> entry : quantities.entrySet()) {
+                    pstmt.setInt(1, entry.getValue());
+                    pstmt.setInt(2, cartId);
+                    pstmt.setInt(3, entry.getKey());
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+                int version = bumpVersion(conn, cartId);
+                conn.commit(); // Commit all quantity changes together
+                return version;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            System.out.println("Error updating cart quantities: " + e.getMessage());
+            return -1;
+        }
     }
 
     /**
@@ -137,12 +211,13 @@ public class CartDAO extends BaseDAO implements ICartDAO {
      * @param cartId   the cart ID.
      * @param bookId   the book ID.
      * @param quantity the quantity to add or update.
+     * @return the resulting line state, or null if the operation failed.
      */
     @Override
-    public void addOrUpdateBookInCart(int cartId, int bookId, int quantity) {
+    public CartDelta addOrUpdateBookInCart(int cartId, int bookId, int quantity) {
         String sql = "INSERT INTO cart_items (cart_id, book_id, quantity) VALUES (?, ?, ?) "
                 + "ON CONFLICT(cart_id, book_id) DO UPDATE SET quantity = quantity + excluded.quantity";
-        executeUpdate(sql, cartId, bookId, quantity);
+        return mutateLine(cartId, bookId, sql, cartId, bookId, quantity);
     }
 
     /**
@@ -150,21 +225,218 @@ public class CartDAO extends BaseDAO implements ICartDAO {
      *
      * @param cartId        The ID of the cart.
      * @param booksToRemove The list of books to remove from the cart.
+     * @return The new cart version, or -1 if the removal failed.
      */
     @Override
-    public void removeBooksFromCart(int cartId, List<Book> booksToRemove) {
+    public int removeBooksFromCart(int cartId, List<Book> booksToRemove) {
         String sql = "DELETE FROM cart_items WHERE cart_id = ? AND book_id = ?";
+        try (Connection conn = Database.getInstance().getConnection()) {
+            conn.setAutoCommit(false); // Begin transaction
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                for (Book book : booksToRemove) {
+                    pstmt.setInt(1, cartId);
+                    pstmt.setInt(2, book.getBookId());
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+                int version = bumpVersion(conn, cartId);
+                conn.commit();
+                return version;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            System.out.println("Error removing books from cart: " + e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * Applies many line changes to a cart in one transaction. Additive changes and
+     * quantity updates share one upsert batch and removals go through one delete
+     * batch, after which the cart version is bumped once and the resulting cart
+     * is read back before committing.
+     *
+     * @param cartId  the cart ID.
+     * @param changes the changes to apply, in order.
+     * @return the resulting cart state, or null if the transaction failed.
+     */
+    @Override
+    public CartState applyCartChanges(int cartId, List<CartChange> changes) {
+        String upsertSQL = "INSERT INTO cart_items (cart_id, book_id, quantity) VALUES (?, ?, ?) "
+                + "ON CONFLICT(cart_id, book_id) DO UPDATE SET quantity = "
+                + "CASE WHEN ? THEN quantity + excluded.quantity ELSE excluded.quantity END";
+        String deleteSQL = "DELETE FROM cart_items WHERE cart_id = ? AND book_id = ?";
+        try (Connection conn = Database.getInstance().getConnection()) {
+            conn.setAutoCommit(false); // Begin transaction
+            try (PreparedStatement upsertStmt = conn.prepareStatement(upsertSQL);
+                    PreparedStatement deleteStmt = conn.prepareStatement(deleteSQL)) {
+                // Keep only the last change per book so the two batches cannot reorder them
+                Map<Integer, CartChange> lastChanges = new LinkedHashMap<>();
+                for (CartChange change : changes) {
+                    CartChange previous = lastChanges.get(change.getBookId());
+                    if (change.isAdditive() && previous != null) {
+                        // A removal counts as zero copies; the sum of positive additions stays positive
+                        change = new CartChange(change.getBookId(),
+                                Math.max(0, previous.getQuantity()) + change.getQuantity(), previous.isAdditive());
+                    }
+                    lastChanges.put(change.getBookId(), change);
+                }
+
+                boolean hasUpserts = false;
+                boolean hasDeletes = false;
+                for (CartChange change : lastChanges.values()) {
+                    if (change.isRemoval()) {
+                        deleteStmt.setInt(1, cartId);
+                        deleteStmt.setInt(2, change.getBookId());
+                        deleteStmt.addBatch();
+                        hasDeletes = true;
+                    } else {
+                        upsertStmt.setInt(1, cartId);
+                        upsertStmt.setInt(2, change.getBookId());
+                        upsertStmt.setInt(3, change.getQuantity());
+                        upsertStmt.setBoolean(4, change.isAdditive());
+                        upsertStmt.addBatch();
+                        hasUpserts = true;
+                    }
+                }
+                if (hasUpserts) {
+                    upsertStmt.executeBatch();
+                }
+                if (hasDeletes) {
+                    deleteStmt.executeBatch();
+                }
+                int version = bumpVersion(conn, cartId);
+                if (version == -1) {
+                    throw new SQLException("Cart " + cartId + " does not exist");
+                }
+                CartState state = new CartState(cartId, version, readCartLines(conn, cartId));
+                conn.commit(); // Commit all line changes together
+                return state;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            System.out.println("Error applying cart changes: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Retrieves the current version of a cart.
+     *
+     * @param cartId the cart ID.
+     * @return the cart version, or -1 if it could not be read.
+     */
+    @Override
+    public int getCartVersion(int cartId) {
+        String sql = "SELECT version FROM cart WHERE cart_id = ?";
         try (Connection conn = Database.getInstance().getConnection();
                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            for (Book book : booksToRemove) {
-                pstmt.setInt(1, cartId);
-                pstmt.setInt(2, book.getBookId());
-                pstmt.addBatch();
+            pstmt.setInt(1, cartId);
+            ResultSet rs = pstmt.executeQuery();
+            if (rs.next()) {
+                return rs.getInt("version");
             }
-            pstmt.executeBatch();
         } catch (SQLException e) {
-            System.out.println("Error removing books from cart: " + e.getMessage());
+            System.out.println("Error fetching cart version: " + e.getMessage());
+        }
+        return -1;
+    }
+
+    /**
+     * Runs a statement that changes one cart line, bumps the cart version, and
+     * reads back the resulting line state, all in one transaction.
+     *
+     * @param cartId the cart ID.
+     * @param bookId the book ID of the changed line.
+     * @param sql    the statement that changes the line.
+     * @param params parameters for the statement.
+     * @return the resulting line state, or null if the transaction failed.
+     */
+    private CartDelta mutateLine(int cartId, int bookId, String sql, Object... params) {
+        String readSQL = "SELECT c.version, "
+                + "COALESCE((SELECT quantity FROM cart_items WHERE cart_id = c.cart_id AND book_id = ?), 0) AS quantity "
+                + "FROM cart c WHERE c.cart_id = ?";
+        try (Connection conn = Database.getInstance().getConnection()) {
+            conn.setAutoCommit(false); // Begin transaction
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                setPreparedStatementParams(pstmt, params);
+                pstmt.executeUpdate();
+                bumpVersion(conn, cartId);
+
+                CartDelta delta = null;
+                try (PreparedStatement readStmt = conn.prepareStatement(readSQL)) {
+                    readStmt.setInt(1, bookId);
+                    readStmt.setInt(2, cartId);
+                    ResultSet rs = readStmt.executeQuery();
+                    if (rs.next()) {
+                        delta = new CartDelta(bookId, rs.getInt("quantity"), rs.getInt("version"));
+                    }
+                }
+                conn.commit();
+                return delta;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            System.out.println("Error updating cart: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Reads all lines of a cart with their books on the given connection. The
+     * join is driven by the (cart_id, book_id) unique index on cart_items.
+     *
+     * @param conn   the connection to use.
+     * @param cartId the cart ID.
+     * @return a list of CartLine objects with fully populated books.
+     */
+    private List<CartLine> readCartLines(Connection conn, int cartId) throws SQLException {
+        List<CartLine> cartLines = new ArrayList<>();
+        String sql = "SELECT b.id, b.title, b.author, b.physical_copies, b.price, b.sold_copies, ci.quantity " +
+                "FROM cart_items ci " +
+                "JOIN books b ON b.id = ci.book_id " +
+                "WHERE ci.cart_id = ?";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, cartId);
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                Book book = new Book(
+                        rs.getInt("id"),
+                        rs.getString("title"),
+                        rs.getString("author"),
+                        rs.getInt("physical_copies"),
+                        rs.getDouble("price"),
+                        rs.getInt("sold_copies"));
+                cartLines.add(new CartLine(book, rs.getInt("quantity")));
+            }
         }
+        return cartLines;
     }
 
+    /**
+     * Increments the version of a cart so other sessions can detect the change,
+     * and records the time of the change for abandoned-cart maintenance.
+     *
+     * @param conn   the connection of the surrounding transaction.
+     * @param cartId the cart ID.
+     * @return the new version, or -1 if the cart does not exist.
+     */
+    private int bumpVersion(Connection conn, int cartId) throws SQLException {
+        String sql = "UPDATE cart SET version = version + 1, updated_at = CURRENT_TIMESTAMP WHERE cart_id = ?";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, cartId);
+            pstmt.executeUpdate();
+        }
+        try (PreparedStatement readStmt = conn.prepareStatement("SELECT version FROM cart WHERE cart_id = ?")) {
+            readStmt.setInt(1, cartId);
+            ResultSet rs = readStmt.executeQuery();
+            return rs.next() ? rs.getInt("version") : -1;
+        }
+    }
 }
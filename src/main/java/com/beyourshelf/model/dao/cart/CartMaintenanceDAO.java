@@ -0,0 +1,131 @@
+package com.beyourshelf.model.dao.cart;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.beyourshelf.model.dao.BaseDAO;
+import com.beyourshelf.model.dao.database.Database;
+import com.beyourshelf.model.entity.CartMaintenanceStats;
+
+/**
+ * DAO implementation for abandoned-cart maintenance.
+ * Inactive carts are located through the (status, updated_at) index, using
+ * the updated_at column that CartDAO maintains on every cart write.
+ */
+public class CartMaintenanceDAO extends BaseDAO implements ICartMaintenanceDAO {
+
+    // Format used for timestamps written by this DAO, matching CURRENT_TIMESTAMP
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    /**
+     * Finds active carts that have not been changed for the given number of days.
+     *
+     * @param inactiveDays the number of days without activity.
+     * @param limit        the maximum number of cart IDs to return.
+     * @return the IDs of the inactive carts, oldest first.
+     */
+    @Override
+    public List<Integer> findInactiveCartIds(int inactiveDays, int limit) {
+        String sql = "SELECT cart_id FROM cart WHERE status = 'active' "
+                + "AND updated_at < datetime('now', ?) "
+                + "ORDER BY updated_at LIMIT ?";
+        List<Integer> cartIds = executeQuery(sql, rs -> {
+            List<Integer> ids = new ArrayList<>();
+            try {
+                while (rs.next()) {
+                    ids.add(rs.getInt("cart_id"));
+                }
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+            return ids;
+        }, cutoffModifier(inactiveDays), limit);
+        return cartIds != null ? cartIds : Collections.emptyList();
+    }
+
+    /**
+     * Marks the given carts as abandoned, copies their items into
+     * cart_items_archive and deletes them from cart_items, all in one
+     * transaction. The inactivity condition is re-checked inside the
+     * transaction, so a cart touched since it was found stays active.
+     *
+     * @param cartIds      the IDs of the carts to abandon.
+     * @param inactiveDays the number of days without activity.
+     * @return an array of {carts abandoned, items archived}, or null on failure.
+     */
+    @Override
+    public int[] abandonCarts(List<Integer> cartIds, int inactiveDays) {
+        if (cartIds.isEmpty()) {
+            return new int[] { 0, 0 };
+        }
+        String placeholders = String.join(",", Collections.nCopies(cartIds.size(), "?"));
+        String abandonSQL = "UPDATE cart SET status = 'abandoned', updated_at = CURRENT_TIMESTAMP "
+                + "WHERE cart_id IN (" + placeholders + ") AND status = 'active' "
+                + "AND updated_at < datetime('now', ?)";
+        String abandonedInBatch = "SELECT cart_id FROM cart WHERE cart_id IN (" + placeholders
+                + ") AND status = 'abandoned'";
+        String archiveSQL = "INSERT INTO cart_items_archive (cart_id, book_id, quantity) "
+                + "SELECT cart_id, book_id, quantity FROM cart_items WHERE cart_id IN (" + abandonedInBatch + ")";
+        String deleteSQL = "DELETE FROM cart_items WHERE cart_id IN (" + abandonedInBatch + ")";
+
+        try (Connection conn = Database.getInstance().getConnection()) {
+            conn.setAutoCommit(false); // Begin transaction
+            try (PreparedStatement abandonStmt = conn.prepareStatement(abandonSQL);
+                    PreparedStatement archiveStmt = conn.prepareStatement(archiveSQL);
+                    PreparedStatement deleteStmt = conn.prepareStatement(deleteSQL)) {
+                Object[] ids = cartIds.toArray();
+                Object[] abandonParams = new Object[ids.length + 1];
+                System.arraycopy(ids, 0, abandonParams, 0, ids.length);
+                abandonParams[ids.length] = cutoffModifier(inactiveDays);
+
+                setPreparedStatementParams(abandonStmt, abandonParams);
+                int abandoned = abandonStmt.executeUpdate();
+
+                setPreparedStatementParams(archiveStmt, ids);
+                int archived = archiveStmt.executeUpdate();
+
+                setPreparedStatementParams(deleteStmt, ids);
+                deleteStmt.executeUpdate();
+
+                conn.commit(); // Commit the batch
+                return new int[] { abandoned, archived };
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            System.out.println("Error abandoning carts: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Records the statistics of a maintenance run.
+     *
+     * @param startedAt the time the run started.
+     * @param stats     the statistics of the run.
+     * @return true if the run was recorded, false otherwise.
+     */
+    @Override
+    public boolean recordRun(LocalDateTime startedAt, CartMaintenanceStats stats) {
+        String sql = "INSERT INTO cart_maintenance_runs "
+                + "(started_at, finished_at, carts_abandoned, items_archived, batches) VALUES (?, ?, ?, ?, ?)";
+        return executeUpdate(sql,
+                startedAt.format(TIMESTAMP_FORMAT),
+                LocalDateTime.now().format(TIMESTAMP_FORMAT),
+                stats.getCartsAbandoned(),
+                stats.getItemsArchived(),
+                stats.getBatches());
+    }
+
+    // Builds the SQLite datetime modifier for the inactivity cutoff, e.g. "-30 days"
+    private static String cutoffModifier(int inactiveDays) {
+        return "-" + inactiveDays + " days";
+    }
+}
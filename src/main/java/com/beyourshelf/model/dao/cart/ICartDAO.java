@@ -1,9 +1,14 @@
 package com.beyourshelf.model.dao.cart;
 
 import java.util.List;
+import java.util.Map;
 
 import com.beyourshelf.model.entity.Book;
+import com.beyourshelf.model.entity.CartChange;
+import com.beyourshelf.model.entity.CartDelta;
 import com.beyourshelf.model.entity.CartItem;
+import com.beyourshelf.model.entity.CartLine;
+import com.beyourshelf.model.entity.CartState;
 
 /**
  * Interface for managing cart-related data access operations.
@@ -22,14 +27,34 @@ public interface ICartDAO {
      */
     int getOrCreateCart(int userId);
 
+    /**
+     * Creates a new active cart for the specified user, without checking for an
+     * existing one.
+     *
+     * @param userId the user ID
+     * @return the ID of the new cart, or -1 on failure
+     */
+    int createCart(int userId);
+
     /**
      * Updates the quantity of a book in the cart.
      *
      * @param cartId   the cart ID
      * @param bookId   the book ID
      * @param quantity the new quantity to set
+     * @return the resulting line state and cart version, or null on failure
+     */
+    CartDelta updateBookQuantity(int cartId, int bookId, int quantity);
+
+    /**
+     * Updates the quantities of several books in the cart in a single transaction
+     * and bumps the cart version.
+     *
+     * @param cartId     the cart ID
+     * @param quantities a map of book ID to the new quantity to set
+     * @return the new cart version, or -1 on failure
      */
-    void updateBookQuantity(int cartId, int bookId, int quantity);
+    int updateBookQuantities(int cartId, Map<Integer, Integer> quantities);
 
     /**
      * Adds or updates a book in the cart.
@@ -38,8 +63,9 @@ public interface ICartDAO {
      * @param cartId   the cart ID
      * @param bookId   the book ID
      * @param quantity the quantity to add or update
+     * @return the resulting line state and cart version, or null on failure
      */
-    void addOrUpdateBookInCart(int cartId, int bookId, int quantity);
+    CartDelta addOrUpdateBookInCart(int cartId, int bookId, int quantity);
 
     /**
      * Retrieves all items from the specified cart.
@@ -49,19 +75,49 @@ public interface ICartDAO {
      */
     List<CartItem> getCartItems(int cartId);
 
+    /**
+     * Retrieves all items from the specified cart together with their books,
+     * using a single joined query.
+     *
+     * @param cartId the cart ID
+     * @return a list of CartLine objects with fully populated books
+     */
+    List<CartLine> getCartWithBooks(int cartId);
+
     /**
      * Removes a specific book from the cart.
      *
      * @param cartId the cart ID
      * @param bookId the book ID to remove
+     * @return the resulting line state and cart version, or null on failure
      */
-    void removeBookFromCart(int cartId, int bookId);
+    CartDelta removeBookFromCart(int cartId, int bookId);
 
     /**
      * Removes multiple books from the cart.
      *
      * @param cartId        the cart ID
      * @param booksToRemove the list of books to remove from the cart
+     * @return the new cart version, or -1 on failure
+     */
+    int removeBooksFromCart(int cartId, List<Book> booksToRemove);
+
+    /**
+     * Retrieves the current version of a cart. The version is incremented by
+     * every write to the cart's items.
+     *
+     * @param cartId the cart ID
+     * @return the cart version, or -1 if it could not be read
+     */
+    int getCartVersion(int cartId);
+
+    /**
+     * Applies many line changes to a cart in a single transaction, using one
+     * prepared-statement batch for upserts and one for removals.
+     *
+     * @param cartId  the cart ID
+     * @param changes the changes to apply, in order
+     * @return the resulting cart state, or null on failure
      */
-    void removeBooksFromCart(int cartId, List<Book> booksToRemove);
+    CartState applyCartChanges(int cartId, List<CartChange> changes);
 }
@@ -0,0 +1,43 @@
+package com.beyourshelf.model.dao.cart;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.beyourshelf.model.entity.CartMaintenanceStats;
+
+/**
+ * Interface for abandoned-cart maintenance data access operations.
+ * Defines the methods for finding inactive carts, archiving their items, and
+ * recording maintenance runs.
+ */
+public interface ICartMaintenanceDAO {
+
+    /**
+     * Finds active carts that have not been changed for the given number of days.
+     *
+     * @param inactiveDays the number of days without activity
+     * @param limit        the maximum number of cart IDs to return
+     * @return the IDs of the inactive carts, oldest first
+     */
+    List<Integer> findInactiveCartIds(int inactiveDays, int limit);
+
+    /**
+     * Marks the given carts as abandoned and moves their items to the archive in
+     * a single transaction. Carts that were changed since they were found are
+     * left untouched.
+     *
+     * @param cartIds      the IDs of the carts to abandon
+     * @param inactiveDays the number of days without activity
+     * @return an array of {carts abandoned, items archived}, or null on failure
+     */
+    int[] abandonCarts(List<Integer> cartIds, int inactiveDays);
+
+    /**
+     * Records the statistics of a maintenance run.
+     *
+     * @param startedAt the time the run started
+     * @param stats     the statistics of the run
+     * @return true if the run was recorded, false otherwise
+     */
+    boolean recordRun(LocalDateTime startedAt, CartMaintenanceStats stats);
+}
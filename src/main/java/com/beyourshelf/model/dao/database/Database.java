@@ -13,8 +13,11 @@ import java.sql.SQLException;
  */
 public class Database {
 
+    // System property that overrides the database URL, e.g. for stress runs
+    public static final String DB_URL_PROPERTY = "beyourshelf.db.url";
+
     // The URL for the SQLite database
-    private static final String DB_URL = "jdbc:sqlite:beyourshelf.db";
+    private static final String DB_URL = System.getProperty(DB_URL_PROPERTY, "jdbc:sqlite:beyourshelf.db");
 
     // HikariCP DataSource for managing connections
     private static HikariDataSource dataSource;
@@ -1,8 +1,11 @@
 package com.beyourshelf.model.dao.database;
 
+import java.sql.SQLException;
 import java.util.Arrays;
 
 import com.beyourshelf.model.dao.BaseDAO;
+import com.beyourshelf.model.dao.analytics.SalesAnalyticsDAO;
+import com.beyourshelf.model.dao.order.OrderDAO;
 
 /**
  * DatabaseInitializer is responsible for initializing the database, including
@@ -21,6 +24,7 @@ public class DatabaseInitializer extends BaseDAO {
         createTables(); // Create necessary tables for users, books, orders, etc.
         initializeAdminUser(); // Create the admin user if it doesn't exist
         populateBooks(); // Populate books table with initial data if empty
+        new OrderDAO().rollOverClosedMonths(); // Move closed months out of the main order tables
     }
 
     /**
@@ -32,6 +36,8 @@ public class DatabaseInitializer extends BaseDAO {
         createBooksTable(); // Create the books table
         createOrderTables(); // Create tables related to orders and order items
         createCartTables(); // Create tables for cart and cart items
+        createInventoryTables(); // Create tables used by the write-behind inventory engine
+        createAnalyticsTables(); // Create the sales rollup used by the admin analytics view
     }
 
     /**
@@ -49,7 +55,12 @@ public class DatabaseInitializer extends BaseDAO {
                         is_admin BOOLEAN DEFAULT 0
                     );
                 """;
-        new DatabaseInitializer().executeUpdate(sql);
+        // Admin user search pages through regular users by username, ignoring case
+        String createUserSearchIndexSQL = "CREATE INDEX IF NOT EXISTS idx_users_admin_username ON users(is_admin, username COLLATE NOCASE)";
+
+        DatabaseInitializer initializer = new DatabaseInitializer();
+        initializer.executeUpdate(sql);
+        initializer.executeUpdate(createUserSearchIndexSQL);
         System.out.println("Users table created or already exists.");
     }
 
@@ -102,11 +113,32 @@ public class DatabaseInitializer extends BaseDAO {
                     );
                 """;
 
+        // Keyset pages sort by these columns with order_id (the rowid) as tie-breaker
+        String createOrderDateIndexSQL = "CREATE INDEX IF NOT EXISTS idx_orders_date ON orders(order_date)";
+        String createOrderTotalIndexSQL = "CREATE INDEX IF NOT EXISTS idx_orders_total ON orders(total_price)";
+        String createOrderUserDateIndexSQL = "CREATE INDEX IF NOT EXISTS idx_orders_user_date ON orders(user_id, order_date)";
+
         DatabaseInitializer initializer = new DatabaseInitializer();
         initializer.executeUpdate(createOrdersTableSQL);
+        initializer.executeUpdate(createOrderDateIndexSQL);
+        initializer.executeUpdate(createOrderTotalIndexSQL);
+        initializer.executeUpdate(createOrderUserDateIndexSQL);
         System.out.println("Orders table created.");
         initializer.executeUpdate(createOrderItemsTableSQL);
+        initializer.executeUpdate("CREATE INDEX IF NOT EXISTS idx_order_items_order ON order_items(order_id)");
         System.out.println("Order items table created.");
+
+        // Directory of the orders moved to monthly partition files, see OrderPartitionRouter
+        initializer.executeUpdate("""
+                    CREATE TABLE IF NOT EXISTS order_partitions (
+                        order_id INTEGER PRIMARY KEY,
+                        order_number TEXT NOT NULL,
+                        user_id INTEGER NOT NULL,
+                        month TEXT NOT NULL
+                    );
+                """);
+        initializer.executeUpdate("CREATE INDEX IF NOT EXISTS idx_order_partitions_user ON order_partitions(user_id, month)");
+        initializer.executeUpdate("CREATE INDEX IF NOT EXISTS idx_order_partitions_number ON order_partitions(order_number)");
     }
 
     /**
@@ -119,6 +151,8 @@ public class DatabaseInitializer extends BaseDAO {
                         user_id INTEGER NOT NULL,
                         status TEXT NOT NULL DEFAULT 'active',
                         created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                        version INTEGER NOT NULL DEFAULT 0,
+                        updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
                         FOREIGN KEY (user_id) REFERENCES users(id)
                     );
                 """;
@@ -135,11 +169,136 @@ public class DatabaseInitializer extends BaseDAO {
                     );
                 """;
 
+        // Active-cart lookups filter on both columns
+        String createCartUserStatusIndexSQL = "CREATE INDEX IF NOT EXISTS idx_cart_user_status ON cart(user_id, status)";
+
+        // The maintenance job scans active carts by last activity
+        String createCartStatusUpdatedIndexSQL = "CREATE INDEX IF NOT EXISTS idx_cart_status_updated ON cart(status, updated_at)";
+
+        String createCartItemsArchiveTableSQL = """
+                    CREATE TABLE IF NOT EXISTS cart_items_archive (
+                        cart_id INTEGER NOT NULL,
+                        book_id INTEGER NOT NULL,
+                        quantity INTEGER NOT NULL,
+                        archived_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+                    );
+                """;
+
+        String createMaintenanceRunsTableSQL = """
+                    CREATE TABLE IF NOT EXISTS cart_maintenance_runs (
+                        run_id INTEGER PRIMARY KEY AUTOINCREMENT,
+                        started_at TIMESTAMP NOT NULL,
+                        finished_at TIMESTAMP NOT NULL,
+                        carts_abandoned INTEGER NOT NULL,
+                        items_archived INTEGER NOT NULL,
+                        batches INTEGER NOT NULL
+                    );
+                """;
+
         DatabaseInitializer initializer = new DatabaseInitializer();
         initializer.executeUpdate(createCartTableSQL);
+        addColumnIfMissing("cart", "version", "INTEGER NOT NULL DEFAULT 0"); // Added after the first release
+        if (addColumnIfMissing("cart", "updated_at", "TIMESTAMP")) {
+            // SQLite cannot add a column with a CURRENT_TIMESTAMP default, so backfill it.
+            // Activity was not tracked before, so the inactivity clock starts now rather
+            // than at created_at, which would abandon old carts that are still in use.
+            initializer.executeUpdate("UPDATE cart SET updated_at = CURRENT_TIMESTAMP");
+        }
+        initializer.executeUpdate(createCartUserStatusIndexSQL);
+        initializer.executeUpdate(createCartStatusUpdatedIndexSQL);
         System.out.println("Cart table created.");
         initializer.executeUpdate(createCartItemsTableSQL);
         System.out.println("Cart items table created.");
+        initializer.executeUpdate(createCartItemsArchiveTableSQL);
+        initializer.executeUpdate(createMaintenanceRunsTableSQL);
+        System.out.println("Cart maintenance tables created.");
+    }
+
+    /**
+     * Adds a column to an existing table if it is not there yet, so databases
+     * created by older versions pick up new columns.
+     *
+     * @param table      The table to alter.
+     * @param column     The column name.
+     * @param definition The column type and constraints.
+     * @return true if the column was added, false if it already existed.
+     */
+    private static boolean addColumnIfMissing(String table, String column, String definition) {
+        DatabaseInitializer initializer = new DatabaseInitializer();
+        Boolean exists = initializer.executeQuery("PRAGMA table_info(" + table + ")", rs -> {
+            try {
+                while (rs.next()) {
+                    if (column.equalsIgnoreCase(rs.getString("name"))) {
+                        return true;
+                    }
+                }
+                return false;
+            } catch (Exception e) {
+                return false;
+            }
+        });
+
+        if (Boolean.FALSE.equals(exists)) {
+            initializer.executeUpdate("ALTER TABLE " + table + " ADD COLUMN " + column + " " + definition);
+            System.out.println("Added column " + column + " to " + table + " table.");
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Creates the stock_journal_state table used by the write-behind inventory
+     * engine to record which journal entries have been applied to the books table.
+     */
+    private static void createInventoryTables() {
+        String createJournalStateTableSQL = """
+                    CREATE TABLE IF NOT EXISTS stock_journal_state (
+                        id INTEGER PRIMARY KEY CHECK (id = 1),
+                        last_sequence INTEGER NOT NULL
+                    );
+                """;
+        String initJournalStateSQL = "INSERT OR IGNORE INTO stock_journal_state (id, last_sequence) VALUES (1, 0)";
+
+        DatabaseInitializer initializer = new DatabaseInitializer();
+        initializer.executeUpdate(createJournalStateTableSQL);
+        initializer.executeUpdate(initJournalStateSQL);
+        System.out.println("Stock journal state table created.");
+    }
+
+    /**
+     * Creates the sales_daily rollup table, holding the copies sold and revenue
+     * per day and book. An empty rollup is built from the existing order history,
+     * so databases created before the rollup existed get their past sales.
+     */
+    private static void createAnalyticsTables() {
+        String createSalesDailyTableSQL = """
+                    CREATE TABLE IF NOT EXISTS sales_daily (
+                        day TEXT NOT NULL,
+                        book_id INTEGER NOT NULL,
+                        qty INTEGER NOT NULL,
+                        revenue REAL NOT NULL,
+                        PRIMARY KEY (day, book_id)
+                    ) WITHOUT ROWID;
+                """;
+
+        // Per-book queries scan one book's days instead of every day
+        String createSalesBookIndexSQL = "CREATE INDEX IF NOT EXISTS idx_sales_daily_book ON sales_daily(book_id, day)";
+
+        DatabaseInitializer initializer = new DatabaseInitializer();
+        initializer.executeUpdate(createSalesDailyTableSQL);
+        initializer.executeUpdate(createSalesBookIndexSQL);
+
+        Boolean rollupEmpty = initializer.executeQuery("SELECT NOT EXISTS (SELECT 1 FROM sales_daily)", rs -> {
+            try {
+                return rs.next() && rs.getBoolean(1);
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        if (Boolean.TRUE.equals(rollupEmpty)) {
+            new SalesAnalyticsDAO().rebuildSalesDaily();
+        }
+        System.out.println("Sales rollup table created.");
     }
 
     /**
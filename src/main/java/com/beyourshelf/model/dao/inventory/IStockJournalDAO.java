@@ -0,0 +1,29 @@
+package com.beyourshelf.model.dao.inventory;
+
+import java.util.Map;
+
+/**
+ * Interface for the stock journal Data Access Object (DAO).
+ * Defines the operations used by the write-behind inventory engine to persist
+ * batched stock deltas and track which journal entries have been applied.
+ */
+public interface IStockJournalDAO {
+
+    /**
+     * Retrieves the sequence number of the last journal entry that has been
+     * applied to the books table.
+     *
+     * @return the last applied journal sequence, or 0 if nothing has been applied.
+     */
+    long getLastAppliedSequence();
+
+    /**
+     * Applies a batch of stock deltas to the books table and records the journal
+     * sequence they cover, all in a single transaction.
+     *
+     * @param deltas   map of book ID to the change in physical copies.
+     * @param sequence the highest journal sequence included in the batch.
+     * @return true if the batch was committed, false otherwise.
+     */
+    boolean applyStockDeltas(Map<Integer, Integer> deltas, long sequence);
+}
@@ -0,0 +1,79 @@
+package com.beyourshelf.model.dao.inventory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Map;
+
+import com.beyourshelf.model.dao.BaseDAO;
+import com.beyourshelf.model.dao.database.Database;
+
+/**
+ * DAO implementation for the stock journal state.
+ * Persists batches of stock deltas together with the journal sequence they
+ * cover, so a crash between a flush and the journal compaction never applies
+ * the same delta twice.
+ */
+public class StockJournalDAO extends BaseDAO implements IStockJournalDAO {
+
+    /**
+     * Retrieves the sequence number of the last applied journal entry.
+     *
+     * @return the last applied journal sequence, or 0 if nothing has been applied.
+     */
+    @Override
+    public long getLastAppliedSequence() {
+        String sql = "SELECT last_sequence FROM stock_journal_state WHERE id = 1";
+        Long sequence = executeQuery(sql, rs -> {
+            try {
+                return rs.next() ? rs.getLong("last_sequence") : 0L;
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        return sequence != null ? sequence : 0L;
+    }
+
+    /**
+     * Applies the stock deltas as one prepared-statement batch and advances the
+     * applied sequence in the same transaction.
+     *
+     * @param deltas   map of book ID to the change in physical copies.
+     * @param sequence the highest journal sequence included in the batch.
+     * @return true if the batch was committed, false otherwise.
+     */
+    @Override
+    public boolean applyStockDeltas(Map<Integer, Integer> deltas, long sequence) {
+        String updateStockSQL = "UPDATE books SET physical_copies = physical_copies + ? WHERE id = ?";
+        String updateSequenceSQL = "UPDATE stock_journal_state SET last_sequence = ? WHERE id = 1 AND last_sequence < ?";
+
+        try (Connection conn = Database.getInstance().getConnection()) {
+            conn.setAutoCommit(false); // Start transaction
+            try (PreparedStatement stockStmt = conn.prepareStatement(updateStockSQL);
+                    PreparedStatement sequenceStmt = conn.prepareStatement(updateSequenceSQL)) {
+                for (Map.Entry<Integer, Integer> entry : deltas.entrySet()) {
+                    if (entry.getValue() == 0) {
+                        continue; // Reservations and reverts cancelled each other out
+                    }
+                    stockStmt.setInt(1, entry.getValue());
+                    stockStmt.setInt(2, entry.getKey());
+                    stockStmt.addBatch();
+                }
+                stockStmt.executeBatch();
+
+                sequenceStmt.setLong(1, sequence);
+                sequenceStmt.setLong(2, sequence);
+                sequenceStmt.executeUpdate();
+
+                conn.commit(); // Commit deltas and sequence together
+                return true;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            System.out.println("Error applying stock deltas: " + e.getMessage());
+            return false;
+        }
+    }
+}
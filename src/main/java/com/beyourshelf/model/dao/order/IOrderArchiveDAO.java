@@ -0,0 +1,54 @@
+package com.beyourshelf.model.dao.order;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+import com.beyourshelf.model.entity.Order;
+
+/**
+ * Interface for moving old orders out of the live tables and reading them back.
+ * Archived orders are stored with their items in one SQLite file per month,
+ * each attached to a connection only while it is being used.
+ */
+public interface IOrderArchiveDAO {
+
+    /**
+     * Moves up to batchSize of the oldest orders placed before the cutoff,
+     * together with their items, into the archive and deletes them from the live
+     * tables in a single transaction.
+     *
+     * @param cutoff    orders placed before this time are archived
+     * @param batchSize the maximum number of orders to move
+     * @return the number of orders archived, or -1 on failure
+     */
+    int archiveOrdersBefore(LocalDateTime cutoff, int batchSize);
+
+    /**
+     * Looks up an archived order, with its items, by order number.
+     *
+     * @param orderNumber the order number
+     * @param placedIn    the month the order was most likely placed, searched
+     *                    first, or null if unknown
+     * @return the archived order, or empty if it is not in the archive
+     */
+    Optional<Order> findArchivedOrder(String orderNumber, YearMonth placedIn);
+
+    /**
+     * Retrieves the archived orders of a user, with their items.
+     *
+     * @param userId the ID of the user
+     * @return the user's archived orders, newest first
+     */
+    List<Order> getArchivedOrdersByUser(int userId);
+
+    /**
+     * Retrieves the archived orders placed in a time range, with their items.
+     *
+     * @param from the start of the range, inclusive
+     * @param to   the end of the range, exclusive
+     * @return the archived orders in the range, newest first
+     */
+    List<Order> getArchivedOrdersBetween(LocalDateTime from, LocalDateTime to);
+}
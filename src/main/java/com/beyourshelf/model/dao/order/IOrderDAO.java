@@ -1,9 +1,11 @@
 package com.beyourshelf.model.dao.order;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import com.beyourshelf.model.entity.Order;
+import com.beyourshelf.model.entity.OrderItem;
 
 /**
  * Interface for Order Data Access Object (DAO).
@@ -19,6 +21,14 @@ public interface IOrderDAO {
      */
     boolean saveOrder(Order order);
 
+    /**
+     * Moves the orders of closed months out of the main tables into their
+     * monthly partitions.
+     *
+     * @return The number of orders moved, or -1 on failure.
+     */
+    int rollOverClosedMonths();
+
     /**
      * Retrieves all orders made by a specific user.
      *
@@ -27,6 +37,22 @@ public interface IOrderDAO {
      */
     List<Order> getAllOrdersByUser(int userId);
 
+    /**
+     * Retrieves all orders made by a specific user, without their items.
+     *
+     * @param userId The ID of the user.
+     * @return A list of Order objects with empty item lists, newest first.
+     */
+    List<Order> getOrderSummariesByUser(int userId);
+
+    /**
+     * Retrieves the items of several orders in batches.
+     *
+     * @param orderIds The IDs of the orders.
+     * @return A map of order ID to its items; every requested ID is present.
+     */
+    Map<Integer, List<OrderItem>> getOrderItems(List<Integer> orderIds);
+
     /**
      * Retrieves an order by its unique ID.
      *
@@ -59,6 +85,14 @@ public interface IOrderDAO {
      */
     List<Order> getAllOrders();
 
+    /**
+     * Retrieves one page of orders matching the query, without their items.
+     *
+     * @param query The filters, sort order, page size and keyset cursor.
+     * @return The page of orders and the query for the next page.
+     */
+    OrderPage findOrders(OrderQuery query);
+
     /**
      * Fetches orders for admin with detailed information.
      *
@@ -74,4 +108,14 @@ public interface IOrderDAO {
      * @return true if the deletion was successful, false otherwise.
      */
     boolean deleteOrderById(int orderId);
+
+    /**
+     * Deletes several orders and their items in a single transaction. A
+     * selection spanning more than eight closed months is deleted in several
+     * transactions, so a failure may leave earlier months deleted.
+     *
+     * @param orderIds The IDs of the orders to delete.
+     * @return true if every order was deleted, false otherwise.
+     */
+    boolean deleteOrders(List<Integer> orderIds);
 }
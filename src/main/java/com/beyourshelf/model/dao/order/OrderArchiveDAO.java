@@ -0,0 +1,200 @@
+package com.beyourshelf.model.dao.order;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.beyourshelf.model.dao.BaseDAO;
+import com.beyourshelf.model.dao.database.Database;
+import com.beyourshelf.model.entity.Order;
+import com.beyourshelf.model.entity.OrderItem;
+
+/**
+ * DAO implementation for the order archive.
+ * Archived orders are split by month into partition files managed by
+ * OrderPartitionRouter, separate from the live partitions read by OrderDAO.
+ * SQLite only allows ATTACH outside a transaction and attachments belong to a
+ * single connection, so every method attaches the partitions it needs to its
+ * pooled connection and detaches them before the connection goes back to the
+ * pool.
+ */
+public class OrderArchiveDAO extends BaseDAO implements IOrderArchiveDAO {
+
+    // Newest orders first, matching the order history in the live tables
+    private static final Comparator<Order> NEWEST_FIRST = Comparator
+            .comparing(Order::getOrderDate, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(Order::getOrderId, Comparator.reverseOrder());
+
+    /**
+     * Moves a batch of the oldest orders placed before the cutoff into the
+     * archive partition of their month. Closed months are read from the live
+     * partitions, oldest first, and the main tables are only used once those
+     * hold nothing older than the cutoff. A batch never spans two months, so
+     * only one archive partition is attached. The rows are copied and deleted in
+     * one transaction, so an order is always either live or archived, never both
+     * or neither. Archived orders stay in the sales_daily rollup.
+     *
+     * @param cutoff    orders placed before this time are archived.
+     * @param batchSize the maximum number of orders to move.
+     * @return the number of orders archived, or -1 on failure.
+     */
+    @Override
+    public int archiveOrdersBefore(LocalDateTime cutoff, int batchSize) {
+        OrderPartitionRouter live = OrderPartitionRouter.live();
+        try (Connection conn = Database.getInstance().getConnection()) {
+            for (YearMonth month : live.partitionsBetween(null, cutoff)) {
+                live.attachPartition(conn, month);
+                int archived;
+                try {
+                    archived = OrderPartitionRouter.archive().moveOldestBatch(conn, live.getSchema(), cutoff, batchSize);
+                } finally {
+                    live.detachPartition(conn);
+                }
+                if (archived > 0) {
+                    live.removeIfEmpty(conn, month);
+                    return archived;
+                }
+            }
+            return OrderPartitionRouter.archive().moveOldestBatch(conn, "main", cutoff, batchSize);
+        } catch (SQLException e) {
+            System.out.println("Error archiving orders: " + e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * Looks up an archived order, with its items, by order number. The partitions
+     * of the given month and the next one are searched first, since an order is
+     * dated a moment after its number is issued; the others only if it is not
+     * found there.
+     *
+     * @param orderNumber the order number.
+     * @param placedIn    the month the order was most likely placed, or null if
+     *                    unknown.
+     * @return the archived order, or empty if it is not in the archive.
+     */
+    @Override
+    public Optional<Order> findArchivedOrder(String orderNumber, YearMonth placedIn) {
+        List<YearMonth> likely = new ArrayList<>();
+        List<YearMonth> others = new ArrayList<>();
+        for (YearMonth month : OrderPartitionRouter.archive().listPartitions()) {
+            if (placedIn != null && (month.equals(placedIn) || month.equals(placedIn.plusMonths(1)))) {
+                likely.add(month);
+            } else {
+                others.add(month);
+            }
+        }
+
+        Optional<Order> order = fetchFromPartitions(likely, "o.order_number = ?", orderNumber).stream().findFirst();
+        if (order.isEmpty()) {
+            order = fetchFromPartitions(others, "o.order_number = ?", orderNumber).stream().findFirst();
+        }
+        return order;
+    }
+
+    /**
+     * Retrieves the archived orders of a user, with their items, from every
+     * partition.
+     *
+     * @param userId the ID of the user.
+     * @return the user's archived orders, newest first.
+     */
+    @Override
+    public List<Order> getArchivedOrdersByUser(int userId) {
+        return fetchFromPartitions(OrderPartitionRouter.archive().listPartitions(), "o.user_id = ?", userId);
+    }
+
+    /**
+     * Retrieves the archived orders placed in a time range, with their items.
+     * Only the partitions overlapping the range are opened.
+     *
+     * @param from the start of the range, inclusive.
+     * @param to   the end of the range, exclusive.
+     * @return the archived orders in the range, newest first.
+     */
+    @Override
+    public List<Order> getArchivedOrdersBetween(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            return new ArrayList<>();
+        }
+        return fetchFromPartitions(OrderPartitionRouter.archive().partitionsBetween(from, to),
+                "o.order_date >= ? AND o.order_date < ?", Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+
+    /**
+     * Loads the archived orders matching a condition from several partitions in
+     * parallel and merges them, newest first.
+     *
+     * @param months    the partitions to search.
+     * @param condition the WHERE condition on archive.orders, aliased as o.
+     * @param params    parameters for the condition.
+     * @return the matching orders with their items.
+     */
+    private List<Order> fetchFromPartitions(List<YearMonth> months, String condition, Object... params) {
+        try {
+            List<Order> orders = OrderPartitionRouter.archive().queryPartitions(months,
+                    (conn, _, _) -> fetchArchivedOrders(conn, condition, params));
+            orders.sort(NEWEST_FIRST);
+            return orders;
+        } catch (SQLException e) {
+            System.out.println("Error reading order archive: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Loads the orders matching a condition from the attached partition, newest
+     * first, and their items with one further query using the same condition.
+     *
+     * @param conn      a connection with the partition attached as "archive".
+     * @param condition the WHERE condition on archive.orders, aliased as o.
+     * @param params    parameters for the condition.
+     * @return the matching orders with their items.
+     */
+    private List<Order> fetchArchivedOrders(Connection conn, String condition, Object... params) throws SQLException {
+        String ordersSQL = "SELECT o.* FROM archive.orders o WHERE " + condition
+                + " ORDER BY o.order_date DESC, o.order_id DESC";
+        String itemsSQL = "SELECT oi.* FROM archive.order_items oi JOIN archive.orders o ON o.order_id = oi.order_id "
+                + "WHERE " + condition + " ORDER BY oi.order_item_id";
+
+        Map<Integer, Order> orders = new LinkedHashMap<>();
+        try (PreparedStatement orderStmt = conn.prepareStatement(ordersSQL)) {
+            setPreparedStatementParams(orderStmt, params);
+            ResultSet rs = orderStmt.executeQuery();
+            while (rs.next()) {
+                Order order = new Order(rs.getString("order_number"), rs.getInt("user_id"),
+                        rs.getDouble("total_price"), new ArrayList<>());
+                order.setOrderId(rs.getInt("order_id"));
+                Timestamp orderDate = rs.getTimestamp("order_date");
+                if (orderDate != null) {
+                    order.setOrderDate(orderDate.toLocalDateTime());
+                }
+                orders.put(order.getOrderId(), order);
+            }
+        }
+        if (!orders.isEmpty()) {
+            try (PreparedStatement itemStmt = conn.prepareStatement(itemsSQL)) {
+                setPreparedStatementParams(itemStmt, params);
+                ResultSet rs = itemStmt.executeQuery();
+                while (rs.next()) {
+                    orders.get(rs.getInt("order_id")).getOrderItems().add(new OrderItem(
+                            rs.getInt("book_id"),
+                            rs.getString("title"),
+                            rs.getInt("quantity"),
+                            rs.getDouble("price")));
+                }
+            }
+        }
+        return new ArrayList<>(orders.values());
+    }
+}
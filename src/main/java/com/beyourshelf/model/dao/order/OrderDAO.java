@@ -1,14 +1,22 @@
 package com.beyourshelf.model.dao.order;
 
 import java.sql.*;
-import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 import com.beyourshelf.model.dao.BaseDAO;
+import com.beyourshelf.model.dao.analytics.SalesAnalyticsDAO;
+import com.beyourshelf.model.dao.book.BookDAO;
+import com.beyourshelf.model.dao.book.IBookDAO;
 import com.beyourshelf.model.dao.database.Database;
 import com.beyourshelf.model.entity.Order;
 import com.beyourshelf.model.entity.OrderItem;
@@ -17,12 +25,50 @@ import com.beyourshelf.model.entity.OrderItem;
  * Implementation of the IOrderDAO interface for interacting with the orders
  * table in the database.
  * Provides methods to save, retrieve, and delete orders.
+ *
+ * The order store is split by month. New orders are written only to the
+ * orders and order_items tables of the main database, which hold the current
+ * month, so an order, its sold copies and its sales rollup rows still commit in
+ * one transaction. Closed months are moved into monthly partition files by
+ * {@link #rollOverClosedMonths()}. Reads go through OrderPartitionRouter: they
+ * query the main tables and the partitions that can hold matching orders in
+ * parallel and merge the results. Which partitions can hold a match is decided
+ * by the date range, or by the router's directory for lookups by order ID,
+ * user or order number.
  */
 public class OrderDAO extends BaseDAO implements IOrderDAO {
 
+    // Order IDs bound per IN clause, below SQLite's default parameter limit
+    private static final int MAX_IN_PARAMETERS = 500;
+
+    // Orders moved per transaction when a closed month leaves the main tables
+    private static final int ROLLOVER_BATCH_SIZE = 500;
+
+    // Partitions attached per transaction by a multi-order delete, below SQLite's default limit of ten
+    private static final int MAX_ATTACHED_PARTITIONS = 8;
+
+    // Newest orders first, the order of every order history
+    private static final Comparator<Order> NEWEST_FIRST = Comparator
+            .comparing(Order::getOrderDate, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(Order::getOrderId, Comparator.reverseOrder());
+
+    private final OrderPartitionRouter partitions = OrderPartitionRouter.live(); // Closed months of the order store
+    private final IBookDAO bookDAO = new BookDAO(); // Records the sold copies in the order's transaction
+
+    /**
+     * Decides which partitions a read has to open besides the main tables.
+     */
+    @FunctionalInterface
+    private interface PartitionLookup {
+        List<YearMonth> find() throws SQLException;
+    }
+
     /**
      * Saves an order in the database along with its associated order items.
-     * Uses a transaction to ensure atomicity of the operation.
+     * Uses a transaction to ensure atomicity of the operation. The sold copies of
+     * every ordered book and the sales_daily rollup are updated in the same
+     * transaction, so reserved stock is converted into a sale exactly when the
+     * order is recorded.
      *
      * @param order The Order object to save.
      * @return true if the order is saved successfully, false otherwise.
@@ -31,19 +77,31 @@ public class OrderDAO extends BaseDAO implements IOrderDAO {
     public boolean saveOrder(Order order) {
         String insertOrderSQL = "INSERT INTO orders (order_number, user_id, total_price, order_date) VALUES (?, ?, ?, ?)";
         String insertOrderItemSQL = "INSERT INTO order_items (order_id, book_id, title, quantity, price) VALUES (?, ?, ?, ?, ?)";
+        String updateSalesDailySQL = "INSERT INTO sales_daily (day, book_id, qty, revenue) VALUES (?, ?, ?, ?) "
+                + "ON CONFLICT(day, book_id) DO UPDATE SET qty = qty + excluded.qty, revenue = revenue + excluded.revenue";
 
         try (Connection conn = Database.getInstance().getConnection()) {
             conn.setAutoCommit(false); // Start transaction
 
-            // Insert the order and retrieve the generated order ID
-            int orderId = insertOrder(conn, insertOrderSQL, order);
-
-            if (orderId != -1) {
-                order.setOrderId(orderId);
-                // Insert associated order items
-                insertOrderItems(conn, insertOrderItemSQL, order.getOrderItems(), orderId);
-                conn.commit(); // Commit transaction
-                return true;
+            try {
+                // Insert the order and retrieve the generated order ID
+                int orderId = insertOrder(conn, insertOrderSQL, order);
+
+                if (orderId != -1) {
+                    order.setOrderId(orderId);
+                    // Insert associated order items
+                    insertOrderItems(conn, insertOrderItemSQL, order.getOrderItems(), orderId);
+                    // Record the sale against each book
+                    bookDAO.updateSoldCopies(conn, soldCopiesOf(order.getOrderItems()));
+                    // Add the sale to the daily analytics rollup
+                    updateSalesDaily(conn, updateSalesDailySQL, order);
+                    conn.commit(); // Commit transaction
+                    return true;
+                }
+                conn.rollback();
+            } catch (SQLException e) {
+                conn.rollback(); // Undo the partial order
+                throw e;
             }
 
         } catch (SQLException e) {
@@ -100,6 +158,71 @@ public class OrderDAO extends BaseDAO implements IOrderDAO {
         }
     }
 
+    /**
+     * Totals the copies sold per book in an order.
+     *
+     * @param orderItems The list of order items.
+     * @return A map of book ID to the number of copies sold.
+     */
+    private Map<Integer, Integer> soldCopiesOf(List<OrderItem> orderItems) {
+        Map<Integer, Integer> soldCopies = new LinkedHashMap<>();
+        for (OrderItem item : orderItems) {
+            soldCopies.merge(item.getBookId(), item.getQuantity(), Integer::sum);
+        }
+        return soldCopies;
+    }
+
+    /**
+     * Adds the items of an order to the sales_daily rollup as a single batch.
+     *
+     * @param conn  The database connection.
+     * @param sql   The SQL query to upsert the rollup rows.
+     * @param order The order being saved.
+     */
+    private void updateSalesDaily(Connection conn, String sql, Order order) throws SQLException {
+        String day = order.getOrderDate().toLocalDate().toString();
+        try (PreparedStatement salesStmt = conn.prepareStatement(sql)) {
+            for (OrderItem item : order.getOrderItems()) {
+                salesStmt.setString(1, day);
+                salesStmt.setInt(2, item.getBookId());
+                salesStmt.setInt(3, item.getQuantity());
+                salesStmt.setDouble(4, item.getQuantity() * item.getPrice());
+                salesStmt.addBatch(); // Add each book to the batch
+            }
+            salesStmt.executeBatch(); // Execute the batch
+        }
+    }
+
+    /**
+     * Moves the orders of closed months out of the main tables into the
+     * partition of their month, one batch per transaction, so the main tables
+     * only keep growing within the current month. Orders of a month that ends
+     * while the application runs stay in the main tables until the next call;
+     * reads always include the main tables, so they are never missed.
+     *
+     * @return The number of orders moved, or -1 on failure.
+     */
+    @Override
+    public int rollOverClosedMonths() {
+        LocalDateTime currentMonth = YearMonth.now().atDay(1).atStartOfDay();
+        int total = 0;
+        try (Connection conn = Database.getInstance().getConnection()) {
+            partitions.indexPartitions(conn); // Partitions written before the directory existed
+            int moved;
+            do {
+                moved = partitions.moveOldestBatch(conn, "main", currentMonth, ROLLOVER_BATCH_SIZE);
+                total += moved;
+            } while (moved > 0);
+        } catch (SQLException e) {
+            System.out.println("Error moving closed months to order partitions: " + e.getMessage());
+            return -1;
+        }
+        if (total > 0) {
+            System.out.println("Moved " + total + " orders of closed months to order partitions");
+        }
+        return total;
+    }
+
     /**
      * Retrieves all orders placed by a specific user.
      *
@@ -108,8 +231,23 @@ public class OrderDAO extends BaseDAO implements IOrderDAO {
      */
     @Override
     public List<Order> getAllOrdersByUser(int userId) {
-        String fetchOrdersSQL = "SELECT * FROM orders WHERE user_id = ? ORDER BY order_date DESC";
-        return fetchOrders(fetchOrdersSQL, userId);
+        List<Order> orders = fetchOrders(() -> partitions.partitionsOfUser(userId), "user_id = ?", true, userId);
+        orders.sort(NEWEST_FIRST);
+        return orders;
+    }
+
+    /**
+     * Retrieves the orders placed by a specific user without their items, using
+     * a single query per partition.
+     *
+     * @param userId The ID of the user.
+     * @return A list of Order objects with empty item lists, newest first.
+     */
+    @Override
+    public List<Order> getOrderSummariesByUser(int userId) {
+        List<Order> orders = fetchOrders(() -> partitions.partitionsOfUser(userId), "user_id = ?", false, userId);
+        orders.sort(NEWEST_FIRST);
+        return orders;
     }
 
     /**
@@ -120,8 +258,8 @@ public class OrderDAO extends BaseDAO implements IOrderDAO {
      */
     @Override
     public Optional<Order> getOrderById(int orderId) {
-        String fetchOrderSQL = "SELECT * FROM orders WHERE order_id = ?";
-        return fetchSingleOrder(fetchOrderSQL, orderId);
+        return fetchOrders(() -> partitions.partitionsOfOrders(List.of(orderId)), "order_id = ?", true, orderId)
+                .stream().findFirst();
     }
 
     /**
@@ -134,63 +272,16 @@ public class OrderDAO extends BaseDAO implements IOrderDAO {
      */
     @Override
     public List<Order> getSelectedOrdersByUser(int userId, List<Integer> orderIds) {
-        String orderIdsSQL = buildPlaceholders(orderIds);
-        String fetchOrdersSQL = "SELECT * FROM orders WHERE user_id = ? AND order_id IN (" + orderIdsSQL + ")";
-        return fetchOrders(fetchOrdersSQL, userId, orderIds);
-    }
-
-    public List<Order> getAdminSelectedOrdersByIds(List<Integer> orderIds) {
         if (orderIds.isEmpty()) {
-            return Collections.emptyList();
-        }
-
-        // Construct the SQL query with placeholders for order IDs
-        StringBuilder queryBuilder = new StringBuilder("SELECT * FROM orders WHERE order_id IN (");
-        queryBuilder.append(orderIds.stream().map(id -> "?").collect(Collectors.joining(",")));
-        queryBuilder.append(")");
-
-        String query = queryBuilder.toString();
-
-        try (Connection connection = Database.getInstance().getConnection();
-                PreparedStatement preparedStatement = connection.prepareStatement(query)) {
-            // Set the order IDs in the prepared statement
-            for (int i = 0; i < orderIds.size(); i++) {
-                preparedStatement.setInt(i + 1, orderIds.get(i));
-            }
-
-            ResultSet resultSet = preparedStatement.executeQuery();
-            return mapOrdersForAdmin(resultSet); // Assuming mapOrdersForAdmin maps ResultSet to Order objects with
-                                                 // admin fields
-        } catch (SQLException e) {
-            System.err.println("Error fetching selected orders for admin: " + e.getMessage());
-            return Collections.emptyList();
+            return new ArrayList<>();
         }
+        String orderIdsSQL = buildPlaceholders(orderIds);
+        return fetchOrders(() -> partitions.partitionsOfOrders(orderIds),
+                "user_id = ? AND order_id IN (" + orderIdsSQL + ")", true, userId);
     }
 
-    // This method will map ResultSet to Order objects specifically for admin
-    private List<Order> mapOrdersForAdmin(ResultSet resultSet) throws SQLException {
-        List<Order> orders = new ArrayList<>();
-        while (resultSet.next()) {
-            // Create the Order object using the constructor or setters
-            Order order = new Order(); // Use the no-argument constructor for flexibility
-
-            // Set all the fields required for admin
-            order.setOrderId(resultSet.getInt("order_id"));
-            order.setUserId(resultSet.getInt("user_id"));
-            order.setOrderNumber(resultSet.getString("order_number"));
-            order.setTotalPrice(resultSet.getDouble("total_price"));
-
-            // Convert LocalDate to LocalDateTime (assuming the order_date is stored as a
-            // LocalDate)
-            LocalDate orderDate = resultSet.getDate("order_date").toLocalDate();
-            order.setOrderDate(orderDate.atStartOfDay()); // Convert LocalDate to LocalDateTime
-
-            // Fetch the order items
-            order.setOrderItems(fetchOrderItems(order.getOrderId(), resultSet.getStatement().getConnection()));
-
-            orders.add(order);
-        }
-        return orders;
+    public List<Order> getAdminSelectedOrdersByIds(List<Integer> orderIds) {
+        return fetchOrdersForAdmin(orderIds);
     }
 
     /**
@@ -200,8 +291,131 @@ public class OrderDAO extends BaseDAO implements IOrderDAO {
      */
     @Override
     public List<Order> getAllOrders() {
-        String fetchOrdersSQL = "SELECT * FROM orders ORDER BY order_date DESC";
-        return fetchOrders(fetchOrdersSQL, -1);
+        List<Order> orders = fetchOrders(partitions::listPartitions, "1 = 1", true);
+        orders.sort(NEWEST_FIRST);
+        return orders;
+    }
+
+    /**
+     * Retrieves one keyset page of orders matching the query, without their
+     * items. The same page query runs against the main tables and every
+     * partition that can hold a matching order, in parallel, and the results are
+     * merged in sort order. Partitions are pruned by the date range and the date
+     * cursor, and through the directory by user and order number. One extra row
+     * is fetched to tell whether another page follows.
+     *
+     * @param query The filters, sort order, page size and cursor.
+     * @return The page of orders, empty if the query failed.
+     */
+    @Override
+    public OrderPage findOrders(OrderQuery query) {
+        String sortColumn = switch (query.getSortField()) {
+            case ORDER_DATE -> "order_date";
+            case TOTAL_PRICE -> "total_price";
+            case ORDER_ID -> "order_id";
+        };
+
+        StringBuilder conditions = new StringBuilder("1 = 1");
+        List<Object> params = new ArrayList<>();
+        if (query.getUserId() != null) {
+            conditions.append(" AND user_id = ?");
+            params.add(query.getUserId());
+        }
+        if (query.getFromDate() != null) {
+            conditions.append(" AND order_date >= ?");
+            params.add(Timestamp.valueOf(query.getFromDate()));
+        }
+        if (query.getToDate() != null) {
+            conditions.append(" AND order_date < ?");
+            params.add(Timestamp.valueOf(query.getToDate()));
+        }
+        int prefixParam = params.size(); // Where the order number range starts, reused to prune partitions
+        if (query.getOrderNumberPrefix() != null) {
+            // A range on the unique index instead of LIKE, which SQLite cannot index here. The
+            // highest code point bounds every completion, as in the username search; incrementing
+            // the last character would wrap at U+FFFF and split surrogate pairs.
+            String prefix = query.getOrderNumberPrefix();
+            conditions.append(" AND order_number >= ? AND order_number < ?");
+            params.add(prefix);
+            params.add(prefix + Character.toString(Character.MAX_CODE_POINT));
+        }
+        if (query.getMinTotal() != null) {
+            conditions.append(" AND total_price >= ?");
+            params.add(query.getMinTotal());
+        }
+        if (query.getMaxTotal() != null) {
+            conditions.append(" AND total_price <= ?");
+            params.add(query.getMaxTotal());
+        }
+        // Months after the cursor cannot hold the next page when sorting by date
+        LocalDateTime upperBound = query.getToDate();
+        if (query.hasCursor()) {
+            if (query.getSortField() == OrderQuery.SortField.ORDER_ID) {
+                conditions.append(" AND order_id < ?");
+            } else {
+                conditions.append(" AND (").append(sortColumn).append(", order_id) < (?, ?)");
+                Object sortValue = query.getAfterSortValue();
+                params.add(sortValue instanceof LocalDateTime dateTime ? Timestamp.valueOf(dateTime) : sortValue);
+                if (sortValue instanceof LocalDateTime dateTime
+                        && (upperBound == null || dateTime.isBefore(upperBound))) {
+                    upperBound = dateTime.plusNanos(1);
+                }
+            }
+            params.add(query.getAfterOrderId());
+        }
+        StringBuilder suffix = new StringBuilder(" ORDER BY ").append(sortColumn).append(" DESC");
+        if (query.getSortField() != OrderQuery.SortField.ORDER_ID) {
+            suffix.append(", order_id DESC");
+        }
+        suffix.append(" LIMIT ?");
+        params.add(query.getPageSize() + 1);
+
+        List<Order> orders;
+        try {
+            List<YearMonth> months = partitions.partitionsBetween(query.getFromDate(), upperBound);
+            if (!months.isEmpty() && query.getUserId() != null) {
+                months.retainAll(partitions.partitionsOfUser(query.getUserId()));
+            }
+            if (!months.isEmpty() && query.getOrderNumberPrefix() != null) {
+                months.retainAll(partitions.partitionsOfOrderNumbers((String) params.get(prefixParam),
+                        (String) params.get(prefixParam + 1)));
+            }
+            orders = partitions.queryWithMain(months,
+                    (conn, schema, _) -> {
+                        String sql = "SELECT order_id, order_number, user_id, total_price, order_date FROM " + schema
+                                + ".orders WHERE " + conditions + suffix;
+                        List<Order> page = new ArrayList<>();
+                        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                            setPreparedStatementParams(stmt, params.toArray());
+                            ResultSet rs = stmt.executeQuery();
+                            while (rs.next()) {
+                                page.add(extractOrder(rs));
+                            }
+                        }
+                        return page;
+                    });
+        } catch (SQLException e) {
+            System.out.println("Error fetching orders: " + e.getMessage());
+            return new OrderPage(new ArrayList<>(), null);
+        }
+
+        // Each source returned its own first rows; the page is the first rows of the merge
+        Comparator<Order> pageOrder = switch (query.getSortField()) {
+            case ORDER_DATE -> Comparator.comparing(Order::getOrderDate,
+                    Comparator.nullsLast(Comparator.<LocalDateTime>reverseOrder()));
+            case TOTAL_PRICE -> Comparator.comparingDouble(Order::getTotalPrice).reversed();
+            case ORDER_ID -> (first, second) -> 0;
+        };
+        orders.sort(pageOrder.thenComparing(Order::getOrderId, Comparator.reverseOrder()));
+        if (orders.size() > query.getPageSize() + 1) {
+            orders = new ArrayList<>(orders.subList(0, query.getPageSize() + 1));
+        }
+
+        if (orders.size() <= query.getPageSize()) {
+            return new OrderPage(orders, null);
+        }
+        orders.remove(orders.size() - 1); // Drop the look-ahead row
+        return new OrderPage(orders, query.after(orders.get(orders.size() - 1)));
     }
 
     /**
@@ -216,119 +430,150 @@ public class OrderDAO extends BaseDAO implements IOrderDAO {
             return new ArrayList<>();
         }
         String orderIdsSQL = buildPlaceholders(orderIds);
-        String fetchOrdersSQL = "SELECT * FROM orders WHERE order_id IN (" + orderIdsSQL + ")";
-        return fetchOrders(fetchOrdersSQL, -1, orderIds);
+        return fetchOrders(() -> partitions.partitionsOfOrders(orderIds), "order_id IN (" + orderIdsSQL + ")", true);
     }
 
-    /**
-     * Retrieves a single order based on the SQL query and order ID.
-     *
-     * @param fetchOrderSQL The SQL query to fetch the order.
-     * @param orderId       The ID of the order to retrieve.
-     * @return An Optional containing the Order if found.
-     */
-    private Optional<Order> fetchSingleOrder(String fetchOrderSQL, int orderId) {
-        return fetchOrders(fetchOrderSQL, -1, List.of(orderId)).stream().findFirst();
+    public List<Order> fetchOrdersForAdmin(List<Integer> orderIds) {
+        if (orderIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Order> orders = getSelectedOrdersByIds(orderIds);
+        for (Order order : orders) {
+            // Admin exports show the order day only
+            if (order.getOrderDate() != null) {
+                order.setOrderDate(order.getOrderDate().toLocalDate().atStartOfDay());
+            }
+        }
+        return orders;
     }
 
     /**
-     * Fetches a list of orders based on the provided SQL query and user ID.
+     * Fetches the orders matching a condition from the main tables and the given
+     * partitions, in parallel.
      *
-     * @param sql    The SQL query to execute.
-     * @param userId The ID of the user, or -1 for all users.
-     * @return A list of Order objects.
+     * @param months     Finds the partitions to search besides the main tables.
+     * @param condition  The WHERE condition on the orders table.
+     * @param withItems  Whether to load the items of the orders.
+     * @param params     Parameters for the condition.
+     * @return A list of Order objects, empty if the query failed.
      */
-    private List<Order> fetchOrders(String sql, int userId) {
-        return fetchOrders(sql, userId, null);
+    private List<Order> fetchOrders(PartitionLookup months, String condition, boolean withItems, Object... params) {
+        try {
+            return partitions.queryWithMain(months.find(), (conn, schema, _) -> {
+                String sql = "SELECT order_id, order_number, user_id, total_price, order_date FROM " + schema
+                        + ".orders WHERE " + condition;
+                List<Order> orders = new ArrayList<>();
+                try (PreparedStatement orderStmt = conn.prepareStatement(sql)) {
+                    setPreparedStatementParams(orderStmt, params);
+                    ResultSet orderRs = orderStmt.executeQuery();
+                    while (orderRs.next()) {
+                        orders.add(extractOrder(orderRs));
+                    }
+                }
+                if (withItems) {
+                    attachOrderItems(conn, schema, orders); // Fetch the items of all orders in one batch
+                }
+                return orders;
+            });
+        } catch (SQLException e) {
+            System.out.println("Error fetching orders: " + e.getMessage());
+            return new ArrayList<>();
+        }
     }
 
     /**
-     * Fetches a list of orders based on the provided SQL query, user ID, and order
-     * IDs.
+     * Retrieves the order items of several orders using one query per chunk of
+     * IDs and partition, instead of one query per order.
      *
-     * @param sql      The SQL query to execute.
-     * @param userId   The ID of the user, or -1 for all users.
-     * @param orderIds A list of order IDs to filter by.
-     * @return A list of Order objects.
+     * @param orderIds The IDs of the orders.
+     * @return A map of order ID to its items; every requested ID is present.
      */
-    private List<Order> fetchOrders(String sql, int userId, List<Integer> orderIds) {
-        List<Order> orders = new ArrayList<>();
-
-        try (Connection conn = Database.getInstance().getConnection();
-                PreparedStatement orderStmt = conn.prepareStatement(sql)) {
-
-            if (userId != -1) {
-                orderStmt.setInt(1, userId); // Set userId parameter
-            } else if (orderIds != null) {
-                setPreparedStatementParams(orderStmt, orderIds.toArray()); // Set order ID parameters
-            }
-
-            ResultSet orderRs = orderStmt.executeQuery();
-            while (orderRs.next()) {
-                Order order = extractOrder(orderRs);
-                order.setOrderItems(fetchOrderItems(order.getOrderId(), conn));
-                orders.add(order);
+    @Override
+    public Map<Integer, List<OrderItem>> getOrderItems(List<Integer> orderIds) {
+        Map<Integer, List<OrderItem>> itemsByOrder = new HashMap<>();
+        for (Integer orderId : orderIds) {
+            itemsByOrder.put(orderId, new ArrayList<>());
+        }
+        try {
+            List<Map<Integer, List<OrderItem>>> sources = partitions.queryWithMain(partitions.partitionsOfOrders(orderIds),
+                    (conn, schema, _) -> List.of(fetchOrderItems(conn, schema, orderIds)));
+            // An order lives in exactly one source, the others return no items for it
+            for (Map<Integer, List<OrderItem>> source : sources) {
+                source.forEach((orderId, items) -> itemsByOrder.get(orderId).addAll(items));
             }
-
+            return itemsByOrder;
         } catch (SQLException e) {
-            System.out.println("Error fetching orders: " + e.getMessage());
+            System.out.println("Error fetching order items: " + e.getMessage());
+            return new HashMap<>();
         }
-
-        return orders;
     }
 
-    public List<Order> fetchOrdersForAdmin(List<Integer> orderIds) {
-        if (orderIds.isEmpty()) {
-            return Collections.emptyList();
+    /**
+     * Sets the items of each order, fetched in batches.
+     *
+     * @param conn   The database connection.
+     * @param schema The schema holding the orders.
+     * @param orders The orders to populate.
+     */
+    private void attachOrderItems(Connection conn, String schema, List<Order> orders) throws SQLException {
+        List<Integer> orderIds = orders.stream().map(Order::getOrderId).collect(Collectors.toList());
+        Map<Integer, List<OrderItem>> itemsByOrder = fetchOrderItems(conn, schema, orderIds);
+        for (Order order : orders) {
+            order.setOrderItems(itemsByOrder.get(order.getOrderId()));
         }
+    }
 
-        // Construct the SQL query for admin orders
-        StringBuilder queryBuilder = new StringBuilder("SELECT * FROM orders WHERE order_id IN (");
-        queryBuilder.append(orderIds.stream().map(id -> "?").collect(Collectors.joining(",")));
-        queryBuilder.append(")");
-
-        String query = queryBuilder.toString();
-
-        try (Connection connection = Database.getInstance().getConnection();
-                PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+    /**
+     * Fetches the order items of several orders, splitting the IDs into chunks
+     * that stay below SQLite's limit on bound parameters.
+     *
+     * @param conn     The database connection.
+     * @param schema   The schema holding the orders.
+     * @param orderIds The IDs of the orders.
+     * @return A map of order ID to its items; every requested ID is present.
+     */
+    private Map<Integer, List<OrderItem>> fetchOrderItems(Connection conn, String schema, List<Integer> orderIds)
+            throws SQLException {
+        Map<Integer, List<OrderItem>> itemsByOrder = new HashMap<>();
+        for (Integer orderId : orderIds) {
+            itemsByOrder.put(orderId, new ArrayList<>());
+        }
 
-            // Set the order IDs in the prepared statement
-            for (int i = 0; i < orderIds.size(); i++) {
-                preparedStatement.setInt(i + 1, orderIds.get(i));
+        for (int from = 0; from < orderIds.size(); from += MAX_IN_PARAMETERS) {
+            List<Integer> chunk = orderIds.subList(from, Math.min(from + MAX_IN_PARAMETERS, orderIds.size()));
+            String fetchOrderItemsSQL = "SELECT order_id, book_id, title, quantity, price FROM " + schema
+                    + ".order_items WHERE order_id IN (" + String.join(",", Collections.nCopies(chunk.size(), "?"))
+                    + ") ORDER BY order_id, order_item_id";
+            try (PreparedStatement itemStmt = conn.prepareStatement(fetchOrderItemsSQL)) {
+                setPreparedStatementParams(itemStmt, chunk.toArray());
+                ResultSet itemRs = itemStmt.executeQuery();
+                while (itemRs.next()) {
+                    itemsByOrder.get(itemRs.getInt("order_id")).add(new OrderItem(
+                            itemRs.getInt("book_id"),
+                            itemRs.getString("title"),
+                            itemRs.getInt("quantity"),
+                            itemRs.getDouble("price")));
+                }
             }
-
-            ResultSet resultSet = preparedStatement.executeQuery();
-            return mapOrdersForAdmin(resultSet); // Map the result set to Order objects specifically for admin
-
-        } catch (SQLException e) {
-            System.err.println("Error fetching orders for admin: " + e.getMessage());
-            return Collections.emptyList();
         }
+        return itemsByOrder;
     }
 
     /**
-     * Fetches the order items associated with a specific order ID.
+     * Returns the SQL that removes the sales of one order from the sales_daily
+     * rollup.
      *
-     * @param orderId The ID of the order.
-     * @param conn    The database connection.
-     * @return A list of OrderItem objects.
+     * @param schema The schema holding the order.
+     * @return The UPDATE statement, with the order ID as its only parameter.
      */
-    private List<OrderItem> fetchOrderItems(int orderId, Connection conn) throws SQLException {
-        String fetchOrderItemsSQL = "SELECT * FROM order_items WHERE order_id = ?";
-        List<OrderItem> orderItems = new ArrayList<>();
-
-        try (PreparedStatement itemStmt = conn.prepareStatement(fetchOrderItemsSQL)) {
-            itemStmt.setInt(1, orderId);
-            ResultSet itemRs = itemStmt.executeQuery();
-            while (itemRs.next()) {
-                orderItems.add(new OrderItem(
-                        itemRs.getInt("book_id"),
-                        itemRs.getString("title"),
-                        itemRs.getInt("quantity"),
-                        itemRs.getDouble("price")));
-            }
-        }
-        return orderItems;
+    private static String subtractSalesDailySQL(String schema) {
+        return "UPDATE sales_daily SET qty = sales_daily.qty - s.qty, "
+                + "revenue = sales_daily.revenue - s.revenue "
+                + "FROM (SELECT " + SalesAnalyticsDAO.ORDER_DAY_SQL + " AS day, oi.book_id, "
+                + "SUM(oi.quantity) AS qty, SUM(oi.quantity * oi.price) AS revenue "
+                + "FROM " + schema + ".order_items oi JOIN " + schema + ".orders o ON o.order_id = oi.order_id "
+                + "WHERE o.order_id = ? GROUP BY day, oi.book_id) AS s "
+                + "WHERE sales_daily.day = s.day AND sales_daily.book_id = s.book_id";
     }
 
     /**
@@ -346,6 +591,10 @@ public class OrderDAO extends BaseDAO implements IOrderDAO {
                 new ArrayList<>() // Initialize with an empty list of order items
         );
         order.setOrderId(orderRs.getInt("order_id")); // Set the orderId
+        Timestamp orderDate = orderRs.getTimestamp("order_date");
+        if (orderDate != null) {
+            order.setOrderDate(orderDate.toLocalDateTime()); // Use the stored date, not the load time
+        }
         return order;
     }
 
@@ -360,17 +609,60 @@ public class OrderDAO extends BaseDAO implements IOrderDAO {
     }
 
     /**
-     * Deletes an order and its associated items by order ID.
+     * Deletes an order and its associated items by order ID, removing its sales
+     * from the sales_daily rollup in the same transaction. The order is deleted
+     * from whichever partition holds it.
      *
      * @param orderId The ID of the order to delete.
      * @return true if the deletion was successful, false otherwise.
      */
     public boolean deleteOrderById(int orderId) {
-        String deleteOrderItemsSQL = "DELETE FROM order_items WHERE order_id = ?";
-        String deleteOrderSQL = "DELETE FROM orders WHERE order_id = ?";
+        // Located before taking a connection, since the lookup needs a pooled connection of its own
+        YearMonth month;
+        try {
+            month = partitions.locateOrders(List.of(orderId)).get(orderId);
+        } catch (SQLException e) {
+            System.out.println("Error deleting order: " + e.getMessage());
+            return false;
+        }
 
         try (Connection conn = Database.getInstance().getConnection()) {
-            conn.setAutoCommit(false); // Begin transaction
+            if (month == null) {
+                return deleteOrderIn(conn, "main", orderId);
+            }
+            partitions.attachPartition(conn, month);
+            try {
+                return deleteOrderIn(conn, partitions.getSchema(), orderId);
+            } finally {
+                partitions.detachPartition(conn);
+            }
+        } catch (SQLException e) {
+            System.out.println("Error deleting order: " + e.getMessage());
+            e.printStackTrace(); // Added detailed stack trace for better debugging
+        }
+        return false;
+    }
+
+    /**
+     * Deletes an order and its items from the given schema in one transaction,
+     * removing its sales from the sales_daily rollup.
+     *
+     * @param conn    The database connection, with the schema attached.
+     * @param schema  The schema holding the order.
+     * @param orderId The ID of the order to delete.
+     * @return true if the deletion was successful, false otherwise.
+     */
+    private boolean deleteOrderIn(Connection conn, String schema, int orderId) throws SQLException {
+        String deleteOrderItemsSQL = "DELETE FROM " + schema + ".order_items WHERE order_id = ?";
+        String deleteOrderSQL = "DELETE FROM " + schema + ".orders WHERE order_id = ?";
+
+        conn.setAutoCommit(false); // Begin transaction
+        try {
+            // Take the order's sales out of the rollup while its items still exist
+            try (PreparedStatement salesStmt = conn.prepareStatement(subtractSalesDailySQL(schema))) {
+                salesStmt.setInt(1, orderId);
+                salesStmt.executeUpdate();
+            }
 
             // Delete order items first
             try (PreparedStatement itemStmt = conn.prepareStatement(deleteOrderItemsSQL)) {
@@ -389,6 +681,9 @@ public class OrderDAO extends BaseDAO implements IOrderDAO {
                 int affectedRows = orderStmt.executeUpdate();
 
                 if (affectedRows > 0) {
+                    if (!"main".equals(schema)) {
+                        forgetPartitionedOrders(conn, List.of(orderId));
+                    }
                     conn.commit(); // Commit the transaction if successful
                     return true;
                 } else {
@@ -397,11 +692,160 @@ public class OrderDAO extends BaseDAO implements IOrderDAO {
             }
 
             conn.rollback(); // Rollback in case of any error
+            return false;
         } catch (SQLException e) {
-            System.out.println("Error deleting order: " + e.getMessage());
-            e.printStackTrace(); // Added detailed stack trace for better debugging
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(true); // DETACH is not allowed inside a transaction
+        }
+    }
+
+    /**
+     * Deletes several orders and their items, removing their sales from the
+     * sales_daily rollup. The partitions holding the orders are attached
+     * together, so a selection spanning at most eight closed months is deleted
+     * in a single transaction: either every order is deleted or none is.
+     * A wider selection is deleted in groups of eight months, one transaction
+     * per group; if a group fails, the groups before it stay deleted and the
+     * months of the failed and remaining groups are reported.
+     *
+     * @param orderIds The IDs of the orders to delete.
+     * @return true if every order was deleted, false otherwise.
+     */
+    @Override
+    public boolean deleteOrders(List<Integer> orderIds) {
+        if (orderIds.isEmpty()) {
+            return true;
+        }
+
+        // Located before taking a connection, since the lookup needs a pooled connection of its own
+        Map<Integer, YearMonth> locations;
+        try {
+            locations = partitions.locateOrders(orderIds);
+        } catch (SQLException e) {
+            System.out.println("Error deleting orders: " + e.getMessage());
+            return false;
+        }
+
+        // Group the orders by the month that holds them; orders still in the main tables go with the first group
+        List<YearMonth> months = locations.values().stream().distinct().sorted().toList();
+        Map<YearMonth, List<Integer>> idsByMonth = new LinkedHashMap<>();
+        List<Integer> mainIds = new ArrayList<>();
+        for (Integer orderId : orderIds) {
+            YearMonth month = locations.get(orderId);
+            if (month != null) {
+                idsByMonth.computeIfAbsent(month, _ -> new ArrayList<>()).add(orderId);
+            } else {
+                mainIds.add(orderId);
+            }
+        }
+
+        int groupCount = Math.max(1, (months.size() + MAX_ATTACHED_PARTITIONS - 1) / MAX_ATTACHED_PARTITIONS);
+        for (int group = 0; group < groupCount; group++) {
+            List<YearMonth> groupMonths = months.subList(group * MAX_ATTACHED_PARTITIONS,
+                    Math.min(months.size(), (group + 1) * MAX_ATTACHED_PARTITIONS));
+            try {
+                deleteOrderGroup(groupMonths, idsByMonth, group == 0 ? mainIds : List.of());
+            } catch (SQLException e) {
+                List<YearMonth> notDeleted = months.subList(group * MAX_ATTACHED_PARTITIONS, months.size());
+                System.out.println("Error deleting orders" + (group > 0 ? " (earlier months were deleted)" : "")
+                        + ": " + e.getMessage() + (notDeleted.isEmpty() ? "" : "; months not deleted: " + notDeleted));
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Deletes the orders of up to eight closed months, plus the given orders from
+     * the main tables, in a single transaction.
+     *
+     * @param months     The months whose partitions hold orders to delete.
+     * @param idsByMonth The IDs of the orders to delete, by month.
+     * @param mainIds    The IDs of orders to delete from the main tables.
+     */
+    private void deleteOrderGroup(List<YearMonth> months, Map<YearMonth, List<Integer>> idsByMonth,
+            List<Integer> mainIds) throws SQLException {
+        // Attach each partition under its own name
+        Map<YearMonth, String> aliases = new LinkedHashMap<>();
+        months.forEach(month -> aliases.put(month, partitions.getSchema() + aliases.size()));
+
+        try (Connection conn = Database.getInstance().getConnection()) {
+            List<String> attached = new ArrayList<>();
+            try {
+                for (Map.Entry<YearMonth, String> alias : aliases.entrySet()) {
+                    partitions.attachPartition(conn, alias.getKey(), alias.getValue());
+                    attached.add(alias.getValue());
+                }
+                conn.setAutoCommit(false); // Begin transaction
+                try {
+                    if (!mainIds.isEmpty()) {
+                        deleteOrdersIn(conn, "main", mainIds);
+                    }
+                    for (Map.Entry<YearMonth, String> alias : aliases.entrySet()) {
+                        deleteOrdersIn(conn, alias.getValue(), idsByMonth.get(alias.getKey()));
+                    }
+                    conn.commit(); // Commit the group's deletions together
+                } catch (SQLException e) {
+                    conn.rollback();
+                    throw e;
+                } finally {
+                    conn.setAutoCommit(true); // DETACH is not allowed inside a transaction
+                }
+            } finally {
+                attached.forEach(alias -> partitions.detachPartition(conn, alias));
+            }
+        }
+    }
+
+    /**
+     * Deletes orders and their items from one schema as batches, inside the
+     * caller's transaction.
+     *
+     * @param conn     The database connection.
+     * @param schema   The schema holding the orders.
+     * @param orderIds The IDs of the orders to delete.
+     */
+    private void deleteOrdersIn(Connection conn, String schema, List<Integer> orderIds) throws SQLException {
+        String deleteOrderItemsSQL = "DELETE FROM " + schema + ".order_items WHERE order_id = ?";
+        String deleteOrderSQL = "DELETE FROM " + schema + ".orders WHERE order_id = ?";
+
+        try (PreparedStatement salesStmt = conn.prepareStatement(subtractSalesDailySQL(schema));
+                PreparedStatement itemStmt = conn.prepareStatement(deleteOrderItemsSQL);
+                PreparedStatement orderStmt = conn.prepareStatement(deleteOrderSQL)) {
+            for (Integer orderId : orderIds) {
+                salesStmt.setInt(1, orderId);
+                salesStmt.addBatch();
+                itemStmt.setInt(1, orderId);
+                itemStmt.addBatch();
+                orderStmt.setInt(1, orderId);
+                orderStmt.addBatch();
+            }
+            // Sales must be subtracted while the items still exist
+            salesStmt.executeBatch();
+            itemStmt.executeBatch();
+            orderStmt.executeBatch();
+        }
+        if (!"main".equals(schema)) {
+            forgetPartitionedOrders(conn, orderIds);
         }
-        return false;
     }
 
+    /**
+     * Removes deleted orders from the partition directory, inside the caller's
+     * transaction.
+     *
+     * @param conn     The database connection.
+     * @param orderIds The IDs of the deleted orders.
+     */
+    private void forgetPartitionedOrders(Connection conn, List<Integer> orderIds) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM main.order_partitions WHERE order_id = ?")) {
+            for (Integer orderId : orderIds) {
+                stmt.setInt(1, orderId);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
 }
@@ -0,0 +1,41 @@
+package com.beyourshelf.model.dao.order;
+
+import java.util.List;
+
+import com.beyourshelf.model.entity.Order;
+
+/**
+ * One page of orders returned by an OrderQuery. The orders do not include
+ * their items. If more orders match, nextQuery() returns the query for the
+ * following page.
+ */
+public class OrderPage {
+    private final List<Order> orders; // The orders on this page, in sort order
+    private final OrderQuery nextQuery; // The query for the next page, or null if this is the last page
+
+    /**
+     * Constructor to create an OrderPage with the necessary details.
+     *
+     * @param orders    The orders on this page, in sort order
+     * @param nextQuery The query for the next page, or null if this is the last page
+     */
+    public OrderPage(List<Order> orders, OrderQuery nextQuery) {
+        this.orders = orders;
+        this.nextQuery = nextQuery;
+    }
+
+    // Getter for the orders on this page
+    public List<Order> getOrders() {
+        return orders;
+    }
+
+    // Returns true if more orders match the query
+    public boolean hasMore() {
+        return nextQuery != null;
+    }
+
+    // Getter for the query of the next page, or null if this is the last page
+    public OrderQuery nextQuery() {
+        return nextQuery;
+    }
+}
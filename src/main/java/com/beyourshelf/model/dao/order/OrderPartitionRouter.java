@@ -0,0 +1,617 @@
+package com.beyourshelf.model.dao.order;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import com.beyourshelf.model.dao.database.Database;
+
+/**
+ * Routes order queries to monthly partition files.
+ *
+ * Orders are stored in one SQLite file per calendar month of their order date
+ * (orders_2024_05.db), so closed months are never rewritten and each file's
+ * indexes stay small. There are two sets of partitions, each in its own
+ * directory: the live partitions read by OrderDAO, and the archive read only
+ * through the order archive. The orders and order_items tables in the main
+ * database hold the current month and are the only ones that receive new
+ * orders; closed months are moved out of them by OrderDAO.
+ *
+ * A partition is attached to a pooled connection under the router's schema
+ * name only while it is queried. Queries over a date range open just the
+ * partitions that overlap it; queries spanning several partitions run on
+ * separate connections in parallel.
+ *
+ * The main database also keeps a directory of the orders in the live
+ * partitions (order_partitions: order ID, order number, user ID and month). It
+ * is updated in the same transaction that moves orders in or out, so lookups by
+ * order ID, user or order number only open the partitions that hold matches.
+ */
+public class OrderPartitionRouter {
+
+    // System property overriding the directory that holds the live partition files
+    public static final String PARTITION_DIR_PROPERTY = "beyourshelf.orders.dir";
+
+    // System property overriding the directory that holds the archive partition files
+    public static final String ARCHIVE_DIR_PROPERTY = "beyourshelf.archive.dir";
+
+    private static final String PARTITION_PREFIX = "orders_";
+    private static final String PARTITION_SUFFIX = ".db";
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    // Bound parameters per directory lookup, below SQLite's default limit
+    private static final int MAX_IN_PARAMETERS = 500;
+
+    // Partitions queried at once, kept well below the pool size so checkouts still get a connection
+    private static final int MAX_PARALLEL_PARTITIONS = 4;
+
+    // Runs partition queries in parallel; daemon threads so they never block shutdown
+    private static final ExecutorService executor = Executors.newFixedThreadPool(MAX_PARALLEL_PARTITIONS, runnable -> {
+        Thread thread = new Thread(runnable, "order-partition-query");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final OrderPartitionRouter LIVE = new OrderPartitionRouter(PARTITION_DIR_PROPERTY, "orders", "part",
+            true);
+    private static final OrderPartitionRouter ARCHIVE = new OrderPartitionRouter(ARCHIVE_DIR_PROPERTY, "archive",
+            "archive", false);
+
+    private final String dirProperty; // System property overriding the partition directory
+    private final String defaultDir; // Partition directory used when the property is not set
+    private final String schema; // Schema name partitions are attached as
+    private final boolean indexed; // Whether moved orders are recorded in main.order_partitions
+
+    /**
+     * A query run against the main database or one attached partition.
+     *
+     * @param <T> the type of the rows returned.
+     */
+    @FunctionalInterface
+    public interface PartitionQuery<T> {
+        /**
+         * @param conn   the connection to query.
+         * @param schema the schema holding the orders and order_items tables.
+         * @param month  the month of the partition, or null for the main database.
+         */
+        List<T> query(Connection conn, String schema, YearMonth month) throws SQLException;
+    }
+
+    private OrderPartitionRouter(String dirProperty, String defaultDir, String schema, boolean indexed) {
+        this.dirProperty = dirProperty;
+        this.defaultDir = defaultDir;
+        this.schema = schema;
+        this.indexed = indexed;
+    }
+
+    /**
+     * Returns the router for the live partitions, which hold the closed months
+     * of the order store and are attached as "part".
+     *
+     * @return the live partition router.
+     */
+    public static OrderPartitionRouter live() {
+        return LIVE;
+    }
+
+    /**
+     * Returns the router for the archive partitions, which are attached as
+     * "archive".
+     *
+     * @return the archive partition router.
+     */
+    public static OrderPartitionRouter archive() {
+        return ARCHIVE;
+    }
+
+    /**
+     * Returns the schema name partitions are attached as.
+     *
+     * @return the schema name.
+     */
+    public String getSchema() {
+        return schema;
+    }
+
+    /**
+     * Returns the directory that holds the partition files.
+     *
+     * @return the partition directory.
+     */
+    public Path getDir() {
+        return Path.of(System.getProperty(dirProperty, defaultDir));
+    }
+
+    /**
+     * Returns the file of the partition for a month.
+     *
+     * @param month the month of the partition.
+     * @return the partition file path.
+     */
+    public Path partitionPath(YearMonth month) {
+        return getDir().resolve(PARTITION_PREFIX + month.format(MONTH_FORMAT) + PARTITION_SUFFIX);
+    }
+
+    /**
+     * Lists the months that have a partition file.
+     *
+     * @return the partition months, oldest first.
+     */
+    public List<YearMonth> listPartitions() {
+        Path dir = getDir();
+        if (!Files.isDirectory(dir)) {
+            return new ArrayList<>(); // No month has been partitioned yet
+        }
+        List<YearMonth> months = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, PARTITION_PREFIX + "*" + PARTITION_SUFFIX)) {
+            for (Path file : files) {
+                if (Files.size(file) == 0) {
+                    continue; // Left behind by a first move that rolled back, it has no tables
+                }
+                String name = file.getFileName().toString();
+                String month = name.substring(PARTITION_PREFIX.length(), name.length() - PARTITION_SUFFIX.length());
+                try {
+                    months.add(YearMonth.parse(month, MONTH_FORMAT));
+                } catch (DateTimeParseException e) {
+                    // Not a partition file, ignore it
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("Error listing order partitions: " + e.getMessage());
+        }
+        Collections.sort(months);
+        return months;
+    }
+
+    /**
+     * Lists the partitions that can hold orders placed in a time range.
+     *
+     * @param from the start of the range, inclusive, or null for no lower bound.
+     * @param to   the end of the range, exclusive, or null for no upper bound.
+     * @return the overlapping partition months, oldest first.
+     */
+    public List<YearMonth> partitionsBetween(LocalDateTime from, LocalDateTime to) {
+        List<YearMonth> months = listPartitions();
+        if (from != null) {
+            YearMonth first = YearMonth.from(from);
+            months.removeIf(month -> month.isBefore(first));
+        }
+        if (to != null) {
+            YearMonth last = YearMonth.from(to.minusNanos(1));
+            months.removeIf(month -> month.isAfter(last));
+        }
+        return months;
+    }
+
+    /**
+     * Attaches the partition of a month to a connection under the router's
+     * schema name. Must be called outside a transaction.
+     *
+     * @param conn  the connection to attach the partition to.
+     * @param month the month of the partition.
+     */
+    public void attachPartition(Connection conn, YearMonth month) throws SQLException {
+        attachPartition(conn, month, schema);
+    }
+
+    /**
+     * Attaches the partition of a month to a connection under the given schema
+     * name, so several partitions can be attached at once. Only the ATTACH runs
+     * here, so on failure nothing is left attached; the tables are created when
+     * orders are first moved into the partition. Must be called outside a
+     * transaction.
+     *
+     * @param conn  the connection to attach the partition to.
+     * @param month the month of the partition.
+     * @param alias the schema name to attach the partition as.
+     */
+    public void attachPartition(Connection conn, YearMonth month, String alias) throws SQLException {
+        try (PreparedStatement attachStmt = conn.prepareStatement("ATTACH DATABASE ? AS " + alias)) {
+            attachStmt.setString(1, partitionPath(month).toAbsolutePath().toString());
+            attachStmt.execute();
+        }
+    }
+
+    // Creates the partition tables attached under the router's schema name, inside the caller's transaction
+    private void createTables(Statement stmt) throws SQLException {
+        stmt.executeUpdate("""
+                    CREATE TABLE IF NOT EXISTS %s.orders (
+                        order_id INTEGER PRIMARY KEY,
+                        order_number TEXT NOT NULL UNIQUE,
+                        user_id INTEGER NOT NULL,
+                        total_price REAL NOT NULL,
+                        order_date TIMESTAMP,
+                        archived_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+                    )
+                """.formatted(schema));
+        stmt.executeUpdate("""
+                    CREATE TABLE IF NOT EXISTS %s.order_items (
+                        order_item_id INTEGER PRIMARY KEY,
+                        order_id INTEGER NOT NULL,
+                        book_id INTEGER NOT NULL,
+                        title TEXT NOT NULL,
+                        quantity INTEGER NOT NULL,
+                        price REAL NOT NULL
+                    )
+                """.formatted(schema));
+        // The same access paths as the main tables, so keyset pages and lookups stay indexed
+        stmt.executeUpdate("CREATE INDEX IF NOT EXISTS " + schema + ".idx_partition_orders_date ON orders(order_date)");
+        stmt.executeUpdate("CREATE INDEX IF NOT EXISTS " + schema + ".idx_partition_orders_total ON orders(total_price)");
+        stmt.executeUpdate("CREATE INDEX IF NOT EXISTS " + schema + ".idx_partition_orders_user ON orders(user_id, order_date)");
+        stmt.executeUpdate("CREATE INDEX IF NOT EXISTS " + schema + ".idx_partition_order_items_order ON order_items(order_id)");
+    }
+
+    /**
+     * Detaches the partition attached under the router's schema name, ignoring
+     * errors so the connection can still be returned to the pool.
+     *
+     * @param conn the connection to detach the partition from.
+     */
+    public void detachPartition(Connection conn) {
+        detachPartition(conn, schema);
+    }
+
+    /**
+     * Detaches the partition attached under the given schema name, ignoring
+     * errors so the connection can still be returned to the pool.
+     *
+     * @param conn  the connection to detach the partition from.
+     * @param alias the schema name the partition was attached as.
+     */
+    public void detachPartition(Connection conn, String alias) {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("DETACH DATABASE " + alias);
+        } catch (SQLException e) {
+            System.out.println("Error detaching order partition: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Deletes the file of a partition that no longer holds any orders, so later
+     * queries do not attach it. Must be called with the partition detached and
+     * only for a partition whose tables exist.
+     *
+     * @param conn  a connection to check the partition with.
+     * @param month the month of the partition.
+     */
+    public void removeIfEmpty(Connection conn, YearMonth month) {
+        try {
+            attachPartition(conn, month);
+            boolean empty;
+            try (Statement stmt = conn.createStatement();
+                    ResultSet rs = stmt.executeQuery("SELECT NOT EXISTS (SELECT 1 FROM " + schema + ".orders)")) {
+                empty = rs.next() && rs.getBoolean(1);
+            } finally {
+                detachPartition(conn);
+            }
+            if (empty) {
+                Files.deleteIfExists(partitionPath(month));
+            }
+        } catch (SQLException | IOException e) {
+            // An empty partition left behind is harmless; it is checked again next time
+            System.out.println("Error removing empty order partition " + month + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Moves a batch of the oldest orders placed before the cutoff, with their
+     * items, from the source schema into this router's partition of their month.
+     * A batch never spans two months, so only one partition is attached. The
+     * partition file and its tables are created here if needed. The rows are
+     * copied and deleted in one transaction, together with the directory rows of
+     * the live partitions, so an order is never in both places or in neither.
+     * Must be called outside a transaction.
+     *
+     * @param conn      the connection, with the source schema attached.
+     * @param source    the schema holding the orders to move.
+     * @param cutoff    only orders placed before this time are moved.
+     * @param batchSize the maximum number of orders to move.
+     * @return the number of orders moved, 0 once none are left.
+     */
+    public int moveOldestBatch(Connection conn, String source, LocalDateTime cutoff, int batchSize)
+            throws SQLException {
+        String oldestSQL = "SELECT MIN(order_date) AS oldest FROM " + source + ".orders WHERE order_date < ?";
+        String selectBatchSQL = "INSERT INTO temp.order_batch (order_id) SELECT order_id FROM " + source
+                + ".orders WHERE order_date < ? ORDER BY order_date LIMIT ?";
+
+        // The oldest remaining order decides which partition this batch goes to
+        LocalDateTime oldest;
+        try (PreparedStatement oldestStmt = conn.prepareStatement(oldestSQL)) {
+            oldestStmt.setTimestamp(1, Timestamp.valueOf(cutoff));
+            ResultSet rs = oldestStmt.executeQuery();
+            Timestamp oldestDate = rs.next() ? rs.getTimestamp("oldest") : null;
+            if (oldestDate == null) {
+                return 0; // Nothing left to move
+            }
+            oldest = oldestDate.toLocalDateTime();
+        }
+        YearMonth month = YearMonth.from(oldest);
+        LocalDateTime monthEnd = month.plusMonths(1).atDay(1).atStartOfDay();
+        LocalDateTime batchCutoff = cutoff.isBefore(monthEnd) ? cutoff : monthEnd;
+
+        try {
+            Files.createDirectories(getDir());
+        } catch (IOException e) {
+            throw new SQLException("Cannot create order partition directory " + getDir(), e);
+        }
+        attachPartition(conn, month);
+        try (Statement stmt = conn.createStatement()) {
+            conn.setAutoCommit(false); // Begin transaction
+            try {
+                createTables(stmt); // Rolled back with the batch if anything fails
+                // Created before the batch query is prepared, which fails on a connection without it
+                stmt.executeUpdate("CREATE TEMP TABLE IF NOT EXISTS order_batch (order_id INTEGER PRIMARY KEY)");
+                stmt.executeUpdate("DELETE FROM temp.order_batch");
+                int moved;
+                try (PreparedStatement selectStmt = conn.prepareStatement(selectBatchSQL)) {
+                    selectStmt.setTimestamp(1, Timestamp.valueOf(batchCutoff));
+                    selectStmt.setInt(2, batchSize);
+                    moved = selectStmt.executeUpdate();
+                }
+
+                if (moved > 0) {
+                    if (indexed) {
+                        recordBatch(conn, source, month);
+                    }
+                    if (source.equals(LIVE.schema)) {
+                        stmt.executeUpdate("DELETE FROM main.order_partitions WHERE order_id IN "
+                                + "(SELECT order_id FROM temp.order_batch)"); // Leaving the live partitions
+                    }
+                    moveBatch(stmt, source, schema);
+                }
+                stmt.executeUpdate("DELETE FROM temp.order_batch");
+                conn.commit(); // Commit the batch
+                return moved;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true); // DETACH is not allowed inside a transaction
+            }
+        } finally {
+            detachPartition(conn);
+        }
+    }
+
+    // Records the orders listed in temp.order_batch in the directory, before they leave the source schema
+    private static void recordBatch(Connection conn, String source, YearMonth month) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "INSERT INTO main.order_partitions (order_id, order_number, user_id, month) "
+                        + "SELECT order_id, order_number, user_id, ? FROM " + source + ".orders "
+                        + "WHERE order_id IN (SELECT order_id FROM temp.order_batch)")) {
+            stmt.setString(1, month.toString());
+            stmt.executeUpdate();
+        }
+    }
+
+    // Copies the orders listed in temp.order_batch, with their items, to the target schema and deletes them from the source
+    private static void moveBatch(Statement stmt, String source, String target) throws SQLException {
+        String batch = "SELECT order_id FROM temp.order_batch";
+        stmt.executeUpdate("INSERT INTO " + target + ".orders (order_id, order_number, user_id, total_price, order_date) "
+                + "SELECT order_id, order_number, user_id, total_price, order_date FROM " + source + ".orders "
+                + "WHERE order_id IN (" + batch + ")");
+        stmt.executeUpdate("INSERT INTO " + target + ".order_items (order_item_id, order_id, book_id, title, quantity, price) "
+                + "SELECT order_item_id, order_id, book_id, title, quantity, price FROM " + source + ".order_items "
+                + "WHERE order_id IN (" + batch + ")");
+        stmt.executeUpdate("DELETE FROM " + source + ".order_items WHERE order_id IN (" + batch + ")");
+        stmt.executeUpdate("DELETE FROM " + source + ".orders WHERE order_id IN (" + batch + ")");
+    }
+
+    /**
+     * Records the orders of partitions that are missing from the directory, for
+     * example partitions written before the directory existed. A partition with
+     * no directory rows is scanned once; later calls find it recorded, unless it
+     * is empty. Live partitions only; must be called outside a transaction.
+     *
+     * @param conn the connection to use.
+     */
+    public void indexPartitions(Connection conn) throws SQLException {
+        Set<YearMonth> recorded = new HashSet<>();
+        try (Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT DISTINCT month FROM main.order_partitions")) {
+            while (rs.next()) {
+                recorded.add(YearMonth.parse(rs.getString("month")));
+            }
+        }
+        for (YearMonth month : listPartitions()) {
+            if (recorded.contains(month)) {
+                continue;
+            }
+            attachPartition(conn, month);
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "INSERT OR IGNORE INTO main.order_partitions (order_id, order_number, user_id, month) "
+                            + "SELECT order_id, order_number, user_id, ? FROM " + schema + ".orders")) {
+                stmt.setString(1, month.toString());
+                stmt.executeUpdate();
+            } finally {
+                detachPartition(conn);
+            }
+        }
+    }
+
+    /**
+     * Looks up the live partition holding each of the given orders in the
+     * directory. Orders that are in no partition are in the main tables, or do
+     * not exist.
+     *
+     * @param orderIds the IDs of the orders.
+     * @return a map of order ID to the month of its partition.
+     */
+    public Map<Integer, YearMonth> locateOrders(List<Integer> orderIds) throws SQLException {
+        Map<Integer, YearMonth> locations = new HashMap<>();
+        try (Connection conn = Database.getInstance().getConnection()) {
+            for (int from = 0; from < orderIds.size(); from += MAX_IN_PARAMETERS) {
+                List<Integer> chunk = orderIds.subList(from, Math.min(from + MAX_IN_PARAMETERS, orderIds.size()));
+                String sql = "SELECT order_id, month FROM main.order_partitions WHERE order_id IN ("
+                        + String.join(",", Collections.nCopies(chunk.size(), "?")) + ")";
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        stmt.setInt(i + 1, chunk.get(i));
+                    }
+                    ResultSet rs = stmt.executeQuery();
+                    while (rs.next()) {
+                        locations.put(rs.getInt("order_id"), YearMonth.parse(rs.getString("month")));
+                    }
+                }
+            }
+        }
+        return locations;
+    }
+
+    /**
+     * Lists the live partitions holding any of the given orders.
+     *
+     * @param orderIds the IDs of the orders.
+     * @return the partition months, oldest first.
+     */
+    public List<YearMonth> partitionsOfOrders(List<Integer> orderIds) throws SQLException {
+        return locateOrders(orderIds).values().stream().distinct().sorted().collect(Collectors.toList());
+    }
+
+    /**
+     * Lists the live partitions holding orders of a user.
+     *
+     * @param userId the ID of the user.
+     * @return the partition months, oldest first.
+     */
+    public List<YearMonth> partitionsOfUser(int userId) throws SQLException {
+        return directoryMonths("user_id = ?", userId);
+    }
+
+    /**
+     * Lists the live partitions holding orders whose number falls in a range.
+     * Unlike the time embedded in an order number, this also covers order
+     * numbers issued before the current format.
+     *
+     * @param from the lowest order number, inclusive.
+     * @param to   the highest order number, exclusive.
+     * @return the partition months, oldest first.
+     */
+    public List<YearMonth> partitionsOfOrderNumbers(String from, String to) throws SQLException {
+        return directoryMonths("order_number >= ? AND order_number < ?", from, to);
+    }
+
+    // Reads the distinct months of the directory rows matching a condition
+    private List<YearMonth> directoryMonths(String condition, Object... params) throws SQLException {
+        String sql = "SELECT DISTINCT month FROM main.order_partitions WHERE " + condition + " ORDER BY month";
+        List<YearMonth> months = new ArrayList<>();
+        try (Connection conn = Database.getInstance().getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < params.length; i++) {
+                stmt.setObject(i + 1, params[i]);
+            }
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                months.add(YearMonth.parse(rs.getString("month")));
+            }
+        }
+        return months;
+    }
+
+    /**
+     * Runs a query against each of the given partitions and concatenates the
+     * results in partition order. A single partition is queried on the calling
+     * thread; several are queried in parallel, each on its own connection.
+     *
+     * @param months the partitions to query.
+     * @param query  the query to run against each attached partition.
+     * @param <T>    the type of the rows returned.
+     * @return the rows from every partition.
+     * @throws SQLException if any partition query fails.
+     */
+    public <T> List<T> queryPartitions(List<YearMonth> months, PartitionQuery<T> query) throws SQLException {
+        if (months.isEmpty()) {
+            return new ArrayList<>();
+        }
+        if (months.size() == 1) {
+            return queryPartition(months.get(0), query);
+        }
+        List<Future<List<T>>> futures = new ArrayList<>();
+        for (YearMonth month : months) {
+            futures.add(executor.submit(() -> queryPartition(month, query)));
+        }
+        return collect(new ArrayList<>(), futures);
+    }
+
+    /**
+     * Runs a query against the main database and each of the given partitions
+     * and concatenates the results, main database first. The partitions are
+     * queried in the background while the main database is queried on the
+     * calling thread.
+     *
+     * @param months the partitions to query besides the main database.
+     * @param query  the query to run against each of them.
+     * @param <T>    the type of the rows returned.
+     * @return the rows from the main database and every partition.
+     * @throws SQLException if any query fails.
+     */
+    public <T> List<T> queryWithMain(List<YearMonth> months, PartitionQuery<T> query) throws SQLException {
+        List<Future<List<T>>> futures = new ArrayList<>();
+        for (YearMonth month : months) {
+            futures.add(executor.submit(() -> queryPartition(month, query)));
+        }
+        List<T> rows;
+        try (Connection conn = Database.getInstance().getConnection()) {
+            rows = new ArrayList<>(query.query(conn, "main", null));
+        } catch (SQLException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw e;
+        }
+        return collect(rows, futures);
+    }
+
+    // Adds the rows of every partition query to the list, in submission order
+    private static <T> List<T> collect(List<T> rows, List<Future<List<T>>> futures) throws SQLException {
+        try {
+            for (Future<List<T>> future : futures) {
+                rows.addAll(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while querying order partitions", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            throw new SQLException("Error querying order partitions", e.getCause());
+        } finally {
+            futures.forEach(future -> future.cancel(true)); // No-op for completed queries
+        }
+        return rows;
+    }
+
+    // Runs a query against one partition on its own pooled connection
+    private <T> List<T> queryPartition(YearMonth month, PartitionQuery<T> query) throws SQLException {
+        try (Connection conn = Database.getInstance().getConnection()) {
+            attachPartition(conn, month);
+            try {
+                return query.query(conn, schema, month);
+            } finally {
+                detachPartition(conn);
+            }
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.beyourshelf.model.dao.order;
+
+import java.time.LocalDateTime;
+
+import com.beyourshelf.model.entity.Order;
+
+/**
+ * Describes one page of an order search: the filters to apply, the sort order,
+ * the page size, and the keyset cursor of the last order on the previous page.
+ *
+ * Every sort uses an indexed column with the order ID as a tie-breaker, so the
+ * next page starts right after the cursor instead of skipping rows with OFFSET.
+ * Unset filters are null and do not restrict the result.
+ */
+public class OrderQuery {
+
+    /**
+     * The supported sort orders. All are descending.
+     */
+    public enum SortField {
+        ORDER_DATE, // Newest orders first, by order_date
+        TOTAL_PRICE, // Most expensive orders first, by total_price
+        ORDER_ID // Most recently inserted orders first
+    }
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private Integer userId; // Only orders of this user
+    private LocalDateTime fromDate; // Only orders placed at or after this time
+    private LocalDateTime toDate; // Only orders placed before this time
+    private String orderNumberPrefix; // Only orders whose number starts with this text
+    private Double minTotal; // Only orders with at least this total
+    private Double maxTotal; // Only orders with at most this total
+    private SortField sortField = SortField.ORDER_DATE; // Sort order of the results
+    private int pageSize = DEFAULT_PAGE_SIZE; // Maximum number of orders per page
+
+    // Keyset cursor: sort value and ID of the last order of the previous page
+    private Object afterSortValue;
+    private int afterOrderId;
+    private boolean hasCursor;
+
+    // Creates a query for the first page of all orders, newest first
+    public OrderQuery() {
+    }
+
+    /**
+     * Creates a query for the page that follows the given order, keeping all
+     * filters and the sort order of this query.
+     *
+     * @param lastOrder The last order of the current page.
+     * @return The query for the next page.
+     */
+    public OrderQuery after(Order lastOrder) {
+        OrderQuery next = copy();
+        next.afterOrderId = lastOrder.getOrderId();
+        next.afterSortValue = switch (sortField) {
+            case ORDER_DATE -> lastOrder.getOrderDate();
+            case TOTAL_PRICE -> lastOrder.getTotalPrice();
+            case ORDER_ID -> lastOrder.getOrderId();
+        };
+        next.hasCursor = true;
+        return next;
+    }
+
+    // Returns a copy of this query without changing the cursor
+    private OrderQuery copy() {
+        OrderQuery copy = new OrderQuery();
+        copy.userId = userId;
+        copy.fromDate = fromDate;
+        copy.toDate = toDate;
+        copy.orderNumberPrefix = orderNumberPrefix;
+        copy.minTotal = minTotal;
+        copy.maxTotal = maxTotal;
+        copy.sortField = sortField;
+        copy.pageSize = pageSize;
+        copy.afterSortValue = afterSortValue;
+        copy.afterOrderId = afterOrderId;
+        copy.hasCursor = hasCursor;
+        return copy;
+    }
+
+    // Getters and setters for the filters
+
+    public Integer getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Integer userId) {
+        this.userId = userId;
+    }
+
+    public LocalDateTime getFromDate() {
+        return fromDate;
+    }
+
+    public void setFromDate(LocalDateTime fromDate) {
+        this.fromDate = fromDate;
+    }
+
+    public LocalDateTime getToDate() {
+        return toDate;
+    }
+
+    public void setToDate(LocalDateTime toDate) {
+        this.toDate = toDate;
+    }
+
+    public String getOrderNumberPrefix() {
+        return orderNumberPrefix;
+    }
+
+    // Sets the order number prefix; blank text clears the filter
+    public void setOrderNumberPrefix(String orderNumberPrefix) {
+        this.orderNumberPrefix = orderNumberPrefix == null || orderNumberPrefix.isBlank() ? null
+                : orderNumberPrefix.trim();
+    }
+
+    public Double getMinTotal() {
+        return minTotal;
+    }
+
+    public void setMinTotal(Double minTotal) {
+        this.minTotal = minTotal;
+    }
+
+    public Double getMaxTotal() {
+        return maxTotal;
+    }
+
+    public void setMaxTotal(Double maxTotal) {
+        this.maxTotal = maxTotal;
+    }
+
+    public SortField getSortField() {
+        return sortField;
+    }
+
+    public void setSortField(SortField sortField) {
+        this.sortField = sortField == null ? SortField.ORDER_DATE : sortField;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    // Sets the page size, clamped between 1 and MAX_PAGE_SIZE
+    public void setPageSize(int pageSize) {
+        this.pageSize = Math.max(1, Math.min(pageSize, MAX_PAGE_SIZE));
+    }
+
+    // Getters for the keyset cursor
+
+    public boolean hasCursor() {
+        return hasCursor;
+    }
+
+    public Object getAfterSortValue() {
+        return afterSortValue;
+    }
+
+    public int getAfterOrderId() {
+        return afterOrderId;
+    }
+}
@@ -30,6 +30,17 @@ public interface IUserDAO {
      */
     boolean registerUser(String username, String firstName, String lastName, String password, boolean isAdmin);
 
+    /**
+     * Inserts several users in one transaction. Rows whose username is already
+     * taken are skipped rather than failing the whole batch.
+     *
+     * @param users Rows of {username, first name, last name, password hash,
+     *              is admin}.
+     * @return For each row, 1 if it was inserted or 0 if its username was taken;
+     *         null if the batch failed.
+     */
+    int[] insertUsers(List<Object[]> users);
+
     /**
      * Validates the login credentials for a user.
      *
@@ -57,6 +68,15 @@ public interface IUserDAO {
      */
     User getUserByUsername(String username);
 
+    /**
+     * Retrieves everything needed to log a user in with a single query: the user
+     * record, including the password hash and role, and their active cart.
+     *
+     * @param username The username of the user.
+     * @return The login profile if the user exists, null otherwise.
+     */
+    LoginProfile getLoginProfile(String username);
+
     /**
      * Updates the profile of a user based on their username.
      *
@@ -85,6 +105,33 @@ public interface IUserDAO {
      */
     int getUserIdByUsername(String username);
 
+    /**
+     * Retrieves the username of a user based on their user ID.
+     *
+     * @param userId The ID of the user.
+     * @return The username if found, null otherwise.
+     */
+    String getUsernameById(int userId);
+
+    /**
+     * Retrieves every username in use.
+     *
+     * @return A list of all usernames.
+     */
+    List<String> getAllUsernames();
+
+    /**
+     * Retrieves one page of regular (non-admin) users, ordered by username
+     * ignoring case.
+     *
+     * @param prefixOrId A username prefix, matched ignoring case, or a user ID.
+     *                   Empty to match every regular user.
+     * @param page       The previous page, or null to fetch the first page.
+     * @param pageSize   The maximum number of users on the page.
+     * @return The page of users, empty if the query failed.
+     */
+    UserPage searchUsers(String prefixOrId, UserPage page, int pageSize);
+
     /**
      * Deletes a user from the database based on their user ID.
      *
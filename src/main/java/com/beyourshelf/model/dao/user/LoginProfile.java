@@ -0,0 +1,46 @@
+package com.beyourshelf.model.dao.user;
+
+import com.beyourshelf.model.entity.User;
+
+/**
+ * The data needed to log a user in, read in a single query: the user record,
+ * including their password hash and role, and their active cart, if any.
+ */
+public class LoginProfile {
+    private final User user; // The user record, including the password hash
+    private final int cartId; // The ID of the user's active cart, -1 if they have none
+    private final int cartVersion; // The version of the active cart, -1 if they have none
+
+    /**
+     * Constructor to create a LoginProfile with the necessary details.
+     *
+     * @param user        The user record, including the password hash
+     * @param cartId      The ID of the user's active cart, -1 if they have none
+     * @param cartVersion The version of the active cart, -1 if they have none
+     */
+    public LoginProfile(User user, int cartId, int cartVersion) {
+        this.user = user;
+        this.cartId = cartId;
+        this.cartVersion = cartVersion;
+    }
+
+    // Getter for the user record
+    public User getUser() {
+        return user;
+    }
+
+    // Getter for the ID of the user's active cart
+    public int getCartId() {
+        return cartId;
+    }
+
+    // Getter for the version of the active cart
+    public int getCartVersion() {
+        return cartVersion;
+    }
+
+    // Returns true if the user has an active cart
+    public boolean hasCart() {
+        return cartId != -1;
+    }
+}
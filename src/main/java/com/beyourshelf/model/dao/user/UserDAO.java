@@ -47,6 +47,22 @@ public class UserDAO extends BaseDAO implements IUserDAO {
         return executeUpdate(sql, username, firstName, lastName, password, isAdmin);
     }
 
+    /**
+     * Inserts several users in one transaction. INSERT OR IGNORE skips rows whose
+     * username is already taken, so one duplicate does not abort the batch; its
+     * update count is 0.
+     *
+     * @param users Rows of {username, first name, last name, password hash,
+     *              is admin}.
+     * @return The update count of each row, or null if the batch failed.
+     */
+    @Override
+    public int[] insertUsers(List<Object[]> users) {
+        String sql = "INSERT OR IGNORE INTO users (username, first_name, last_name, password, is_admin) "
+                + "VALUES (?, ?, ?, ?, ?)";
+        return executeBatchUpdateWithCounts(sql, users);
+    }
+
     /**
      * Validates login credentials for a user.
      *
@@ -99,6 +115,36 @@ public class UserDAO extends BaseDAO implements IUserDAO {
         }, username);
     }
 
+    /**
+     * Fetches a user together with the ID and version of their active cart, in
+     * one query. The cart is looked up through the (user_id, status) index.
+     *
+     * @param username The username of the user.
+     * @return The login profile if the user is found, null otherwise.
+     */
+    @Override
+    public LoginProfile getLoginProfile(String username) {
+        String sql = "SELECT u.id, u.username, u.first_name, u.last_name, u.password, u.is_admin, "
+                + "c.cart_id, c.version "
+                + "FROM users u "
+                + "LEFT JOIN cart c ON c.cart_id = (SELECT cart_id FROM cart "
+                + "WHERE user_id = u.id AND status = 'active' ORDER BY cart_id LIMIT 1) "
+                + "WHERE u.username = ?";
+        return executeQuery(sql, rs -> {
+            try {
+                User user = mapToUser(rs);
+                if (user == null) {
+                    return null;
+                }
+                int cartId = rs.getInt("cart_id");
+                boolean hasCart = !rs.wasNull();
+                return new LoginProfile(user, hasCart ? cartId : -1, hasCart ? rs.getInt("version") : -1);
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+        }, username);
+    }
+
     /**
      * Updates a user's profile based on their username.
      *
@@ -152,6 +198,46 @@ public class UserDAO extends BaseDAO implements IUserDAO {
         }, username);
     }
 
+    /**
+     * Retrieves the username of a user based on their user ID.
+     *
+     * @param userId The ID of the user.
+     * @return The username, or null if the user is not found.
+     */
+    @Override
+    public String getUsernameById(int userId) {
+        String sql = "SELECT username FROM users WHERE id = ?";
+        return executeQuery(sql, rs -> {
+            try {
+                return rs.next() ? rs.getString("username") : null;
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+        }, userId);
+    }
+
+    /**
+     * Retrieves every username in use. Only the username column is read, so
+     * this stays cheap enough to run at startup.
+     *
+     * @return A list of all usernames.
+     */
+    @Override
+    public List<String> getAllUsernames() {
+        String sql = "SELECT username FROM users";
+        return executeQuery(sql, rs -> {
+            try {
+                List<String> usernames = new ArrayList<>();
+                while (rs.next()) {
+                    usernames.add(rs.getString("username"));
+                }
+                return usernames;
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+        });
+    }
+
     /**
      * Deletes a user by their user ID.
      *
@@ -182,6 +268,66 @@ public class UserDAO extends BaseDAO implements IUserDAO {
         return executeUpdate(sql, username, firstName, lastName, password, isAdmin, userId);
     }
 
+    /**
+     * Retrieves one keyset page of regular users, ordered by username ignoring
+     * case with the ID as tie-breaker. Every condition can be answered from the
+     * (is_admin, username COLLATE NOCASE) index, so a page costs the same however
+     * many users there are. One extra row is fetched to tell whether another page
+     * follows.
+     *
+     * @param prefixOrId A username prefix, matched ignoring case, or a user ID.
+     *                   Empty to match every regular user.
+     * @param page       The previous page, or null to fetch the first page.
+     * @param pageSize   The maximum number of users on the page.
+     * @return The page of users, empty if the query failed.
+     */
+    @Override
+    public UserPage searchUsers(String prefixOrId, UserPage page, int pageSize) {
+        StringBuilder sql = new StringBuilder(
+                "SELECT id, username, first_name, last_name, is_admin FROM users WHERE is_admin = 0");
+        List<Object> params = new ArrayList<>();
+        if (!prefixOrId.isEmpty()) {
+            // A range on the NOCASE index instead of LIKE. NOCASE folds A-Z before
+            // comparing, so incrementing the last character is unsafe ('Z' + 1 is '[',
+            // which sorts below 'z'); the highest code point bounds every completion.
+            sql.append(" AND (username COLLATE NOCASE >= ? AND username COLLATE NOCASE < ?");
+            params.add(prefixOrId);
+            params.add(prefixOrId + Character.toString(Character.MAX_CODE_POINT));
+            if (prefixOrId.chars().allMatch(Character::isDigit) && prefixOrId.length() < 10) {
+                sql.append(" OR id = ?");
+                params.add(Integer.parseInt(prefixOrId));
+            }
+            sql.append(")");
+        }
+        if (page != null && page.hasMore()) {
+            // The plain lower bound lets SQLite seek to the cursor; the row value breaks ties
+            sql.append(" AND username COLLATE NOCASE >= ? AND (username COLLATE NOCASE, id) > (?, ?)");
+            params.add(page.getAfterUsername());
+            params.add(page.getAfterUsername());
+            params.add(page.getAfterId());
+        }
+        sql.append(" ORDER BY username COLLATE NOCASE, id LIMIT ?");
+        params.add(pageSize + 1);
+
+        List<User> users = executeQuery(sql.toString(), rs -> {
+            try {
+                return mapToUserList(rs);
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+        }, params.toArray());
+
+        if (users == null) {
+            return new UserPage(new ArrayList<>(), null, 0);
+        }
+        if (users.size() <= pageSize) {
+            return new UserPage(users, null, 0);
+        }
+        users.remove(users.size() - 1); // Drop the look-ahead row
+        User lastUser = users.get(users.size() - 1);
+        return new UserPage(users, lastUser.getUsername(), lastUser.getId());
+    }
+
     /**
      * Maps a result set to a User object.
      *
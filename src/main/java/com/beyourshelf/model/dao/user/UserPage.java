@@ -0,0 +1,49 @@
+package com.beyourshelf.model.dao.user;
+
+import java.util.List;
+
+import com.beyourshelf.model.entity.User;
+
+/**
+ * One page of users returned by a user search, ordered by username ignoring
+ * case. If more users match, the keyset cursor of the last user is kept so the
+ * following page can be fetched from where this one ended.
+ */
+public class UserPage {
+    private final List<User> users; // The users on this page, in username order
+    private final String afterUsername; // Username of the last user, null if this is the last page
+    private final int afterId; // ID of the last user, breaks ties between usernames differing only in case
+
+    /**
+     * Constructor to create a UserPage with the necessary details.
+     *
+     * @param users         The users on this page, in username order
+     * @param afterUsername The username of the last user, or null if this is the
+     *                      last page
+     * @param afterId       The ID of the last user
+     */
+    public UserPage(List<User> users, String afterUsername, int afterId) {
+        this.users = users;
+        this.afterUsername = afterUsername;
+        this.afterId = afterId;
+    }
+
+    // Getter for the users on this page
+    public List<User> getUsers() {
+        return users;
+    }
+
+    // Returns true if more users match the search
+    public boolean hasMore() {
+        return afterUsername != null;
+    }
+
+    // Getters for the keyset cursor of the next page
+    public String getAfterUsername() {
+        return afterUsername;
+    }
+
+    public int getAfterId() {
+        return afterId;
+    }
+}
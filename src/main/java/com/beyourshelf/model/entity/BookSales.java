@@ -0,0 +1,47 @@
+package com.beyourshelf.model.entity;
+
+/**
+ * Represents the sales of one book over a date range, used by the admin sales
+ * analytics view.
+ */
+public class BookSales {
+    private final int bookId; // The ID of the book
+    private final String title; // The title of the book
+    private final int copiesSold; // Copies sold in the range
+    private final double revenue; // Revenue earned in the range
+
+    /**
+     * Constructor to create a BookSales with the necessary details.
+     *
+     * @param bookId     The ID of the book
+     * @param title      The title of the book
+     * @param copiesSold Copies sold in the range
+     * @param revenue    Revenue earned in the range
+     */
+    public BookSales(int bookId, String title, int copiesSold, double revenue) {
+        this.bookId = bookId;
+        this.title = title;
+        this.copiesSold = copiesSold;
+        this.revenue = revenue;
+    }
+
+    // Getter for the ID of the book
+    public int getBookId() {
+        return bookId;
+    }
+
+    // Getter for the title of the book
+    public String getTitle() {
+        return title;
+    }
+
+    // Getter for the copies sold in the range
+    public int getCopiesSold() {
+        return copiesSold;
+    }
+
+    // Getter for the revenue earned in the range
+    public double getRevenue() {
+        return revenue;
+    }
+}
@@ -0,0 +1,69 @@
+package com.beyourshelf.model.entity;
+
+/**
+ * Represents one requested change to a cart line, used to apply many changes
+ * to a cart at once.
+ *
+ * An additive change increases the quantity of the book, inserting the line if
+ * needed, like adding a book from the catalogue, so its quantity must be
+ * positive. A non-additive change sets the quantity, and a quantity of zero
+ * removes the book from the cart.
+ */
+public class CartChange {
+    private final int bookId; // The ID of the book to change
+    private final int quantity; // The quantity to add or set
+    private final boolean additive; // Whether the quantity is added to the current one
+
+    /**
+     * Constructor to create a CartChange with the necessary details.
+     *
+     * @param bookId   The ID of the book to change
+     * @param quantity The quantity to add or set
+     * @param additive Whether the quantity is added to the current one
+     * @throws IllegalArgumentException if the change is additive and the
+     *                                  quantity is not positive.
+     */
+    public CartChange(int bookId, int quantity, boolean additive) {
+        if (additive && quantity <= 0) {
+            throw new IllegalArgumentException("Quantity to add must be positive.");
+        }
+        this.bookId = bookId;
+        this.quantity = quantity;
+        this.additive = additive;
+    }
+
+    // Creates a change that adds copies of a book to the cart; the quantity must be positive
+    public static CartChange add(int bookId, int quantity) {
+        return new CartChange(bookId, quantity, true);
+    }
+
+    // Creates a change that sets the quantity of a book in the cart
+    public static CartChange set(int bookId, int quantity) {
+        return new CartChange(bookId, quantity, false);
+    }
+
+    // Creates a change that removes a book from the cart
+    public static CartChange remove(int bookId) {
+        return new CartChange(bookId, 0, false);
+    }
+
+    // Getter for the ID of the book to change
+    public int getBookId() {
+        return bookId;
+    }
+
+    // Getter for the quantity to add or set
+    public int getQuantity() {
+        return quantity;
+    }
+
+    // Returns true if the quantity is added to the current one
+    public boolean isAdditive() {
+        return additive;
+    }
+
+    // Returns true if the change removes the book from the cart
+    public boolean isRemoval() {
+        return !additive && quantity <= 0;
+    }
+}
@@ -0,0 +1,48 @@
+package com.beyourshelf.model.entity;
+
+/**
+ * Represents the state of one cart line right after a cart mutation.
+ *
+ * Every write to a cart increments the version stored on its cart row. The
+ * delta carries that new version, so a ShoppingCart can tell whether it has
+ * seen every change before the one it is applying. A quantity of zero means
+ * the book is no longer in the cart.
+ */
+public class CartDelta {
+    private final int bookId; // The ID of the book whose line changed
+    private final int quantity; // The resulting quantity, zero if the line was removed
+    private final int version; // The cart version produced by the mutation
+
+    /**
+     * Constructor to create a CartDelta with the necessary details.
+     *
+     * @param bookId   The ID of the book whose line changed
+     * @param quantity The resulting quantity, zero if the line was removed
+     * @param version  The cart version produced by the mutation
+     */
+    public CartDelta(int bookId, int quantity, int version) {
+        this.bookId = bookId;
+        this.quantity = quantity;
+        this.version = version;
+    }
+
+    // Getter for the ID of the book whose line changed
+    public int getBookId() {
+        return bookId;
+    }
+
+    // Getter for the resulting quantity of the book
+    public int getQuantity() {
+        return quantity;
+    }
+
+    // Getter for the cart version produced by the mutation
+    public int getVersion() {
+        return version;
+    }
+
+    // Returns true if the book was removed from the cart
+    public boolean isRemoved() {
+        return quantity <= 0;
+    }
+}
@@ -0,0 +1,34 @@
+package com.beyourshelf.model.entity;
+
+/**
+ * Represents a cart item together with its fully populated book.
+ *
+ * CartLine is returned when a cart is loaded with its books in a single query,
+ * so callers can build a ShoppingCart without fetching each Book separately.
+ * Unlike CartItem, it carries the complete Book rather than only its ID.
+ */
+public class CartLine {
+    private final Book book; // The book in the cart
+    private final int quantity; // Quantity of the book in the cart
+
+    /**
+     * Constructor to create a CartLine with the necessary details.
+     *
+     * @param book     The book in the cart
+     * @param quantity The quantity of the book in the cart
+     */
+    public CartLine(Book book, int quantity) {
+        this.book = book;
+        this.quantity = quantity;
+    }
+
+    // Getter for the book in the cart
+    public Book getBook() {
+        return book;
+    }
+
+    // Getter for the quantity of the book in the cart
+    public int getQuantity() {
+        return quantity;
+    }
+}
@@ -0,0 +1,54 @@
+package com.beyourshelf.model.entity;
+
+/**
+ * Summary of one abandoned-cart maintenance run: how many carts were marked
+ * abandoned, how many cart items were moved to the archive, and in how many
+ * transactions.
+ */
+public class CartMaintenanceStats {
+    private final int cartsAbandoned; // Carts marked as abandoned in this run
+    private final int itemsArchived; // Cart items moved to cart_items_archive
+    private final int batches; // Number of transactions used
+    private final long durationMillis; // Wall-clock duration of the run
+
+    /**
+     * Constructor to create CartMaintenanceStats with the necessary details.
+     *
+     * @param cartsAbandoned Carts marked as abandoned in this run
+     * @param itemsArchived  Cart items moved to the archive
+     * @param batches        Number of transactions used
+     * @param durationMillis Wall-clock duration of the run
+     */
+    public CartMaintenanceStats(int cartsAbandoned, int itemsArchived, int batches, long durationMillis) {
+        this.cartsAbandoned = cartsAbandoned;
+        this.itemsArchived = itemsArchived;
+        this.batches = batches;
+        this.durationMillis = durationMillis;
+    }
+
+    // Getter for the number of carts marked as abandoned
+    public int getCartsAbandoned() {
+        return cartsAbandoned;
+    }
+
+    // Getter for the number of cart items archived
+    public int getItemsArchived() {
+        return itemsArchived;
+    }
+
+    // Getter for the number of transactions used
+    public int getBatches() {
+        return batches;
+    }
+
+    // Getter for the duration of the run in milliseconds
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    @Override
+    public String toString() {
+        return cartsAbandoned + " carts abandoned, " + itemsArchived + " items archived in " + batches
+                + " batches (" + durationMillis + " ms)";
+    }
+}
@@ -0,0 +1,41 @@
+package com.beyourshelf.model.entity;
+
+import java.util.List;
+
+/**
+ * Represents the full contents of a cart together with the cart version they
+ * belong to, as read in the same transaction that last changed the cart.
+ */
+public class CartState {
+    private final int cartId; // The ID of the cart
+    private final int version; // The cart version of this state
+    private final List<CartLine> lines; // The lines in the cart with their books
+
+    /**
+     * Constructor to create a CartState with the necessary details.
+     *
+     * @param cartId  The ID of the cart
+     * @param version The cart version of this state
+     * @param lines   The lines in the cart with their books
+     */
+    public CartState(int cartId, int version, List<CartLine> lines) {
+        this.cartId = cartId;
+        this.version = version;
+        this.lines = lines;
+    }
+
+    // Getter for the ID of the cart
+    public int getCartId() {
+        return cartId;
+    }
+
+    // Getter for the cart version of this state
+    public int getVersion() {
+        return version;
+    }
+
+    // Getter for the lines in the cart
+    public List<CartLine> getLines() {
+        return lines;
+    }
+}
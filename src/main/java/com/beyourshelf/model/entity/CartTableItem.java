@@ -121,4 +121,13 @@ public class CartTableItem {
     public void setSelected(boolean selected) {
         this.selected.set(selected); // Update the selection state
     }
+
+    /**
+     * Property method for the selection state, used for binding in UI components.
+     *
+     * @return A SimpleBooleanProperty representing the selection state.
+     */
+    public SimpleBooleanProperty selectedProperty() {
+        return selected;
+    }
 }
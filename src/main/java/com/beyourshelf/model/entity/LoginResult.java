@@ -0,0 +1,116 @@
+package com.beyourshelf.model.entity;
+
+import java.util.List;
+
+/**
+ * The outcome of a login attempt.
+ *
+ * A successful result carries everything the UI needs to open the dashboard:
+ * the user, whether they are an admin, and for regular users the ID, version
+ * and lines of their active cart. A failed result carries the message to show
+ * instead. Results are immutable, so they can be handed safely from the
+ * authentication thread to the JavaFX thread.
+ */
+public class LoginResult {
+    private final boolean success; // Whether the user was authenticated
+    private final User user; // The authenticated user, null on failure
+    private final boolean admin; // Whether the user is an admin
+    private final int cartId; // The ID of the user's active cart, -1 for admins and on failure
+    private final int cartVersion; // The version of the active cart when it was read
+    private final List<CartLine> cartLines; // The lines of the active cart with their books
+    private final String message; // The reason for a failure, null on success
+
+    // Private constructor, use the factory methods
+    private LoginResult(boolean success, User user, boolean admin, int cartId, int cartVersion,
+            List<CartLine> cartLines, String message) {
+        this.success = success;
+        this.user = user;
+        this.admin = admin;
+        this.cartId = cartId;
+        this.cartVersion = cartVersion;
+        this.cartLines = List.copyOf(cartLines);
+        this.message = message;
+    }
+
+    /**
+     * Creates the result of a successful login by a regular user.
+     *
+     * @param user        The authenticated user.
+     * @param cartId      The ID of the user's active cart.
+     * @param cartVersion The version of the cart when it was read.
+     * @param cartLines   The lines of the cart with their books.
+     * @return The successful result.
+     */
+    public static LoginResult success(User user, int cartId, int cartVersion, List<CartLine> cartLines) {
+        return new LoginResult(true, user, user.isAdmin(), cartId, cartVersion, cartLines, null);
+    }
+
+    /**
+     * Creates the result of a successful login by an admin, who has no cart.
+     *
+     * @param user The authenticated admin.
+     * @return The successful result.
+     */
+    public static LoginResult admin(User user) {
+        return new LoginResult(true, user, true, -1, -1, List.of(), null);
+    }
+
+    /**
+     * Creates the result of a failed login.
+     *
+     * @param message The reason shown to the user.
+     * @return The failed result.
+     */
+    public static LoginResult failure(String message) {
+        return new LoginResult(false, null, false, -1, -1, List.of(), message);
+    }
+
+    /**
+     * Builds a shopping cart holding the cart lines of this result.
+     *
+     * @return A new ShoppingCart for the user, at the version that was read.
+     */
+    public ShoppingCart toShoppingCart() {
+        ShoppingCart shoppingCart = new ShoppingCart(user.getId(), cartId);
+        for (CartLine line : cartLines) {
+            shoppingCart.addBook(line.getBook(), line.getQuantity());
+        }
+        shoppingCart.setVersion(cartVersion);
+        return shoppingCart;
+    }
+
+    // Returns true if the user was authenticated
+    public boolean isSuccess() {
+        return success;
+    }
+
+    // Getter for the authenticated user
+    public User getUser() {
+        return user;
+    }
+
+    // Returns true if the authenticated user is an admin
+    public boolean isAdmin() {
+        return admin;
+    }
+
+    // Getter for the ID of the user's active cart
+    public int getCartId() {
+        return cartId;
+    }
+
+    // Getter for the version of the cart when it was read
+    public int getCartVersion() {
+        return cartVersion;
+    }
+
+    // Getter for the lines of the user's cart
+    public List<CartLine> getCartLines() {
+        return cartLines;
+    }
+
+    // Getter for the failure message
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,39 @@
+package com.beyourshelf.model.entity;
+
+/**
+ * Represents the sales of one reporting period (a day, week or month): the
+ * number of copies sold and the revenue they brought in.
+ */
+public class SalesPeriod {
+    private final String period; // Label of the period, e.g. 2024-05-17, 2024-W20 or 2024-05
+    private final int copiesSold; // Copies sold during the period
+    private final double revenue; // Revenue earned during the period
+
+    /**
+     * Constructor to create a SalesPeriod with the necessary details.
+     *
+     * @param period     Label of the period
+     * @param copiesSold Copies sold during the period
+     * @param revenue    Revenue earned during the period
+     */
+    public SalesPeriod(String period, int copiesSold, double revenue) {
+        this.period = period;
+        this.copiesSold = copiesSold;
+        this.revenue = revenue;
+    }
+
+    // Getter for the label of the period
+    public String getPeriod() {
+        return period;
+    }
+
+    // Getter for the copies sold during the period
+    public int getCopiesSold() {
+        return copiesSold;
+    }
+
+    // Getter for the revenue earned during the period
+    public double getRevenue() {
+        return revenue;
+    }
+}
@@ -0,0 +1,115 @@
+package com.beyourshelf.model.entity;
+
+import java.time.Instant;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A logged-in user's session, identified by an unguessable token.
+ *
+ * Sessions are immutable: a profile change produces a new Session with the same
+ * token and cart, which replaces the old one in the session service. Each
+ * regular user's session owns its ShoppingCart, so several shoppers can be
+ * served by one process. The cart itself is mutable, so requests that use it
+ * hold the session's cart lock; a ReentrantLock rather than synchronized, so a
+ * virtual thread waiting for it does not pin its carrier thread.
+ */
+public class Session {
+    private final String token; // Identifies the session, never shown to other users
+    private final int userId; // The ID of the logged-in user
+    private final String username; // The username of the logged-in user
+    private final String firstName; // The first name of the logged-in user
+    private final String lastName; // The last name of the logged-in user
+    private final boolean admin; // Whether the logged-in user is an admin
+    private final ShoppingCart shoppingCart; // The user's cart, null for admins
+    private final Instant createdAt; // When the user logged in
+    private final ReentrantLock cartLock; // Serializes the requests that use the cart
+
+    /**
+     * Constructor to create a Session with the necessary details.
+     *
+     * @param token        The session token.
+     * @param user         The logged-in user.
+     * @param shoppingCart The user's cart, or null for admins.
+     * @param createdAt    When the user logged in.
+     */
+    public Session(String token, User user, ShoppingCart shoppingCart, Instant createdAt) {
+        this(token, user.getId(), user.getUsername(), user.getFirstName(), user.getLastName(), user.isAdmin(),
+                shoppingCart, createdAt, new ReentrantLock());
+    }
+
+    // Private constructor used to derive updated sessions
+    private Session(String token, int userId, String username, String firstName, String lastName, boolean admin,
+            ShoppingCart shoppingCart, Instant createdAt, ReentrantLock cartLock) {
+        this.token = token;
+        this.userId = userId;
+        this.username = username;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.admin = admin;
+        this.shoppingCart = shoppingCart;
+        this.createdAt = createdAt;
+        this.cartLock = cartLock;
+    }
+
+    /**
+     * Returns a copy of this session with an updated name.
+     *
+     * @param firstName The new first name.
+     * @param lastName  The new last name.
+     * @return The updated session, with the same token, cart and cart lock.
+     */
+    public Session withProfile(String firstName, String lastName) {
+        return new Session(token, userId, username, firstName, lastName, admin, shoppingCart, createdAt, cartLock);
+    }
+
+    // Getter for the session token
+    public String getToken() {
+        return token;
+    }
+
+    // Getter for the ID of the logged-in user
+    public int getUserId() {
+        return userId;
+    }
+
+    // Getter for the username of the logged-in user
+    public String getUsername() {
+        return username;
+    }
+
+    // Getter for the first name of the logged-in user
+    public String getFirstName() {
+        return firstName;
+    }
+
+    // Getter for the last name of the logged-in user
+    public String getLastName() {
+        return lastName;
+    }
+
+    // Returns true if the logged-in user is an admin
+    public boolean isAdmin() {
+        return admin;
+    }
+
+    // Getter for the user's cart, null for admins
+    public ShoppingCart getShoppingCart() {
+        return shoppingCart;
+    }
+
+    // Getter for the time the user logged in
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    // Getter for the lock held while a request uses the cart
+    public ReentrantLock getCartLock() {
+        return cartLock;
+    }
+
+    @Override
+    public String toString() {
+        // The token is left out so it does not end up in logs
+        return "Session[userId=" + userId + ", username=" + username + ", admin=" + admin + "]";
+    }
+}
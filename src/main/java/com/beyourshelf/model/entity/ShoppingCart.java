@@ -2,9 +2,12 @@ package com.beyourshelf.model.entity;
 
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
+import com.beyourshelf.utils.collections.IntIntMap;
+
 /**
  * Represents a shopping cart for a user, storing books and their respective
  * quantities.
@@ -19,7 +22,10 @@ import java.util.Map;
  * - Provides cart operations (add, remove, update, clear)
  * - Handles business logic and validation
  * - Associates cart with user and maintains cart persistence
- * - Stores cart items as a Map<Book, Integer> for efficient lookups
+ * - Stores quantities in a primitive IntIntMap keyed by book ID, so lookups
+ *   do not depend on mutable Book objects
+ * - Tracks which lines are selected for checkout and keeps a running subtotal
+ *   of the selected lines, updated in O(1) per change
  * 
  * This class is part of a three-tier cart architecture:
  * 1. ShoppingCart - Business logic container (this class)
@@ -34,9 +40,14 @@ import java.util.Map;
  * the shopping cart state before converting to appropriate DTOs or UI models.
  */
 public class ShoppingCart {
-    private final Map<Book, Integer> cart; // A map of books and their corresponding quantities
+    private final IntIntMap quantities; // Quantity of each book in the cart, keyed by book ID
+    private final IntIntMap priceCents; // Unit price of each book in cents, keyed by book ID
+    private final IntIntMap selected; // Book IDs selected for checkout (value is always 1)
+    private final Map<Integer, Book> books; // Book details by ID, only touched when lines are added or removed
+    private long selectedSubtotalCents; // Running subtotal of the selected lines in cents
     private final int userId; // The ID of the user associated with this cart
     private final int cartId; // The ID of the cart associated with this user
+    private int version = -1; // The last cart version this cart reflects, -1 if unknown
 
     /**
      * Constructor for creating a ShoppingCart for a specific user.
@@ -46,7 +57,10 @@ public class ShoppingCart {
     public ShoppingCart(int userId, int cartId) {
         this.userId = userId;
         this.cartId = cartId;
-        this.cart = new HashMap<>();
+        this.quantities = new IntIntMap();
+        this.priceCents = new IntIntMap();
+        this.selected = new IntIntMap();
+        this.books = new HashMap<>();
         System.out.println("ShoppingCart created for user: " + userId + " with cart ID: " + cartId);
     }
 
@@ -69,7 +83,8 @@ public class ShoppingCart {
         if (book == null || quantity <= 0) {
             throw new IllegalArgumentException("Book cannot be null and quantity must be positive.");
         }
-        cart.merge(book, quantity, Integer::sum); // Merges the new quantity with existing quantity (if any)
+        int bookId = book.getBookId();
+        setQuantity(book, quantities.get(bookId, 0) + quantity);
     }
 
     /**
@@ -82,7 +97,7 @@ public class ShoppingCart {
         if (book == null) {
             throw new IllegalArgumentException("Book cannot be null.");
         }
-        cart.remove(book);
+        removeLine(book.getBookId());
     }
 
     /**
@@ -99,19 +114,73 @@ public class ShoppingCart {
             throw new IllegalArgumentException("Book cannot be null.");
         }
         if (quantity <= 0) {
-            cart.remove(book); // Remove the book if the quantity is zero or less
+            removeLine(book.getBookId()); // Remove the book if the quantity is zero or less
         } else {
-            cart.put(book, quantity); // Update the quantity of the book
+            setQuantity(book, quantity); // Update the quantity of the book
         }
     }
 
+    /**
+     * Retrieves the quantity of a book in the cart.
+     *
+     * @param bookId The ID of the book.
+     * @return The quantity, or 0 if the book is not in the cart.
+     */
+    public int getQuantity(int bookId) {
+        return quantities.get(bookId, 0);
+    }
+
     /**
      * Retrieves all books and their quantities in the cart.
+     * The map is built on each call, so prefer {@link #getQuantity(int)} for
+     * single lookups.
      *
      * @return An unmodifiable map of books and their quantities.
      */
     public Map<Book, Integer> getBooks() {
-        return Collections.unmodifiableMap(cart); // Return an unmodifiable view of the cart
+        Map<Book, Integer> snapshot = new LinkedHashMap<>();
+        quantities.forEach((bookId, quantity) -> snapshot.put(books.get(bookId), quantity));
+        return Collections.unmodifiableMap(snapshot); // Return an unmodifiable view of the cart
+    }
+
+    /**
+     * Marks a book as selected or deselected for checkout and updates the
+     * selected subtotal.
+     *
+     * @param bookId     The ID of the book.
+     * @param isSelected The new selection state.
+     */
+    public void setSelected(int bookId, boolean isSelected) {
+        if (!quantities.containsKey(bookId) || isSelected == selected.containsKey(bookId)) {
+            return; // Not in the cart or nothing changed
+        }
+        long lineTotal = lineTotalCents(bookId, quantities.get(bookId, 0));
+        if (isSelected) {
+            selected.put(bookId, 1, 0);
+            selectedSubtotalCents += lineTotal;
+        } else {
+            selected.remove(bookId, 0);
+            selectedSubtotalCents -= lineTotal;
+        }
+    }
+
+    /**
+     * Checks whether a book is selected for checkout.
+     *
+     * @param bookId The ID of the book.
+     * @return true if the book is selected, false otherwise.
+     */
+    public boolean isSelected(int bookId) {
+        return selected.containsKey(bookId);
+    }
+
+    /**
+     * Retrieves the total price of the lines selected for checkout.
+     *
+     * @return The selected subtotal.
+     */
+    public double getSelectedSubtotal() {
+        return selectedSubtotalCents / 100.0;
     }
 
     /**
@@ -120,14 +189,72 @@ public class ShoppingCart {
      * @return True if the cart is empty, false otherwise.
      */
     public boolean isEmpty() {
-        return cart.isEmpty();
+        return quantities.isEmpty();
     }
 
     /**
      * Clears all items from the cart.
      */
     public void clearCart() {
-        cart.clear();
+        quantities.clear();
+        priceCents.clear();
+        selected.clear();
+        books.clear();
+        selectedSubtotalCents = 0;
+    }
+
+    /**
+     * Retrieves the last database version of the cart reflected by this object.
+     *
+     * @return The cart version, or -1 if unknown.
+     */
+    public synchronized int getVersion() {
+        return version;
+    }
+
+    /**
+     * Sets the database version of the cart after a full reload.
+     *
+     * @param version The cart version the current contents correspond to.
+     */
+    public synchronized void setVersion(int version) {
+        this.version = version;
+    }
+
+    /**
+     * Applies the result of a single cart mutation. The delta is only applied if
+     * it directly follows the version this cart reflects; otherwise another
+     * writer has changed the cart in between and the caller must reload it.
+     *
+     * @param book  The book whose line changed.
+     * @param delta The resulting line state and cart version.
+     * @return true if the delta was applied, false if a full reload is needed.
+     */
+    public synchronized boolean applyDelta(Book book, CartDelta delta) {
+        if (book == null || delta == null || version < 0 || delta.getVersion() != version + 1) {
+            return false;
+        }
+        updateBookQuantity(book, delta.getQuantity());
+        version = delta.getVersion();
+        return true;
+    }
+
+    /**
+     * Records a write made through this cart that bumped its version without
+     * returning a line delta, such as removing the checked-out books or a
+     * debounced quantity flush, which may run on another thread. The
+     * version only advances if the write directly follows the version this cart
+     * reflects.
+     *
+     * @param newVersion The cart version after the write, or -1 if it failed.
+     * @return true if the version advanced, false if a full reload is needed.
+     */
+    public synchronized boolean advanceVersion(int newVersion) {
+        if (version < 0 || newVersion != version + 1) {
+            return false;
+        }
+        version = newVersion;
+        return true;
     }
 
     /**
@@ -145,6 +272,33 @@ public class ShoppingCart {
      * @param booksToRemove The list of books to remove.
      */
     public void removeBooks(List<Book> booksToRemove) {
-        booksToRemove.forEach(cart::remove); // Method reference instead of lambda
+        booksToRemove.forEach(book -> removeLine(book.getBookId()));
+    }
+
+    // Sets the quantity of a line, keeping the selected subtotal in step
+    private void setQuantity(Book book, int quantity) {
+        int bookId = book.getBookId();
+        int cents = (int) Math.round(book.getPrice() * 100);
+        int previous = quantities.put(bookId, quantity, 0);
+        if (selected.containsKey(bookId)) {
+            selectedSubtotalCents += (long) cents * quantity - lineTotalCents(bookId, previous);
+        }
+        priceCents.put(bookId, cents, 0);
+        books.put(bookId, book);
+    }
+
+    // Removes a line and its contribution to the selected subtotal
+    private void removeLine(int bookId) {
+        int previous = quantities.remove(bookId, 0);
+        if (selected.remove(bookId, 0) != 0) {
+            selectedSubtotalCents -= lineTotalCents(bookId, previous);
+        }
+        priceCents.remove(bookId, 0);
+        books.remove(bookId);
+    }
+
+    // Returns the total of a line in cents
+    private long lineTotalCents(int bookId, int quantity) {
+        return (long) priceCents.get(bookId, 0) * quantity;
     }
 }
@@ -0,0 +1,44 @@
+package com.beyourshelf.model.entity;
+
+/**
+ * Summary of a bulk user import: how many rows were imported, how many were
+ * rejected (and written to the reject file), and how long the import took.
+ */
+public class UserImportResult {
+    private final int imported; // Users inserted into the database
+    private final int rejected; // Rows written to the reject file
+    private final long durationMillis; // Wall-clock duration of the import
+
+    /**
+     * Constructor to create a UserImportResult with the necessary details.
+     *
+     * @param imported       Users inserted into the database
+     * @param rejected       Rows written to the reject file
+     * @param durationMillis Wall-clock duration of the import
+     */
+    public UserImportResult(int imported, int rejected, long durationMillis) {
+        this.imported = imported;
+        this.rejected = rejected;
+        this.durationMillis = durationMillis;
+    }
+
+    // Getter for the number of users imported
+    public int getImported() {
+        return imported;
+    }
+
+    // Getter for the number of rows rejected
+    public int getRejected() {
+        return rejected;
+    }
+
+    // Getter for the duration of the import in milliseconds
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    @Override
+    public String toString() {
+        return imported + " users imported, " + rejected + " rejected (" + durationMillis + " ms)";
+    }
+}
@@ -0,0 +1,26 @@
+package com.beyourshelf.server;
+
+/**
+ * Thrown by API handlers to end a request with an HTTP error status. The
+ * message is returned to the client, so it must not reveal internal details.
+ */
+public class ApiException extends RuntimeException {
+
+    private final int status; // HTTP status code sent to the client
+
+    /**
+     * Creates an exception for the given status.
+     *
+     * @param status  The HTTP status code.
+     * @param message The error message returned to the client.
+     */
+    public ApiException(int status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    // Getter for the HTTP status code
+    public int getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,284 @@
+package com.beyourshelf.server;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.beyourshelf.model.entity.Book;
+import com.beyourshelf.model.entity.CartLine;
+import com.beyourshelf.model.entity.Order;
+import com.beyourshelf.model.entity.OrderItem;
+import com.beyourshelf.model.entity.Session;
+import com.beyourshelf.service.ServiceManager;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+/**
+ * Base class of the handlers of the headless HTTP API.
+ *
+ * Subclasses implement serve() for the paths below their context and reply
+ * with sendJson() or sendText(). An ApiException ends the request with its
+ * status; invalid JSON or parameters become 400 responses, and any other error
+ * becomes a 500 response without details. Callers authenticate with an
+ * "Authorization: Bearer <session token>" header.
+ */
+public abstract class ApiHandler implements HttpHandler {
+
+    private static final int MAX_BODY_BYTES = 64 * 1024; // Larger request bodies are refused
+
+    protected final ServiceManager services;
+
+    /**
+     * Creates a handler backed by the given services.
+     *
+     * @param services The application services.
+     */
+    protected ApiHandler(ServiceManager services) {
+        this.services = services;
+    }
+
+    /**
+     * Serves one request.
+     *
+     * @param exchange The HTTP exchange.
+     * @param method   The request method, e.g. GET.
+     * @param path     The path segments below the handler's context.
+     * @throws IOException if the response cannot be written.
+     */
+    protected abstract void serve(HttpExchange exchange, String method, List<String> path) throws IOException;
+
+    @Override
+    public final void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            try {
+                serve(exchange, exchange.getRequestMethod(), pathBelowContext(exchange));
+            } catch (ApiException e) {
+                sendError(exchange, e.getStatus(), e.getMessage());
+            } catch (IllegalArgumentException e) {
+                sendError(exchange, 400, e.getMessage());
+            } catch (RuntimeException e) {
+                System.out.println("Error serving " + exchange.getRequestURI().getPath() + ": " + e);
+                sendError(exchange, 500, "Internal server error");
+            }
+        }
+    }
+
+    // Request helpers
+
+    /**
+     * Returns the session named by the Authorization header.
+     *
+     * @param exchange The HTTP exchange.
+     * @return The open session.
+     * @throws ApiException with status 401 if the token is missing or unknown.
+     */
+    protected Session requireSession(HttpExchange exchange) {
+        String header = exchange.getRequestHeaders().getFirst("Authorization");
+        if (header == null || !header.startsWith("Bearer ")) {
+            throw new ApiException(401, "Missing session token");
+        }
+        return services.getSessionService().getSession(header.substring("Bearer ".length()).trim())
+                .orElseThrow(() -> new ApiException(401, "Session expired or unknown"));
+    }
+
+    /**
+     * Returns the session named by the Authorization header, which must belong
+     * to a regular user with a cart.
+     *
+     * @param exchange The HTTP exchange.
+     * @return The open session.
+     * @throws ApiException with status 401 or 403.
+     */
+    protected Session requireShopper(HttpExchange exchange) {
+        Session session = requireSession(exchange);
+        if (session.getShoppingCart() == null) {
+            throw new ApiException(403, "Only shoppers have a cart");
+        }
+        return session;
+    }
+
+    /**
+     * Reads the request body as a JSON object.
+     *
+     * @param exchange The HTTP exchange.
+     * @return The parsed object.
+     * @throws IOException if the body cannot be read.
+     */
+    @SuppressWarnings("unchecked")
+    protected static Map<String, Object> readJsonObject(HttpExchange exchange) throws IOException {
+        InputStream body = exchange.getRequestBody();
+        byte[] bytes = body.readNBytes(MAX_BODY_BYTES + 1);
+        if (bytes.length > MAX_BODY_BYTES) {
+            throw new ApiException(413, "Request body too large");
+        }
+        Object value = Json.parse(new String(bytes, StandardCharsets.UTF_8));
+        if (!(value instanceof Map)) {
+            throw new IllegalArgumentException("Expected a JSON object");
+        }
+        return (Map<String, Object>) value;
+    }
+
+    /**
+     * Reads the query string parameters of the request.
+     *
+     * @param exchange The HTTP exchange.
+     * @return The parameters; the last value wins for repeated names.
+     */
+    protected static Map<String, String> queryParams(HttpExchange exchange) {
+        Map<String, String> params = new HashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null || query.isEmpty()) {
+            return params;
+        }
+        for (String pair : query.split("&")) {
+            int equals = pair.indexOf('=');
+            String name = equals >= 0 ? pair.substring(0, equals) : pair;
+            String value = equals >= 0 ? pair.substring(equals + 1) : "";
+            params.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    // Reads a required string field from a JSON object
+    protected static String requireString(Map<String, Object> body, String field) {
+        if (!(body.get(field) instanceof String value) || value.isBlank()) {
+            throw new IllegalArgumentException("Field '" + field + "' must be a non-empty string");
+        }
+        return value;
+    }
+
+    // Reads a required whole number field from a JSON object
+    protected static int requireInt(Map<String, Object> body, String field) {
+        if (!(body.get(field) instanceof Number number) || number.doubleValue() != Math.rint(number.doubleValue())) {
+            throw new IllegalArgumentException("Field '" + field + "' must be a whole number");
+        }
+        return number.intValue();
+    }
+
+    // Parses an ID taken from the path
+    protected static int parseId(String segment) {
+        try {
+            return Integer.parseInt(segment);
+        } catch (NumberFormatException e) {
+            throw new ApiException(404, "Not found");
+        }
+    }
+
+    // Ends a request whose method is not supported for the path
+    protected static ApiException notFound() {
+        return new ApiException(404, "Not found");
+    }
+
+    // Response helpers
+
+    /**
+     * Sends a JSON response.
+     *
+     * @param exchange The HTTP exchange.
+     * @param status   The HTTP status code.
+     * @param body     The value to serialize, or null for an empty 204 response.
+     * @throws IOException if the response cannot be written.
+     */
+    protected static void sendJson(HttpExchange exchange, int status, Object body) throws IOException {
+        if (body == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        send(exchange, status, "application/json; charset=utf-8", Json.write(body).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Sends a plain text response, such as a CSV export.
+     *
+     * @param exchange    The HTTP exchange.
+     * @param contentType The content type of the text.
+     * @param text        The response body.
+     * @throws IOException if the response cannot be written.
+     */
+    protected static void sendText(HttpExchange exchange, String contentType, String text) throws IOException {
+        send(exchange, 200, contentType + "; charset=utf-8", text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("error", message);
+        sendJson(exchange, status, body);
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, byte[] bytes)
+            throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    // Splits the request path below the handler's context into segments
+    private static List<String> pathBelowContext(HttpExchange exchange) {
+        String path = exchange.getRequestURI().getPath();
+        String context = exchange.getHttpContext().getPath();
+        String rest = path.length() > context.length() ? path.substring(context.length()) : "";
+        List<String> segments = new ArrayList<>(Arrays.asList(rest.split("/")));
+        segments.removeIf(String::isEmpty);
+        return segments;
+    }
+
+    // JSON views of the entities
+
+    protected static Map<String, Object> toJson(Book book) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", book.getBookId());
+        json.put("title", book.getTitle());
+        json.put("author", book.getAuthor());
+        json.put("price", book.getPrice());
+        json.put("available", book.getPhysicalCopies());
+        return json;
+    }
+
+    protected static Map<String, Object> toJson(int cartId, int version, List<CartLine> lines) {
+        List<Object> items = new ArrayList<>();
+        double total = 0;
+        for (CartLine line : lines) {
+            Map<String, Object> item = toJson(line.getBook());
+            item.put("quantity", line.getQuantity());
+            items.add(item);
+            total += line.getBook().getPrice() * line.getQuantity();
+        }
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("cartId", cartId);
+        json.put("version", version);
+        json.put("items", items);
+        json.put("total", Math.round(total * 100) / 100.0);
+        return json;
+    }
+
+    protected static Map<String, Object> toJson(Order order) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", order.getOrderId());
+        json.put("orderNumber", order.getOrderNumber());
+        json.put("total", order.getTotalPrice());
+        json.put("date", order.getOrderDate() != null ? order.getOrderDate().toString() : null);
+        if (order.getOrderItems() != null && !order.getOrderItems().isEmpty()) {
+            List<Object> items = new ArrayList<>();
+            for (OrderItem item : order.getOrderItems()) {
+                Map<String, Object> itemJson = new LinkedHashMap<>();
+                itemJson.put("bookId", item.getBookId());
+                itemJson.put("title", item.getTitle());
+                itemJson.put("quantity", item.getQuantity());
+                itemJson.put("price", item.getPrice());
+                items.add(itemJson);
+            }
+            json.put("items", items);
+        }
+        return json;
+    }
+}
@@ -0,0 +1,83 @@
+package com.beyourshelf.server;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.beyourshelf.model.entity.LoginResult;
+import com.beyourshelf.model.entity.Session;
+import com.beyourshelf.service.ServiceManager;
+import com.sun.net.httpserver.HttpExchange;
+
+/**
+ * Handles /api/auth: registration, login and logout.
+ *
+ * POST /api/auth/register {username, firstName, lastName, password}
+ * POST /api/auth/login {username, password} returns the session token
+ * POST /api/auth/logout closes the caller's session
+ */
+public class AuthHandler extends ApiHandler {
+
+    private static final int MIN_PASSWORD_LENGTH = 8; // Same rule as the registration screen
+
+    public AuthHandler(ServiceManager services) {
+        super(services);
+    }
+
+    @Override
+    protected void serve(HttpExchange exchange, String method, List<String> path) throws IOException {
+        if (!method.equals("POST") || path.size() != 1) {
+            throw notFound();
+        }
+        switch (path.get(0)) {
+            case "register" -> register(exchange);
+            case "login" -> login(exchange);
+            case "logout" -> logout(exchange);
+            default -> throw notFound();
+        }
+    }
+
+    // Registers a regular user
+    private void register(HttpExchange exchange) throws IOException {
+        Map<String, Object> body = readJsonObject(exchange);
+        String username = requireString(body, "username").trim();
+        String password = requireString(body, "password");
+        if (password.length() < MIN_PASSWORD_LENGTH) {
+            throw new IllegalArgumentException("Password must be at least 8 characters long.");
+        }
+        boolean registered = services.getUserService().registerUser(username,
+                requireString(body, "firstName").trim(), requireString(body, "lastName").trim(), password, false);
+        if (!registered) {
+            throw new ApiException(409, "Username already exists.");
+        }
+        sendJson(exchange, 201, null);
+    }
+
+    // Authenticates on the bounded authentication executor and opens a session
+    private void login(HttpExchange exchange) throws IOException {
+        Map<String, Object> body = readJsonObject(exchange);
+        LoginResult result = services.getUserService()
+                .loginAsync(requireString(body, "username"), requireString(body, "password"))
+                .join(); // Never completes exceptionally
+        if (!result.isSuccess()) {
+            throw new ApiException(401, result.getMessage());
+        }
+
+        Session session = services.getSessionService().openSession(result);
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("token", session.getToken());
+        json.put("userId", session.getUserId());
+        json.put("username", session.getUsername());
+        json.put("admin", session.isAdmin());
+        json.put("cartId", session.getShoppingCart() != null ? session.getShoppingCart().getCartId() : null);
+        sendJson(exchange, 200, json);
+    }
+
+    // Closes the caller's session, persisting pending cart changes
+    private void logout(HttpExchange exchange) throws IOException {
+        Session session = requireSession(exchange);
+        services.getSessionService().closeSession(session.getToken());
+        sendJson(exchange, 204, null);
+    }
+}
@@ -0,0 +1,102 @@
+package com.beyourshelf.server;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.beyourshelf.model.entity.Book;
+import com.beyourshelf.model.entity.CartChange;
+import com.beyourshelf.model.entity.CartLine;
+import com.beyourshelf.model.entity.CartState;
+import com.beyourshelf.model.entity.Session;
+import com.beyourshelf.model.entity.ShoppingCart;
+import com.beyourshelf.service.ServiceManager;
+import com.sun.net.httpserver.HttpExchange;
+
+/**
+ * Handles /api/cart, the shopper's cart. Every change is committed at once and
+ * answered with the resulting cart and its version.
+ *
+ * GET /api/cart returns the cart
+ * POST /api/cart/items {bookId, quantity} adds copies of a book
+ * PUT /api/cart/items/{bookId} {quantity} sets the quantity of a book
+ * DELETE /api/cart/items/{bookId} removes a book
+ */
+public class CartHandler extends ApiHandler {
+
+    public CartHandler(ServiceManager services) {
+        super(services);
+    }
+
+    @Override
+    protected void serve(HttpExchange exchange, String method, List<String> path) throws IOException {
+        Session session = requireShopper(exchange);
+        CartChange change = parseChange(exchange, method, path);
+
+        ShoppingCart cart = session.getShoppingCart();
+        Object body;
+        session.getCartLock().lock();
+        try {
+            if (change == null) {
+                services.getCartService().reloadCart(cart);
+                body = toJson(cart);
+            } else {
+                CartState state = services.getCartService().applyCartChanges(cart.getCartId(), List.of(change));
+                if (state == null) {
+                    throw new IllegalArgumentException("The cart could not be updated.");
+                }
+                refreshCart(cart, state);
+                body = toJson(state.getCartId(), state.getVersion(), state.getLines());
+            }
+        } finally {
+            session.getCartLock().unlock();
+        }
+        sendJson(exchange, 200, body);
+    }
+
+    // Turns the request into a cart change, or null for a read of the cart
+    private CartChange parseChange(HttpExchange exchange, String method, List<String> path) throws IOException {
+        if (path.isEmpty() && method.equals("GET")) {
+            return null;
+        }
+        if (path.isEmpty() || !path.get(0).equals("items") || path.size() > 2) {
+            throw notFound();
+        }
+        if (path.size() == 1 && method.equals("POST")) {
+            Map<String, Object> body = readJsonObject(exchange);
+            int quantity = requireInt(body, "quantity");
+            if (quantity < 1) {
+                throw new IllegalArgumentException("Quantity must be at least 1.");
+            }
+            return CartChange.add(requireInt(body, "bookId"), quantity);
+        }
+        if (path.size() == 2 && method.equals("PUT")) {
+            int quantity = requireInt(readJsonObject(exchange), "quantity");
+            if (quantity < 0) {
+                throw new IllegalArgumentException("Quantity cannot be negative.");
+            }
+            return CartChange.set(parseId(path.get(1)), quantity);
+        }
+        if (path.size() == 2 && method.equals("DELETE")) {
+            return CartChange.remove(parseId(path.get(1)));
+        }
+        throw notFound();
+    }
+
+    // Brings the session's cart in line with the committed state
+    private static void refreshCart(ShoppingCart cart, CartState state) {
+        cart.clearCart();
+        state.getLines().forEach(line -> cart.addBook(line.getBook(), line.getQuantity()));
+        cart.setVersion(state.getVersion());
+    }
+
+    // JSON view of the session's cart
+    private static Map<String, Object> toJson(ShoppingCart cart) {
+        List<CartLine> lines = new ArrayList<>();
+        for (Map.Entry<Book, Integer> entry : cart.getBooks().entrySet()) {
+            lines.add(new CartLine(entry.getKey(), entry.getValue()));
+        }
+        return toJson(cart.getCartId(), cart.getVersion(), lines);
+    }
+}
@@ -0,0 +1,53 @@
+package com.beyourshelf.server;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.beyourshelf.model.entity.Book;
+import com.beyourshelf.service.ServiceManager;
+import com.sun.net.httpserver.HttpExchange;
+
+/**
+ * Handles /api/books, the catalog. Browsing needs no session.
+ *
+ * GET /api/books lists every book, or those whose title contains ?q=
+ * GET /api/books/top lists the five best sellers
+ * GET /api/books/{id} returns one book
+ */
+public class CatalogHandler extends ApiHandler {
+
+    public CatalogHandler(ServiceManager services) {
+        super(services);
+    }
+
+    @Override
+    protected void serve(HttpExchange exchange, String method, List<String> path) throws IOException {
+        if (!method.equals("GET") || path.size() > 1) {
+            throw notFound();
+        }
+        if (path.isEmpty()) {
+            String query = queryParams(exchange).getOrDefault("q", "").trim();
+            List<Book> books = query.isEmpty() ? services.getBookService().getAllBooks()
+                    : services.getBookService().searchBooksByTitle(query);
+            sendJson(exchange, 200, toJsonList(books));
+        } else if (path.get(0).equals("top")) {
+            sendJson(exchange, 200, toJsonList(services.getBookService().getTop5Books()));
+        } else {
+            Book book = services.getBookService().findBookById(parseId(path.get(0)));
+            if (book == null) {
+                throw notFound();
+            }
+            sendJson(exchange, 200, toJson(book));
+        }
+    }
+
+    // Converts books to their JSON views
+    private static List<Object> toJsonList(List<Book> books) {
+        List<Object> json = new ArrayList<>();
+        if (books != null) {
+            books.forEach(book -> json.add(toJson(book)));
+        }
+        return json;
+    }
+}
@@ -0,0 +1,123 @@
+package com.beyourshelf.server;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.beyourshelf.model.entity.Book;
+import com.beyourshelf.model.entity.CartItem;
+import com.beyourshelf.model.entity.CartLine;
+import com.beyourshelf.model.entity.Order;
+import com.beyourshelf.model.entity.OrderItem;
+import com.beyourshelf.model.entity.Session;
+import com.beyourshelf.model.entity.ShoppingCart;
+import com.beyourshelf.service.ServiceManager;
+import com.beyourshelf.utils.auth.PaymentValidator;
+import com.sun.net.httpserver.HttpExchange;
+
+/**
+ * Handles /api/checkout, which buys everything in the shopper's cart.
+ *
+ * POST /api/checkout {cardNumber, cardHolderName, expiryDate, cvv}
+ *
+ * Follows the same steps as the checkout screens: reserve the stock, take the
+ * payment, place the order, and only then empty the cart. Reserved stock is
+ * released again if payment or the order fails.
+ */
+public class CheckoutHandler extends ApiHandler {
+
+    public CheckoutHandler(ServiceManager services) {
+        super(services);
+    }
+
+    @Override
+    protected void serve(HttpExchange exchange, String method, List<String> path) throws IOException {
+        if (!method.equals("POST") || !path.isEmpty()) {
+            throw notFound();
+        }
+        Session session = requireShopper(exchange);
+        Map<String, Object> body = readJsonObject(exchange);
+        String cardNumber = requireString(body, "cardNumber");
+        String cardHolderName = requireString(body, "cardHolderName");
+        String expiryDate = requireString(body, "expiryDate");
+        String cvv = requireString(body, "cvv");
+        validatePayment(cardNumber, expiryDate, cvv);
+
+        Order order;
+        session.getCartLock().lock();
+        try {
+            order = checkout(session, cardNumber, cardHolderName, expiryDate, cvv);
+        } finally {
+            session.getCartLock().unlock();
+        }
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("orderNumber", order.getOrderNumber());
+        json.put("total", order.getTotalPrice());
+        sendJson(exchange, 201, json);
+    }
+
+    // Runs the checkout steps while the cart lock is held
+    private Order checkout(Session session, String cardNumber, String cardHolderName, String expiryDate,
+            String cvv) {
+        ShoppingCart cart = session.getShoppingCart();
+        services.getCartSyncService().flush(cart.getCartId()); // Persist pending quantity changes first
+        List<CartLine> lines = services.getCartService().getCartWithBooks(cart.getCartId());
+        if (lines.isEmpty()) {
+            throw new IllegalArgumentException("The cart is empty.");
+        }
+
+        Map<Book, Integer> reserved = new LinkedHashMap<>();
+        List<OrderItem> orderItems = new ArrayList<>();
+        List<CartItem> cartItems = new ArrayList<>();
+        double total = 0;
+        for (CartLine line : lines) {
+            Book book = line.getBook();
+            reserved.put(book, line.getQuantity());
+            orderItems.add(new OrderItem(book.getBookId(), book.getTitle(), line.getQuantity(), book.getPrice()));
+            cartItems.add(new CartItem(book.getBookId(), line.getQuantity()));
+            total += book.getPrice() * line.getQuantity();
+        }
+
+        if (!services.getInventoryService().reserveBooks(reserved)) {
+            throw new ApiException(409, "Some items just went out of stock. Please review your cart.");
+        }
+        Optional<String> orderReference = services.getPaymentService()
+                .processPayment(cardNumber, cardHolderName, expiryDate, cvv);
+        if (orderReference.isEmpty()) {
+            services.getInventoryService().revertReservations(cartItems);
+            throw new ApiException(402, "Payment processing failed.");
+        }
+        Order order = new Order(orderReference.get(), session.getUserId(), total, orderItems);
+        if (!services.getOrderService().placeOrder(order)) {
+            services.getInventoryService().revertReservations(cartItems);
+            throw new ApiException(500, "Error saving order.");
+        }
+
+        // Sold copies were recorded with the order, so only the cart is left to clear
+        List<Book> books = new ArrayList<>(reserved.keySet());
+        int version = services.getCartService().removeBooksFromCart(cart.getCartId(), books);
+        cart.removeBooks(books);
+        if (!cart.advanceVersion(version)) {
+            services.getCartService().reloadCart(cart); // Another writer changed the cart meanwhile
+        }
+        return order;
+    }
+
+    // Rejects malformed payment details before anything is reserved
+    private static void validatePayment(String cardNumber, String expiryDate, String cvv) {
+        String error = PaymentValidator.validateCardNumber(cardNumber);
+        if (error == null) {
+            error = PaymentValidator.validateExpiryDate(expiryDate);
+        }
+        if (error == null) {
+            error = PaymentValidator.validateCVV(cvv);
+        }
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
+    }
+}
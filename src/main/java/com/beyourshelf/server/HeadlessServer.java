@@ -0,0 +1,58 @@
+package com.beyourshelf.server;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.beyourshelf.model.dao.database.DatabaseInitializer;
+import com.beyourshelf.service.ServiceManager;
+import com.beyourshelf.utils.auth.BcryptCalibrator;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Runs the bookstore services without the JavaFX interface, as a JSON API on
+ * the JDK's built-in HTTP server. Nothing here loads JavaFX, so the server
+ * only needs the service layer and its dependencies on the classpath.
+ *
+ * Each request runs on its own virtual thread. Requests spend most of their
+ * time waiting for the database pool or bcrypt, so thousands of concurrent
+ * requests cost little more than the connections they wait for.
+ *
+ * Usage: {@code HeadlessServer [port]}; the port defaults to the
+ * {@code beyourshelf.http.port} system property, then 8080.
+ */
+public class HeadlessServer {
+
+    // System property overriding the port to listen on
+    public static final String PORT_PROPERTY = "beyourshelf.http.port";
+
+    private static final int DEFAULT_PORT = 8080;
+    private static final int STOP_DELAY_SECONDS = 2; // Time given to in-flight requests on shutdown
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : Integer.getInteger(PORT_PROPERTY, DEFAULT_PORT);
+
+        DatabaseInitializer.initializeDatabase(); // Initialize tables and data
+        BcryptCalibrator.configurePasswordCost(); // Same bcrypt cost as the desktop app
+
+        ServiceManager services = ServiceManager.getInstance();
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        HttpServer server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.createContext("/api/auth", new AuthHandler(services));
+        server.createContext("/api/books", new CatalogHandler(services));
+        server.createContext("/api/cart", new CartHandler(services));
+        server.createContext("/api/checkout", new CheckoutHandler(services));
+        server.createContext("/api/orders", new OrderHandler(services));
+        server.setExecutor(executor);
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop(STOP_DELAY_SECONDS);
+            executor.close(); // Waits for requests that are still running
+            ServiceManager.shutdown(); // Flush pending writes and release service resources
+        }, "http-shutdown"));
+
+        server.start();
+        System.out.println("Be Your Shelf API listening on port " + server.getAddress().getPort());
+    }
+}
@@ -0,0 +1,79 @@
+package com.beyourshelf.server;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.beyourshelf.model.entity.Order;
+import com.beyourshelf.model.entity.Session;
+import com.beyourshelf.service.ServiceManager;
+import com.sun.net.httpserver.HttpExchange;
+
+/**
+ * Handles /api/orders, the caller's order history.
+ *
+ * GET /api/orders lists the caller's orders, without their items
+ * GET /api/orders/{id} returns one of the caller's orders with its items
+ * GET /api/orders/export?ids=1,2 exports orders as CSV; all orders without ids
+ */
+public class OrderHandler extends ApiHandler {
+
+    public OrderHandler(ServiceManager services) {
+        super(services);
+    }
+
+    @Override
+    protected void serve(HttpExchange exchange, String method, List<String> path) throws IOException {
+        if (!method.equals("GET") || path.size() > 1) {
+            throw notFound();
+        }
+        Session session = requireSession(exchange);
+        if (path.isEmpty()) {
+            List<Object> json = new ArrayList<>();
+            services.getOrderService().getOrderSummariesByUser(session.getUserId())
+                    .forEach(order -> json.add(toJson(order)));
+            sendJson(exchange, 200, json);
+        } else if (path.get(0).equals("export")) {
+            export(exchange, session);
+        } else {
+            Order order = services.getOrderService().getOrderById(parseId(path.get(0)))
+                    .filter(found -> found.getUserId() == session.getUserId())
+                    .orElseThrow(ApiHandler::notFound); // Other users' orders are not revealed
+            sendJson(exchange, 200, toJson(order));
+        }
+    }
+
+    // Exports through a temporary file, since the export services write files
+    private void export(HttpExchange exchange, Session session) throws IOException {
+        List<Integer> orderIds = parseIds(queryParams(exchange).getOrDefault("ids", ""));
+        Path file = Files.createTempFile("orders-", ".csv");
+        try {
+            boolean exported = orderIds.isEmpty()
+                    ? services.getCSVExportService().exportAllOrdersByUserToCSV(session.getUserId(), file.toString())
+                    : services.getOrderService().exportOrdersToCSV(session.getUserId(), orderIds, file.toString());
+            if (!exported) {
+                throw new ApiException(404, "No orders to export.");
+            }
+            sendText(exchange, "text/csv", Files.readString(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    // Parses a comma-separated list of order IDs
+    private static List<Integer> parseIds(String ids) {
+        List<Integer> parsed = new ArrayList<>();
+        for (String id : ids.split(",")) {
+            if (!id.isBlank()) {
+                try {
+                    parsed.add(Integer.parseInt(id.trim()));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid order ID: " + id);
+                }
+            }
+        }
+        return parsed;
+    }
+}
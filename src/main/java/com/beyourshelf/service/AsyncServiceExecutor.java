@@ -0,0 +1,57 @@
+package com.beyourshelf.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Shared executor behind the asynchronous service facades.
+ *
+ * Every call runs on its own virtual thread. Service calls spend their time
+ * waiting for the database pool rather than the CPU, so there is no point in
+ * bounding them with a platform thread pool: the connection pool already
+ * limits how many reach the database at once. Password hashing stays on the
+ * bounded AuthenticationExecutor for that reason.
+ */
+public class AsyncServiceExecutor implements AutoCloseable {
+
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("service-async-", 0).factory());
+
+    /**
+     * Runs a service call on a virtual thread.
+     *
+     * @param call The call to run.
+     * @param <T>  The type of the call's result.
+     * @return A future completed with the call's result, or exceptionally if the
+     *         call throws or the executor has been closed.
+     */
+    public <T> CompletableFuture<T> supply(Supplier<T> call) {
+        try {
+            return CompletableFuture.supplyAsync(call, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Runs a service call without a result on a virtual thread.
+     *
+     * @param call The call to run.
+     * @return A future completed when the call returns.
+     */
+    public CompletableFuture<Void> run(Runnable call) {
+        return supply(() -> {
+            call.run();
+            return null;
+        });
+    }
+
+    // Stops accepting calls and waits for the running ones, so their writes are not lost
+    @Override
+    public void close() {
+        executor.close();
+    }
+}
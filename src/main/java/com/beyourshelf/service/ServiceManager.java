@@ -1,35 +1,85 @@
 package com.beyourshelf.service;
 
+import java.io.IOException;
+import java.nio.file.Path;
+
 import com.beyourshelf.model.dao.book.BookDAO;
 import com.beyourshelf.model.dao.book.IBookDAO;
+import com.beyourshelf.model.dao.inventory.StockJournalDAO;
 import com.beyourshelf.service.CSVExport.CSVExportService;
+import com.beyourshelf.service.analytics.ISalesAnalyticsService;
+import com.beyourshelf.service.analytics.ISalesAnalyticsServiceAsync;
+import com.beyourshelf.service.analytics.SalesAnalyticsService;
+import com.beyourshelf.service.analytics.SalesAnalyticsServiceAsync;
 import com.beyourshelf.service.CSVExport.ICSVExportService;
 import com.beyourshelf.service.book.BookService;
+import com.beyourshelf.service.book.BookServiceAsync;
 import com.beyourshelf.service.book.IBookService;
+import com.beyourshelf.service.book.IBookServiceAsync;
+import com.beyourshelf.service.cart.CartMaintenanceService;
 import com.beyourshelf.service.cart.CartService;
+import com.beyourshelf.service.cart.CartServiceAsync;
+import com.beyourshelf.service.cart.CartSyncService;
+import com.beyourshelf.service.cart.ICartMaintenanceService;
 import com.beyourshelf.service.cart.ICartService;
+import com.beyourshelf.service.cart.ICartServiceAsync;
+import com.beyourshelf.service.cart.ICartSyncService;
 import com.beyourshelf.service.inventory.IInventoryService;
 import com.beyourshelf.service.inventory.InventoryService;
+import com.beyourshelf.service.inventory.StripedInventoryService;
+import com.beyourshelf.service.order.IOrderArchiveService;
+import com.beyourshelf.service.order.IOrderArchiveServiceAsync;
 import com.beyourshelf.service.order.IOrderService;
+import com.beyourshelf.service.order.IOrderServiceAsync;
+import com.beyourshelf.service.order.OrderArchiveService;
+import com.beyourshelf.service.order.OrderArchiveServiceAsync;
 import com.beyourshelf.service.order.OrderService;
+import com.beyourshelf.service.order.OrderServiceAsync;
 import com.beyourshelf.service.payment.IPaymentService;
 import com.beyourshelf.service.payment.PaymentService;
+import com.beyourshelf.service.session.ISessionService;
+import com.beyourshelf.service.session.SessionService;
 import com.beyourshelf.service.user.IUserService;
+import com.beyourshelf.service.user.IUserServiceAsync;
 import com.beyourshelf.service.user.UserService;
+import com.beyourshelf.service.user.UserServiceAsync;
 
 public class ServiceManager {
 
+    // System property selecting the inventory engine ("sql" or "striped")
+    public static final String INVENTORY_ENGINE_PROPERTY = "beyourshelf.inventory.engine";
+
+    // System property overriding the journal file used by the striped engine
+    public static final String STOCK_JOURNAL_PROPERTY = "beyourshelf.inventory.journal";
+
+    // Journal file used by the striped engine unless the property above overrides it
+    private static final String STOCK_JOURNAL_FILE = "stock_journal.log";
+
     // Singleton instance of ServiceManager
     private static ServiceManager instance;
 
     // Services managed by ServiceManager
     private final IUserService userService; // Handles user-related operations
     private final IOrderService orderService; // Handles order-related operations
+    private final IOrderArchiveService orderArchiveService; // Moves old orders to the archive database
     private final IInventoryService inventoryService; // Handles inventory-related operations
     private final IPaymentService paymentService; // Handles payment processing
     private final ICartService cartService; // Manages shopping cart operations
+    private final CartSyncService cartSyncService; // Writes cart quantity changes behind the UI
+    private final CartMaintenanceService cartMaintenanceService; // Abandons and archives inactive carts
     private final IBookService bookService; // Manages book-related operations
     private final ICSVExportService csvExportService; // Handles exporting data to CSV files
+    private final ISalesAnalyticsService salesAnalyticsService; // Reports revenue from the sales rollup
+    private final SessionService sessionService; // Keeps the sessions of logged-in users
+
+    // Non-blocking facades over the services above, sharing one virtual-thread executor
+    private final AsyncServiceExecutor asyncExecutor; // Runs the asynchronous service calls
+    private final IBookServiceAsync bookServiceAsync;
+    private final IOrderServiceAsync orderServiceAsync;
+    private final IOrderArchiveServiceAsync orderArchiveServiceAsync;
+    private final ICartServiceAsync cartServiceAsync;
+    private final ISalesAnalyticsServiceAsync salesAnalyticsServiceAsync;
+    private final IUserServiceAsync userServiceAsync;
 
     // Private constructor to initialize all services
     private ServiceManager() {
@@ -39,11 +89,25 @@ public class ServiceManager {
         // Initialize service instances
         this.userService = UserService.getInstance(); // Use singleton instance for UserService
         this.orderService = OrderService.getInstance(); // Use singleton instance for OrderService
-        this.inventoryService = new InventoryService(bookDAO); // Initialize inventory service, requires IBookDAO
+        this.orderArchiveService = OrderArchiveService.getInstance(); // Use singleton instance for OrderArchiveService
+        this.inventoryService = createInventoryService(bookDAO); // Initialize inventory service, requires IBookDAO
         this.paymentService = PaymentService.getInstance(); // Use singleton instance for PaymentService
         this.cartService = CartService.getInstance(); // Use singleton instance for CartService
+        this.cartSyncService = CartSyncService.getInstance(); // Use singleton instance for CartSyncService
+        this.cartMaintenanceService = CartMaintenanceService.getInstance(); // The schedule is started by the desktop app
         this.bookService = BookService.getInstance(); // Use singleton instance for BookService
         this.csvExportService = CSVExportService.getInstance(); // Use singleton instance for CSVExportService
+        this.salesAnalyticsService = SalesAnalyticsService.getInstance(); // Use singleton instance for SalesAnalyticsService
+        this.sessionService = SessionService.getInstance(); // Starts the idle session eviction schedule
+
+        // Initialize the asynchronous facades
+        this.asyncExecutor = new AsyncServiceExecutor();
+        this.bookServiceAsync = new BookServiceAsync(bookService, asyncExecutor);
+        this.orderServiceAsync = new OrderServiceAsync(orderService, asyncExecutor);
+        this.orderArchiveServiceAsync = new OrderArchiveServiceAsync(orderArchiveService, asyncExecutor);
+        this.cartServiceAsync = new CartServiceAsync(cartService, asyncExecutor);
+        this.salesAnalyticsServiceAsync = new SalesAnalyticsServiceAsync(salesAnalyticsService, asyncExecutor);
+        this.userServiceAsync = new UserServiceAsync(userService, asyncExecutor);
     }
 
     // Get singleton instance of ServiceManager
@@ -54,6 +118,39 @@ public class ServiceManager {
         return instance;
     }
 
+    // Creates the inventory engine selected by the system property, falling back
+    // to the SQL-only service if the striped engine cannot start
+    private static IInventoryService createInventoryService(IBookDAO bookDAO) {
+        String engine = System.getProperty(INVENTORY_ENGINE_PROPERTY, "sql");
+        if ("striped".equalsIgnoreCase(engine)) {
+            try {
+                return new StripedInventoryService(bookDAO, new StockJournalDAO(), Path.of(System.getProperty(STOCK_JOURNAL_PROPERTY, STOCK_JOURNAL_FILE)));
+            } catch (IOException e) {
+                System.err.println("Striped inventory engine unavailable: " + e.getMessage());
+            }
+        }
+        return new InventoryService(bookDAO);
+    }
+
+    // Releases resources held by services, flushing any pending writes
+    public static synchronized void shutdown() {
+        if (instance == null) {
+            return;
+        }
+        instance.asyncExecutor.close(); // Let running asynchronous calls finish their writes
+        instance.sessionService.close(); // Stop evicting sessions
+        instance.cartSyncService.close(); // Persist any debounced cart changes
+        instance.cartMaintenanceService.close(); // Stop the maintenance schedule
+        if (instance.inventoryService instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                System.err.println("Error shutting down inventory service: " + e.getMessage());
+            }
+        }
+        instance = null; // The closed services reset their own singletons, so a later getInstance() starts fresh
+    }
+
     // Getter methods to access services
 
     // Returns the instance of IUserService for user-related operations
@@ -66,6 +163,11 @@ public class ServiceManager {
         return orderService;
     }
 
+    // Returns the instance of IOrderArchiveService for archiving and looking up old orders
+    public IOrderArchiveService getOrderArchiveService() {
+        return orderArchiveService;
+    }
+
     // Returns the instance of IInventoryService for managing inventory operations
     public IInventoryService getInventoryService() {
         return inventoryService;
@@ -81,6 +183,16 @@ public class ServiceManager {
         return cartService;
     }
 
+    // Returns the instance of ICartSyncService for debounced cart quantity writes
+    public ICartSyncService getCartSyncService() {
+        return cartSyncService;
+    }
+
+    // Returns the instance of ICartMaintenanceService for abandoned-cart housekeeping
+    public ICartMaintenanceService getCartMaintenanceService() {
+        return cartMaintenanceService;
+    }
+
     // Returns the instance of IBookService for book-related operations
     public IBookService getBookService() {
         return bookService;
@@ -90,4 +202,44 @@ public class ServiceManager {
     public ICSVExportService getCSVExportService() {
         return csvExportService;
     }
+
+    // Returns the instance of ISalesAnalyticsService for revenue reporting
+    public ISalesAnalyticsService getSalesAnalyticsService() {
+        return salesAnalyticsService;
+    }
+
+    // Returns the instance of ISessionService for the sessions of logged-in users
+    public ISessionService getSessionService() {
+        return sessionService;
+    }
+
+    // Returns the asynchronous facade of IBookService
+    public IBookServiceAsync getBookServiceAsync() {
+        return bookServiceAsync;
+    }
+
+    // Returns the asynchronous facade of IOrderService
+    public IOrderServiceAsync getOrderServiceAsync() {
+        return orderServiceAsync;
+    }
+
+    // Returns the asynchronous facade of IOrderArchiveService
+    public IOrderArchiveServiceAsync getOrderArchiveServiceAsync() {
+        return orderArchiveServiceAsync;
+    }
+
+    // Returns the asynchronous facade of ICartService
+    public ICartServiceAsync getCartServiceAsync() {
+        return cartServiceAsync;
+    }
+
+    // Returns the asynchronous facade of ISalesAnalyticsService
+    public ISalesAnalyticsServiceAsync getSalesAnalyticsServiceAsync() {
+        return salesAnalyticsServiceAsync;
+    }
+
+    // Returns the asynchronous facade of IUserService
+    public IUserServiceAsync getUserServiceAsync() {
+        return userServiceAsync;
+    }
 }
@@ -0,0 +1,43 @@
+package com.beyourshelf.service.analytics;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.beyourshelf.model.dao.analytics.ISalesAnalyticsDAO.Granularity;
+import com.beyourshelf.model.entity.BookSales;
+import com.beyourshelf.model.entity.SalesPeriod;
+
+/**
+ * ISalesAnalyticsService defines the revenue reporting operations used by the
+ * admin analytics view.
+ */
+public interface ISalesAnalyticsService {
+
+    /**
+     * Retrieves the copies sold and revenue per day, week or month in a date
+     * range.
+     *
+     * @param from        The first day of the range, inclusive.
+     * @param to          The last day of the range, inclusive.
+     * @param granularity The period to group by.
+     * @return The sales per period, oldest first.
+     */
+    List<SalesPeriod> getRevenueByPeriod(LocalDate from, LocalDate to, Granularity granularity);
+
+    /**
+     * Retrieves the best-selling books by revenue in a date range.
+     *
+     * @param from  The first day of the range, inclusive.
+     * @param to    The last day of the range, inclusive.
+     * @param limit The maximum number of books to return.
+     * @return The sales per book, highest revenue first.
+     */
+    List<BookSales> getTopBooks(LocalDate from, LocalDate to, int limit);
+
+    /**
+     * Rebuilds the sales rollup from the order history.
+     *
+     * @return true if the rollup was rebuilt, false otherwise.
+     */
+    boolean rebuildRollup();
+}
@@ -0,0 +1,27 @@
+package com.beyourshelf.service.analytics;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import com.beyourshelf.model.dao.analytics.ISalesAnalyticsDAO.Granularity;
+import com.beyourshelf.model.entity.BookSales;
+import com.beyourshelf.model.entity.SalesPeriod;
+
+/**
+ * ISalesAnalyticsServiceAsync offers the operations of ISalesAnalyticsService
+ * without blocking the caller. Each method runs the matching
+ * ISalesAnalyticsService method on the shared service executor and completes
+ * the returned future with its result.
+ */
+public interface ISalesAnalyticsServiceAsync {
+
+    // See ISalesAnalyticsService.getRevenueByPeriod(LocalDate, LocalDate, Granularity)
+    CompletableFuture<List<SalesPeriod>> getRevenueByPeriod(LocalDate from, LocalDate to, Granularity granularity);
+
+    // See ISalesAnalyticsService.getTopBooks(LocalDate, LocalDate, int)
+    CompletableFuture<List<BookSales>> getTopBooks(LocalDate from, LocalDate to, int limit);
+
+    // See ISalesAnalyticsService.rebuildRollup()
+    CompletableFuture<Boolean> rebuildRollup();
+}
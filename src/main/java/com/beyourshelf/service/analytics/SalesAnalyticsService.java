@@ -0,0 +1,78 @@
+package com.beyourshelf.service.analytics;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.beyourshelf.model.dao.analytics.ISalesAnalyticsDAO;
+import com.beyourshelf.model.dao.analytics.ISalesAnalyticsDAO.Granularity;
+import com.beyourshelf.model.dao.analytics.SalesAnalyticsDAO;
+import com.beyourshelf.model.entity.BookSales;
+import com.beyourshelf.model.entity.SalesPeriod;
+
+/**
+ * SalesAnalyticsService answers revenue questions from the sales_daily rollup
+ * instead of scanning orders and order items.
+ */
+public class SalesAnalyticsService implements ISalesAnalyticsService {
+
+    // Singleton instance
+    private static SalesAnalyticsService instance;
+    private final ISalesAnalyticsDAO analyticsDAO;
+
+    // Private constructor for Singleton
+    private SalesAnalyticsService() {
+        this.analyticsDAO = new SalesAnalyticsDAO();
+    }
+
+    // Get the singleton instance of SalesAnalyticsService
+    public static synchronized SalesAnalyticsService getInstance() {
+        if (instance == null) {
+            instance = new SalesAnalyticsService();
+        }
+        return instance;
+    }
+
+    /**
+     * Retrieves the copies sold and revenue per period in a date range. The
+     * range is swapped if it is given backwards.
+     *
+     * @param from        The first day of the range, inclusive.
+     * @param to          The last day of the range, inclusive.
+     * @param granularity The period to group by.
+     * @return The sales per period, oldest first.
+     */
+    @Override
+    public List<SalesPeriod> getRevenueByPeriod(LocalDate from, LocalDate to, Granularity granularity) {
+        if (from.isAfter(to)) {
+            return analyticsDAO.getRevenueByPeriod(to, from, granularity);
+        }
+        return analyticsDAO.getRevenueByPeriod(from, to, granularity);
+    }
+
+    /**
+     * Retrieves the best-selling books by revenue in a date range. The range is
+     * swapped if it is given backwards.
+     *
+     * @param from  The first day of the range, inclusive.
+     * @param to    The last day of the range, inclusive.
+     * @param limit The maximum number of books to return.
+     * @return The sales per book, highest revenue first.
+     */
+    @Override
+    public List<BookSales> getTopBooks(LocalDate from, LocalDate to, int limit) {
+        if (from.isAfter(to)) {
+            return analyticsDAO.getTopBooks(to, from, limit);
+        }
+        return analyticsDAO.getTopBooks(from, to, limit);
+    }
+
+    /**
+     * Rebuilds the sales rollup from the order history.
+     *
+     * @return true if the rollup was rebuilt, false otherwise.
+     */
+    @Override
+    public boolean rebuildRollup() {
+        return analyticsDAO.rebuildSalesDaily();
+    }
+}
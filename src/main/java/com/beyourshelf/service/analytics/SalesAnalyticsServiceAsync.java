@@ -0,0 +1,41 @@
+package com.beyourshelf.service.analytics;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import com.beyourshelf.model.dao.analytics.ISalesAnalyticsDAO.Granularity;
+import com.beyourshelf.model.entity.BookSales;
+import com.beyourshelf.model.entity.SalesPeriod;
+import com.beyourshelf.service.AsyncServiceExecutor;
+
+/**
+ * SalesAnalyticsServiceAsync runs ISalesAnalyticsService calls on the shared
+ * service executor.
+ */
+public class SalesAnalyticsServiceAsync implements ISalesAnalyticsServiceAsync {
+
+    private final ISalesAnalyticsService analyticsService; // The service doing the work
+    private final AsyncServiceExecutor executor; // Runs the calls on virtual threads
+
+    public SalesAnalyticsServiceAsync(ISalesAnalyticsService analyticsService, AsyncServiceExecutor executor) {
+        this.analyticsService = analyticsService;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletableFuture<List<SalesPeriod>> getRevenueByPeriod(LocalDate from, LocalDate to,
+            Granularity granularity) {
+        return executor.supply(() -> analyticsService.getRevenueByPeriod(from, to, granularity));
+    }
+
+    @Override
+    public CompletableFuture<List<BookSales>> getTopBooks(LocalDate from, LocalDate to, int limit) {
+        return executor.supply(() -> analyticsService.getTopBooks(from, to, limit));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> rebuildRollup() {
+        return executor.supply(analyticsService::rebuildRollup);
+    }
+}
@@ -0,0 +1,61 @@
+package com.beyourshelf.service.book;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import com.beyourshelf.model.entity.Book;
+import com.beyourshelf.service.AsyncServiceExecutor;
+
+/**
+ * BookServiceAsync runs IBookService calls on the shared service executor.
+ */
+public class BookServiceAsync implements IBookServiceAsync {
+
+    private final IBookService bookService; // The service doing the work
+    private final AsyncServiceExecutor executor; // Runs the calls on virtual threads
+
+    public BookServiceAsync(IBookService bookService, AsyncServiceExecutor executor) {
+        this.bookService = bookService;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletableFuture<List<Book>> getAllBooks() {
+        return executor.supply(bookService::getAllBooks);
+    }
+
+    @Override
+    public CompletableFuture<List<Book>> getTop5Books() {
+        return executor.supply(bookService::getTop5Books);
+    }
+
+    @Override
+    public CompletableFuture<List<Book>> searchBooksByTitle(String keyword) {
+        return executor.supply(() -> bookService.searchBooksByTitle(keyword));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> updatePhysicalCopies(int bookId, int newStock) {
+        return executor.supply(() -> bookService.updatePhysicalCopies(bookId, newStock));
+    }
+
+    @Override
+    public CompletableFuture<Book> findBookById(int bookId) {
+        return executor.supply(() -> bookService.findBookById(bookId));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteBookById(int bookId) {
+        return executor.supply(() -> bookService.deleteBookById(bookId));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> updateBook(Book book) {
+        return executor.supply(() -> bookService.updateBook(book));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> addBook(Book book) {
+        return executor.supply(() -> bookService.addBook(book));
+    }
+}
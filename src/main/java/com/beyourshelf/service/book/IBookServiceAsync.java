@@ -0,0 +1,38 @@
+package com.beyourshelf.service.book;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import com.beyourshelf.model.entity.Book;
+
+/**
+ * IBookServiceAsync offers the operations of IBookService without blocking the
+ * caller. Each method runs the matching IBookService method on the shared
+ * service executor and completes the returned future with its result.
+ */
+public interface IBookServiceAsync {
+
+    // See IBookService.getAllBooks()
+    CompletableFuture<List<Book>> getAllBooks();
+
+    // See IBookService.getTop5Books()
+    CompletableFuture<List<Book>> getTop5Books();
+
+    // See IBookService.searchBooksByTitle(String)
+    CompletableFuture<List<Book>> searchBooksByTitle(String keyword);
+
+    // See IBookService.updatePhysicalCopies(int, int)
+    CompletableFuture<Boolean> updatePhysicalCopies(int bookId, int newStock);
+
+    // See IBookService.findBookById(int)
+    CompletableFuture<Book> findBookById(int bookId);
+
+    // See IBookService.deleteBookById(int)
+    CompletableFuture<Boolean> deleteBookById(int bookId);
+
+    // See IBookService.updateBook(Book)
+    CompletableFuture<Boolean> updateBook(Book book);
+
+    // See IBookService.addBook(Book)
+    CompletableFuture<Boolean> addBook(Book book);
+}
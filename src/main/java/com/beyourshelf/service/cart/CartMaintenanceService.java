@@ -0,0 +1,135 @@
+package com.beyourshelf.service.cart;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.beyourshelf.model.dao.cart.CartMaintenanceDAO;
+import com.beyourshelf.model.dao.cart.ICartMaintenanceDAO;
+import com.beyourshelf.model.entity.CartMaintenanceStats;
+
+/**
+ * CartMaintenanceService periodically abandons carts that have had no activity
+ * for a number of days, archiving their items so cart and cart_items only hold
+ * live data. Each batch is its own transaction, so a run never holds the
+ * database write lock for long.
+ *
+ * The daily schedule is opt-in: only the desktop application starts it, so
+ * tools and servers that share the services do not archive carts as a side
+ * effect.
+ */
+public class CartMaintenanceService implements ICartMaintenanceService, AutoCloseable {
+
+    // System property overriding the number of inactive days before a cart is abandoned
+    public static final String ABANDON_AFTER_DAYS_PROPERTY = "beyourshelf.cart.abandonAfterDays";
+
+    private static final int DEFAULT_ABANDON_AFTER_DAYS = 30;
+    private static final int BATCH_SIZE = 200; // Carts abandoned per transaction
+    private static final long INITIAL_DELAY_MINUTES = 1; // Let the application start up first
+    private static final long RUN_INTERVAL_HOURS = 24;
+
+    // Singleton instance
+    private static CartMaintenanceService instance;
+    private final ICartMaintenanceDAO maintenanceDAO;
+    private final int abandonAfterDays;
+    private volatile ScheduledExecutorService scheduler; // Null until the schedule is started
+
+    // Private constructor for Singleton
+    private CartMaintenanceService() {
+        this.maintenanceDAO = new CartMaintenanceDAO();
+        this.abandonAfterDays = Math.max(1,
+                Integer.getInteger(ABANDON_AFTER_DAYS_PROPERTY, DEFAULT_ABANDON_AFTER_DAYS));
+    }
+
+    // Get the singleton instance of CartMaintenanceService
+    public static synchronized CartMaintenanceService getInstance() {
+        if (instance == null) {
+            instance = new CartMaintenanceService();
+        }
+        return instance;
+    }
+
+    /**
+     * Starts the daily maintenance schedule, with the first run shortly after
+     * startup. Calling it again has no effect.
+     */
+    @Override
+    public synchronized void startSchedule() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cart-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::runOnce, INITIAL_DELAY_MINUTES,
+                TimeUnit.HOURS.toMinutes(RUN_INTERVAL_HOURS), TimeUnit.MINUTES);
+    }
+
+    /**
+     * Abandons inactive carts in batches until none are left, then records the
+     * run statistics.
+     *
+     * @return The statistics of the run.
+     */
+    @Override
+    public synchronized CartMaintenanceStats runOnce() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        long start = System.nanoTime();
+        int cartsAbandoned = 0;
+        int itemsArchived = 0;
+        int batches = 0;
+
+        while (!Thread.currentThread().isInterrupted()) {
+            List<Integer> cartIds = maintenanceDAO.findInactiveCartIds(abandonAfterDays, BATCH_SIZE);
+            if (cartIds.isEmpty()) {
+                break;
+            }
+            int[] result = maintenanceDAO.abandonCarts(cartIds, abandonAfterDays);
+            if (result == null) {
+                break; // Try again on the next run
+            }
+            batches++;
+            cartsAbandoned += result[0];
+            itemsArchived += result[1];
+            if (result[0] == 0) {
+                break; // Every cart in the batch was touched meanwhile
+            }
+        }
+
+        CartMaintenanceStats stats = new CartMaintenanceStats(cartsAbandoned, itemsArchived, batches,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        if (batches > 0) {
+            maintenanceDAO.recordRun(startedAt, stats);
+        }
+        System.out.println("Cart maintenance: " + stats);
+        return stats;
+    }
+
+    // Returns the inactivity threshold in days
+    @Override
+    public int getAbandonAfterDays() {
+        return abandonAfterDays;
+    }
+
+    /**
+     * Stops the scheduled runs, interrupting a run in progress between batches.
+     * A later startSchedule() or getInstance() starts over.
+     */
+    @Override
+    public void close() {
+        synchronized (CartMaintenanceService.class) {
+            if (instance == this) {
+                instance = null;
+            }
+        }
+        ScheduledExecutorService running = scheduler; // Not synchronized, so a run in progress does not block this
+        scheduler = null;
+        if (running != null) {
+            running.shutdownNow();
+        }
+    }
+}
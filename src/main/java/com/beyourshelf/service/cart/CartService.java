@@ -5,7 +5,12 @@ import java.util.List;
 import com.beyourshelf.model.dao.cart.CartDAO;
 import com.beyourshelf.model.dao.cart.ICartDAO;
 import com.beyourshelf.model.entity.Book;
+import com.beyourshelf.model.entity.CartChange;
+import com.beyourshelf.model.entity.CartDelta;
 import com.beyourshelf.model.entity.CartItem;
+import com.beyourshelf.model.entity.CartLine;
+import com.beyourshelf.model.entity.CartState;
+import com.beyourshelf.model.entity.ShoppingCart;
 
 /**
  * CartService manages operations related to the shopping cart, including
@@ -43,15 +48,27 @@ public class CartService implements ICartService {
         return cartDAO.getOrCreateCart(userId); // Use the correct method from CartDAO
     }
 
+    /**
+     * Create a new active cart for a user who is known to have none.
+     *
+     * @param userId The ID of the user.
+     * @return The ID of the new cart, or -1 on failure.
+     */
+    @Override
+    public int createCart(int userId) {
+        return cartDAO.createCart(userId);
+    }
+
     /**
      * Update the quantity of a book in the cart.
      *
      * @param cartId   The ID of the cart.
      * @param bookId   The ID of the book to be updated.
      * @param quantity The new quantity of the book.
+     * @return The resulting line state and cart version, or null on failure.
      */
-    public void updateBookQuantity(int cartId, int bookId, int quantity) {
-        cartDAO.updateBookQuantity(cartId, bookId, quantity);
+    public CartDelta updateBookQuantity(int cartId, int bookId, int quantity) {
+        return cartDAO.updateBookQuantity(cartId, bookId, quantity);
     }
 
     /**
@@ -61,13 +78,17 @@ public class CartService implements ICartService {
      * @return A list of CartTableItem objects representing the items in the cart.
      */
     public List<CartItem> getCartItems(int cartId) {
-        System.out.println("Fetching cart items for cart ID: " + cartId);
-        List<CartItem> cartItems = cartDAO.getCartItems(cartId);
-        System.out.println("Cart items retrieved: " + cartItems.size() + " items.");
-        for (CartItem item : cartItems) {
-            System.out.println("Item: Book ID = " + item.getBookId() + ", Quantity = " + item.getQuantity());
-        }
-        return cartItems;
+        return cartDAO.getCartItems(cartId);
+    }
+
+    /**
+     * Get all the items in the user's cart together with their books.
+     *
+     * @param cartId The ID of the user's cart.
+     * @return A list of CartLine objects with fully populated books.
+     */
+    public List<CartLine> getCartWithBooks(int cartId) {
+        return cartDAO.getCartWithBooks(cartId);
     }
 
     /**
@@ -75,15 +96,16 @@ public class CartService implements ICartService {
      *
      * @param cartId The ID of the cart.
      * @param bookId The ID of the book to be removed.
+     * @return The resulting line state and cart version, or null on failure.
      */
-    public void removeBookFromCart(int cartId, int bookId) {
-        cartDAO.removeBookFromCart(cartId, bookId);
+    public CartDelta removeBookFromCart(int cartId, int bookId) {
+        return cartDAO.removeBookFromCart(cartId, bookId);
     }
 
-    public void removeBooksFromCart(int cartId, List<Book> booksToRemove) {
+    public int removeBooksFromCart(int cartId, List<Book> booksToRemove) {
         // Delegate to DAO to handle actual removal of books from the cart in the
         // database
-        cartDAO.removeBooksFromCart(cartId, booksToRemove);
+        return cartDAO.removeBooksFromCart(cartId, booksToRemove);
     }
 
     /**
@@ -94,8 +116,40 @@ public class CartService implements ICartService {
      * @param cartId   The ID of the cart.
      * @param bookId   The ID of the book.
      * @param quantity The quantity to add/update.
+     * @return The resulting line state and cart version, or null on failure.
      */
-    public void addOrUpdateBookInCart(int cartId, int bookId, int quantity) {
-        cartDAO.addOrUpdateBookInCart(cartId, bookId, quantity);
+    public CartDelta addOrUpdateBookInCart(int cartId, int bookId, int quantity) {
+        return cartDAO.addOrUpdateBookInCart(cartId, bookId, quantity);
+    }
+
+    /**
+     * Apply many cart changes in a single transaction.
+     *
+     * @param cartId  The ID of the cart.
+     * @param changes The changes to apply, in order.
+     * @return The resulting cart contents and version, or null on failure.
+     */
+    public CartState applyCartChanges(int cartId, List<CartChange> changes) {
+        if (changes.isEmpty()) {
+            return new CartState(cartId, cartDAO.getCartVersion(cartId), cartDAO.getCartWithBooks(cartId));
+        }
+        return cartDAO.applyCartChanges(cartId, changes);
+    }
+
+    /**
+     * Reload the whole shopping cart from the database. The version is read
+     * before the items, so a concurrent write can only make the cart look older
+     * than it is, which triggers another reload rather than a missed change.
+     *
+     * @param shoppingCart The shopping cart to refresh.
+     */
+    public void reloadCart(ShoppingCart shoppingCart) {
+        int version = cartDAO.getCartVersion(shoppingCart.getCartId());
+        List<CartLine> cartLines = cartDAO.getCartWithBooks(shoppingCart.getCartId());
+        shoppingCart.clearCart();
+        for (CartLine line : cartLines) {
+            shoppingCart.addBook(line.getBook(), line.getQuantity());
+        }
+        shoppingCart.setVersion(version);
     }
 }
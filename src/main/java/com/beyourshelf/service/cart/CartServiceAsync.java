@@ -0,0 +1,71 @@
+package com.beyourshelf.service.cart;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import com.beyourshelf.model.entity.Book;
+import com.beyourshelf.model.entity.CartChange;
+import com.beyourshelf.model.entity.CartDelta;
+import com.beyourshelf.model.entity.CartItem;
+import com.beyourshelf.model.entity.CartLine;
+import com.beyourshelf.model.entity.CartState;
+import com.beyourshelf.service.AsyncServiceExecutor;
+
+/**
+ * CartServiceAsync runs ICartService calls on the shared service executor.
+ */
+public class CartServiceAsync implements ICartServiceAsync {
+
+    private final ICartService cartService; // The service doing the work
+    private final AsyncServiceExecutor executor; // Runs the calls on virtual threads
+
+    public CartServiceAsync(ICartService cartService, AsyncServiceExecutor executor) {
+        this.cartService = cartService;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletableFuture<Integer> getOrCreateCart(int userId) {
+        return executor.supply(() -> cartService.getOrCreateCart(userId));
+    }
+
+    @Override
+    public CompletableFuture<Integer> createCart(int userId) {
+        return executor.supply(() -> cartService.createCart(userId));
+    }
+
+    @Override
+    public CompletableFuture<CartDelta> updateBookQuantity(int cartId, int bookId, int quantity) {
+        return executor.supply(() -> cartService.updateBookQuantity(cartId, bookId, quantity));
+    }
+
+    @Override
+    public CompletableFuture<List<CartItem>> getCartItems(int cartId) {
+        return executor.supply(() -> cartService.getCartItems(cartId));
+    }
+
+    @Override
+    public CompletableFuture<List<CartLine>> getCartWithBooks(int cartId) {
+        return executor.supply(() -> cartService.getCartWithBooks(cartId));
+    }
+
+    @Override
+    public CompletableFuture<CartDelta> removeBookFromCart(int cartId, int bookId) {
+        return executor.supply(() -> cartService.removeBookFromCart(cartId, bookId));
+    }
+
+    @Override
+    public CompletableFuture<CartDelta> addOrUpdateBookInCart(int cartId, int bookId, int quantity) {
+        return executor.supply(() -> cartService.addOrUpdateBookInCart(cartId, bookId, quantity));
+    }
+
+    @Override
+    public CompletableFuture<Integer> removeBooksFromCart(int cartId, List<Book> booksToRemove) {
+        return executor.supply(() -> cartService.removeBooksFromCart(cartId, booksToRemove));
+    }
+
+    @Override
+    public CompletableFuture<CartState> applyCartChanges(int cartId, List<CartChange> changes) {
+        return executor.supply(() -> cartService.applyCartChanges(cartId, changes));
+    }
+}
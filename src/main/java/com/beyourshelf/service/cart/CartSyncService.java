@@ -0,0 +1,229 @@
+package com.beyourshelf.service.cart;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.beyourshelf.model.dao.cart.CartDAO;
+import com.beyourshelf.model.dao.cart.ICartDAO;
+import com.beyourshelf.model.entity.ShoppingCart;
+
+/**
+ * CartSyncService buffers cart quantity changes and writes them behind the UI.
+ * Each change replaces any pending quantity for the same (cart, book) pair, and
+ * a cart's pending changes are flushed in one transaction once no new change
+ * has arrived for a short debounce period. A crash can lose at most the
+ * changes made during that period.
+ *
+ * Flushes of the same cart are serialized, so a snapshot taken earlier can
+ * never be committed after a newer one and overwrite it with stale quantities.
+ * Each flush bumps the cart version, and the session's cart is advanced to it,
+ * so other sessions see the change and the owner keeps syncing incrementally.
+ * A failed flush is retried a few times, after which its changes are dropped
+ * and the session's cart is reloaded on its next sync.
+ */
+public class CartSyncService implements ICartSyncService, AutoCloseable {
+
+    private static final long DEBOUNCE_MS = 300; // Quiet period before pending changes are written
+    private static final int MAX_FLUSH_ATTEMPTS = 5; // Failed writes of the same changes before they are dropped
+
+    // Singleton instance
+    private static CartSyncService instance;
+    private final ICartDAO cartDAO;
+
+    // Pending changes per cart: cart ID -> owning cart and (book ID -> quantity)
+    private final ConcurrentHashMap<Integer, PendingChanges> pending = new ConcurrentHashMap<>();
+
+    // Scheduled debounce flush per cart
+    private final ConcurrentHashMap<Integer, ScheduledFuture<?>> scheduledFlushes = new ConcurrentHashMap<>();
+
+    // Serializes the flushes of each cart: cart ID -> lock, removed once no flush holds or waits for it
+    private final ConcurrentHashMap<Integer, FlushLock> flushLocks = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService scheduler;
+
+    // The quantities waiting to be written for one cart, and the session cart they came from
+    private static final class PendingChanges {
+        private final ShoppingCart cart;
+        private final Map<Integer, Integer> quantities = new HashMap<>();
+        private final int failedAttempts; // Failed writes of these changes so far
+
+        private PendingChanges(ShoppingCart cart, int failedAttempts) {
+            this.cart = cart;
+            this.failedAttempts = failedAttempts;
+        }
+    }
+
+    // A cart's flush lock and the number of flushes holding or waiting for it, only changed inside compute()
+    private static final class FlushLock {
+        private final ReentrantLock lock = new ReentrantLock();
+        private int users;
+    }
+
+    // Private constructor for Singleton
+    private CartSyncService() {
+        this(new CartDAO());
+    }
+
+    // Creates a service writing through the given DAO, so tests can observe the writes
+    CartSyncService(ICartDAO cartDAO) {
+        this.cartDAO = cartDAO;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cart-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Get the singleton instance of CartSyncService
+    public static synchronized CartSyncService getInstance() {
+        if (instance == null) {
+            instance = new CartSyncService();
+        }
+        return instance;
+    }
+
+    /**
+     * Records the latest quantity for a book and restarts the cart's debounce
+     * timer.
+     *
+     * @param cart     The session's cart, which already shows the new quantity.
+     * @param bookId   The ID of the book.
+     * @param quantity The new quantity of the book.
+     */
+    @Override
+    public void scheduleQuantityUpdate(ShoppingCart cart, int bookId, int quantity) {
+        int cartId = cart.getCartId();
+        // compute() is atomic with the remove() in flush, so no update is lost
+        pending.compute(cartId, (_, changes) -> {
+            PendingChanges updated = changes == null ? new PendingChanges(cart, 0) : changes;
+            updated.quantities.put(bookId, quantity);
+            return updated;
+        });
+
+        ScheduledFuture<?> next;
+        try {
+            next = scheduler.schedule(() -> flush(cartId), DEBOUNCE_MS, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            flush(cartId); // Closed: write through instead of scheduling
+            return;
+        }
+        ScheduledFuture<?> previous = scheduledFlushes.put(cartId, next);
+        if (previous != null) {
+            previous.cancel(false);
+        }
+    }
+
+    /**
+     * Discards a pending quantity change for a book.
+     *
+     * @param cartId The ID of the cart.
+     * @param bookId The ID of the book.
+     */
+    @Override
+    public void cancelPendingUpdate(int cartId, int bookId) {
+        pending.computeIfPresent(cartId, (_, changes) -> {
+            changes.quantities.remove(bookId);
+            return changes.quantities.isEmpty() ? null : changes;
+        });
+    }
+
+    /**
+     * Writes all pending changes for a cart in a single transaction. If the write
+     * fails, the changes are kept unless newer ones have arrived meanwhile, and
+     * retried until they have failed MAX_FLUSH_ATTEMPTS times.
+     *
+     * @param cartId The ID of the cart.
+     * @return true if there was nothing to write or the changes were committed.
+     */
+    @Override
+    public boolean flush(int cartId) {
+        // The snapshot is taken under the lock, so snapshots are committed in the order they were taken
+        FlushLock flushLock = flushLocks.compute(cartId, (_, current) -> {
+            FlushLock acquired = current == null ? new FlushLock() : current;
+            acquired.users++;
+            return acquired;
+        });
+        flushLock.lock.lock();
+        try {
+            return flushLocked(cartId);
+        } finally {
+            flushLock.lock.unlock();
+            // Drop the lock once nobody else is using it, so carts do not accumulate entries
+            flushLocks.computeIfPresent(cartId, (_, current) -> --current.users == 0 ? null : current);
+            // Forget the finished timer unless newer changes are waiting for theirs
+            scheduledFlushes.computeIfPresent(cartId, (_, next) -> pending.containsKey(cartId) ? next : null);
+        }
+    }
+
+    // Writes the pending changes of a cart while holding its flush lock
+    private boolean flushLocked(int cartId) {
+        PendingChanges changes = pending.remove(cartId);
+        if (changes == null) {
+            return true;
+        }
+        int version = cartDAO.updateBookQuantities(cartId, changes.quantities);
+        if (version != -1) {
+            if (!changes.cart.advanceVersion(version)) {
+                changes.cart.setVersion(-1); // Another writer changed the cart; reload on next sync
+            }
+            return true;
+        }
+
+        int failedAttempts = changes.failedAttempts + 1;
+        if (failedAttempts >= MAX_FLUSH_ATTEMPTS) {
+            System.out.println("Dropping " + changes.quantities.size() + " quantity changes for cart " + cartId
+                    + " after " + failedAttempts + " failed writes");
+            changes.cart.setVersion(-1); // The cart no longer matches the database; reload on next sync
+            return false;
+        }
+
+        // Put the changes back without overwriting newer ones, and retry later
+        pending.compute(cartId, (_, newer) -> {
+            PendingChanges merged = new PendingChanges(newer != null ? newer.cart : changes.cart, failedAttempts);
+            merged.quantities.putAll(changes.quantities);
+            if (newer != null) {
+                merged.quantities.putAll(newer.quantities);
+            }
+            return merged;
+        });
+        try {
+            scheduledFlushes.put(cartId, scheduler.schedule(() -> flush(cartId), DEBOUNCE_MS, TimeUnit.MILLISECONDS));
+        } catch (RejectedExecutionException e) {
+            // Closed: the changes stay pending for the next explicit flush
+        }
+        return false;
+    }
+
+    /**
+     * Writes all pending changes for every cart.
+     */
+    @Override
+    public void flushAll() {
+        for (Integer cartId : new ArrayList<>(pending.keySet())) {
+            flush(cartId);
+        }
+    }
+
+    /**
+     * Stops the scheduler and writes any remaining changes. A later
+     * getInstance() creates a fresh service.
+     */
+    @Override
+    public void close() {
+        synchronized (CartSyncService.class) {
+            if (instance == this) {
+                instance = null;
+            }
+        }
+        scheduler.shutdownNow();
+        flushAll();
+    }
+}
@@ -0,0 +1,33 @@
+package com.beyourshelf.service.cart;
+
+import com.beyourshelf.model.entity.CartMaintenanceStats;
+
+/**
+ * ICartMaintenanceService defines the housekeeping job for abandoned carts.
+ * Carts without activity for a configured number of days are marked as
+ * abandoned and their items are moved to an archive table.
+ */
+public interface ICartMaintenanceService {
+
+    /**
+     * Starts running the maintenance pass once a day. Only the desktop
+     * application does this; other entry points call runOnce() when needed.
+     */
+    void startSchedule();
+
+    /**
+     * Runs one maintenance pass, abandoning inactive carts in batches until none
+     * are left.
+     *
+     * @return The statistics of the run.
+     */
+    CartMaintenanceStats runOnce();
+
+    /**
+     * Returns the number of days without activity after which a cart is
+     * abandoned.
+     *
+     * @return The inactivity threshold in days.
+     */
+    int getAbandonAfterDays();
+}
@@ -3,7 +3,12 @@ package com.beyourshelf.service.cart;
 import java.util.List;
 
 import com.beyourshelf.model.entity.Book;
+import com.beyourshelf.model.entity.CartChange;
+import com.beyourshelf.model.entity.CartDelta;
 import com.beyourshelf.model.entity.CartItem;
+import com.beyourshelf.model.entity.CartLine;
+import com.beyourshelf.model.entity.CartState;
+import com.beyourshelf.model.entity.ShoppingCart;
 
 /**
  * ICartService defines the contract for cart-related operations.
@@ -22,6 +27,14 @@ public interface ICartService {
      */
     int getOrCreateCart(int userId);
 
+    /**
+     * Creates a new active cart for a user who is known to have none.
+     *
+     * @param userId The ID of the user.
+     * @return The ID of the new cart, or -1 on failure.
+     */
+    int createCart(int userId);
+
     /**
      * Updates the quantity of a specific book in the user's cart.
      * If the book's quantity is reduced to zero, it can be removed from the cart.
@@ -29,8 +42,9 @@ public interface ICartService {
      * @param cartId   The ID of the cart.
      * @param bookId   The ID of the book to update.
      * @param quantity The new quantity to be set for the book.
+     * @return The resulting line state and cart version, or null on failure.
      */
-    void updateBookQuantity(int cartId, int bookId, int quantity);
+    CartDelta updateBookQuantity(int cartId, int bookId, int quantity);
 
     /**
      * Retrieves all the items currently in the cart for the given cart ID.
@@ -41,13 +55,23 @@ public interface ICartService {
      */
     List<CartItem> getCartItems(int cartId);
 
+    /**
+     * Retrieves all the items in the cart together with their books in a single
+     * query.
+     *
+     * @param cartId The ID of the cart.
+     * @return A list of CartLine objects with fully populated books.
+     */
+    List<CartLine> getCartWithBooks(int cartId);
+
     /**
      * Removes a specific book from the cart based on the cart ID and book ID.
      *
      * @param cartId The ID of the cart.
      * @param bookId The ID of the book to be removed.
+     * @return The resulting line state and cart version, or null on failure.
      */
-    void removeBookFromCart(int cartId, int bookId);
+    CartDelta removeBookFromCart(int cartId, int bookId);
 
     /**
      * Adds a new book to the cart or updates the quantity if the book already
@@ -58,14 +82,35 @@ public interface ICartService {
      * @param cartId   The ID of the cart.
      * @param bookId   The ID of the book.
      * @param quantity The quantity to be added or updated.
+     * @return The resulting line state and cart version, or null on failure.
      */
-    void addOrUpdateBookInCart(int cartId, int bookId, int quantity);
+    CartDelta addOrUpdateBookInCart(int cartId, int bookId, int quantity);
 
     /**
      * Removes multiple books from the cart based on a list of books.
      *
      * @param cartId        The ID of the cart.
      * @param booksToRemove A list of Book objects to be removed from the cart.
+     * @return The new cart version, or -1 on failure.
+     */
+    int removeBooksFromCart(int cartId, List<Book> booksToRemove);
+
+    /**
+     * Adds, updates and removes many books in the cart at once, for example to
+     * re-order everything from a previous order. All changes are committed
+     * together or not at all.
+     *
+     * @param cartId  The ID of the cart.
+     * @param changes The changes to apply, in order.
+     * @return The resulting cart contents and version, or null on failure.
+     */
+    CartState applyCartChanges(int cartId, List<CartChange> changes);
+
+    /**
+     * Reloads the whole shopping cart and its version from the database. Used
+     * when a mutation shows that another session changed the cart.
+     *
+     * @param shoppingCart The shopping cart to refresh.
      */
-    void removeBooksFromCart(int cartId, List<Book> booksToRemove);
+    void reloadCart(ShoppingCart shoppingCart);
 }
@@ -0,0 +1,50 @@
+package com.beyourshelf.service.cart;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import com.beyourshelf.model.entity.Book;
+import com.beyourshelf.model.entity.CartChange;
+import com.beyourshelf.model.entity.CartDelta;
+import com.beyourshelf.model.entity.CartItem;
+import com.beyourshelf.model.entity.CartLine;
+import com.beyourshelf.model.entity.CartState;
+
+/**
+ * ICartServiceAsync offers the operations of ICartService without blocking the
+ * caller. Each method runs the matching ICartService method on the shared
+ * service executor and completes the returned future with its result.
+ *
+ * reloadCart is left out: it modifies a ShoppingCart in place, which the
+ * JavaFX thread may be reading. Callers apply the returned deltas or states to
+ * their cart on their own thread instead.
+ */
+public interface ICartServiceAsync {
+
+    // See ICartService.getOrCreateCart(int)
+    CompletableFuture<Integer> getOrCreateCart(int userId);
+
+    // See ICartService.createCart(int)
+    CompletableFuture<Integer> createCart(int userId);
+
+    // See ICartService.updateBookQuantity(int, int, int)
+    CompletableFuture<CartDelta> updateBookQuantity(int cartId, int bookId, int quantity);
+
+    // See ICartService.getCartItems(int)
+    CompletableFuture<List<CartItem>> getCartItems(int cartId);
+
+    // See ICartService.getCartWithBooks(int)
+    CompletableFuture<List<CartLine>> getCartWithBooks(int cartId);
+
+    // See ICartService.removeBookFromCart(int, int)
+    CompletableFuture<CartDelta> removeBookFromCart(int cartId, int bookId);
+
+    // See ICartService.addOrUpdateBookInCart(int, int, int)
+    CompletableFuture<CartDelta> addOrUpdateBookInCart(int cartId, int bookId, int quantity);
+
+    // See ICartService.removeBooksFromCart(int, List)
+    CompletableFuture<Integer> removeBooksFromCart(int cartId, List<Book> booksToRemove);
+
+    // See ICartService.applyCartChanges(int, List)
+    CompletableFuture<CartState> applyCartChanges(int cartId, List<CartChange> changes);
+}
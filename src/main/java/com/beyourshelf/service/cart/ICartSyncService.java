@@ -0,0 +1,46 @@
+package com.beyourshelf.service.cart;
+
+import com.beyourshelf.model.entity.ShoppingCart;
+
+/**
+ * ICartSyncService defines a write-behind layer for cart quantity changes.
+ * Repeated changes to the same book in the same cart are coalesced, so only the
+ * latest quantity is written, and pending changes are persisted in batches.
+ */
+public interface ICartSyncService {
+
+    /**
+     * Records a new quantity for a book in the cart. The change is written to the
+     * database after a short debounce, together with any other pending changes
+     * for the same cart, and the cart is then advanced to the version the write
+     * produced.
+     *
+     * @param cart     The session's cart, which already shows the new quantity.
+     * @param bookId   The ID of the book.
+     * @param quantity The new quantity of the book.
+     */
+    void scheduleQuantityUpdate(ShoppingCart cart, int bookId, int quantity);
+
+    /**
+     * Discards a pending quantity change, for example because the book is being
+     * removed from the cart.
+     *
+     * @param cartId The ID of the cart.
+     * @param bookId The ID of the book.
+     */
+    void cancelPendingUpdate(int cartId, int bookId);
+
+    /**
+     * Immediately writes all pending changes for a cart, for example before
+     * checkout.
+     *
+     * @param cartId The ID of the cart.
+     * @return true if there was nothing to write or the changes were committed.
+     */
+    boolean flush(int cartId);
+
+    /**
+     * Immediately writes all pending changes for every cart.
+     */
+    void flushAll();
+}
@@ -8,8 +8,8 @@ import com.beyourshelf.model.entity.CartItem;
 
 /**
  * IInventoryService defines the operations related to managing book inventory,
- * including reserving books, reverting reservations, and finalizing stock
- * adjustments.
+ * including reserving books and reverting reservations. Sold copies are
+ * recorded by OrderDAO when the order is saved.
  */
 public interface IInventoryService {
 
@@ -33,10 +33,10 @@ public interface IInventoryService {
     void revertReservations(List<CartItem> cartItems);
 
     /**
-     * Finalize stock adjustments for the purchased books, reducing stock and
-     * updating the number of sold copies.
+     * Refresh the cached stock for a book after its physical copies were changed
+     * outside the inventory service, for example by an administrator.
      *
-     * @param books Map of Book objects and their corresponding quantities sold.
+     * @param bookId The ID of the book whose stock changed.
      */
-    void finalizeStockAdjustments(Map<Book, Integer> books);
+    void refreshStock(int bookId);
 }
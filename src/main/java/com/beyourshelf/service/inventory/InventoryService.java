@@ -9,8 +9,8 @@ import com.beyourshelf.model.entity.Book;
 import com.beyourshelf.model.entity.CartItem;
 
 /**
- * InventoryService manages book inventory operations such as reserving stock,
- * reverting reservations, and finalizing stock adjustments after purchases.
+ * InventoryService manages book inventory operations such as reserving stock
+ * and reverting reservations.
  */
 public class InventoryService implements IInventoryService {
 
@@ -62,19 +62,11 @@ public class InventoryService implements IInventoryService {
     }
 
     /**
-     * Finalize stock adjustments for books after successful payment, updating both
-     * physical stock and sold copies.
+     * Stock is always read from the database, so there is nothing to refresh.
      *
-     * @param books Map of Book to quantity sold.
+     * @param bookId The ID of the book whose stock changed.
      */
-    public void finalizeStockAdjustments(Map<Book, Integer> books) {
-        // Physical copies should already be reserved; only update sold copies here.
-        for (Map.Entry<Book, Integer> entry : books.entrySet()) {
-            int bookId = entry.getKey().getBookId();
-            int quantityPurchased = entry.getValue();
-            bookDAO.updateSoldCopies(bookId, quantityPurchased);
-            System.out.println("Finalized stock adjustments for book ID " + bookId + ": " +
-                    quantityPurchased + " copies sold.");
-        }
+    public void refreshStock(int bookId) {
+        // No cached stock to refresh
     }
 }
@@ -0,0 +1,336 @@
+package com.beyourshelf.service.inventory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Durable append-only journal of stock deltas for the write-behind inventory
+ * engine.
+ * Every entry is written as a "sequence,bookId,delta" line and forced to disk
+ * before the reservation that produced it is acknowledged. Entries that have
+ * been applied to the database are discarded by compacting the file.
+ *
+ * Appends are group-committed: callers queue their entries under a short lock,
+ * and whichever caller finds no write in progress writes every queued entry and
+ * forces the file once for all of them. Concurrent reservations therefore
+ * share one fsync instead of queuing for one each, while none returns before
+ * its own entries are durable. If a write fails, only the callers in that
+ * group see the error: the channel is closed, and the next append reopens it
+ * and truncates the file back to the end of the last durable group, so a
+ * partially written group is never read back or replayed.
+ */
+public class StockJournal implements AutoCloseable {
+
+    private final Path path; // Location of the journal file
+    private final ReentrantLock lock = new ReentrantLock(); // Guards the fields below
+    private final Condition batchWritten = lock.newCondition(); // Signalled after each group write
+    private final ChannelOpener opener; // Opens the journal file for appending
+    private FileChannel channel; // Channel used for appending entries; null after a failed write
+    private Batch queued = new Batch(); // Entries waiting for the next group write
+    private long lastSequence; // Sequence number of the most recently queued entry
+    private long durableSize; // Length of the file up to the end of the last durable group
+    private boolean writing; // Whether a caller is currently writing a group
+
+    /**
+     * Opens (or creates) the journal at the given path.
+     *
+     * @param path            The journal file location.
+     * @param appliedSequence The last sequence already applied to the database, so
+     *                        new entries never reuse an applied sequence number.
+     * @throws IOException if the journal cannot be opened.
+     */
+    public StockJournal(Path path, long appliedSequence) throws IOException {
+        this(path, appliedSequence, StockJournal::openForAppend);
+    }
+
+    // Opens the journal with a custom channel opener, so tests can inject I/O failures
+    StockJournal(Path path, long appliedSequence, ChannelOpener opener) throws IOException {
+        this.path = path;
+        this.opener = opener;
+        this.channel = opener.open(path);
+        this.durableSize = channel.size();
+        long maxInFile = 0;
+        for (Entry entry : readEntries()) {
+            maxInFile = Math.max(maxInFile, entry.getSequence());
+        }
+        this.lastSequence = Math.max(appliedSequence, maxInFile);
+    }
+
+    /**
+     * Appends one entry per book delta and returns once they are on disk,
+     * possibly written together with other callers' entries.
+     *
+     * @param deltas Map of book ID to the change in physical copies.
+     * @return The sequence number of the last entry written.
+     * @throws IOException if the entries could not be made durable.
+     */
+    public long append(Map<Integer, Integer> deltas) throws IOException {
+        lock.lock();
+        try {
+            long sequence = lastSequence;
+            for (Map.Entry<Integer, Integer> delta : deltas.entrySet()) {
+                sequence++;
+                queued.entries.append(sequence).append(',').append(delta.getKey()).append(',').append(delta.getValue())
+                        .append('\n');
+            }
+            lastSequence = sequence;
+
+            Batch batch = queued;
+            while (!batch.done) {
+                if (writing) {
+                    batchWritten.awaitUninterruptibly(); // Another caller is writing; ours may be next
+                } else {
+                    writeQueued();
+                }
+            }
+            if (batch.error != null) {
+                throw new IOException("Stock journal write failed", batch.error);
+            }
+            return sequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the sequence number of the most recently appended entry.
+     *
+     * @return The last sequence number.
+     */
+    public long getLastSequence() {
+        lock.lock();
+        try {
+            return lastSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reads every complete entry currently in the journal. A torn final line
+     * left by a crash, and anything past the last durable group, is ignored.
+     *
+     * @return The entries in the order they were written.
+     * @throws IOException if the journal cannot be read.
+     */
+    public List<Entry> readEntries() throws IOException {
+        lock.lock();
+        try {
+            awaitNoWrite();
+            List<Entry> entries = new ArrayList<>();
+            if (!Files.exists(path)) {
+                return entries;
+            }
+            byte[] bytes = Files.readAllBytes(path);
+            // A failed group write may have left bytes that are truncated on the next append
+            int length = (int) Math.min(bytes.length, durableSize);
+            String content = new String(bytes, 0, length, StandardCharsets.UTF_8);
+            // Only lines terminated by a newline were completely written
+            int end = content.lastIndexOf('\n');
+            if (end < 0) {
+                return entries;
+            }
+            for (String line : content.substring(0, end).split("\n")) {
+                String[] parts = line.split(",");
+                if (parts.length != 3) {
+                    continue; // Skip partially written lines
+                }
+                try {
+                    entries.add(new Entry(Long.parseLong(parts[0]), Integer.parseInt(parts[1]),
+                            Integer.parseInt(parts[2])));
+                } catch (NumberFormatException e) {
+                    // Skip corrupted lines
+                }
+            }
+            return entries;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes every entry with a sequence number up to and including the given
+     * one, keeping newer entries. The file is rewritten and atomically replaced.
+     *
+     * @param appliedSequence The highest sequence applied to the database.
+     * @throws IOException if the journal cannot be rewritten.
+     */
+    public void discardUpTo(long appliedSequence) throws IOException {
+        lock.lock();
+        try {
+            awaitNoWrite(); // The channel is replaced below
+            StringBuilder remaining = new StringBuilder();
+            for (Entry entry : readEntries()) {
+                if (entry.getSequence() > appliedSequence) {
+                    remaining.append(entry.getSequence()).append(',').append(entry.getBookId()).append(',')
+                            .append(entry.getDelta()).append('\n');
+                }
+            }
+
+            byte[] bytes = remaining.toString().getBytes(StandardCharsets.UTF_8);
+            Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+            try (FileChannel tempChannel = FileChannel.open(tempPath, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                while (buffer.hasRemaining()) {
+                    tempChannel.write(buffer);
+                }
+                tempChannel.force(true);
+            }
+
+            closeChannel();
+            Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            durableSize = bytes.length;
+            channel = opener.open(path); // If this fails, the next append retries the open
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes the underlying file channel.
+     *
+     * @throws IOException if the channel cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            awaitNoWrite();
+            closeChannel();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Writes every queued entry and forces it to disk. Called with the lock held;
+    // the lock is released during the I/O so other callers can queue meanwhile.
+    // Only the writing caller touches the channel until writing is cleared.
+    private void writeQueued() {
+        Batch batch = queued;
+        queued = new Batch();
+        writing = true;
+        long size = durableSize;
+        lock.unlock();
+        byte[] bytes = batch.entries.toString().getBytes(StandardCharsets.UTF_8);
+        IOException error = null;
+        try {
+            if (channel == null) {
+                channel = reopen(size);
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false); // Make the entries durable before acknowledging them
+        } catch (IOException e) {
+            error = e;
+            closeChannel(); // The next append reopens the file and drops the partial group
+        } finally {
+            lock.lock();
+            writing = false;
+            if (error == null) {
+                durableSize = size + bytes.length;
+            }
+            batch.error = error;
+            batch.done = true;
+            batchWritten.signalAll();
+        }
+    }
+
+    // Reopens the journal after a failed write, cutting off whatever part of the
+    // failed group reached the file
+    private FileChannel reopen(long size) throws IOException {
+        FileChannel reopened = opener.open(path);
+        try {
+            reopened.truncate(size);
+            reopened.force(false);
+        } catch (IOException e) {
+            reopened.close();
+            throw e;
+        }
+        return reopened;
+    }
+
+    // Closes the channel if it is open, ignoring errors from a channel that already failed
+    private void closeChannel() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            System.out.println("Error closing stock journal: " + e.getMessage());
+        }
+        channel = null;
+    }
+
+    // Waits until no group write is in progress. Called with the lock held.
+    private void awaitNoWrite() {
+        while (writing) {
+            batchWritten.awaitUninterruptibly();
+        }
+    }
+
+    // Opens the journal file in append mode, creating it if necessary
+    static FileChannel openForAppend(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Opens the journal file for appending.
+     */
+    @FunctionalInterface
+    interface ChannelOpener {
+        FileChannel open(Path path) throws IOException;
+    }
+
+    // Entries written together by one group write, and the outcome of that write
+    private static final class Batch {
+        private final StringBuilder entries = new StringBuilder(); // Queued "sequence,bookId,delta" lines
+        private boolean done; // Whether the group write has finished
+        private IOException error; // Set if the group write failed
+    }
+
+    /**
+     * A single journal entry: a change in physical copies for one book.
+     */
+    public static final class Entry {
+        private final long sequence; // Monotonic sequence number of the entry
+        private final int bookId; // The ID of the book
+        private final int delta; // Change in physical copies (negative for reservations)
+
+        public Entry(long sequence, int bookId, int delta) {
+            this.sequence = sequence;
+            this.bookId = bookId;
+            this.delta = delta;
+        }
+
+        // Returns the sequence number of the entry
+        public long getSequence() {
+            return sequence;
+        }
+
+        // Returns the ID of the book the entry applies to
+        public int getBookId() {
+            return bookId;
+        }
+
+        // Returns the change in physical copies
+        public int getDelta() {
+            return delta;
+        }
+    }
+}
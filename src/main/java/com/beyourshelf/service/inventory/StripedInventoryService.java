@@ -0,0 +1,307 @@
+package com.beyourshelf.service.inventory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.beyourshelf.model.dao.book.IBookDAO;
+import com.beyourshelf.model.dao.inventory.IStockJournalDAO;
+import com.beyourshelf.model.entity.Book;
+import com.beyourshelf.model.entity.CartItem;
+
+/**
+ * StripedInventoryService keeps the authoritative stock of every book in
+ * lock-free atomic counters. Reservations and releases are decided in memory
+ * with compare-and-set, recorded in a durable {@link StockJournal}, and written
+ * to the database in batches by a background flusher.
+ * On startup any journal entries that did not reach the database are replayed,
+ * so a crash between a reservation and the next flush loses no stock changes.
+ */
+public class StripedInventoryService implements IInventoryService, AutoCloseable {
+
+    private static final long FLUSH_INTERVAL_MS = 500; // Delay between write-behind flushes
+
+    // Dependencies: data access objects for books and the journal state
+    private final IBookDAO bookDAO;
+    private final IStockJournalDAO journalDAO;
+    private final StockJournal journal;
+
+    // In-memory stock counters, loaded lazily from the database
+    private final ConcurrentHashMap<Integer, AtomicInteger> stock = new ConcurrentHashMap<>();
+
+    // Stock deltas that have been journaled but not yet written to the database
+    private final ConcurrentHashMap<Integer, Integer> pendingDeltas = new ConcurrentHashMap<>();
+
+    // Reservations share the read lock; a flush snapshot takes the write lock so
+    // the captured deltas and journal sequence are consistent with each other
+    private final ReentrantReadWriteLock snapshotLock = new ReentrantReadWriteLock();
+
+    // Serializes flushes and stock refreshes against each other
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final ScheduledExecutorService flusher;
+
+    /**
+     * Creates the engine, replays any unapplied journal entries and starts the
+     * background flusher.
+     *
+     * @param bookDAO     Data access object for book operations.
+     * @param journalDAO  Data access object for the journal state.
+     * @param journalPath Location of the stock journal file.
+     * @throws IOException if the journal cannot be opened or replayed.
+     */
+    public StripedInventoryService(IBookDAO bookDAO, IStockJournalDAO journalDAO, Path journalPath)
+            throws IOException {
+        this(bookDAO, journalDAO, journalPath, StockJournal::openForAppend);
+    }
+
+    // Creates the engine with a custom journal channel opener, so tests can inject I/O failures
+    StripedInventoryService(IBookDAO bookDAO, IStockJournalDAO journalDAO, Path journalPath,
+            StockJournal.ChannelOpener opener) throws IOException {
+        this.bookDAO = bookDAO;
+        this.journalDAO = journalDAO;
+
+        long appliedSequence = journalDAO.getLastAppliedSequence();
+        this.journal = new StockJournal(journalPath, appliedSequence, opener);
+        recover(appliedSequence);
+
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "stock-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, FLUSH_INTERVAL_MS, FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Reserve stock for the books in the given map. Either every book is reserved
+     * or none is.
+     *
+     * @param books Map of Book to quantity requested for reservation.
+     * @return true if all books have enough stock, false otherwise.
+     */
+    @Override
+    public boolean reserveBooks(Map<Book, Integer> books) {
+        Map<Integer, Integer> deltas = new HashMap<>();
+        for (Map.Entry<Book, Integer> entry : books.entrySet()) {
+            deltas.merge(entry.getKey().getBookId(), -entry.getValue(), Integer::sum);
+        }
+        return applyDeltas(deltas, true);
+    }
+
+    /**
+     * Revert reservations for a list of cart items, restoring the stock for each
+     * book.
+     *
+     * @param cartItems List of CartItem objects representing the items to revert.
+     */
+    @Override
+    public void revertReservations(List<CartItem> cartItems) {
+        Map<Integer, Integer> deltas = new HashMap<>();
+        for (CartItem item : cartItems) {
+            deltas.merge(item.getBookId(), item.getQuantity(), Integer::sum);
+        }
+        if (!applyDeltas(deltas, false)) {
+            System.out.println("Error reverting reservations for " + deltas.keySet());
+        }
+    }
+
+    /**
+     * Reloads a book's counter from the database after its stock was changed
+     * outside this engine, keeping deltas that have not been flushed yet.
+     *
+     * @param bookId The ID of the book whose stock changed.
+     */
+    @Override
+    public void refreshStock(int bookId) {
+        flushLock.lock();
+        snapshotLock.writeLock().lock();
+        try {
+            Integer persisted = bookDAO.findStockForBook(bookId);
+            if (persisted == null) {
+                System.out.println("Error refreshing stock for book ID: " + bookId);
+                return; // Keep the current counter rather than replacing it with a failed read
+            }
+            int pending = pendingDeltas.getOrDefault(bookId, 0);
+            stock.computeIfAbsent(bookId, _ -> new AtomicInteger()).set(persisted + pending);
+        } finally {
+            snapshotLock.writeLock().unlock();
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the current in-memory stock for a book.
+     *
+     * @param bookId The ID of the book.
+     * @return The number of physical copies currently available, or 0 if the
+     *         stock cannot be read.
+     */
+    public int getStock(int bookId) {
+        AtomicInteger counter = counterFor(bookId);
+        return counter != null ? counter.get() : 0;
+    }
+
+    /**
+     * Writes all pending deltas to the database in a single transaction and
+     * compacts the journal. Failed flushes are retried on the next run.
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            Map<Integer, Integer> snapshot = new HashMap<>();
+            long sequence;
+
+            snapshotLock.writeLock().lock();
+            try {
+                if (pendingDeltas.isEmpty()) {
+                    return;
+                }
+                snapshot.putAll(pendingDeltas);
+                pendingDeltas.clear();
+                sequence = journal.getLastSequence();
+            } finally {
+                snapshotLock.writeLock().unlock();
+            }
+
+            if (!journalDAO.applyStockDeltas(snapshot, sequence)) {
+                // Put the deltas back so the next flush retries them
+                snapshot.forEach((bookId, delta) -> pendingDeltas.merge(bookId, delta, Integer::sum));
+                return;
+            }
+
+            try {
+                journal.discardUpTo(sequence);
+            } catch (IOException e) {
+                // Entries stay in the journal and are skipped on replay by sequence
+                System.out.println("Error compacting stock journal: " + e.getMessage());
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Stops the background flusher, writes any remaining deltas and closes the
+     * journal.
+     *
+     * @throws IOException if the journal cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        journal.close();
+    }
+
+    // Applies the deltas to the counters and journals them. When checkStock is
+    // true, no counter may drop below zero; otherwise nothing is applied.
+    private boolean applyDeltas(Map<Integer, Integer> deltas, boolean checkStock) {
+        if (deltas.isEmpty()) {
+            return true;
+        }
+        // Load counters before taking the lock so database reads never block flushes
+        for (Integer bookId : deltas.keySet()) {
+            if (counterFor(bookId) == null) {
+                System.out.println("Error loading stock for book ID: " + bookId);
+                return false;
+            }
+        }
+
+        snapshotLock.readLock().lock();
+        try {
+            List<Map.Entry<Integer, Integer>> applied = new ArrayList<>();
+            for (Map.Entry<Integer, Integer> delta : deltas.entrySet()) {
+                if (!tryAdjust(stock.get(delta.getKey()), delta.getValue(), checkStock)) {
+                    rollback(applied);
+                    return false;
+                }
+                applied.add(delta);
+            }
+
+            try {
+                journal.append(deltas);
+            } catch (IOException e) {
+                System.out.println("Error writing stock journal: " + e.getMessage());
+                rollback(applied);
+                return false;
+            }
+
+            deltas.forEach((bookId, delta) -> pendingDeltas.merge(bookId, delta, Integer::sum));
+            return true;
+        } finally {
+            snapshotLock.readLock().unlock();
+        }
+    }
+
+    // Adjusts a counter with a CAS loop, refusing to go negative when requested
+    private static boolean tryAdjust(AtomicInteger counter, int delta, boolean checkStock) {
+        while (true) {
+            int current = counter.get();
+            int updated = current + delta;
+            if (checkStock && updated < 0) {
+                return false;
+            }
+            if (counter.compareAndSet(current, updated)) {
+                return true;
+            }
+        }
+    }
+
+    // Undoes counter adjustments made by a failed reservation
+    private void rollback(List<Map.Entry<Integer, Integer>> applied) {
+        for (Map.Entry<Integer, Integer> delta : applied) {
+            stock.get(delta.getKey()).addAndGet(-delta.getValue());
+        }
+    }
+
+    // Returns the counter for a book, loading it from the database on first use.
+    // Returns null without caching anything if the stock cannot be read, so a
+    // failed read is retried instead of being remembered as zero stock.
+    private AtomicInteger counterFor(int bookId) {
+        AtomicInteger counter = stock.get(bookId);
+        if (counter != null) {
+            return counter;
+        }
+        Integer persisted = bookDAO.findStockForBook(bookId);
+        if (persisted == null) {
+            return null;
+        }
+        return stock.computeIfAbsent(bookId, _ -> new AtomicInteger(persisted));
+    }
+
+    // Replays journal entries newer than the last sequence applied to the database
+    private void recover(long appliedSequence) throws IOException {
+        Map<Integer, Integer> unapplied = new HashMap<>();
+        long lastSequence = appliedSequence;
+        for (StockJournal.Entry entry : journal.readEntries()) {
+            if (entry.getSequence() > appliedSequence) {
+                unapplied.merge(entry.getBookId(), entry.getDelta(), Integer::sum);
+                lastSequence = Math.max(lastSequence, entry.getSequence());
+            }
+        }
+
+        if (!unapplied.isEmpty()) {
+            if (!journalDAO.applyStockDeltas(unapplied, lastSequence)) {
+                throw new IOException("Could not replay stock journal");
+            }
+            System.out.println("Replayed stock journal up to sequence " + lastSequence);
+        }
+        journal.discardUpTo(lastSequence);
+    }
+}
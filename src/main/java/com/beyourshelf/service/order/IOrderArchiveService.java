@@ -0,0 +1,51 @@
+package com.beyourshelf.service.order;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import com.beyourshelf.model.entity.Order;
+
+/**
+ * IOrderArchiveService defines the archival of old orders. Archived orders are
+ * moved out of the live tables into monthly partitions, so history queries only
+ * scan recent orders, but can still be looked up on demand.
+ */
+public interface IOrderArchiveService {
+
+    /**
+     * Moves every order older than the given number of days into the archive,
+     * in batches.
+     *
+     * @param days Orders placed more than this many days ago are archived.
+     * @return The number of orders archived.
+     * @throws IllegalStateException if a batch fails; the batches before it stay
+     *                               archived.
+     */
+    int archiveOrdersOlderThan(int days);
+
+    /**
+     * Looks up an archived order by its order number.
+     *
+     * @param orderNumber The order number.
+     * @return The archived order with its items, or empty if it is not archived.
+     */
+    Optional<Order> findArchivedOrder(String orderNumber);
+
+    /**
+     * Retrieves the archived orders of a user.
+     *
+     * @param userId The ID of the user.
+     * @return The user's archived orders with their items, newest first.
+     */
+    List<Order> getArchivedOrdersByUser(int userId);
+
+    /**
+     * Retrieves the archived orders placed in a time range.
+     *
+     * @param from The start of the range, inclusive.
+     * @param to   The end of the range, exclusive.
+     * @return The archived orders in the range with their items, newest first.
+     */
+    List<Order> getArchivedOrdersBetween(LocalDateTime from, LocalDateTime to);
+}
@@ -0,0 +1,29 @@
+package com.beyourshelf.service.order;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import com.beyourshelf.model.entity.Order;
+
+/**
+ * IOrderArchiveServiceAsync offers the operations of IOrderArchiveService
+ * without blocking the caller. Each method runs the matching
+ * IOrderArchiveService method on the shared service executor and completes the
+ * returned future with its result.
+ */
+public interface IOrderArchiveServiceAsync {
+
+    // See IOrderArchiveService.archiveOrdersOlderThan(int)
+    CompletableFuture<Integer> archiveOrdersOlderThan(int days);
+
+    // See IOrderArchiveService.findArchivedOrder(String)
+    CompletableFuture<Optional<Order>> findArchivedOrder(String orderNumber);
+
+    // See IOrderArchiveService.getArchivedOrdersByUser(int)
+    CompletableFuture<List<Order>> getArchivedOrdersByUser(int userId);
+
+    // See IOrderArchiveService.getArchivedOrdersBetween(LocalDateTime, LocalDateTime)
+    CompletableFuture<List<Order>> getArchivedOrdersBetween(LocalDateTime from, LocalDateTime to);
+}
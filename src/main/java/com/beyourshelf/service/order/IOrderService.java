@@ -1,8 +1,13 @@
 package com.beyourshelf.service.order;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
+import com.beyourshelf.model.dao.order.OrderPage;
+import com.beyourshelf.model.dao.order.OrderQuery;
 import com.beyourshelf.model.entity.Order;
+import com.beyourshelf.model.entity.OrderItem;
 
 /**
  * IOrderService defines the contract for order-related operations in the
@@ -27,6 +32,15 @@ public interface IOrderService {
      */
     List<Order> getAllOrders(); // New method for admin to get all orders
 
+    /**
+     * Retrieve one page of orders matching the given filters, without their
+     * items (Admin only).
+     *
+     * @param query The filters, sort order, page size and keyset cursor.
+     * @return The page of orders and the query for the next page.
+     */
+    OrderPage findOrders(OrderQuery query);
+
     /**
      * Retrieve all orders placed by a specific user.
      *
@@ -35,6 +49,39 @@ public interface IOrderService {
      */
     List<Order> getAllOrdersByUser(int userId);
 
+    /**
+     * Retrieve the orders placed by a specific user without their items, for
+     * history screens that show only the order headers.
+     *
+     * @param userId The ID of the user whose orders are being retrieved.
+     * @return A list of orders with empty item lists, newest first.
+     */
+    List<Order> getOrderSummariesByUser(int userId);
+
+    /**
+     * Retrieve a single order with its items.
+     *
+     * @param orderId The ID of the order.
+     * @return The order, or empty if it does not exist.
+     */
+    Optional<Order> getOrderById(int orderId);
+
+    /**
+     * Retrieve the items of an order, for example when the user expands it.
+     *
+     * @param orderId The ID of the order.
+     * @return The items of the order.
+     */
+    List<OrderItem> getOrderItems(int orderId);
+
+    /**
+     * Retrieve the items of several orders, fetching uncached ones in one batch.
+     *
+     * @param orderIds The IDs of the orders.
+     * @return A map of order ID to its items.
+     */
+    Map<Integer, List<OrderItem>> getOrderItems(List<Integer> orderIds);
+
     /**
      * Export selected orders of a specific user to a CSV file.
      *
@@ -61,4 +108,14 @@ public interface IOrderService {
      * @return true if the order was successfully deleted, false otherwise.
      */
     boolean deleteOrderById(int orderId);
+
+    /**
+     * Delete several orders at once, in a single transaction. A selection
+     * spanning more than eight closed months is deleted in several
+     * transactions, so a failure may leave some of the orders deleted.
+     *
+     * @param orderIds The IDs of the orders to be deleted.
+     * @return true if every order was deleted, false otherwise.
+     */
+    boolean deleteOrders(List<Integer> orderIds);
 }
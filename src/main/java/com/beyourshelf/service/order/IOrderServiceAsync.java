@@ -0,0 +1,55 @@
+package com.beyourshelf.service.order;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import com.beyourshelf.model.dao.order.OrderPage;
+import com.beyourshelf.model.dao.order.OrderQuery;
+import com.beyourshelf.model.entity.Order;
+import com.beyourshelf.model.entity.OrderItem;
+
+/**
+ * IOrderServiceAsync offers the operations of IOrderService without blocking
+ * the caller. Each method runs the matching IOrderService method on the shared
+ * service executor and completes the returned future with its result.
+ */
+public interface IOrderServiceAsync {
+
+    // See IOrderService.placeOrder(Order)
+    CompletableFuture<Boolean> placeOrder(Order order);
+
+    // See IOrderService.getAllOrders()
+    CompletableFuture<List<Order>> getAllOrders();
+
+    // See IOrderService.findOrders(OrderQuery)
+    CompletableFuture<OrderPage> findOrders(OrderQuery query);
+
+    // See IOrderService.getAllOrdersByUser(int)
+    CompletableFuture<List<Order>> getAllOrdersByUser(int userId);
+
+    // See IOrderService.getOrderSummariesByUser(int)
+    CompletableFuture<List<Order>> getOrderSummariesByUser(int userId);
+
+    // See IOrderService.getOrderById(int)
+    CompletableFuture<Optional<Order>> getOrderById(int orderId);
+
+    // See IOrderService.getOrderItems(int)
+    CompletableFuture<List<OrderItem>> getOrderItems(int orderId);
+
+    // See IOrderService.getOrderItems(List)
+    CompletableFuture<Map<Integer, List<OrderItem>>> getOrderItems(List<Integer> orderIds);
+
+    // See IOrderService.exportOrdersToCSV(int, List, String)
+    CompletableFuture<Boolean> exportOrdersToCSV(int userId, List<Integer> orderIds, String filePath);
+
+    // See IOrderService.adminExportOrdersToCSV(List, String)
+    CompletableFuture<Boolean> adminExportOrdersToCSV(List<Integer> orderIds, String filePath);
+
+    // See IOrderService.deleteOrderById(int)
+    CompletableFuture<Boolean> deleteOrderById(int orderId);
+
+    // See IOrderService.deleteOrders(List)
+    CompletableFuture<Boolean> deleteOrders(List<Integer> orderIds);
+}
@@ -0,0 +1,104 @@
+package com.beyourshelf.service.order;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+
+import com.beyourshelf.model.dao.order.IOrderArchiveDAO;
+import com.beyourshelf.model.dao.order.OrderArchiveDAO;
+import com.beyourshelf.model.entity.Order;
+import com.beyourshelf.service.payment.OrderNumberGenerator;
+
+/**
+ * OrderArchiveService moves old orders into the monthly archive partitions.
+ * Each batch is its own short transaction, so checkouts are only blocked
+ * briefly while a large archive run is in progress.
+ */
+public class OrderArchiveService implements IOrderArchiveService {
+
+    private static final int BATCH_SIZE = 500; // Maximum orders moved per transaction
+
+    // Singleton instance
+    private static OrderArchiveService instance;
+    private final IOrderArchiveDAO archiveDAO;
+
+    // Private constructor for Singleton
+    private OrderArchiveService() {
+        this.archiveDAO = new OrderArchiveDAO();
+    }
+
+    // Get the singleton instance of OrderArchiveService
+    public static synchronized OrderArchiveService getInstance() {
+        if (instance == null) {
+            instance = new OrderArchiveService();
+        }
+        return instance;
+    }
+
+    /**
+     * Archives orders older than the given number of days, one batch at a time,
+     * until none are left. A batch stops at the end of a month, so a short batch
+     * does not mean the run is finished.
+     *
+     * @param days Orders placed more than this many days ago are archived.
+     * @return The number of orders archived.
+     * @throws IllegalStateException if a batch fails; the batches before it stay
+     *                               archived.
+     */
+    @Override
+    public synchronized int archiveOrdersOlderThan(int days) {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(days);
+        int total = 0;
+        int archived;
+        do {
+            archived = archiveDAO.archiveOrdersBefore(cutoff, BATCH_SIZE);
+            if (archived < 0) {
+                throw new IllegalStateException("Archiving stopped after " + total + " orders because a batch failed.");
+            }
+            total += archived;
+        } while (archived > 0);
+        System.out.println("Archived " + total + " orders placed before " + cutoff);
+        return total;
+    }
+
+    /**
+     * Looks up an archived order by its order number.
+     *
+     * @param orderNumber The order number.
+     * @return The archived order with its items, or empty if it is not archived.
+     */
+    @Override
+    public Optional<Order> findArchivedOrder(String orderNumber) {
+        // The time embedded in the order number narrows the search to its month
+        YearMonth placedIn = OrderNumberGenerator.issuedAt(orderNumber)
+                .map(issued -> YearMonth.from(issued.atZone(ZoneId.systemDefault())))
+                .orElse(null);
+        return archiveDAO.findArchivedOrder(orderNumber, placedIn);
+    }
+
+    /**
+     * Retrieves the archived orders of a user.
+     *
+     * @param userId The ID of the user.
+     * @return The user's archived orders with their items, newest first.
+     */
+    @Override
+    public List<Order> getArchivedOrdersByUser(int userId) {
+        return archiveDAO.getArchivedOrdersByUser(userId);
+    }
+
+    /**
+     * Retrieves the archived orders placed in a time range. Only the monthly
+     * partitions overlapping the range are read.
+     *
+     * @param from The start of the range, inclusive.
+     * @param to   The end of the range, exclusive.
+     * @return The archived orders in the range with their items, newest first.
+     */
+    @Override
+    public List<Order> getArchivedOrdersBetween(LocalDateTime from, LocalDateTime to) {
+        return archiveDAO.getArchivedOrdersBetween(from, to);
+    }
+}
@@ -0,0 +1,44 @@
+package com.beyourshelf.service.order;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import com.beyourshelf.model.entity.Order;
+import com.beyourshelf.service.AsyncServiceExecutor;
+
+/**
+ * OrderArchiveServiceAsync runs IOrderArchiveService calls on the shared
+ * service executor.
+ */
+public class OrderArchiveServiceAsync implements IOrderArchiveServiceAsync {
+
+    private final IOrderArchiveService orderArchiveService; // The service doing the work
+    private final AsyncServiceExecutor executor; // Runs the calls on virtual threads
+
+    public OrderArchiveServiceAsync(IOrderArchiveService orderArchiveService, AsyncServiceExecutor executor) {
+        this.orderArchiveService = orderArchiveService;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletableFuture<Integer> archiveOrdersOlderThan(int days) {
+        return executor.supply(() -> orderArchiveService.archiveOrdersOlderThan(days));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Order>> findArchivedOrder(String orderNumber) {
+        return executor.supply(() -> orderArchiveService.findArchivedOrder(orderNumber));
+    }
+
+    @Override
+    public CompletableFuture<List<Order>> getArchivedOrdersByUser(int userId) {
+        return executor.supply(() -> orderArchiveService.getArchivedOrdersByUser(userId));
+    }
+
+    @Override
+    public CompletableFuture<List<Order>> getArchivedOrdersBetween(LocalDateTime from, LocalDateTime to) {
+        return executor.supply(() -> orderArchiveService.getArchivedOrdersBetween(from, to));
+    }
+}
@@ -1,10 +1,18 @@
 package com.beyourshelf.service.order;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import com.beyourshelf.model.dao.order.IOrderDAO;
 import com.beyourshelf.model.dao.order.OrderDAO;
+import com.beyourshelf.model.dao.order.OrderPage;
+import com.beyourshelf.model.dao.order.OrderQuery;
 import com.beyourshelf.model.entity.Order;
+import com.beyourshelf.model.entity.OrderItem;
+import com.beyourshelf.utils.collections.LruCache;
 import com.beyourshelf.utils.export.CSVExportUtility;
 
 /**
@@ -17,8 +25,13 @@ public class OrderService implements IOrderService {
 
     // Singleton instance of OrderService
     private static OrderService instance;
+    private static final int ITEM_CACHE_SIZE = 64; // Recently expanded orders kept in memory
+
     private final IOrderDAO orderDAO; // DAO to interact with the database
 
+    // Items of recently expanded orders; orders are immutable once placed
+    private final LruCache<Integer, List<OrderItem>> orderItemCache = new LruCache<>(ITEM_CACHE_SIZE);
+
     // Private constructor to prevent direct instantiation
     private OrderService() {
         this.orderDAO = new OrderDAO();
@@ -29,7 +42,7 @@ public class OrderService implements IOrderService {
      *
      * @return The single instance of OrderService.
      */
-    public static OrderService getInstance() {
+    public static synchronized OrderService getInstance() {
         if (instance == null) {
             instance = new OrderService();
         }
@@ -57,6 +70,17 @@ public class OrderService implements IOrderService {
         return orderDAO.getAllOrders(); // Method for admin to get all orders
     }
 
+    /**
+     * Retrieve one page of orders matching the given filters.
+     *
+     * @param query The filters, sort order, page size and keyset cursor.
+     * @return The page of orders and the query for the next page.
+     */
+    @Override
+    public OrderPage findOrders(OrderQuery query) {
+        return orderDAO.findOrders(query);
+    }
+
     /**
      * Retrieve all orders placed by a specific user.
      *
@@ -68,6 +92,70 @@ public class OrderService implements IOrderService {
         return orderDAO.getAllOrdersByUser(userId);
     }
 
+    /**
+     * Retrieve the orders placed by a specific user without their items.
+     *
+     * @param userId The ID of the user whose orders are being retrieved.
+     * @return A list of orders with empty item lists, newest first.
+     */
+    @Override
+    public List<Order> getOrderSummariesByUser(int userId) {
+        return orderDAO.getOrderSummariesByUser(userId);
+    }
+
+    /**
+     * Retrieve a single order with its items.
+     *
+     * @param orderId The ID of the order.
+     * @return The order, or empty if it does not exist.
+     */
+    @Override
+    public Optional<Order> getOrderById(int orderId) {
+        return orderDAO.getOrderById(orderId);
+    }
+
+    /**
+     * Retrieve the items of an order, from the cache if it was recently loaded.
+     *
+     * @param orderId The ID of the order.
+     * @return The items of the order.
+     */
+    @Override
+    public List<OrderItem> getOrderItems(int orderId) {
+        return getOrderItems(List.of(orderId)).getOrDefault(orderId, List.of());
+    }
+
+    /**
+     * Retrieve the items of several orders. Cached orders are served from memory
+     * and the rest are fetched together in one batch.
+     *
+     * @param orderIds The IDs of the orders.
+     * @return A map of order ID to its items.
+     */
+    @Override
+    public Map<Integer, List<OrderItem>> getOrderItems(List<Integer> orderIds) {
+        Map<Integer, List<OrderItem>> itemsByOrder = new HashMap<>();
+        List<Integer> missing = new ArrayList<>();
+        for (Integer orderId : orderIds) {
+            List<OrderItem> cached = orderItemCache.get(orderId);
+            if (cached != null) {
+                itemsByOrder.put(orderId, cached);
+            } else {
+                missing.add(orderId);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            Map<Integer, List<OrderItem>> fetched = orderDAO.getOrderItems(missing);
+            fetched.forEach((orderId, items) -> {
+                List<OrderItem> unmodifiable = List.copyOf(items);
+                orderItemCache.put(orderId, unmodifiable);
+                itemsByOrder.put(orderId, unmodifiable);
+            });
+        }
+        return itemsByOrder;
+    }
+
     /**
      * Export selected orders of a user to a CSV file.
      *
@@ -111,6 +199,20 @@ public class OrderService implements IOrderService {
      * @return true if the deletion was successful, false otherwise.
      */
     public boolean deleteOrderById(int orderId) {
+        orderItemCache.remove(orderId);
         return orderDAO.deleteOrderById(orderId);
     }
+
+    /**
+     * Delete several orders from the database, in a single transaction unless
+     * they span more than eight closed months.
+     *
+     * @param orderIds The IDs of the orders to be deleted.
+     * @return true if every order was deleted, false otherwise.
+     */
+    @Override
+    public boolean deleteOrders(List<Integer> orderIds) {
+        orderIds.forEach(orderItemCache::remove);
+        return orderDAO.deleteOrders(orderIds);
+    }
 }
@@ -0,0 +1,86 @@
+package com.beyourshelf.service.order;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import com.beyourshelf.model.dao.order.OrderPage;
+import com.beyourshelf.model.dao.order.OrderQuery;
+import com.beyourshelf.model.entity.Order;
+import com.beyourshelf.model.entity.OrderItem;
+import com.beyourshelf.service.AsyncServiceExecutor;
+
+/**
+ * OrderServiceAsync runs IOrderService calls on the shared service executor.
+ */
+public class OrderServiceAsync implements IOrderServiceAsync {
+
+    private final IOrderService orderService; // The service doing the work
+    private final AsyncServiceExecutor executor; // Runs the calls on virtual threads
+
+    public OrderServiceAsync(IOrderService orderService, AsyncServiceExecutor executor) {
+        this.orderService = orderService;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> placeOrder(Order order) {
+        return executor.supply(() -> orderService.placeOrder(order));
+    }
+
+    @Override
+    public CompletableFuture<List<Order>> getAllOrders() {
+        return executor.supply(orderService::getAllOrders);
+    }
+
+    @Override
+    public CompletableFuture<OrderPage> findOrders(OrderQuery query) {
+        return executor.supply(() -> orderService.findOrders(query));
+    }
+
+    @Override
+    public CompletableFuture<List<Order>> getAllOrdersByUser(int userId) {
+        return executor.supply(() -> orderService.getAllOrdersByUser(userId));
+    }
+
+    @Override
+    public CompletableFuture<List<Order>> getOrderSummariesByUser(int userId) {
+        return executor.supply(() -> orderService.getOrderSummariesByUser(userId));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Order>> getOrderById(int orderId) {
+        return executor.supply(() -> orderService.getOrderById(orderId));
+    }
+
+    @Override
+    public CompletableFuture<List<OrderItem>> getOrderItems(int orderId) {
+        return executor.supply(() -> orderService.getOrderItems(orderId));
+    }
+
+    @Override
+    public CompletableFuture<Map<Integer, List<OrderItem>>> getOrderItems(List<Integer> orderIds) {
+        return executor.supply(() -> orderService.getOrderItems(orderIds));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> exportOrdersToCSV(int userId, List<Integer> orderIds, String filePath) {
+        return executor.supply(() -> orderService.exportOrdersToCSV(userId, orderIds, filePath));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> adminExportOrdersToCSV(List<Integer> orderIds, String filePath) {
+        return executor.supply(() -> orderService.adminExportOrdersToCSV(orderIds, filePath));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteOrderById(int orderId) {
+        return executor.supply(() -> orderService.deleteOrderById(orderId));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteOrders(List<Integer> orderIds) {
+        return executor.supply(() -> orderService.deleteOrders(orderIds));
+    }
+}
@@ -0,0 +1,109 @@
+package com.beyourshelf.service.payment;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates unique, increasing order numbers without locking.
+ *
+ * Each number is a 63-bit Snowflake-style ID made of the milliseconds since
+ * 2024-01-01 (41 bits), the node ID (10 bits) and a per-millisecond sequence
+ * (12 bits). The last issued (timestamp, sequence) pair is kept in one
+ * AtomicLong and advanced with compare-and-set, so concurrent checkouts never
+ * receive the same number. When the sequence of a millisecond is exhausted, or
+ * the clock moves backwards, the generator continues from the last issued
+ * value instead of waiting, so numbers stay strictly increasing per node.
+ */
+public class OrderNumberGenerator {
+
+    // System property selecting this instance's node ID (0 to 1023)
+    public static final String NODE_ID_PROPERTY = "beyourshelf.node.id";
+
+    private static final String PREFIX = "ORDER-"; // Prefix kept from the original order reference format
+    private static final long EPOCH_MILLIS = 1704067200000L; // 2024-01-01T00:00:00Z
+
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long nodeId; // Node ID, unique per running application instance
+    private final AtomicLong lastState = new AtomicLong(); // Last issued (timestamp << SEQUENCE_BITS | sequence)
+
+    /**
+     * Creates a generator for the given node.
+     *
+     * @param nodeId The node ID, between 0 and 1023.
+     * @throws IllegalArgumentException if the node ID is out of range.
+     */
+    public OrderNumberGenerator(long nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node ID must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeId = nodeId;
+    }
+
+    /**
+     * Creates a generator for the node configured with the node ID system
+     * property, or node 0 if it is not set.
+     *
+     * @return The generator for this application instance.
+     */
+    public static OrderNumberGenerator fromSystemProperty() {
+        return new OrderNumberGenerator(Long.getLong(NODE_ID_PROPERTY, 0L));
+    }
+
+    /**
+     * Returns the next order ID.
+     *
+     * @return A positive ID, greater than every ID previously returned by this
+     *         generator.
+     */
+    public long nextId() {
+        while (true) {
+            long previous = lastState.get();
+            long now = System.currentTimeMillis() - EPOCH_MILLIS;
+            // A new millisecond restarts the sequence; otherwise the sequence
+            // carries into the timestamp when it overflows
+            long next = now > (previous >>> SEQUENCE_BITS) ? now << SEQUENCE_BITS : previous + 1;
+            if (lastState.compareAndSet(previous, next)) {
+                long timestamp = next >>> SEQUENCE_BITS;
+                return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    /**
+     * Returns the next order number in the "ORDER-<id>" format.
+     *
+     * @return A unique order number.
+     */
+    public String nextOrderNumber() {
+        return PREFIX + nextId();
+    }
+
+    /**
+     * Extracts the time at which an order number was issued. Order numbers from
+     * before this generator was introduced have no embedded time, in which case
+     * the result is meaningless, so it should only be used as a hint.
+     *
+     * @param orderNumber The order number.
+     * @return The issue time, or empty if the order number is not in the
+     *         "ORDER-<id>" format.
+     */
+    public static Optional<Instant> issuedAt(String orderNumber) {
+        if (orderNumber == null || !orderNumber.startsWith(PREFIX)) {
+            return Optional.empty();
+        }
+        try {
+            long id = Long.parseLong(orderNumber.substring(PREFIX.length()));
+            if (id <= 0) {
+                return Optional.empty();
+            }
+            return Optional.of(Instant.ofEpochMilli((id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+}
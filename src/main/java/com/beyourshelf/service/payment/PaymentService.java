@@ -13,8 +13,12 @@ public class PaymentService implements IPaymentService {
     // Singleton instance
     private static PaymentService instance;
 
+    // Issues collision-free order references for concurrent checkouts
+    private final OrderNumberGenerator orderNumberGenerator;
+
     // Private constructor for Singleton pattern
     private PaymentService() {
+        this.orderNumberGenerator = OrderNumberGenerator.fromSystemProperty();
     }
 
     /**
@@ -58,7 +62,7 @@ public class PaymentService implements IPaymentService {
     public Optional<String> processPayment(String cardNumber, String cardHolderName, String expiryDate, String cvv) {
         if (validatePayment(cardNumber, cardHolderName, expiryDate, cvv)) {
             // Simulate successful payment by generating a unique order reference
-            String orderReference = "ORDER-" + System.currentTimeMillis();
+            String orderReference = orderNumberGenerator.nextOrderNumber();
             System.out.println("Payment processed successfully. Order Reference: " + orderReference);
             return Optional.of(orderReference); // Return the generated order reference
         } else {
@@ -0,0 +1,73 @@
+package com.beyourshelf.service.session;
+
+import java.util.Optional;
+
+import com.beyourshelf.model.entity.LoginResult;
+import com.beyourshelf.model.entity.Session;
+
+/**
+ * ISessionService keeps the sessions of every user logged in to this process,
+ * keyed by session token. Sessions that stay idle for too long are evicted,
+ * except the one bound to the desktop window.
+ */
+public interface ISessionService {
+
+    /**
+     * Open a session for a successful login.
+     *
+     * @param result The successful login result.
+     * @return The new session, holding the user's cart for regular users.
+     */
+    Session openSession(LoginResult result);
+
+    /**
+     * Open the session of the desktop window. The window holds on to its session
+     * for as long as the user stays logged in, so the session is never evicted
+     * for being idle; it is only closed on logout.
+     *
+     * @param result The successful login result.
+     * @return The new session, holding the user's cart for regular users.
+     */
+    Session openDesktopSession(LoginResult result);
+
+    /**
+     * Look up a session and mark it as active.
+     *
+     * @param token The session token.
+     * @return The session, or empty if the token is unknown or was evicted.
+     */
+    Optional<Session> getSession(String token);
+
+    /**
+     * Replace the name held by a session after a profile update.
+     *
+     * @param token     The session token.
+     * @param firstName The new first name.
+     * @param lastName  The new last name.
+     * @return The updated session, or empty if the token is unknown.
+     */
+    Optional<Session> updateProfile(String token, String firstName, String lastName);
+
+    /**
+     * Close a session on logout, persisting its pending cart changes.
+     *
+     * @param token The session token.
+     * @return true if the session was open; false otherwise.
+     */
+    boolean closeSession(String token);
+
+    /**
+     * Close every session that has been idle for longer than the idle timeout,
+     * except desktop sessions.
+     *
+     * @return The number of sessions evicted.
+     */
+    int evictIdleSessions();
+
+    /**
+     * Get the number of open sessions.
+     *
+     * @return The number of open sessions.
+     */
+    int getSessionCount();
+}
@@ -0,0 +1,227 @@
+package com.beyourshelf.service.session;
+
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.beyourshelf.model.entity.LoginResult;
+import com.beyourshelf.model.entity.Session;
+import com.beyourshelf.service.cart.CartSyncService;
+import com.beyourshelf.service.cart.ICartSyncService;
+
+/**
+ * SessionService is the registry of open sessions, so the service layer can
+ * serve several users from one process, for example in a headless deployment.
+ *
+ * Sessions are immutable and stored in a concurrent map keyed by token, next to
+ * the time they were last used. A background task evicts sessions that have
+ * been idle for longer than the timeout; the session of the desktop window is
+ * exempt, since the window uses it without going through this service.
+ * Closing or evicting a session flushes its pending cart changes, so nothing a
+ * shopper did is lost.
+ */
+public class SessionService implements ISessionService, AutoCloseable {
+
+    // System property overriding the number of idle minutes before a session is evicted
+    public static final String IDLE_TIMEOUT_MINUTES_PROPERTY = "beyourshelf.session.idleTimeoutMinutes";
+
+    private static final int DEFAULT_IDLE_TIMEOUT_MINUTES = 30;
+    private static final long EVICTION_INTERVAL_SECONDS = 60;
+    private static final int TOKEN_BYTES = 32; // 256 random bits per token
+
+    // Singleton instance
+    private static SessionService instance;
+
+    private final Map<String, Entry> sessions = new ConcurrentHashMap<>();
+    private final SecureRandom random = new SecureRandom();
+    private final ICartSyncService cartSyncService;
+    private final long idleTimeoutNanos;
+    private final ScheduledExecutorService evictor;
+
+    // Private constructor for Singleton
+    private SessionService() {
+        this.cartSyncService = CartSyncService.getInstance();
+        this.idleTimeoutNanos = TimeUnit.MINUTES.toNanos(Math.max(1,
+                Integer.getInteger(IDLE_TIMEOUT_MINUTES_PROPERTY, DEFAULT_IDLE_TIMEOUT_MINUTES)));
+        this.evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        evictor.scheduleWithFixedDelay(this::evictIdleSessions, EVICTION_INTERVAL_SECONDS,
+                EVICTION_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    // Get the singleton instance of SessionService
+    public static synchronized SessionService getInstance() {
+        if (instance == null) {
+            instance = new SessionService();
+        }
+        return instance;
+    }
+
+    /**
+     * Open a session for a successful login.
+     *
+     * @param result The successful login result.
+     * @return The new session, holding the user's cart for regular users.
+     */
+    @Override
+    public Session openSession(LoginResult result) {
+        return open(result, false);
+    }
+
+    /**
+     * Open the session of the desktop window, which is exempt from idle
+     * eviction. The window only reads its session object, so the service never
+     * sees it being used.
+     *
+     * @param result The successful login result.
+     * @return The new session, holding the user's cart for regular users.
+     */
+    @Override
+    public Session openDesktopSession(LoginResult result) {
+        return open(result, true);
+    }
+
+    // Creates and registers a session for a successful login
+    private Session open(LoginResult result, boolean pinned) {
+        if (!result.isSuccess()) {
+            throw new IllegalArgumentException("Cannot open a session for a failed login");
+        }
+        Session session = new Session(newToken(), result.getUser(),
+                result.isAdmin() ? null : result.toShoppingCart(), Instant.now());
+        sessions.put(session.getToken(), new Entry(session, pinned));
+        return session;
+    }
+
+    /**
+     * Look up a session and mark it as active.
+     *
+     * @param token The session token.
+     * @return The session, or empty if the token is unknown or was evicted.
+     */
+    @Override
+    public Optional<Session> getSession(String token) {
+        Entry entry = token != null ? sessions.get(token) : null;
+        if (entry == null) {
+            return Optional.empty();
+        }
+        entry.lastAccess = System.nanoTime();
+        return Optional.of(entry.session);
+    }
+
+    /**
+     * Replace the name held by a session after a profile update.
+     *
+     * @param token     The session token.
+     * @param firstName The new first name.
+     * @param lastName  The new last name.
+     * @return The updated session, or empty if the token is unknown.
+     */
+    @Override
+    public Optional<Session> updateProfile(String token, String firstName, String lastName) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        Entry updated = sessions.computeIfPresent(token,
+                (_, entry) -> new Entry(entry.session.withProfile(firstName, lastName), entry.pinned));
+        return updated != null ? Optional.of(updated.session) : Optional.empty();
+    }
+
+    /**
+     * Close a session on logout, persisting its pending cart changes.
+     *
+     * @param token The session token.
+     * @return true if the session was open; false otherwise.
+     */
+    @Override
+    public boolean closeSession(String token) {
+        Entry entry = token != null ? sessions.remove(token) : null;
+        if (entry == null) {
+            return false;
+        }
+        flushCart(entry.session);
+        return true;
+    }
+
+    /**
+     * Close every session that has been idle for longer than the idle timeout.
+     * A session used while the sweep runs is kept, and so is the desktop
+     * session.
+     *
+     * @return The number of sessions evicted.
+     */
+    @Override
+    public int evictIdleSessions() {
+        long now = System.nanoTime();
+        int evicted = 0;
+        for (Map.Entry<String, Entry> mapping : sessions.entrySet()) {
+            Entry entry = mapping.getValue();
+            if (!entry.pinned && now - entry.lastAccess > idleTimeoutNanos
+                    && sessions.remove(mapping.getKey(), entry)) {
+                flushCart(entry.session);
+                evicted++;
+            }
+        }
+        if (evicted > 0) {
+            System.out.println("Evicted " + evicted + " idle sessions");
+        }
+        return evicted;
+    }
+
+    /**
+     * Get the number of open sessions.
+     *
+     * @return The number of open sessions.
+     */
+    @Override
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    // Stops the eviction task; a later getInstance() creates a fresh service
+    @Override
+    public void close() {
+        synchronized (SessionService.class) {
+            if (instance == this) {
+                instance = null;
+            }
+        }
+        evictor.shutdownNow();
+    }
+
+    // Persists the pending cart changes of a session that is going away
+    private void flushCart(Session session) {
+        if (session.getShoppingCart() != null) {
+            cartSyncService.flush(session.getShoppingCart().getCartId());
+        }
+    }
+
+    // Generates an unguessable URL-safe token
+    private String newToken() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * A session and the time it was last used, in System.nanoTime() units.
+     */
+    private static class Entry {
+        private final Session session;
+        private final boolean pinned; // Desktop session, never evicted for being idle
+        private volatile long lastAccess = System.nanoTime();
+
+        Entry(Session session, boolean pinned) {
+            this.session = session;
+            this.pinned = pinned;
+        }
+    }
+}
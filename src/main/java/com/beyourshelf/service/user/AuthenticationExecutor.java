@@ -0,0 +1,69 @@
+package com.beyourshelf.service.user;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Bounded executor for password verification.
+ *
+ * bcrypt verification is deliberately CPU-heavy, so logins run here instead of
+ * on the JavaFX thread. The pool has one thread per core and a fixed-size
+ * queue; when a burst of logins fills the queue, further attempts are rejected
+ * straight away instead of piling up and starving the rest of the application
+ * of CPU time. Threads are daemons and time out when idle.
+ */
+public class AuthenticationExecutor {
+
+    private static final int DEFAULT_QUEUE_CAPACITY = 64; // Logins allowed to wait for a free thread
+    private static final long IDLE_TIMEOUT_SECONDS = 60; // Idle threads are released after this
+
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Creates an executor with the given number of threads and queue capacity.
+     *
+     * @param threads       The number of verification threads.
+     * @param queueCapacity The number of tasks that may wait for a thread.
+     */
+    public AuthenticationExecutor(int threads, int queueCapacity) {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, IDLE_TIMEOUT_SECONDS, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "auth-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Creates an executor with one thread per available core.
+     *
+     * @return The executor.
+     */
+    public static AuthenticationExecutor forAvailableProcessors() {
+        return new AuthenticationExecutor(Runtime.getRuntime().availableProcessors(), DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Runs a task on the executor.
+     *
+     * @param task The task to run.
+     * @param <T>  The type of the task's result.
+     * @return A future completed with the task's result, or completed
+     *         exceptionally with a RejectedExecutionException if the queue is
+     *         full.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
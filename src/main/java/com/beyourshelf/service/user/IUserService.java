@@ -1,9 +1,14 @@
 package com.beyourshelf.service.user;
 
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
+import com.beyourshelf.model.dao.user.UserPage;
+import com.beyourshelf.model.entity.LoginResult;
 import com.beyourshelf.model.entity.User;
+import com.beyourshelf.model.entity.UserImportResult;
 
 public interface IUserService {
 
@@ -16,6 +21,28 @@ public interface IUserService {
      */
     boolean validateUserLogin(String username, String password);
 
+    /**
+     * Authenticate a user and load everything needed to open their dashboard:
+     * the user, their role, and for regular users their active cart with its
+     * books. Runs on the calling thread.
+     *
+     * @param username The username provided for login.
+     * @param password The password provided for login.
+     * @return The result of the login attempt.
+     */
+    LoginResult authenticate(String username, String password);
+
+    /**
+     * Log a user in without blocking the calling thread. The password check and
+     * the loading of the user's role and cart run on a bounded background
+     * executor.
+     *
+     * @param username The username provided for login.
+     * @param password The password provided for login.
+     * @return A future completed with the result of the login attempt.
+     */
+    CompletableFuture<LoginResult> loginAsync(String username, String password);
+
     /**
      * Check if the user is an admin.
      *
@@ -28,7 +55,8 @@ public interface IUserService {
      * Retrieve a user by their username.
      *
      * @param username The username to search for.
-     * @return An Optional containing the User if found; empty otherwise.
+     * @return An Optional containing the User, without its password, if found;
+     *         empty otherwise.
      */
     Optional<User> getUserByUsername(String username);
 
@@ -56,6 +84,27 @@ public interface IUserService {
      */
     boolean registerUser(String username, String firstName, String lastName, String password, boolean isAdmin);
 
+    /**
+     * Check whether a username is free, without querying the database. Meant
+     * for feedback while a user types; registration still relies on the
+     * database to reject duplicates.
+     *
+     * @param username The username to check.
+     * @return true if no user has the username; false otherwise.
+     */
+    boolean isUsernameAvailable(String username);
+
+    /**
+     * Import users in bulk from a CSV file with the columns
+     * username,first_name,last_name,password,is_admin.
+     *
+     * @param csvFile    The file to import.
+     * @param rejectFile The file receiving the rows that could not be imported.
+     * @return The summary of the import, or null if a file could not be read or
+     *         written.
+     */
+    UserImportResult importUsers(Path csvFile, Path rejectFile);
+
     /**
      * Get the user ID based on the username.
      *
@@ -71,6 +120,18 @@ public interface IUserService {
      */
     List<User> getAllUsers();
 
+    /**
+     * Search regular (non-admin) users one page at a time, ordered by username
+     * ignoring case.
+     *
+     * @param prefixOrId A username prefix, matched ignoring case, or a user ID.
+     *                   Empty to match every regular user.
+     * @param page       The previous page, or null to fetch the first page.
+     * @param pageSize   The maximum number of users on the page.
+     * @return The page of users.
+     */
+    UserPage searchUsers(String prefixOrId, UserPage page, int pageSize);
+
     /**
      * Delete a user based on their user ID.
      *
@@ -0,0 +1,17 @@
+package com.beyourshelf.service.user;
+
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+
+import com.beyourshelf.model.entity.UserImportResult;
+
+/**
+ * IUserServiceAsync offers the long-running operations of IUserService without
+ * blocking the caller. Each method runs the matching IUserService method on the
+ * shared service executor and completes the returned future with its result.
+ */
+public interface IUserServiceAsync {
+
+    // See IUserService.importUsers(Path, Path)
+    CompletableFuture<UserImportResult> importUsers(Path csvFile, Path rejectFile);
+}
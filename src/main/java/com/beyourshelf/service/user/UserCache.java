@@ -0,0 +1,204 @@
+package com.beyourshelf.service.user;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import com.beyourshelf.model.entity.User;
+
+/**
+ * Read-through cache of user profiles, keyed by username and by user ID.
+ *
+ * Entries expire after a fixed time so changes made outside this process are
+ * picked up eventually, and the least recently used entry is evicted once the
+ * capacity is reached. Cached users never hold a password hash, and callers get
+ * their own copy because User is mutable. Lookups and misses are counted so the
+ * hit rate can be checked.
+ */
+public class UserCache {
+
+    private final int capacity; // Maximum number of cached users
+    private final long ttlNanos; // Time a cached user stays valid
+
+    // Entries in access order, least recently used first
+    private final Map<String, Entry> byUsername = new LinkedHashMap<>(16, 0.75f, true);
+
+    // Username of each cached user ID, kept in step with byUsername
+    private final Map<Integer, String> usernameById = new HashMap<>();
+
+    // Bumped on every invalidation, so loads that raced with one are not cached
+    private long invalidations;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Creates a cache.
+     *
+     * @param capacity   The maximum number of cached users.
+     * @param ttlSeconds The number of seconds a cached user stays valid.
+     */
+    public UserCache(int capacity, long ttlSeconds) {
+        this.capacity = Math.max(1, capacity);
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+    }
+
+    /**
+     * Returns the user with the given username, loading it on a miss. Users that
+     * are not found are not cached, so a later registration is seen at once.
+     *
+     * @param username The username to look up.
+     * @param loader   Loads the user from the database, returning null if absent.
+     * @return A copy of the user without the password, or null if not found.
+     */
+    public User get(String username, Function<String, User> loader) {
+        long invalidationsBeforeLoad;
+        synchronized (this) {
+            Entry entry = byUsername.get(username);
+            if (entry != null && entry.expiresAt - System.nanoTime() > 0) {
+                hits.increment();
+                return copyOf(entry.user);
+            }
+            if (entry != null) {
+                remove(username); // Expired
+            }
+            invalidationsBeforeLoad = invalidations;
+        }
+        misses.increment();
+
+        // Load outside the lock so a slow query does not block other lookups
+        User loaded = loader.apply(username);
+        if (loaded == null) {
+            return null;
+        }
+        User cached = copyOf(loaded);
+        putIfNotInvalidatedSince(cached, invalidationsBeforeLoad);
+        return copyOf(cached);
+    }
+
+    /**
+     * Returns the number of invalidations so far. Callers that read a user by
+     * other means take it before the read and pass it to
+     * {@link #putIfNotInvalidatedSince(User, long)}.
+     *
+     * @return The invalidation count.
+     */
+    public synchronized long getInvalidationCount() {
+        return invalidations;
+    }
+
+    /**
+     * Caches a user that was read by other means, such as during login, unless
+     * an invalidation happened since the read began. Otherwise a read that raced
+     * with an update could put the old profile back until it expires.
+     *
+     * @param user                The user to cache. The password is not kept.
+     * @param invalidationsBefore The invalidation count taken before the read.
+     */
+    public synchronized void putIfNotInvalidatedSince(User user, long invalidationsBefore) {
+        if (invalidations == invalidationsBefore) {
+            put(user);
+        }
+    }
+
+    // Caches a user without the invalidation check; callers hold the lock
+    private void put(User user) {
+        String previous = usernameById.get(user.getId());
+        if (previous != null && !previous.equals(user.getUsername())) {
+            byUsername.remove(previous); // The user was renamed
+        }
+        byUsername.put(user.getUsername(), new Entry(copyOf(user), System.nanoTime() + ttlNanos));
+        usernameById.put(user.getId(), user.getUsername());
+        if (byUsername.size() > capacity) {
+            remove(byUsername.keySet().iterator().next()); // Least recently used
+        }
+    }
+
+    /**
+     * Drops the cached user with the given username.
+     *
+     * @param username The username of the changed user.
+     */
+    public synchronized void invalidate(String username) {
+        invalidations++;
+        remove(username);
+    }
+
+    /**
+     * Drops the cached user with the given ID.
+     *
+     * @param userId The ID of the changed user.
+     */
+    public synchronized void invalidate(int userId) {
+        invalidations++;
+        String username = usernameById.get(userId);
+        if (username != null) {
+            remove(username);
+        }
+    }
+
+    /**
+     * Drops every cached user.
+     */
+    public synchronized void clear() {
+        invalidations++;
+        byUsername.clear();
+        usernameById.clear();
+    }
+
+    // Getter for the number of lookups served from the cache
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    // Getter for the number of lookups that had to query the database
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the share of lookups served from the cache.
+     *
+     * @return The hit rate between 0 and 1, or 0 before the first lookup.
+     */
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("UserCache[hits=%d, misses=%d, hitRate=%.2f]", getHitCount(), getMissCount(),
+                getHitRate());
+    }
+
+    // Removes a username and its ID mapping; callers hold the lock
+    private void remove(String username) {
+        Entry entry = byUsername.remove(username);
+        if (entry != null) {
+            usernameById.remove(entry.user.getId());
+        }
+    }
+
+    // Copies a user without the password, as the user list query does
+    private static User copyOf(User user) {
+        return new User(user.getId(), user.getUsername(), user.getFirstName(), user.getLastName(), "",
+                user.isAdmin());
+    }
+
+    /**
+     * A cached user and the time it expires, in System.nanoTime() units.
+     */
+    private static class Entry {
+        private final User user;
+        private final long expiresAt;
+
+        Entry(User user, long expiresAt) {
+            this.user = user;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
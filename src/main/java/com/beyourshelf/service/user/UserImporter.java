@@ -0,0 +1,248 @@
+package com.beyourshelf.service.user;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+import com.beyourshelf.model.dao.user.IUserDAO;
+import com.beyourshelf.model.entity.UserImportResult;
+import com.beyourshelf.utils.auth.PasswordUtils;
+
+/**
+ * Imports users in bulk from CSV with the columns
+ * username,first_name,last_name,password,is_admin (a header row is optional).
+ * A field may be enclosed in double quotes to hold commas, with a doubled
+ * quote standing for a quote inside it. Quoted fields cannot span lines.
+ *
+ * Rows are processed in chunks. The passwords of one chunk are hashed in
+ * parallel on a work-stealing pool while the previous chunk is inserted in a
+ * single batched transaction, so hashing and writing overlap. A new chunk is
+ * only read once the previous one has been handed to the writer, so at most two
+ * chunks are held in memory however large the input is.
+ *
+ * Rows that cannot be imported, such as rows with missing fields or taken
+ * usernames, are written to the reject output as line,username,reason, and
+ * rows with more columns than expected are rejected rather than guessed at.
+ * Passwords are never written to the reject output.
+ */
+public class UserImporter {
+
+    private static final int CHUNK_SIZE = 500; // Rows hashed and inserted together
+    private static final String HEADER_PREFIX = "username,"; // Start of the optional header row
+    private static final int MAX_COLUMNS = 5; // username,first_name,last_name,password,is_admin
+
+    private final IUserDAO userDAO;
+
+    private int lineNumber; // Last line read from the source
+    private int imported; // Users inserted so far
+    private int rejected; // Rows rejected so far
+
+    /**
+     * Creates an importer that inserts users through the given DAO. An importer
+     * runs one import at a time.
+     *
+     * @param userDAO The DAO used to insert the users.
+     */
+    public UserImporter(IUserDAO userDAO) {
+        this.userDAO = userDAO;
+    }
+
+    /**
+     * Imports every row of the source.
+     *
+     * @param source  The CSV input.
+     * @param rejects The output receiving the rejected rows.
+     * @return The summary of the import.
+     * @throws IOException if the source cannot be read or the rejects cannot be
+     *                     written.
+     */
+    public synchronized UserImportResult importUsers(Reader source, Writer rejects) throws IOException {
+        long start = System.currentTimeMillis();
+        lineNumber = 0;
+        imported = 0;
+        rejected = 0;
+
+        BufferedReader reader = new BufferedReader(source);
+        rejects.write("line,username,reason\n");
+        try (ForkJoinPool hashingPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors())) {
+            CompletableFuture<List<ImportRow>> pending = null; // Chunk being hashed, not yet written
+            List<ImportRow> chunk;
+            while ((chunk = readChunk(reader, rejects)) != null) {
+                CompletableFuture<List<ImportRow>> hashed = hashChunk(chunk, hashingPool);
+                if (pending != null) {
+                    writeChunk(pending.join(), rejects); // Written while the new chunk is hashed
+                }
+                pending = hashed;
+            }
+            if (pending != null) {
+                writeChunk(pending.join(), rejects);
+            }
+        }
+        rejects.flush();
+
+        return new UserImportResult(imported, rejected, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Reads up to CHUNK_SIZE valid rows. Invalid rows are rejected on the spot.
+     *
+     * @return The rows read, or null once the source is exhausted.
+     */
+    private List<ImportRow> readChunk(BufferedReader reader, Writer rejects) throws IOException {
+        List<ImportRow> chunk = new ArrayList<>(CHUNK_SIZE);
+        String line;
+        while (chunk.size() < CHUNK_SIZE && (line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || (lineNumber == 1 && line.toLowerCase().startsWith(HEADER_PREFIX))) {
+                continue; // Skip blank lines and the header row
+            }
+
+            List<String> fields = splitFields(line);
+            if (fields == null) {
+                reject(rejects, lineNumber, "", "Unterminated quoted field");
+                continue;
+            }
+            String username = fields.get(0).trim();
+            if (fields.size() < 4) {
+                reject(rejects, lineNumber, username, "Expected at least 4 columns");
+            } else if (fields.size() > MAX_COLUMNS) {
+                reject(rejects, lineNumber, username, "Expected at most " + MAX_COLUMNS + " columns");
+            } else if (username.isEmpty()) {
+                reject(rejects, lineNumber, username, "Username is empty");
+            } else if (fields.get(3).isEmpty()) {
+                reject(rejects, lineNumber, username, "Password is empty");
+            } else {
+                boolean isAdmin = fields.size() > 4 && isTrue(fields.get(4).trim());
+                chunk.add(new ImportRow(lineNumber, username, fields.get(1).trim(), fields.get(2).trim(),
+                        fields.get(3), isAdmin));
+            }
+        }
+        return chunk.isEmpty() ? null : chunk;
+    }
+
+    // Hashes the passwords of a chunk in parallel; completes once every row is hashed
+    private CompletableFuture<List<ImportRow>> hashChunk(List<ImportRow> chunk, ForkJoinPool pool) {
+        CompletableFuture<?>[] hashes = new CompletableFuture<?>[chunk.size()];
+        for (int i = 0; i < hashes.length; i++) {
+            hashes[i] = CompletableFuture.runAsync(chunk.get(i)::hashPassword, pool);
+        }
+        return CompletableFuture.allOf(hashes).thenApply(_ -> chunk);
+    }
+
+    // Inserts a hashed chunk in one transaction and rejects the rows the database ignored
+    private void writeChunk(List<ImportRow> chunk, Writer rejects) throws IOException {
+        List<Object[]> params = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            params.add(new Object[] { row.username, row.firstName, row.lastName, row.passwordHash, row.isAdmin });
+        }
+
+        int[] counts = userDAO.insertUsers(params);
+        for (int i = 0; i < chunk.size(); i++) {
+            ImportRow row = chunk.get(i);
+            if (counts == null) {
+                reject(rejects, row.lineNumber, row.username, "Database error");
+            } else if (counts[i] == 0) {
+                reject(rejects, row.lineNumber, row.username, ignoredReason(row));
+            } else {
+                imported++;
+            }
+        }
+    }
+
+    // INSERT OR IGNORE skips a row on any constraint violation; a taken username is the usual cause
+    private String ignoredReason(ImportRow row) {
+        return userDAO.getUserIdByUsername(row.username) != -1 ? "Username already exists"
+                : "Rejected by the database";
+    }
+
+    /**
+     * Splits one CSV line into its fields. A field enclosed in double quotes may
+     * contain commas, and a doubled quote inside it stands for one quote.
+     *
+     * @param line The line to split.
+     * @return The fields, or null if a quoted field is not closed on this line.
+     */
+    static List<String> splitFields(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"'); // Escaped quote
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    // Writes one rejected row, quoting the username since it may hold commas or quotes
+    private void reject(Writer rejects, int line, String username, String reason) throws IOException {
+        rejects.write(line + "," + quote(username) + "," + reason + "\n");
+        rejected++;
+    }
+
+    // Encloses a field in quotes when it would otherwise break the row
+    private static String quote(String field) {
+        if (field.indexOf(',') < 0 && field.indexOf('"') < 0) {
+            return field;
+        }
+        return '"' + field.replace("\"", "\"\"") + '"';
+    }
+
+    // Accepts the usual spellings of a true flag
+    private static boolean isTrue(String value) {
+        return value.equalsIgnoreCase("true") || value.equals("1") || value.equalsIgnoreCase("yes");
+    }
+
+    /**
+     * One user read from the source. The plain password is dropped once it has
+     * been hashed.
+     */
+    private static class ImportRow {
+        private final int lineNumber; // Line of the row in the source
+        private final String username;
+        private final String firstName;
+        private final String lastName;
+        private final boolean isAdmin;
+        private String password; // Plain password, null once hashed
+        private String passwordHash; // bcrypt hash, set by the hashing pool
+
+        ImportRow(int lineNumber, String username, String firstName, String lastName, String password,
+                boolean isAdmin) {
+            this.lineNumber = lineNumber;
+            this.username = username;
+            this.firstName = firstName;
+            this.lastName = lastName;
+            this.password = password;
+            this.isAdmin = isAdmin;
+        }
+
+        void hashPassword() {
+            passwordHash = PasswordUtils.hashPassword(password);
+            password = null;
+        }
+    }
+}
@@ -1,12 +1,28 @@
 package com.beyourshelf.service.user;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 import com.beyourshelf.model.dao.user.IUserDAO;
+import com.beyourshelf.model.dao.user.LoginProfile;
 import com.beyourshelf.model.dao.user.UserDAO;
+import com.beyourshelf.model.dao.user.UserPage;
+import com.beyourshelf.model.entity.CartLine;
+import com.beyourshelf.model.entity.LoginResult;
 import com.beyourshelf.model.entity.User;
+import com.beyourshelf.model.entity.UserImportResult;
+import com.beyourshelf.service.cart.CartService;
+import com.beyourshelf.service.cart.ICartService;
 import com.beyourshelf.utils.auth.PasswordUtils;
+import com.beyourshelf.utils.config.AppConfig;
 
 /**
  * UserService handles business logic related to user management.
@@ -15,15 +31,41 @@ import com.beyourshelf.utils.auth.PasswordUtils;
  */
 public class UserService implements IUserService {
 
+    // AppConfig keys sizing the user profile cache
+    public static final String CACHE_CAPACITY_KEY = "cache.users.capacity";
+    public static final String CACHE_TTL_SECONDS_KEY = "cache.users.ttlSeconds";
+
+    private static final int DEFAULT_CACHE_CAPACITY = 1000;
+    private static final int DEFAULT_CACHE_TTL_SECONDS = 300;
+
     // Singleton instance of UserService
     private static UserService instance;
 
     // DAO to interact with the user database
     private final IUserDAO userDAO;
 
+    // Service used to load the cart of a user who logs in
+    private final ICartService cartService;
+
+    // Runs password verification off the JavaFX thread, with a bounded queue
+    private final AuthenticationExecutor authenticationExecutor;
+
+    // Taken usernames, for availability checks without a database query
+    private final UsernameIndex usernameIndex;
+
+    // Recently read user profiles, without their passwords
+    private final UserCache userCache;
+
     // Private constructor to prevent direct instantiation (Singleton pattern)
     private UserService() {
         this.userDAO = new UserDAO();
+        this.cartService = CartService.getInstance();
+        this.authenticationExecutor = AuthenticationExecutor.forAvailableProcessors();
+        this.usernameIndex = new UsernameIndex();
+        reloadUsernameIndex();
+        AppConfig config = AppConfig.getInstance();
+        this.userCache = new UserCache(config.getInt(CACHE_CAPACITY_KEY, DEFAULT_CACHE_CAPACITY),
+                config.getInt(CACHE_TTL_SECONDS_KEY, DEFAULT_CACHE_TTL_SECONDS));
     }
 
     /**
@@ -39,14 +81,36 @@ public class UserService implements IUserService {
     }
 
     /**
-     * Get the user ID for a given username.
+     * Get the user ID for a given username, from the profile cache when
+     * possible.
      *
      * @param username The username to look up.
-     * @return The user ID associated with the username.
+     * @return The user ID associated with the username, or -1 if not found.
      */
     @Override
     public int getUserIdByUsername(String username) {
-        return userDAO.getUserIdByUsername(username);
+        User user = getCachedUser(username);
+        return user != null ? user.getId() : -1;
+    }
+
+    /**
+     * Get the profile cache, for example to check its hit rate.
+     *
+     * @return The cache of user profiles.
+     */
+    public UserCache getUserCache() {
+        return userCache;
+    }
+
+    /**
+     * Read a user through the profile cache. The cached copy has no password, so
+     * password checks and updates read the database directly.
+     *
+     * @param username The username to look up.
+     * @return A copy of the user, or null if not found.
+     */
+    private User getCachedUser(String username) {
+        return userCache.get(username, userDAO::getUserByUsername);
     }
 
     /**
@@ -59,33 +123,119 @@ public class UserService implements IUserService {
     @Override
     public boolean validateUserLogin(String username, String password) {
         User user = userDAO.getUserByUsername(username);
-        if (user == null)
-            return false;
+        return user != null && verifyPassword(user, password);
+    }
+
+    /**
+     * Log a user in on the authentication executor. The password check, the
+     * user's role and their cart are all handled off the calling thread, so the
+     * returned future can be completed while the UI stays responsive.
+     *
+     * @param username The username provided.
+     * @param password The password provided.
+     * @return A future completed with the result of the login attempt. It is
+     *         never completed exceptionally; errors become failed results.
+     */
+    @Override
+    public CompletableFuture<LoginResult> loginAsync(String username, String password) {
+        return authenticationExecutor.submit(() -> authenticate(username, password))
+                .exceptionally(error -> {
+                    Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                    if (cause instanceof RejectedExecutionException) {
+                        return LoginResult.failure("Too many login attempts are in progress. Please try again.");
+                    }
+                    System.out.println("Error during login: " + cause.getMessage());
+                    return LoginResult.failure("An error occurred while logging in. Please try again.");
+                });
+    }
+
+    /**
+     * Authenticate a user and, for regular users, load their active cart, using
+     * at most two queries besides the password check. The first reads the user,
+     * their role and their cart ID and version; the second reads the cart lines
+     * with their books, or creates a cart if the user has none.
+     *
+     * The cart version is read before the lines, so if the cart changes in
+     * between, the version is older than the lines and the first cart update
+     * triggers a reload rather than being applied over stale data.
+     *
+     * @param username The username provided.
+     * @param password The password provided.
+     * @return The result of the login attempt.
+     */
+    @Override
+    public LoginResult authenticate(String username, String password) {
+        long invalidationsBeforeLoad = userCache.getInvalidationCount();
+        LoginProfile profile = userDAO.getLoginProfile(username);
+        if (profile == null || !verifyPassword(profile.getUser(), password)) {
+            return LoginResult.failure("Invalid username or password.");
+        }
+        User user = profile.getUser();
+        // Profile screens read the user again right after login; skipped if an update raced with the read
+        userCache.putIfNotInvalidatedSince(user, invalidationsBeforeLoad);
+        if (user.isAdmin()) {
+            return LoginResult.admin(user); // Admins have no shopping cart
+        }
+
+        if (!profile.hasCart()) {
+            int cartId = cartService.createCart(user.getId());
+            if (cartId == -1) {
+                return LoginResult.failure("Could not create a shopping cart. Please try again.");
+            }
+            return LoginResult.success(user, cartId, 0, List.of()); // New carts start at version 0
+        }
+        List<CartLine> cartLines = cartService.getCartWithBooks(profile.getCartId());
+        return LoginResult.success(user, profile.getCartId(), profile.getCartVersion(), cartLines);
+    }
 
+    /**
+     * Verify a password against the one stored for a user. Legacy plaintext
+     * passwords are migrated to bcrypt when they match, and bcrypt hashes created
+     * with a different cost than the configured one are rehashed.
+     *
+     * @param user     The user whose password is checked.
+     * @param password The password provided.
+     * @return true if the password matches; false otherwise.
+     */
+    private boolean verifyPassword(User user, String password) {
         String storedPassword = user.getPassword();
         if (storedPassword == null)
             return false;
 
         // If already hashed, verify with bcrypt
         if (PasswordUtils.isBcryptHash(storedPassword)) {
-            return PasswordUtils.verifyPassword(password, storedPassword);
+            boolean matches = PasswordUtils.verifyPassword(password, storedPassword);
+            if (matches && PasswordUtils.needsRehash(storedPassword)) {
+                // Move the hash to the cost configured for this host
+                storePassword(user, PasswordUtils.hashPassword(password));
+            }
+            return matches;
         }
 
         // Fallback for legacy plaintext: compare, then migrate to hashed
         boolean matches = storedPassword.equals(password);
         if (matches) {
-            String hashed = PasswordUtils.hashPassword(password);
-            userDAO.updateUserProfileById(
-                    user.getId(),
-                    user.getUsername(),
-                    user.getFirstName(),
-                    user.getLastName(),
-                    hashed,
-                    user.isAdmin());
+            storePassword(user, PasswordUtils.hashPassword(password));
         }
         return matches;
     }
 
+    /**
+     * Replace the stored password of a user, keeping the rest of their profile.
+     *
+     * @param user   The user whose password is replaced.
+     * @param hashed The new bcrypt hash.
+     */
+    private void storePassword(User user, String hashed) {
+        userDAO.updateUserProfileById(
+                user.getId(),
+                user.getUsername(),
+                user.getFirstName(),
+                user.getLastName(),
+                hashed,
+                user.isAdmin());
+    }
+
     /**
      * Check if a user is an admin.
      *
@@ -94,19 +244,20 @@ public class UserService implements IUserService {
      */
     @Override
     public boolean isAdminUser(String username) {
-        return userDAO.isAdminUser(username);
+        User user = getCachedUser(username);
+        return user != null && user.isAdmin();
     }
 
     /**
      * Retrieve a user by their username.
      *
      * @param username The username to look up.
-     * @return An Optional containing the User object if found, or empty if not
-     *         found.
+     * @return An Optional containing a copy of the User object, without its
+     *         password, if found, or empty if not found.
      */
     @Override
     public Optional<User> getUserByUsername(String username) {
-        return Optional.ofNullable(userDAO.getUserByUsername(username));
+        return Optional.ofNullable(getCachedUser(username));
     }
 
     /**
@@ -130,7 +281,9 @@ public class UserService implements IUserService {
         } else if (!PasswordUtils.isBcryptHash(password)) {
             toStore = PasswordUtils.hashPassword(password);
         }
-        return userDAO.updateUserProfile(username, firstName, lastName, toStore, isAdmin);
+        boolean updated = userDAO.updateUserProfile(username, firstName, lastName, toStore, isAdmin);
+        userCache.invalidate(username);
+        return updated;
     }
 
     /**
@@ -155,11 +308,19 @@ public class UserService implements IUserService {
         } else if (!PasswordUtils.isBcryptHash(password)) {
             toStore = PasswordUtils.hashPassword(password);
         }
-        return userDAO.updateUserProfileById(userId, username, firstName, lastName, toStore, isAdmin);
+        String previousUsername = userDAO.getUsernameById(userId);
+        boolean updated = userDAO.updateUserProfileById(userId, username, firstName, lastName, toStore, isAdmin);
+        userCache.invalidate(userId);
+        if (updated && previousUsername != null) {
+            usernameIndex.rename(previousUsername, username);
+        }
+        return updated;
     }
 
     /**
-     * Register a new user.
+     * Register a new user. A username already known to be taken is refused
+     * before the password is hashed, so the bcrypt work is only spent on
+     * registrations that can succeed.
      *
      * @param username  The new user's username.
      * @param firstName The new user's first name.
@@ -170,8 +331,59 @@ public class UserService implements IUserService {
      */
     @Override
     public boolean registerUser(String username, String firstName, String lastName, String password, boolean isAdmin) {
+        if (usernameIndex.isTaken(username)) {
+            return false;
+        }
         String hashed = PasswordUtils.hashPassword(password);
-        return userDAO.registerUser(username, firstName, lastName, hashed, isAdmin);
+        boolean registered = userDAO.registerUser(username, firstName, lastName, hashed, isAdmin);
+        if (registered) {
+            usernameIndex.add(username);
+        }
+        return registered;
+    }
+
+    /**
+     * Check whether a username is free, using the in-memory username index.
+     *
+     * @param username The username to check.
+     * @return true if no user has the username; false otherwise.
+     */
+    @Override
+    public boolean isUsernameAvailable(String username) {
+        return !usernameIndex.isTaken(username);
+    }
+
+    /**
+     * Reload the username index from the database.
+     */
+    private void reloadUsernameIndex() {
+        List<String> usernames = userDAO.getAllUsernames();
+        if (usernames != null) {
+            usernameIndex.load(usernames);
+        }
+    }
+
+    /**
+     * Import users in bulk from a CSV file. Passwords are hashed in parallel and
+     * rows are inserted in batched transactions; see UserImporter. The username
+     * index is reloaded afterwards, which is cheaper than updating it row by row.
+     *
+     * @param csvFile    The file to import.
+     * @param rejectFile The file receiving the rows that could not be imported.
+     * @return The summary of the import, or null if a file could not be read or
+     *         written.
+     */
+    @Override
+    public UserImportResult importUsers(Path csvFile, Path rejectFile) {
+        try (Reader reader = Files.newBufferedReader(csvFile);
+                Writer rejects = Files.newBufferedWriter(rejectFile)) {
+            return new UserImporter(userDAO).importUsers(reader, rejects);
+        } catch (IOException e) {
+            System.out.println("Error importing users: " + e.getMessage());
+            return null;
+        } finally {
+            reloadUsernameIndex(); // Rows may have been inserted before a failure
+        }
     }
 
     /**
@@ -184,6 +396,19 @@ public class UserService implements IUserService {
         return userDAO.getAllUsers();
     }
 
+    /**
+     * Search regular users one keyset page at a time; see UserDAO.searchUsers.
+     *
+     * @param prefixOrId A username prefix, matched ignoring case, or a user ID.
+     * @param page       The previous page, or null to fetch the first page.
+     * @param pageSize   The maximum number of users on the page.
+     * @return The page of users.
+     */
+    @Override
+    public UserPage searchUsers(String prefixOrId, UserPage page, int pageSize) {
+        return userDAO.searchUsers(prefixOrId.trim(), page, pageSize);
+    }
+
     /**
      * Delete a user by their user ID.
      *
@@ -191,6 +416,12 @@ public class UserService implements IUserService {
      * @return true if the deletion was successful; false otherwise.
      */
     public boolean deleteUser(int userId) {
-        return userDAO.deleteUserById(userId);
+        String username = userDAO.getUsernameById(userId);
+        boolean deleted = userDAO.deleteUserById(userId);
+        userCache.invalidate(userId);
+        if (deleted && username != null) {
+            usernameIndex.remove(username);
+        }
+        return deleted;
     }
 }
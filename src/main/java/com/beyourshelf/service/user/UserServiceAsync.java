@@ -0,0 +1,26 @@
+package com.beyourshelf.service.user;
+
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+
+import com.beyourshelf.model.entity.UserImportResult;
+import com.beyourshelf.service.AsyncServiceExecutor;
+
+/**
+ * UserServiceAsync runs IUserService calls on the shared service executor.
+ */
+public class UserServiceAsync implements IUserServiceAsync {
+
+    private final IUserService userService; // The service doing the work
+    private final AsyncServiceExecutor executor; // Runs the calls on virtual threads
+
+    public UserServiceAsync(IUserService userService, AsyncServiceExecutor executor) {
+        this.userService = userService;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletableFuture<UserImportResult> importUsers(Path csvFile, Path rejectFile) {
+        return executor.supply(() -> userService.importUsers(csvFile, rejectFile));
+    }
+}
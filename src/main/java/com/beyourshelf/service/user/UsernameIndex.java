@@ -0,0 +1,103 @@
+package com.beyourshelf.service.user;
+
+import java.util.Collection;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+import com.beyourshelf.utils.collections.BloomFilter;
+
+/**
+ * In-memory index of taken usernames, used to report availability while a
+ * user types and to skip hashing a password for a name that is already taken.
+ *
+ * A Bloom filter answers most lookups of free names without touching the
+ * sorted set; the set is the authoritative copy and is only consulted when the
+ * filter reports a possible match. Bloom filters cannot forget entries, so the
+ * filter is rebuilt from the set when names are removed often enough, or when
+ * it fills beyond its capacity. The database's UNIQUE constraint remains the
+ * final check, so a stale index can at worst delay the error until the insert.
+ */
+public class UsernameIndex {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final int MIN_CAPACITY = 1024; // Smallest filter built
+    private static final int REBUILD_AFTER_REMOVALS = 256; // Removed names tolerated in the filter
+
+    private final NavigableSet<String> usernames = new TreeSet<>(); // Every taken username
+    private BloomFilter filter = new BloomFilter(MIN_CAPACITY, FALSE_POSITIVE_RATE);
+    private int removalsSinceRebuild; // Names removed from the set but still set in the filter
+
+    /**
+     * Replaces the contents of the index.
+     *
+     * @param taken Every username currently in use.
+     */
+    public synchronized void load(Collection<String> taken) {
+        usernames.clear();
+        usernames.addAll(taken);
+        rebuildFilter();
+    }
+
+    /**
+     * Checks whether a username is taken.
+     *
+     * @param username The username to check.
+     * @return true if the username is in use.
+     */
+    public synchronized boolean isTaken(String username) {
+        if (!filter.mightContain(username)) {
+            return false; // Definitely free, no set lookup needed
+        }
+        return usernames.contains(username);
+    }
+
+    /**
+     * Records a username as taken.
+     *
+     * @param username The username now in use.
+     */
+    public synchronized void add(String username) {
+        if (usernames.add(username)) {
+            filter.add(username);
+            if (filter.isOverCapacity()) {
+                rebuildFilter();
+            }
+        }
+    }
+
+    /**
+     * Records a username as free again.
+     *
+     * @param username The username no longer in use.
+     */
+    public synchronized void remove(String username) {
+        if (usernames.remove(username) && ++removalsSinceRebuild >= REBUILD_AFTER_REMOVALS) {
+            rebuildFilter();
+        }
+    }
+
+    /**
+     * Records that a user changed their username.
+     *
+     * @param oldUsername The previous username.
+     * @param newUsername The new username.
+     */
+    public synchronized void rename(String oldUsername, String newUsername) {
+        if (!oldUsername.equals(newUsername)) {
+            remove(oldUsername);
+            add(newUsername);
+        }
+    }
+
+    // Returns the current filter, so tests can check when it is rebuilt
+    synchronized BloomFilter getFilter() {
+        return filter;
+    }
+
+    // Rebuilds the filter from the set, with room for the set to double
+    private void rebuildFilter() {
+        filter = new BloomFilter(Math.max(MIN_CAPACITY, usernames.size() * 2), FALSE_POSITIVE_RATE);
+        usernames.forEach(filter::add);
+        removalsSinceRebuild = 0;
+    }
+}
@@ -0,0 +1,81 @@
+package com.beyourshelf.utils.auth;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.beyourshelf.utils.config.AppConfig;
+
+/**
+ * Picks the bcrypt cost for this host.
+ *
+ * Each step of the bcrypt cost doubles the work, so one hash at the minimum
+ * cost is enough to predict the time at every higher cost. The calibrator
+ * chooses the highest cost whose predicted verify time stays within the
+ * target, bounded to a safe range, and stores it in AppConfig so the benchmark
+ * only runs on the first start on a host.
+ */
+public final class BcryptCalibrator {
+
+    // AppConfig key holding the bcrypt cost chosen for this host
+    public static final String COST_KEY = "security.bcrypt.cost";
+
+    // AppConfig key holding the target time of one password verification
+    public static final String TARGET_MILLIS_KEY = "security.bcrypt.targetMillis";
+
+    private static final int DEFAULT_TARGET_MILLIS = 250;
+    private static final int MIN_COST = 10; // Never go below this, however slow the host
+    private static final int MAX_COST = 16; // Never go above this, however fast the host
+    private static final int WARMUP_COST = 4; // Cheap hash that warms up the JIT before measuring
+    private static final String SAMPLE_PASSWORD = "calibration-sample";
+
+    private BcryptCalibrator() {
+    }
+
+    /**
+     * Applies the bcrypt cost configured for this host, calibrating and storing
+     * it first if none is configured yet.
+     *
+     * @return The cost now used for new password hashes.
+     */
+    public static int configurePasswordCost() {
+        AppConfig config = AppConfig.getInstance();
+        int cost = config.getInt(COST_KEY, -1);
+        if (cost < MIN_COST || cost > MAX_COST) {
+            int targetMillis = config.getInt(TARGET_MILLIS_KEY, DEFAULT_TARGET_MILLIS);
+            cost = calibrate(targetMillis);
+            config.set(COST_KEY, String.valueOf(cost));
+            config.set(TARGET_MILLIS_KEY, String.valueOf(targetMillis));
+            config.save();
+            System.out.println("Calibrated bcrypt cost " + cost + " for a " + targetMillis + " ms target.");
+        }
+        PasswordUtils.setCost(cost);
+        return cost;
+    }
+
+    /**
+     * Measures this host and returns the highest cost whose verify time is
+     * predicted to stay within the target.
+     *
+     * @param targetMillis The target time of one password verification.
+     * @return The chosen cost, between MIN_COST and MAX_COST.
+     */
+    public static int calibrate(int targetMillis) {
+        measureNanos(WARMUP_COST);
+        // Take the faster of two runs to filter out a one-off pause
+        long baseNanos = Math.min(measureNanos(MIN_COST), measureNanos(MIN_COST));
+        long targetNanos = targetMillis * 1_000_000L;
+
+        int cost = MIN_COST;
+        while (cost < MAX_COST && baseNanos << (cost + 1 - MIN_COST) <= targetNanos) {
+            cost++;
+        }
+        return cost;
+    }
+
+    // Times one hash at the given cost; verifying a password costs the same
+    private static long measureNanos(int cost) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(cost);
+        long start = System.nanoTime();
+        encoder.encode(SAMPLE_PASSWORD);
+        return System.nanoTime() - start;
+    }
+}
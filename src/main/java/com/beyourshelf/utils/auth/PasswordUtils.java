@@ -5,21 +5,41 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 
 public final class PasswordUtils {
 
-    private static final PasswordEncoder ENCODER = new BCryptPasswordEncoder(12);
+    // bcrypt cost used until the host's cost has been configured
+    public static final int DEFAULT_COST = 12;
+
+    private static volatile PasswordEncoder encoder = new BCryptPasswordEncoder(DEFAULT_COST);
+    private static volatile int cost = DEFAULT_COST;
 
     private PasswordUtils() {
     }
 
+    /**
+     * Sets the bcrypt cost used for new hashes. Existing hashes keep verifying at
+     * whatever cost they were created with.
+     *
+     * @param newCost The bcrypt cost (log2 of the number of rounds).
+     * @throws IllegalArgumentException if the cost is outside bcrypt's range.
+     */
+    public static synchronized void setCost(int newCost) {
+        encoder = new BCryptPasswordEncoder(newCost);
+        cost = newCost;
+    }
+
+    public static int getCost() {
+        return cost;
+    }
+
     public static String hashPassword(String plainPassword) {
         if (plainPassword == null)
             return null;
-        return ENCODER.encode(plainPassword);
+        return encoder.encode(plainPassword);
     }
 
     public static boolean verifyPassword(String plainPassword, String hashedPassword) {
         if (plainPassword == null || hashedPassword == null)
             return false;
-        return ENCODER.matches(plainPassword, hashedPassword);
+        return encoder.matches(plainPassword, hashedPassword);
     }
 
     public static boolean isBcryptHash(String value) {
@@ -27,4 +47,22 @@ public final class PasswordUtils {
             return false;
         return value.startsWith("$2a$") || value.startsWith("$2b$") || value.startsWith("$2y$");
     }
+
+    /**
+     * Checks whether a bcrypt hash was created with a different cost than the
+     * configured one, so it should be replaced the next time the plain password
+     * is known.
+     *
+     * @param hashedPassword The stored bcrypt hash, e.g. "$2a$12$...".
+     * @return true if the hash's cost differs from the configured cost.
+     */
+    public static boolean needsRehash(String hashedPassword) {
+        if (!isBcryptHash(hashedPassword) || hashedPassword.length() < 7)
+            return false;
+        try {
+            return Integer.parseInt(hashedPassword.substring(4, 6)) != cost;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
 }
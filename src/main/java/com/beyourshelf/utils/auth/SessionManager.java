@@ -1,18 +1,26 @@
 package com.beyourshelf.utils.auth;
 
+import com.beyourshelf.model.entity.Session;
 import com.beyourshelf.model.entity.ShoppingCart;
 
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+
+/**
+ * Holds the session of the user logged in to this JavaFX window.
+ *
+ * Sessions themselves are kept by the session service, which can hold many at
+ * once; this class only binds the window to one of them. Controllers read the
+ * current session through the getters below and pass its IDs to the services
+ * explicitly. It is meant to be used from the JavaFX application thread.
+ */
 public class SessionManager {
 
     // Singleton instance of SessionManager
     private static SessionManager instance;
 
-    // Fields to store user information and shopping cart for the session
-    private int userId;
-    private String username; // Stores the username of the logged-in user
-    private String firstName;
-    private String lastName;
-    private ShoppingCart shoppingCart; // Stores the shopping cart for the session
+    // The session shown in this window, null when nobody is logged in
+    private final ReadOnlyObjectWrapper<Session> currentSession = new ReadOnlyObjectWrapper<>();
 
     // Private constructor to ensure only one instance (Singleton pattern)
     private SessionManager() {
@@ -32,86 +40,91 @@ public class SessionManager {
     }
 
     /**
-     * Set user details after login.
-     * This method sets the user information for the session.
+     * Bind this window to a session after login, or after the session was
+     * replaced by a profile update.
+     *
+     * @param session The session of the logged-in user.
+     */
+    public void setCurrentSession(Session session) {
+        currentSession.set(session);
+    }
+
+    /**
+     * Get the session of the logged-in user.
+     *
+     * @return The current session, or null if nobody is logged in.
+     */
+    public Session getCurrentSession() {
+        return currentSession.get();
+    }
+
+    /**
+     * The current session as an observable property, so views can bind to it.
      *
-     * @param userId    The ID of the logged-in user.
-     * @param username  The username of the logged-in user.
-     * @param firstName The first name of the logged-in user.
-     * @param lastName  The last name of the logged-in user.
+     * @return The read-only current session property.
      */
-    public void setUserDetails(int userId, String username, String firstName, String lastName) {
-        this.userId = userId;
-        this.username = username; // Store the username
-        this.firstName = firstName;
-        this.lastName = lastName;
+    public ReadOnlyObjectProperty<Session> currentSessionProperty() {
+        return currentSession.getReadOnlyProperty();
     }
 
-    // Getter methods to retrieve session data
+    // Getter methods to retrieve data from the current session
 
     /**
      * Get the user ID of the logged-in user.
      *
-     * @return The user ID.
+     * @return The user ID, or 0 if nobody is logged in.
      */
     public int getUserId() {
-        return userId;
+        Session session = currentSession.get();
+        return session != null ? session.getUserId() : 0;
     }
 
     /**
      * Get the username of the logged-in user.
      *
-     * @return The username.
+     * @return The username, or null if nobody is logged in.
      */
     public String getUsername() {
-        return username; // Return the stored username
+        Session session = currentSession.get();
+        return session != null ? session.getUsername() : null;
     }
 
     /**
      * Get the first name of the logged-in user.
      *
-     * @return The first name.
+     * @return The first name, or null if nobody is logged in.
      */
     public String getFirstName() {
-        return firstName;
+        Session session = currentSession.get();
+        return session != null ? session.getFirstName() : null;
     }
 
     /**
      * Get the last name of the logged-in user.
      *
-     * @return The last name.
+     * @return The last name, or null if nobody is logged in.
      */
     public String getLastName() {
-        return lastName;
-    }
-
-    /**
-     * Set the shopping cart for the current session.
-     *
-     * @param shoppingCart The ShoppingCart object.
-     */
-    public void setShoppingCart(ShoppingCart shoppingCart) {
-        this.shoppingCart = shoppingCart;
+        Session session = currentSession.get();
+        return session != null ? session.getLastName() : null;
     }
 
     /**
-     * Get the shopping cart for the current session.
+     * Get the shopping cart of the logged-in user.
      *
-     * @return The ShoppingCart object.
+     * @return The ShoppingCart object, or null for admins and when nobody is
+     *         logged in.
      */
     public ShoppingCart getShoppingCart() {
-        return shoppingCart;
+        Session session = currentSession.get();
+        return session != null ? session.getShoppingCart() : null;
     }
 
     /**
-     * Clear the session data.
-     * This method clears all session data, typically used during logout.
+     * Unbind this window from its session, typically during logout. The
+     * session itself is closed through the session service.
      */
     public void clearSession() {
-        this.userId = 0;
-        this.username = null; // Clear the stored username
-        this.firstName = null;
-        this.lastName = null;
-        this.shoppingCart = null; // Clear the shopping cart
+        currentSession.set(null);
     }
 }
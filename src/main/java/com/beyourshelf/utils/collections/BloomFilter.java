@@ -0,0 +1,99 @@
+package com.beyourshelf.utils.collections;
+
+/**
+ * Bloom filter over strings.
+ * Answers "definitely absent" or "possibly present" using a fixed bit array, so
+ * most lookups of absent strings never need to touch the authoritative data.
+ * The k bit positions are derived from one 64-bit hash by double hashing.
+ * Entries cannot be removed. Not thread-safe.
+ */
+public class BloomFilter {
+
+    private final long[] bits; // Bit array, 64 bits per word
+    private final long bitCount; // Number of usable bits
+    private final int hashCount; // Bits set per entry
+    private final int capacity; // Entries the filter was sized for
+    private int size; // Entries added so far
+
+    /**
+     * Creates a filter sized for the given number of entries and false positive
+     * rate.
+     *
+     * @param expectedEntries   The number of entries the filter should hold.
+     * @param falsePositiveRate The acceptable false positive rate, e.g. 0.01.
+     */
+    public BloomFilter(int expectedEntries, double falsePositiveRate) {
+        this.capacity = Math.max(1, expectedEntries);
+        double ln2 = Math.log(2);
+        long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (ln2 * ln2));
+        this.bits = new long[(int) Math.max(1, (optimalBits + 63) / 64)];
+        this.bitCount = bits.length * 64L;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / capacity * ln2));
+    }
+
+    /**
+     * Adds a string to the filter.
+     *
+     * @param value The string to add.
+     */
+    public void add(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+            bits[(int) (bit >>> 6)] |= 1L << bit;
+        }
+        size++;
+    }
+
+    /**
+     * Checks whether a string may have been added.
+     *
+     * @param value The string to look up.
+     * @return false if the string was definitely never added, true if it may
+     *         have been.
+     */
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+            if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether more entries have been added than the filter was sized for,
+     * in which case its false positive rate is higher than requested.
+     *
+     * @return true if the filter should be rebuilt with a larger capacity.
+     */
+    public boolean isOverCapacity() {
+        return size > capacity;
+    }
+
+    // Getter for the number of entries the filter was sized for
+    public int getCapacity() {
+        return capacity;
+    }
+
+    // 64-bit FNV-1a over the characters, finished with a MurmurHash3 mix
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,235 @@
+package com.beyourshelf.utils.collections;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from int keys to int values.
+ * Keys and values are stored in primitive arrays with linear probing, so
+ * lookups and updates do not box or allocate. Deletions use backward-shift so
+ * no tombstones accumulate. Not thread-safe.
+ */
+public class IntIntMap {
+
+    private static final int FREE_KEY = 0; // Marks an empty slot; key 0 is stored separately
+    private static final float LOAD_FACTOR = 0.5f; // Resize when half the slots are used
+
+    private int[] keys; // Slot keys, FREE_KEY when empty
+    private int[] values; // Slot values
+    private int mask; // keys.length - 1, used instead of modulo
+    private int size; // Number of entries, including the zero key
+    private int threshold; // Size at which the table grows
+
+    private boolean hasZeroKey; // Whether key 0 is present
+    private int zeroValue; // Value stored for key 0
+
+    /**
+     * Creates a map that can hold the given number of entries without resizing.
+     *
+     * @param expectedSize The expected number of entries.
+     */
+    public IntIntMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(2, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    // Creates an empty map with a small default capacity
+    public IntIntMap() {
+        this(8);
+    }
+
+    /**
+     * Returns the value for a key, or the given default if the key is absent.
+     *
+     * @param key          The key to look up.
+     * @param defaultValue The value returned when the key is absent.
+     * @return The stored value or the default.
+     */
+    public int get(int key, int defaultValue) {
+        if (key == FREE_KEY) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        int slot = findSlot(key);
+        return keys[slot] == key ? values[slot] : defaultValue;
+    }
+
+    /**
+     * Checks whether the map contains a key.
+     *
+     * @param key The key to look up.
+     * @return true if the key is present.
+     */
+    public boolean containsKey(int key) {
+        if (key == FREE_KEY) {
+            return hasZeroKey;
+        }
+        return keys[findSlot(key)] == key;
+    }
+
+    /**
+     * Associates a value with a key.
+     *
+     * @param key          The key.
+     * @param value        The value.
+     * @param defaultValue The value returned if the key was absent.
+     * @return The previous value, or the default if the key was absent.
+     */
+    public int put(int key, int value, int defaultValue) {
+        if (key == FREE_KEY) {
+            int previous = hasZeroKey ? zeroValue : defaultValue;
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return previous;
+        }
+
+        int slot = findSlot(key);
+        if (keys[slot] == key) {
+            int previous = values[slot];
+            values[slot] = value;
+            return previous;
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size >= threshold) {
+            allocate(keys.length << 1);
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Removes a key from the map.
+     *
+     * @param key          The key to remove.
+     * @param defaultValue The value returned if the key was absent.
+     * @return The removed value, or the default if the key was absent.
+     */
+    public int remove(int key, int defaultValue) {
+        if (key == FREE_KEY) {
+            if (!hasZeroKey) {
+                return defaultValue;
+            }
+            hasZeroKey = false;
+            size--;
+            return zeroValue;
+        }
+
+        int slot = findSlot(key);
+        if (keys[slot] != key) {
+            return defaultValue;
+        }
+        int removed = values[slot];
+        shiftKeysBack(slot);
+        size--;
+        return removed;
+    }
+
+    /**
+     * Returns the number of entries in the map.
+     *
+     * @return The number of entries.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the map is empty.
+     *
+     * @return true if the map has no entries.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all entries, keeping the current capacity.
+     */
+    public void clear() {
+        Arrays.fill(keys, FREE_KEY);
+        hasZeroKey = false;
+        size = 0;
+    }
+
+    /**
+     * Calls the consumer for every entry in the map, in no particular order.
+     *
+     * @param consumer The consumer receiving each key and value.
+     */
+    public void forEach(IntIntConsumer consumer) {
+        if (hasZeroKey) {
+            consumer.accept(FREE_KEY, zeroValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != FREE_KEY) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    // Returns the slot holding the key, or the free slot where it would go
+    private int findSlot(int key) {
+        int slot = mix(key) & mask;
+        while (keys[slot] != FREE_KEY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    // Closes the gap left by a removed entry so probe chains stay intact
+    private void shiftKeysBack(int gap) {
+        int slot = gap;
+        while (true) {
+            slot = (slot + 1) & mask;
+            int key = keys[slot];
+            if (key == FREE_KEY) {
+                keys[gap] = FREE_KEY;
+                return;
+            }
+            int home = mix(key) & mask;
+            // Move the entry into the gap if the gap lies between its home and its slot
+            if (gap <= slot ? (home <= gap || home > slot) : (home <= gap && home > slot)) {
+                keys[gap] = key;
+                values[gap] = values[slot];
+                gap = slot;
+            }
+        }
+    }
+
+    // Allocates a table of the given capacity and re-inserts existing entries
+    private void allocate(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+
+        keys = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        threshold = (int) (capacity * LOAD_FACTOR);
+
+        if (oldKeys != null) {
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != FREE_KEY) {
+                    int slot = findSlot(oldKeys[i]);
+                    keys[slot] = oldKeys[i];
+                    values[slot] = oldValues[i];
+                }
+            }
+        }
+    }
+
+    // Spreads the key bits so sequential IDs do not cluster
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Receives the entries of an IntIntMap without boxing.
+     */
+    @FunctionalInterface
+    public interface IntIntConsumer {
+        void accept(int key, int value);
+    }
+}
@@ -0,0 +1,66 @@
+package com.beyourshelf.utils.collections;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Small thread-safe cache that keeps the most recently used entries and evicts
+ * the least recently used one once the capacity is reached.
+ *
+ * @param <K> The type of the keys.
+ * @param <V> The type of the cached values.
+ */
+public class LruCache<K, V> {
+
+    private final Map<K, V> entries; // Entries in access order, least recently used first
+
+    /**
+     * Creates a cache holding at most the given number of entries.
+     *
+     * @param capacity The maximum number of entries.
+     */
+    public LruCache(int capacity) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached value for a key and marks it as recently used.
+     *
+     * @param key The key to look up.
+     * @return The cached value, or null if the key is not cached.
+     */
+    public synchronized V get(K key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Caches a value, evicting the least recently used entry if needed.
+     *
+     * @param key   The key.
+     * @param value The value to cache.
+     */
+    public synchronized void put(K key, V value) {
+        entries.put(key, value);
+    }
+
+    /**
+     * Removes a key from the cache.
+     *
+     * @param key The key to remove.
+     */
+    public synchronized void remove(K key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Removes all entries from the cache.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+}
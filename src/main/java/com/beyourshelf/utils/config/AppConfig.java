@@ -0,0 +1,124 @@
+package com.beyourshelf.utils.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * Host-specific application settings, stored in a properties file next to the
+ * database (beyourshelf.properties by default). A system property with the same
+ * key overrides the value from the file, so settings can still be changed for
+ * a single run with -D.
+ */
+public class AppConfig {
+
+    // System property overriding the location of the configuration file
+    public static final String CONFIG_PATH_PROPERTY = "beyourshelf.config";
+
+    // Singleton instance of AppConfig
+    private static AppConfig instance;
+
+    private final Path path; // The configuration file
+    private final Properties properties = new Properties(); // Values loaded from the file
+
+    // Private constructor to prevent direct instantiation (Singleton pattern)
+    private AppConfig(Path path) {
+        this.path = path;
+        load();
+    }
+
+    /**
+     * Get the singleton instance of AppConfig, loading the configuration file on
+     * first use.
+     *
+     * @return The singleton instance of AppConfig.
+     */
+    public static synchronized AppConfig getInstance() {
+        if (instance == null) {
+            instance = new AppConfig(Path.of(System.getProperty(CONFIG_PATH_PROPERTY, "beyourshelf.properties")));
+        }
+        return instance;
+    }
+
+    /**
+     * Returns the value of a setting.
+     *
+     * @param key          The setting key.
+     * @param defaultValue The value returned if the setting is not configured.
+     * @return The system property, the value from the file, or the default.
+     */
+    public synchronized String get(String key, String defaultValue) {
+        return System.getProperty(key, properties.getProperty(key, defaultValue));
+    }
+
+    /**
+     * Returns the value of an integer setting.
+     *
+     * @param key          The setting key.
+     * @param defaultValue The value returned if the setting is not configured or
+     *                     is not a number.
+     * @return The configured value or the default.
+     */
+    public synchronized int getInt(String key, int defaultValue) {
+        String value = get(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            System.out.println("Invalid value for " + key + ": " + value);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Checks whether a setting is configured.
+     *
+     * @param key The setting key.
+     * @return true if the setting is set as a system property or in the file.
+     */
+    public synchronized boolean contains(String key) {
+        return get(key, null) != null;
+    }
+
+    /**
+     * Changes a setting in memory. Call save to write it to the file.
+     *
+     * @param key   The setting key.
+     * @param value The new value.
+     */
+    public synchronized void set(String key, String value) {
+        properties.setProperty(key, value);
+    }
+
+    /**
+     * Writes the settings to the configuration file.
+     *
+     * @return true if the file was written, false otherwise.
+     */
+    public synchronized boolean save() {
+        try (OutputStream out = Files.newOutputStream(path)) {
+            properties.store(out, "Be Your Shelf settings for this host");
+            return true;
+        } catch (IOException e) {
+            System.out.println("Error saving configuration to " + path + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    // Loads the configuration file, if it exists
+    private void load() {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (InputStream in = Files.newInputStream(path)) {
+            properties.load(in);
+        } catch (IOException e) {
+            System.out.println("Error loading configuration from " + path + ": " + e.getMessage());
+        }
+    }
+}
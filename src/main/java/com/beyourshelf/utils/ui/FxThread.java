@@ -0,0 +1,70 @@
+package com.beyourshelf.utils.ui;
+
+import javafx.application.Platform;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Hands the results of asynchronous service calls back to the JavaFX
+ * application thread, the only thread allowed to touch the scene graph.
+ *
+ * Typical use from a controller:
+ * {@code FxThread.onSuccess(bookServiceAsync.getTop5Books(), table.getItems()::setAll, "Unable to load books.");}
+ */
+public class FxThread {
+
+    // Runs tasks on the JavaFX application thread, for use with the *Async methods of CompletableFuture
+    public static final Executor EXECUTOR = Platform::runLater;
+
+    private FxThread() {
+    }
+
+    /**
+     * Runs a callback on the JavaFX thread once a future completes.
+     *
+     * @param future    The future to wait for.
+     * @param onSuccess Receives the result if the future completes normally.
+     * @param onFailure Receives the cause if the future completes exceptionally.
+     * @param <T>       The type of the result.
+     */
+    public static <T> void onComplete(CompletableFuture<T> future, Consumer<? super T> onSuccess,
+            Consumer<Throwable> onFailure) {
+        future.whenCompleteAsync((result, error) -> {
+            if (error != null) {
+                onFailure.accept(unwrap(error));
+            } else {
+                onSuccess.accept(result);
+            }
+        }, EXECUTOR);
+    }
+
+    /**
+     * Runs a callback on the JavaFX thread once a future completes normally,
+     * and shows an error dialog if it fails.
+     *
+     * @param future       The future to wait for.
+     * @param onSuccess    Receives the result.
+     * @param errorMessage The message shown if the future fails.
+     * @param <T>          The type of the result.
+     */
+    public static <T> void onSuccess(CompletableFuture<T> future, Consumer<? super T> onSuccess,
+            String errorMessage) {
+        onComplete(future, onSuccess, error -> {
+            System.err.println(errorMessage + " " + error);
+            UIUtils.showError("Error", errorMessage);
+        });
+    }
+
+    // Returns the exception thrown by the service call rather than its wrapper
+    private static Throwable unwrap(Throwable error) {
+        while ((error instanceof CompletionException || error instanceof ExecutionException)
+                && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
+    }
+}
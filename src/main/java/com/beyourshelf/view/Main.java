@@ -9,8 +9,10 @@ import java.io.IOException;
 
 import com.beyourshelf.controller.common.LoginController;
 import com.beyourshelf.model.dao.database.DatabaseInitializer;
+import com.beyourshelf.service.ServiceManager;
 import com.beyourshelf.service.user.IUserService;
 import com.beyourshelf.service.user.UserService;
+import com.beyourshelf.utils.auth.BcryptCalibrator;
 
 public class Main extends Application {
 
@@ -24,6 +26,12 @@ public class Main extends Application {
             return; // Stop application if database initialization fails
         }
 
+        // Use the bcrypt cost configured for this host, calibrating it on first start
+        BcryptCalibrator.configurePasswordCost();
+
+        // Abandon and archive inactive carts once a day while the app is running
+        ServiceManager.getInstance().getCartMaintenanceService().startSchedule();
+
         try {
             // Load the login FXML file
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/beyourshelf/fxml/common/login.fxml"));
@@ -46,6 +54,12 @@ public class Main extends Application {
         }
     }
 
+    @Override
+    public void stop() {
+        // Flush pending writes and release service resources before exiting
+        ServiceManager.shutdown();
+    }
+
     // Main method to launch the JavaFX application
     public static void main(String[] args) {
         launch(args); // Launch the JavaFX application
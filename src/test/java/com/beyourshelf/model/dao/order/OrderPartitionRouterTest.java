@@ -0,0 +1,247 @@
+package com.beyourshelf.model.dao.order;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.beyourshelf.model.dao.database.Database;
+import com.beyourshelf.model.dao.database.DatabaseInitializer;
+import com.beyourshelf.model.entity.Order;
+import com.beyourshelf.model.entity.OrderItem;
+
+/**
+ * Exercises the order partitions through OrderDAO against a temporary database:
+ * rolling closed months out of the main tables, lookups and keyset pages that
+ * span the main tables and several partitions, and deletes across partitions.
+ *
+ * All tests share one database, so each uses its own user, order numbers and
+ * months.
+ */
+class OrderPartitionRouterTest {
+
+    private static final int BOOK_ID = 1; // One of the books the initializer adds
+    private static final double PRICE = 10.0;
+
+    @TempDir
+    static Path tempDir;
+
+    private final OrderDAO orderDAO = new OrderDAO();
+    private final OrderPartitionRouter partitions = OrderPartitionRouter.live();
+
+    @BeforeAll
+    static void createDatabase() {
+        // Database reads its URL once per JVM, so this must happen before any DAO is touched; the
+        // test runs in its own fork (see pom.xml) so no other test has touched it yet
+        System.setProperty(Database.DB_URL_PROPERTY, "jdbc:sqlite:" + tempDir.resolve("orders.db").toAbsolutePath());
+        System.setProperty(OrderPartitionRouter.PARTITION_DIR_PROPERTY, tempDir.resolve("orders").toString());
+        System.setProperty(OrderPartitionRouter.ARCHIVE_DIR_PROPERTY, tempDir.resolve("archive").toString());
+        DatabaseInitializer.initializeDatabase();
+    }
+
+    @Test
+    void closedMonthIsRolledOverAndStillFound() throws SQLException {
+        int userId = 101;
+        YearMonth month = YearMonth.now().minusYears(2);
+        Order order = saveOrder("ROLL-0001", userId, month.atDay(10).atTime(12, 0), 2, PRICE * 2);
+
+        assertTrue(orderDAO.rollOverClosedMonths() >= 1);
+        assertEquals(0, countInMain(order.getOrderId()), "The order is still in the main tables");
+        assertTrue(Files.isRegularFile(partitions.partitionPath(month)));
+        assertEquals(month, partitions.locateOrders(List.of(order.getOrderId())).get(order.getOrderId()));
+
+        // By ID, with its items read from the partition
+        Optional<Order> byId = orderDAO.getOrderById(order.getOrderId());
+        assertTrue(byId.isPresent());
+        assertEquals("ROLL-0001", byId.get().getOrderNumber());
+        assertEquals(month.atDay(10).atTime(12, 0), byId.get().getOrderDate());
+        assertEquals(1, byId.get().getOrderItems().size());
+        assertEquals(2, byId.get().getOrderItems().get(0).getQuantity());
+
+        // By user
+        assertEquals(List.of(order.getOrderId()), ids(orderDAO.getAllOrdersByUser(userId)));
+
+        // By order number prefix
+        OrderQuery query = new OrderQuery();
+        query.setOrderNumberPrefix("ROLL-");
+        assertEquals(List.of(order.getOrderId()), ids(orderDAO.findOrders(query).getOrders()));
+        query.setOrderNumberPrefix("ROLL-9");
+        assertTrue(orderDAO.findOrders(query).getOrders().isEmpty());
+    }
+
+    @Test
+    void keysetPagesStayInOrderAcrossMainAndPartitions() throws SQLException {
+        int userId = 102;
+        YearMonth current = YearMonth.now();
+        List<Order> orders = new ArrayList<>();
+        // Three closed months and the current one; totals repeat across sources to exercise the tie-breaker
+        for (int monthsBack = 3; monthsBack >= 0; monthsBack--) {
+            YearMonth month = current.minusMonths(monthsBack);
+            for (int i = 0; i < 3; i++) {
+                LocalDateTime orderDate = monthsBack == 0 ? month.atDay(1).atStartOfDay().plusSeconds(i)
+                        : month.atDay(5).atTime(9, 0).plusHours(i % 2); // Two orders share a time
+                orders.add(saveOrder("PAGE-" + monthsBack + "-" + i, userId, orderDate, 1, PRICE * (i + 1)));
+            }
+        }
+        orderDAO.rollOverClosedMonths();
+        int inMain = 0;
+        for (Order order : orders) {
+            inMain += countInMain(order.getOrderId());
+        }
+        assertEquals(3, inMain, "Only the current month should stay in the main tables");
+        assertEquals(3, partitions.partitionsOfUser(userId).size());
+
+        Comparator<Order> byDate = Comparator.comparing(Order::getOrderDate).reversed();
+        Comparator<Order> byTotal = Comparator.comparingDouble(Order::getTotalPrice).reversed();
+        assertPagesMatch(userId, OrderQuery.SortField.ORDER_DATE, orders, byDate);
+        assertPagesMatch(userId, OrderQuery.SortField.TOTAL_PRICE, orders, byTotal);
+        assertPagesMatch(userId, OrderQuery.SortField.ORDER_ID, orders, (first, second) -> 0);
+    }
+
+    @Test
+    void deletingMoreThanEightMonthsDeletesEveryOrderAndItsSales() throws SQLException {
+        int userId = 103;
+        YearMonth first = YearMonth.now().minusYears(4);
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            orders.add(saveOrder("DEL-" + i, userId, first.plusMonths(i).atDay(3).atTime(8, 0), 2, PRICE * 2));
+        }
+        orderDAO.rollOverClosedMonths();
+        orders.add(saveOrder("DEL-MAIN", userId, YearMonth.now().atDay(1).atStartOfDay(), 3, PRICE * 3));
+        assertEquals(11, partitions.partitionsOfUser(userId).size());
+
+        long soldBefore = soldCopies();
+        assertTrue(orderDAO.deleteOrders(ids(orders)));
+
+        assertEquals(soldBefore - (11 * 2 + 3), soldCopies(), "sales_daily still counts deleted orders");
+        assertTrue(orderDAO.getAllOrdersByUser(userId).isEmpty());
+        assertTrue(partitions.locateOrders(ids(orders)).isEmpty());
+        for (Order order : orders) {
+            assertFalse(orderDAO.getOrderById(order.getOrderId()).isPresent());
+        }
+    }
+
+    @Test
+    void failedDeleteReportsTheMonthsLeft() throws Exception {
+        int userId = 104;
+        YearMonth first = YearMonth.now().minusYears(6);
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            orders.add(saveOrder("FAIL-" + i, userId, first.plusMonths(i).atDay(20).atTime(18, 0), 1, PRICE));
+        }
+        orderDAO.rollOverClosedMonths();
+
+        // Break the ninth month, the first of the second group of eight
+        YearMonth broken = first.plusMonths(8);
+        Path brokenPath = partitions.partitionPath(broken);
+        byte[] original = Files.readAllBytes(brokenPath);
+        byte[] garbage = new byte[original.length];
+        Arrays.fill(garbage, (byte) 'x');
+        long soldBefore = soldCopies();
+        String output;
+        boolean deleted;
+        try {
+            Files.write(brokenPath, garbage);
+            ByteArrayOutputStream captured = new ByteArrayOutputStream();
+            PrintStream stdout = System.out;
+            System.setOut(new PrintStream(captured, true));
+            try {
+                deleted = orderDAO.deleteOrders(ids(orders));
+            } finally {
+                System.setOut(stdout);
+            }
+            output = captured.toString();
+        } finally {
+            Files.write(brokenPath, original);
+        }
+
+        assertFalse(deleted);
+        assertTrue(output.contains("months not deleted: [" + broken + ", " + broken.plusMonths(1) + "]"), output);
+        // The first group was committed, with its sales; the second was left untouched
+        assertEquals(soldBefore - 8, soldCopies());
+        Map<Integer, YearMonth> left = partitions.locateOrders(ids(orders));
+        assertEquals(List.of(broken, broken.plusMonths(1)), left.values().stream().sorted().toList());
+        assertEquals(ids(orders.subList(8, 10)), ids(orderDAO.getAllOrdersByUser(userId)).stream().sorted().toList());
+
+        // Once the partition is readable again the rest can be deleted
+        assertTrue(orderDAO.deleteOrders(ids(orders.subList(8, 10))));
+        assertEquals(soldBefore - 10, soldCopies());
+    }
+
+    // Pages through the user's orders two at a time and checks them against the expected order
+    private void assertPagesMatch(int userId, OrderQuery.SortField sortField, List<Order> orders,
+            Comparator<Order> order) {
+        List<Order> expected = new ArrayList<>(orders);
+        expected.sort(order.thenComparing(Order::getOrderId, Comparator.reverseOrder()));
+
+        OrderQuery query = new OrderQuery();
+        query.setUserId(userId);
+        query.setSortField(sortField);
+        query.setPageSize(2);
+        List<Order> paged = new ArrayList<>();
+        int pages = 0;
+        while (query != null) {
+            OrderPage page = orderDAO.findOrders(query);
+            assertTrue(page.getOrders().size() <= 2);
+            paged.addAll(page.getOrders());
+            query = page.nextQuery();
+            assertTrue(++pages <= orders.size(), "Paging did not end");
+        }
+        assertEquals(ids(expected), ids(paged), "Pages sorted by " + sortField);
+    }
+
+    // Saves an order of one book at the given time
+    private Order saveOrder(String orderNumber, int userId, LocalDateTime orderDate, int quantity, double total) {
+        List<OrderItem> items = new ArrayList<>(List.of(new OrderItem(BOOK_ID, "Partitioned", quantity, PRICE)));
+        Order order = new Order(orderNumber, userId, total, items);
+        order.setOrderDate(orderDate);
+        assertTrue(orderDAO.saveOrder(order), "Could not save " + orderNumber);
+        return order;
+    }
+
+    private static List<Integer> ids(List<Order> orders) {
+        return orders.stream().map(Order::getOrderId).collect(Collectors.toList());
+    }
+
+    // Counts the rows of an order in the main orders table
+    private static int countInMain(int orderId) throws SQLException {
+        try (Connection conn = Database.getInstance().getConnection();
+                PreparedStatement stmt = conn.prepareStatement("SELECT COUNT(*) FROM main.orders WHERE order_id = ?")) {
+            stmt.setInt(1, orderId);
+            ResultSet rs = stmt.executeQuery();
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    // Totals the copies recorded in the sales_daily rollup
+    private static long soldCopies() throws SQLException {
+        try (Connection conn = Database.getInstance().getConnection();
+                PreparedStatement stmt = conn.prepareStatement("SELECT COALESCE(SUM(qty), 0) FROM sales_daily")) {
+            ResultSet rs = stmt.executeQuery();
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
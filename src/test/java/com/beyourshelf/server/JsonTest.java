@@ -0,0 +1,81 @@
+package com.beyourshelf.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class JsonTest {
+
+    @Test
+    void escapesRoundTrip() {
+        String original = "quote \" backslash \\ slash / newline \n tab \t bell \u0007 é 😀";
+        String json = Json.write(original);
+
+        assertEquals("\"quote \\\" backslash \\\\ slash / newline \\n tab \\t bell \\u0007 é 😀\"", json);
+        assertEquals(original, Json.parse(json));
+    }
+
+    @Test
+    void parsesEveryEscape() {
+        assertEquals("\"\\/\b\f\n\r\tA\u00e9", Json.parse("\"\\\"\\\\\\/\\b\\f\\n\\r\\t\\u0041\\u00E9\""));
+    }
+
+    @Test
+    void parsesNestedObjectsAndArrays() {
+        Object parsed = Json.parse(" { \"cart\" : { \"items\" : [ { \"bookId\" : 3, \"tags\" : [ ] }, null ] ,"
+                + " \"empty\" : { } }, \"ok\" : true, \"no\" : false } ");
+
+        Map<?, ?> root = (Map<?, ?>) parsed;
+        Map<?, ?> cart = (Map<?, ?>) root.get("cart");
+        List<?> items = (List<?>) cart.get("items");
+        assertEquals(2, items.size());
+        assertEquals(3.0, ((Map<?, ?>) items.get(0)).get("bookId"));
+        assertEquals(List.of(), ((Map<?, ?>) items.get(0)).get("tags"));
+        assertNull(items.get(1));
+        assertEquals(Map.of(), cart.get("empty"));
+        assertEquals(true, root.get("ok"));
+        assertEquals(false, root.get("no"));
+        assertEquals(List.of("cart", "ok", "no"), List.copyOf(root.keySet()), "Keys keep their order");
+    }
+
+    @Test
+    void writesNestedValuesInKeyOrder() {
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("b", List.of(1, 2.5, "x"));
+        value.put("a", Arrays.asList(null, Map.of("k", true)));
+        value.put("nan", Double.NaN);
+
+        assertEquals("{\"b\":[1,2.5,\"x\"],\"a\":[null,{\"k\":true}],\"nan\":null}", Json.write(value));
+    }
+
+    @Test
+    void parsesNumbers() {
+        assertEquals(0.0, Json.parse("0"));
+        assertEquals(-12.0, Json.parse("-12"));
+        assertEquals(3.25, Json.parse("3.25"));
+        assertEquals(1500.0, Json.parse("1.5e3"));
+        assertEquals(0.015, Json.parse("1.5E-2"));
+        assertEquals(List.of(1.0, -2.0), Json.parse("[1,-2]"));
+    }
+
+    @Test
+    void rejectsMalformedInput() {
+        for (String malformed : List.of("", "   ", "{", "[1,2", "[1,]", "{\"a\":1,}", "{\"a\" 1}", "{a:1}",
+                "\"unterminated", "\"bad \\x escape\"", "\"\\u12\"", "\"\\uZZZZ\"", "tru", "nul", "[1] [2]",
+                "+1", ".5", "1.", "01", "1e", "--1", "NaN", "{\"a\":1}}")) {
+            assertThrows(IllegalArgumentException.class, () -> Json.parse(malformed), malformed);
+        }
+    }
+
+    @Test
+    void rejectsUnsupportedTypesWhenWriting() {
+        assertThrows(IllegalArgumentException.class, () -> Json.write(Map.of("when", new Object())));
+    }
+}
@@ -0,0 +1,142 @@
+package com.beyourshelf.service.cart;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.beyourshelf.model.dao.cart.ICartDAO;
+import com.beyourshelf.model.entity.ShoppingCart;
+
+class CartSyncServiceTest {
+
+    private static final int CART_ID = 7;
+
+    private final List<Map<Integer, Integer>> writes = new CopyOnWriteArrayList<>(); // Quantities of each write
+    private final AtomicInteger version = new AtomicInteger(); // Cart version in the fake database
+    private final AtomicInteger active = new AtomicInteger(); // Writes currently in progress
+    private final AtomicInteger maxActive = new AtomicInteger(); // Most writes ever in progress at once
+    private volatile boolean failWrites; // Whether every write fails
+    private volatile CountDownLatch firstWriteEntered; // Counted down when the first write starts, if set
+    private volatile CountDownLatch releaseFirstWrite; // Holds the first write until counted down, if set
+    private CartSyncService service;
+
+    @AfterEach
+    void closeService() {
+        if (service != null) {
+            service.close();
+        }
+    }
+
+    @Test
+    void updatesToOneCartAreCoalescedIntoOneWrite() throws Exception {
+        service = new CartSyncService(cartDAO());
+        ShoppingCart cart = cart();
+
+        service.scheduleQuantityUpdate(cart, 1, 1);
+        service.scheduleQuantityUpdate(cart, 1, 2);
+        service.scheduleQuantityUpdate(cart, 2, 5);
+        Thread.sleep(600); // Longer than the debounce period
+
+        assertEquals(1, writes.size());
+        assertEquals(Map.of(1, 2, 2, 5), writes.get(0));
+        assertEquals(1, cart.getVersion(), "The session's cart follows its own write");
+    }
+
+    @Test
+    void flushesOfOneCartAreSerializedInSnapshotOrder() throws Exception {
+        service = new CartSyncService(cartDAO());
+        ShoppingCart cart = cart();
+        firstWriteEntered = new CountDownLatch(1);
+        releaseFirstWrite = new CountDownLatch(1);
+
+        service.scheduleQuantityUpdate(cart, 1, 1);
+        Thread first = new Thread(() -> service.flush(CART_ID));
+        first.start();
+        assertTrue(firstWriteEntered.await(5, TimeUnit.SECONDS));
+
+        service.scheduleQuantityUpdate(cart, 1, 2);
+        Thread second = new Thread(() -> service.flush(CART_ID));
+        second.start();
+        Thread.sleep(100);
+        assertEquals(1, writes.size(), "The second flush waits for the first");
+
+        releaseFirstWrite.countDown();
+        first.join();
+        second.join();
+
+        assertEquals(2, writes.size());
+        assertEquals(Map.of(1, 2), writes.get(1), "The newer snapshot is committed last");
+        assertEquals(1, maxActive.get());
+    }
+
+    @Test
+    void failedChangesAreDroppedAfterTheAttemptCap() {
+        service = new CartSyncService(cartDAO());
+        ShoppingCart cart = cart();
+        failWrites = true;
+
+        service.scheduleQuantityUpdate(cart, 1, 3);
+        for (int i = 0; i < 10; i++) {
+            service.flush(CART_ID);
+        }
+
+        assertEquals(5, writes.size(), "Writes stop after MAX_FLUSH_ATTEMPTS failures");
+        assertEquals(-1, cart.getVersion(), "The cart is reloaded on its next sync");
+        assertTrue(service.flush(CART_ID), "Nothing is left pending");
+    }
+
+    @Test
+    void updatesAfterCloseAreWrittenThrough() {
+        service = new CartSyncService(cartDAO());
+        ShoppingCart cart = cart();
+        service.close();
+
+        service.scheduleQuantityUpdate(cart, 4, 2);
+
+        assertEquals(1, writes.size());
+        assertEquals(Map.of(4, 2), writes.get(0));
+        assertFalse(cart.getVersion() < 0);
+    }
+
+    private static ShoppingCart cart() {
+        ShoppingCart cart = new ShoppingCart(1, CART_ID);
+        cart.setVersion(0);
+        return cart;
+    }
+
+    // Cart DAO that records quantity writes; only updateBookQuantities is used by the service
+    private ICartDAO cartDAO() {
+        return (ICartDAO) Proxy.newProxyInstance(ICartDAO.class.getClassLoader(), new Class<?>[] { ICartDAO.class },
+                (_, method, args) -> {
+                    if (!method.getName().equals("updateBookQuantities")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    @SuppressWarnings("unchecked")
+                    Map<Integer, Integer> quantities = (Map<Integer, Integer>) args[1];
+                    maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                    try {
+                        writes.add(new HashMap<>(quantities));
+                        CountDownLatch entered = firstWriteEntered;
+                        if (entered != null && writes.size() == 1) {
+                            entered.countDown();
+                            releaseFirstWrite.await();
+                        }
+                        return failWrites ? -1 : version.incrementAndGet();
+                    } finally {
+                        active.decrementAndGet();
+                    }
+                });
+    }
+}
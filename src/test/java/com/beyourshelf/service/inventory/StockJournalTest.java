@@ -0,0 +1,130 @@
+package com.beyourshelf.service.inventory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class StockJournalTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void appendedEntriesAreReadBackInOrder() throws Exception {
+        Path path = tempDir.resolve("journal.log");
+        try (StockJournal journal = new StockJournal(path, 0)) {
+            assertEquals(1, journal.append(Map.of(7, -2)));
+            assertEquals(2, journal.append(Map.of(8, 3)));
+
+            List<StockJournal.Entry> entries = journal.readEntries();
+            assertEquals(2, entries.size());
+            assertEquals(7, entries.get(0).getBookId());
+            assertEquals(-2, entries.get(0).getDelta());
+            assertEquals(2, entries.get(1).getSequence());
+        }
+    }
+
+    @Test
+    void reopenedJournalContinuesAfterTheHighestSequence() throws Exception {
+        Path path = tempDir.resolve("journal.log");
+        try (StockJournal journal = new StockJournal(path, 0)) {
+            journal.append(Map.of(1, -1));
+            journal.append(Map.of(1, -1));
+        }
+        try (StockJournal journal = new StockJournal(path, 0)) {
+            assertEquals(3, journal.append(Map.of(1, 1)));
+        }
+        try (StockJournal journal = new StockJournal(path, 10)) {
+            assertEquals(11, journal.append(Map.of(1, 1)), "Applied sequences are never reused");
+        }
+    }
+
+    @Test
+    void tornFinalLineIsIgnored() throws Exception {
+        Path path = tempDir.resolve("journal.log");
+        Files.writeString(path, "1,5,-2\n2,5,-", StandardCharsets.UTF_8);
+        try (StockJournal journal = new StockJournal(path, 0)) {
+            List<StockJournal.Entry> entries = journal.readEntries();
+            assertEquals(1, entries.size());
+            assertEquals(-2, entries.get(0).getDelta());
+        }
+    }
+
+    @Test
+    void discardUpToKeepsNewerEntries() throws Exception {
+        Path path = tempDir.resolve("journal.log");
+        try (StockJournal journal = new StockJournal(path, 0)) {
+            journal.append(Map.of(1, -1));
+            journal.append(Map.of(2, -1));
+            journal.append(Map.of(3, -1));
+            journal.discardUpTo(2);
+            journal.append(Map.of(4, -1));
+
+            List<StockJournal.Entry> entries = journal.readEntries();
+            assertEquals(2, entries.size());
+            assertEquals(3, entries.get(0).getSequence());
+            assertEquals(4, entries.get(1).getSequence());
+        }
+    }
+
+    @Test
+    void concurrentAppendsAreAllDurableWithUniqueSequences() throws Exception {
+        Path path = tempDir.resolve("journal.log");
+        int threads = 16;
+        int appendsPerThread = 200;
+        try (StockJournal journal = new StockJournal(path, 0)) {
+            try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+                for (int t = 0; t < threads; t++) {
+                    int bookId = t;
+                    executor.submit(() -> {
+                        for (int i = 0; i < appendsPerThread; i++) {
+                            journal.append(Map.of(bookId, -1));
+                        }
+                        return null;
+                    });
+                }
+            }
+        }
+
+        try (StockJournal reopened = new StockJournal(path, 0)) {
+            List<StockJournal.Entry> entries = reopened.readEntries();
+            Set<Long> sequences = new HashSet<>();
+            entries.forEach(entry -> sequences.add(entry.getSequence()));
+            assertEquals(threads * appendsPerThread, entries.size());
+            assertEquals(entries.size(), sequences.size());
+            assertTrue(sequences.contains((long) threads * appendsPerThread));
+        }
+    }
+
+    @Test
+    void failedWriteIsTruncatedAndLaterAppendsSucceed() throws Exception {
+        Path path = tempDir.resolve("journal.log");
+        AtomicInteger failingWrites = new AtomicInteger();
+        try (StockJournal journal = new StockJournal(path, 0,
+                p -> new FailingFileChannel(StockJournal.openForAppend(p), failingWrites))) {
+            journal.append(Map.of(1, -1));
+            failingWrites.set(1);
+            assertThrows(IOException.class, () -> journal.append(Map.of(2, -1)));
+            assertEquals(1, journal.readEntries().size(), "The torn group is not read back");
+
+            assertEquals(3, journal.append(Map.of(3, -1)));
+        }
+
+        assertEquals("1,1,-1\n3,3,-1\n", Files.readString(path, StandardCharsets.UTF_8));
+    }
+}
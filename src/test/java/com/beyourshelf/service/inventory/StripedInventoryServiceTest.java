@@ -0,0 +1,204 @@
+package com.beyourshelf.service.inventory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.beyourshelf.model.dao.book.IBookDAO;
+import com.beyourshelf.model.dao.inventory.IStockJournalDAO;
+import com.beyourshelf.model.entity.Book;
+import com.beyourshelf.model.entity.CartItem;
+
+class StripedInventoryServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final Map<Integer, Integer> dbStock = new ConcurrentHashMap<>(); // physical_copies per book
+    private final InMemoryJournalDAO journalDAO = new InMemoryJournalDAO();
+    private final AtomicInteger failingReads = new AtomicInteger(); // Stock reads left to fail
+    private StripedInventoryService service;
+
+    @AfterEach
+    void closeService() throws Exception {
+        if (service != null) {
+            service.close();
+        }
+    }
+
+    @Test
+    void reservationIsAllOrNothing() throws Exception {
+        dbStock.put(1, 5);
+        dbStock.put(2, 1);
+        service = newService();
+
+        assertFalse(service.reserveBooks(Map.of(book(1), 2, book(2), 2)));
+        assertEquals(5, service.getStock(1));
+        assertEquals(1, service.getStock(2));
+
+        assertTrue(service.reserveBooks(Map.of(book(1), 2, book(2), 1)));
+        assertEquals(3, service.getStock(1));
+        assertEquals(0, service.getStock(2));
+    }
+
+    @Test
+    void concurrentReservationsNeverOversell() throws Exception {
+        int initialStock = 100;
+        dbStock.put(1, initialStock);
+        service = newService();
+
+        AtomicInteger reserved = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newFixedThreadPool(32)) {
+            for (int t = 0; t < 32; t++) {
+                executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 10; i++) {
+                        if (service.reserveBooks(Map.of(book(1), 1))) {
+                            reserved.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+        }
+
+        assertEquals(initialStock, reserved.get());
+        assertEquals(0, service.getStock(1));
+        service.flush();
+        assertEquals(0, dbStock.get(1));
+    }
+
+    @Test
+    void revertRestoresReservedStock() throws Exception {
+        dbStock.put(1, 4);
+        service = newService();
+
+        assertTrue(service.reserveBooks(Map.of(book(1), 3)));
+        service.revertReservations(List.of(new CartItem(1, 3)));
+        assertEquals(4, service.getStock(1));
+    }
+
+    @Test
+    void flushAppliesDeltasAndCompactsTheJournal() throws Exception {
+        dbStock.put(1, 10);
+        service = newService();
+
+        assertTrue(service.reserveBooks(Map.of(book(1), 4)));
+        service.flush();
+
+        assertEquals(6, dbStock.get(1));
+        assertTrue(readJournal().isBlank());
+    }
+
+    @Test
+    void recoveryReplaysOnlyUnappliedJournalEntries() throws Exception {
+        dbStock.put(1, 10);
+        journalDAO.lastApplied = 1;
+        // Entry 1 already reached the database; entries 2 and 3 did not
+        Files.writeString(journalPath(), "1,1,-5\n2,1,-2\n3,1,-1\n", StandardCharsets.UTF_8);
+
+        service = newService();
+
+        assertEquals(7, dbStock.get(1));
+        assertEquals(3, journalDAO.lastApplied);
+        assertEquals(7, service.getStock(1));
+        assertTrue(readJournal().isBlank(), "Replayed entries are compacted away");
+    }
+
+    @Test
+    void failedStockReadIsNotCachedAsZero() throws Exception {
+        dbStock.put(1, 3);
+        service = newService();
+
+        failingReads.set(1);
+        assertFalse(service.reserveBooks(Map.of(book(1), 1)));
+        assertTrue(service.reserveBooks(Map.of(book(1), 1)), "The next reservation reads the stock again");
+        assertEquals(2, service.getStock(1));
+    }
+
+    @Test
+    void reservationsRecoverAfterAFailedJournalWrite() throws Exception {
+        dbStock.put(1, 10);
+        AtomicInteger failingWrites = new AtomicInteger();
+        service = new StripedInventoryService(bookDAO(), journalDAO, journalPath(),
+                path -> new FailingFileChannel(StockJournal.openForAppend(path), failingWrites));
+
+        assertTrue(service.reserveBooks(Map.of(book(1), 1)));
+        failingWrites.set(1);
+        assertFalse(service.reserveBooks(Map.of(book(1), 2)), "A failed journal write rejects the reservation");
+        assertEquals(9, service.getStock(1));
+
+        assertTrue(service.reserveBooks(Map.of(book(1), 3)), "Later reservations reopen the journal");
+        assertEquals(6, service.getStock(1));
+        service.flush();
+        assertEquals(6, dbStock.get(1));
+    }
+
+    private StripedInventoryService newService() throws Exception {
+        return new StripedInventoryService(bookDAO(), journalDAO, journalPath());
+    }
+
+    private Path journalPath() {
+        return tempDir.resolve("stock_journal.log");
+    }
+
+    private String readJournal() throws Exception {
+        return Files.readString(journalPath(), StandardCharsets.UTF_8);
+    }
+
+    private static Book book(int id) {
+        return new Book(id, "Book " + id, "Author", 0, 10.0, 0);
+    }
+
+    // Book DAO backed by dbStock; only the stock lookups are used by the engine
+    private IBookDAO bookDAO() {
+        return (IBookDAO) Proxy.newProxyInstance(IBookDAO.class.getClassLoader(), new Class<?>[] { IBookDAO.class },
+                (_, method, args) -> {
+                    int bookId = (Integer) args[0];
+                    return switch (method.getName()) {
+                        case "findStockForBook" -> failingReads.getAndUpdate(n -> Math.max(0, n - 1)) > 0 ? null
+                                : dbStock.get(bookId);
+                        case "getStockForBook" -> dbStock.getOrDefault(bookId, 0);
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    };
+                });
+    }
+
+    /**
+     * Journal state DAO that applies deltas to dbStock, like the SQL version.
+     */
+    private class InMemoryJournalDAO implements IStockJournalDAO {
+        private volatile long lastApplied;
+
+        @Override
+        public long getLastAppliedSequence() {
+            return lastApplied;
+        }
+
+        @Override
+        public synchronized boolean applyStockDeltas(Map<Integer, Integer> deltas, long sequence) {
+            new HashMap<>(deltas).forEach((bookId, delta) -> dbStock.merge(bookId, delta, Integer::sum));
+            lastApplied = Math.max(lastApplied, sequence);
+            return true;
+        }
+    }
+}
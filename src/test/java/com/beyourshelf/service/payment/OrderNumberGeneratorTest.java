@@ -0,0 +1,92 @@
+package com.beyourshelf.service.payment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+
+class OrderNumberGeneratorTest {
+
+    private static final int THREADS = 16;
+    private static final int IDS_PER_THREAD = 100_000;
+
+    @Test
+    void concurrentIdsAreUniqueAndIncreasingPerThread() throws InterruptedException {
+        OrderNumberGenerator generator = new OrderNumberGenerator(7);
+        long[][] idsByThread = new long[THREADS][IDS_PER_THREAD];
+        boolean[] increasing = new boolean[THREADS];
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[THREADS];
+
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            workers[t] = new Thread(() -> {
+                long[] ids = idsByThread[thread];
+                boolean ordered = true;
+                try {
+                    start.await(); // Start all threads together for maximum contention
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < ids.length; i++) {
+                    ids[i] = generator.nextId();
+                    if (i > 0 && ids[i] <= ids[i - 1]) {
+                        ordered = false;
+                    }
+                }
+                increasing[thread] = ordered;
+            }, "order-number-" + t);
+            workers[t].start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        // Sort all IDs together; any duplicate ends up next to its twin
+        long[] all = new long[THREADS * IDS_PER_THREAD];
+        for (int t = 0; t < THREADS; t++) {
+            assertTrue(increasing[t], "Thread " + t + " saw a non-increasing ID");
+            System.arraycopy(idsByThread[t], 0, all, t * IDS_PER_THREAD, IDS_PER_THREAD);
+        }
+        Arrays.sort(all);
+        assertTrue(all[0] > 0, "Non-positive ID generated: " + all[0]);
+        for (int i = 1; i < all.length; i++) {
+            assertTrue(all[i] != all[i - 1], "Duplicate ID: " + all[i]);
+        }
+    }
+
+    @Test
+    void nodeIdIsEmbeddedInEveryId() {
+        long first = new OrderNumberGenerator(1).nextId();
+        long second = new OrderNumberGenerator(2).nextId();
+        assertTrue(first != second);
+        assertEquals(1L, (first >>> 12) & 1023);
+        assertEquals(2L, (second >>> 12) & 1023);
+    }
+
+    @Test
+    void issuedAtRecoversTheGenerationTime() {
+        Instant before = Instant.now().minusMillis(1);
+        String orderNumber = new OrderNumberGenerator(0).nextOrderNumber();
+        Instant issued = OrderNumberGenerator.issuedAt(orderNumber).orElseThrow();
+
+        assertTrue(!issued.isBefore(before), orderNumber + " issued at " + issued);
+        assertTrue(Duration.between(issued, Instant.now()).toSeconds() < 5, orderNumber + " issued at " + issued);
+        assertTrue(OrderNumberGenerator.issuedAt("ORD-123").isEmpty());
+        assertTrue(OrderNumberGenerator.issuedAt("ORDER-abc").isEmpty());
+    }
+
+    @Test
+    void rejectsOutOfRangeNodeIds() {
+        assertThrows(IllegalArgumentException.class, () -> new OrderNumberGenerator(-1));
+        assertThrows(IllegalArgumentException.class, () -> new OrderNumberGenerator(1024));
+    }
+}
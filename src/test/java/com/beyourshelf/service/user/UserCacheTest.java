@@ -0,0 +1,61 @@
+package com.beyourshelf.service.user;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.beyourshelf.model.entity.User;
+
+class UserCacheTest {
+
+    @Test
+    void loadedUserIsServedFromTheCache() {
+        UserCache cache = new UserCache(10, 60);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("alice", username -> {
+            loads.incrementAndGet();
+            return user(1, username, "Alice");
+        });
+        User cached = cache.get("alice", _ -> {
+            loads.incrementAndGet();
+            return null;
+        });
+
+        assertEquals(1, loads.get());
+        assertEquals("Alice", cached.getFirstName());
+        assertEquals("", cached.getPassword(), "The password is never cached");
+    }
+
+    @Test
+    void loginReadThatRacedWithAnUpdateIsNotCached() {
+        UserCache cache = new UserCache(10, 60);
+
+        long before = cache.getInvalidationCount();
+        User staleRead = user(1, "alice", "Alice"); // Read by the login
+        cache.invalidate(1); // An admin renames the user meanwhile
+        cache.putIfNotInvalidatedSince(staleRead, before);
+
+        User reloaded = cache.get("alice", username -> user(1, username, "Alicia"));
+        assertEquals("Alicia", reloaded.getFirstName());
+    }
+
+    @Test
+    void loginReadWithoutAnInvalidationIsCached() {
+        UserCache cache = new UserCache(10, 60);
+
+        cache.putIfNotInvalidatedSince(user(1, "alice", "Alice"), cache.getInvalidationCount());
+
+        assertNull(cache.get("bob", _ -> null));
+        assertEquals("Alice", cache.get("alice", _ -> null).getFirstName());
+        assertTrue(cache.getHitCount() > 0);
+    }
+
+    private static User user(int id, String username, String firstName) {
+        return new User(id, username, firstName, "Smith", "hash", false);
+    }
+}
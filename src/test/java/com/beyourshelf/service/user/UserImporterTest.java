@@ -0,0 +1,176 @@
+package com.beyourshelf.service.user;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.beyourshelf.model.dao.user.IUserDAO;
+import com.beyourshelf.model.entity.UserImportResult;
+import com.beyourshelf.utils.auth.PasswordUtils;
+
+class UserImporterTest {
+
+    private final Set<String> existingUsernames = new HashSet<>(); // Usernames already in the fake database
+    private final List<Object[]> insertedRows = new ArrayList<>(); // Rows the fake database accepted
+    private int previousCost;
+
+    @BeforeEach
+    void useCheapHashes() {
+        previousCost = PasswordUtils.getCost();
+        PasswordUtils.setCost(4); // The lowest bcrypt cost keeps the test fast
+    }
+
+    @AfterEach
+    void restoreCost() {
+        PasswordUtils.setCost(previousCost);
+    }
+
+    @Test
+    void splitFieldsHandlesQuotedCommasAndDoubledQuotes() {
+        assertEquals(List.of("a", "b", "", "c"), UserImporter.splitFields("a,b,,c"));
+        assertEquals(List.of("Smith, Jr.", "say \"hi\"", ""),
+                UserImporter.splitFields("\"Smith, Jr.\",\"say \"\"hi\"\"\","));
+        assertEquals(List.of("\""), UserImporter.splitFields("\"\"\"\""));
+        assertNull(UserImporter.splitFields("alice,\"unterminated,x"));
+    }
+
+    @Test
+    void importsValidRowsWithAnOptionalHeader() throws Exception {
+        String csv = """
+                username,first_name,last_name,password,is_admin
+                alice,Alice,Smith,pw-alice,false
+                "bob, the builder",Bob,"O""Neil",pw-bob,yes
+
+                carol,Carol,Jones,pw-carol
+                """;
+        StringWriter rejects = new StringWriter();
+
+        UserImportResult result = importer().importUsers(new StringReader(csv), rejects);
+
+        assertEquals(3, result.getImported());
+        assertEquals(0, result.getRejected());
+        assertEquals("line,username,reason\n", rejects.toString());
+        Map<String, Object[]> rows = rowsByUsername();
+        assertEquals("O\"Neil", rows.get("bob, the builder")[2]);
+        assertEquals(true, rows.get("bob, the builder")[4]);
+        assertEquals(false, rows.get("carol")[4], "is_admin is optional");
+        assertTrue(PasswordUtils.verifyPassword("pw-alice", (String) rows.get("alice")[3]), "Passwords are hashed");
+    }
+
+    @Test
+    void headerIsOnlySkippedOnTheFirstLine() throws Exception {
+        String csv = "alice,Alice,Smith,pw-alice\nusername,First,Last,pw-user\n";
+
+        UserImportResult result = importer().importUsers(new StringReader(csv), new StringWriter());
+
+        assertEquals(2, result.getImported());
+        assertTrue(rowsByUsername().containsKey("username"));
+    }
+
+    @Test
+    void malformedRowsAreRejectedWithTheirLineNumber() throws Exception {
+        String csv = """
+                alice,Alice,Smith,pw-alice
+                bob,Bob,Brown
+                carol,Carol,Jones,pw-carol,false,extra
+                "dave,Dave,Davis,pw-dave
+                ,Erin,Evans,pw-erin
+                frank,Frank,Fisher,
+                """;
+        StringWriter rejects = new StringWriter();
+
+        UserImportResult result = importer().importUsers(new StringReader(csv), rejects);
+
+        assertEquals(1, result.getImported());
+        assertEquals(5, result.getRejected());
+        List<String> lines = rejects.toString().lines().toList();
+        assertEquals("2,bob,Expected at least 4 columns", lines.get(1));
+        assertEquals("3,carol,Expected at most 5 columns", lines.get(2));
+        assertEquals("4,,Unterminated quoted field", lines.get(3));
+        assertEquals("5,,Username is empty", lines.get(4));
+        assertEquals("6,frank,Password is empty", lines.get(5));
+    }
+
+    @Test
+    void takenUsernamesAreRejected() throws Exception {
+        existingUsernames.add("alice");
+        String csv = """
+                alice,Alice,Smith,pw-alice
+                bob,Bob,Brown,pw-bob
+                bob,Robert,Brown,pw-robert
+                """;
+        StringWriter rejects = new StringWriter();
+
+        UserImportResult result = importer().importUsers(new StringReader(csv), rejects);
+
+        assertEquals(1, result.getImported());
+        assertEquals(2, result.getRejected());
+        List<String> lines = rejects.toString().lines().toList();
+        assertTrue(lines.contains("1,alice,Username already exists"), "Already in the database");
+        assertTrue(lines.contains("3,bob,Username already exists"), "Repeated in the file");
+        assertEquals("Bob", rowsByUsername().get("bob")[1], "The first occurrence wins");
+    }
+
+    @Test
+    void rejectOutputNeverContainsPasswords() throws Exception {
+        existingUsernames.add("alice");
+        String csv = """
+                alice,Alice,Smith,secret-one
+                bob,Bob,Brown,secret-two,true,extra
+                carol,Carol,"Jones,secret-three
+                ,Dan,Doe,secret-four
+                """;
+        StringWriter rejects = new StringWriter();
+
+        UserImportResult result = importer().importUsers(new StringReader(csv), rejects);
+
+        assertEquals(4, result.getRejected());
+        assertFalse(rejects.toString().contains("secret"), rejects.toString());
+    }
+
+    private UserImporter importer() {
+        return new UserImporter(userDAO());
+    }
+
+    private Map<String, Object[]> rowsByUsername() {
+        Map<String, Object[]> rows = new HashMap<>();
+        insertedRows.forEach(row -> rows.put((String) row[0], row));
+        return rows;
+    }
+
+    // User DAO that behaves like INSERT OR IGNORE on a unique username; only the import methods are used
+    private IUserDAO userDAO() {
+        return (IUserDAO) Proxy.newProxyInstance(IUserDAO.class.getClassLoader(), new Class<?>[] { IUserDAO.class },
+                (_, method, args) -> switch (method.getName()) {
+                    case "insertUsers" -> {
+                        @SuppressWarnings("unchecked")
+                        List<Object[]> rows = (List<Object[]>) args[0];
+                        int[] counts = new int[rows.size()];
+                        for (int i = 0; i < counts.length; i++) {
+                            if (existingUsernames.add((String) rows.get(i)[0])) {
+                                insertedRows.add(rows.get(i));
+                                counts[i] = 1;
+                            }
+                        }
+                        yield counts;
+                    }
+                    case "getUserIdByUsername" -> existingUsernames.contains((String) args[0]) ? 1 : -1;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
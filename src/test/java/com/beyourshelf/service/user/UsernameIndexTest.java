@@ -0,0 +1,104 @@
+package com.beyourshelf.service.user;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.beyourshelf.utils.collections.BloomFilter;
+
+class UsernameIndexTest {
+
+    @Test
+    void addRemoveAndRenameAreReflected() {
+        UsernameIndex index = new UsernameIndex();
+        index.load(List.of("alice", "bob"));
+
+        assertTrue(index.isTaken("alice"));
+        assertFalse(index.isTaken("carol"));
+
+        index.add("carol");
+        index.remove("bob");
+        index.rename("alice", "alicia");
+
+        assertTrue(index.isTaken("carol"));
+        assertFalse(index.isTaken("bob"));
+        assertFalse(index.isTaken("alice"));
+        assertTrue(index.isTaken("alicia"));
+    }
+
+    @Test
+    void loadReplacesTheContents() {
+        UsernameIndex index = new UsernameIndex();
+        index.load(List.of("alice"));
+        index.load(List.of("bob"));
+
+        assertFalse(index.isTaken("alice"));
+        assertTrue(index.isTaken("bob"));
+    }
+
+    @Test
+    void filterGrowsOnceOverCapacity() {
+        UsernameIndex index = new UsernameIndex();
+        BloomFilter initial = index.getFilter();
+        int capacity = initial.getCapacity();
+
+        for (int i = 0; i <= capacity; i++) {
+            index.add("user" + i);
+        }
+
+        assertNotSame(initial, index.getFilter());
+        assertTrue(index.getFilter().getCapacity() > capacity);
+        for (int i = 0; i <= capacity; i++) {
+            assertTrue(index.isTaken("user" + i), "user" + i);
+        }
+    }
+
+    @Test
+    void filterIsRebuiltAfterEnoughRemovals() {
+        UsernameIndex index = new UsernameIndex();
+        for (int i = 0; i < 300; i++) {
+            index.add("user" + i);
+        }
+        BloomFilter before = index.getFilter();
+
+        for (int i = 0; i < 255; i++) {
+            index.remove("user" + i);
+        }
+        assertSame(before, index.getFilter(), "Removed names stay in the filter until the rebuild");
+        index.remove("user255");
+        assertNotSame(before, index.getFilter());
+
+        int stillInFilter = 0;
+        for (int i = 0; i < 256; i++) {
+            assertFalse(index.isTaken("user" + i), "user" + i);
+            if (index.getFilter().mightContain("user" + i)) {
+                stillInFilter++;
+            }
+        }
+        assertTrue(stillInFilter < 20, "Only false positives remain: " + stillInFilter);
+        for (int i = 256; i < 300; i++) {
+            assertTrue(index.isTaken("user" + i), "user" + i);
+        }
+    }
+
+    @Test
+    void renamesAcrossRebuildsKeepNewNamesTaken() {
+        UsernameIndex index = new UsernameIndex();
+        for (int i = 0; i < 600; i++) {
+            index.add("old" + i);
+        }
+        for (int i = 0; i < 600; i++) {
+            index.rename("old" + i, "new" + i); // Renames count as removals and trigger rebuilds
+        }
+
+        for (int i = 0; i < 600; i++) {
+            assertFalse(index.isTaken("old" + i), "old" + i);
+            assertTrue(index.isTaken("new" + i), "new" + i);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.beyourshelf.tools;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import com.beyourshelf.model.entity.Book;
+import com.beyourshelf.model.entity.ShoppingCart;
+
+/**
+ * Command-line benchmark for cart edits on large carts. Every edit either
+ * changes a line's quantity or toggles its checkout selection, then reads the
+ * selected subtotal, as the cart view does after each change.
+ *
+ * "hashmap" models the previous cart: quantities in a HashMap keyed by Book
+ * and a subtotal recomputed by streaming every line. "cart" is ShoppingCart,
+ * which keeps the subtotal up to date per edit. Both run the same seeded
+ * sequence of edits and must end with the same subtotal.
+ *
+ * Usage, from the test classpath: {@code CartSubtotalBenchmark [lines] [edits] [rounds]}
+ */
+public class CartSubtotalBenchmark {
+
+    private static final int WARMUP_ROUNDS = 5;
+
+    public static void main(String[] args) {
+        int lines = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        int edits = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+        int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        List<Book> books = new ArrayList<>();
+        for (int i = 1; i <= lines; i++) {
+            books.add(new Book(i, "Benchmark Book " + i, "Benchmark Author", 100, 5 + (i % 40) * 0.25, 0));
+        }
+        int[][] script = createScript(lines, edits);
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            checkSameResult(runHashMap(books, script), runCart(books, script));
+        }
+
+        long[] hashMapNanos = new long[rounds];
+        long[] cartNanos = new long[rounds];
+        for (int i = 0; i < rounds; i++) {
+            long start = System.nanoTime();
+            double hashMapSubtotal = runHashMap(books, script);
+            hashMapNanos[i] = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            double cartSubtotal = runCart(books, script);
+            cartNanos[i] = System.nanoTime() - start;
+
+            checkSameResult(hashMapSubtotal, cartSubtotal);
+        }
+
+        System.out.printf("%-8s %-8s %14s%n", "lines", "model", "ns per edit");
+        print(lines, "hashmap", hashMapNanos, edits);
+        print(lines, "cart", cartNanos, edits);
+    }
+
+    // Builds a seeded edit sequence of {line index, new quantity or 0 to toggle selection}
+    private static int[][] createScript(int lines, int edits) {
+        Random random = new Random(42);
+        int[][] script = new int[edits][];
+        for (int i = 0; i < edits; i++) {
+            int quantity = random.nextBoolean() ? 1 + random.nextInt(5) : 0;
+            script[i] = new int[] { random.nextInt(lines), quantity };
+        }
+        return script;
+    }
+
+    // Runs the edits against a Book-keyed HashMap, recomputing the subtotal each time
+    private static double runHashMap(List<Book> books, int[][] script) {
+        Map<Book, Integer> cart = new HashMap<>();
+        Set<Integer> selected = new HashSet<>();
+        for (Book book : books) {
+            cart.put(book, 1);
+            selected.add(book.getBookId());
+        }
+
+        double subtotal = 0;
+        for (int[] edit : script) {
+            Book book = books.get(edit[0]);
+            if (edit[1] > 0) {
+                cart.put(book, edit[1]);
+            } else if (!selected.remove(book.getBookId())) {
+                selected.add(book.getBookId());
+            }
+            subtotal = cart.entrySet().stream()
+                    .filter(entry -> selected.contains(entry.getKey().getBookId()))
+                    .mapToDouble(entry -> entry.getKey().getPrice() * entry.getValue())
+                    .sum();
+        }
+        return subtotal;
+    }
+
+    // Runs the edits against ShoppingCart and its running subtotal
+    private static double runCart(List<Book> books, int[][] script) {
+        ShoppingCart cart = new ShoppingCart(0, 0);
+        for (Book book : books) {
+            cart.addBook(book, 1);
+            cart.setSelected(book.getBookId(), true);
+        }
+
+        double subtotal = 0;
+        for (int[] edit : script) {
+            Book book = books.get(edit[0]);
+            if (edit[1] > 0) {
+                cart.updateBookQuantity(book, edit[1]);
+            } else {
+                cart.setSelected(book.getBookId(), !cart.isSelected(book.getBookId()));
+            }
+            subtotal = cart.getSelectedSubtotal();
+        }
+        return subtotal;
+    }
+
+    // Guards against the two models drifting apart, which would make the timings meaningless
+    private static void checkSameResult(double hashMapSubtotal, double cartSubtotal) {
+        if (Math.abs(hashMapSubtotal - cartSubtotal) > 0.005) {
+            throw new IllegalStateException("Subtotals differ: " + hashMapSubtotal + " vs " + cartSubtotal);
+        }
+    }
+
+    // Prints the median time per edit across rounds
+    private static void print(int lines, String model, long[] roundNanos, int edits) {
+        long[] sorted = roundNanos.clone();
+        Arrays.sort(sorted);
+        System.out.printf("%-8d %-8s %14.1f%n", lines, model, sorted[sorted.length / 2] / (double) edits);
+    }
+}
@@ -0,0 +1,409 @@
+package com.beyourshelf.tools;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.beyourshelf.model.dao.database.Database;
+import com.beyourshelf.model.dao.database.DatabaseInitializer;
+import com.beyourshelf.model.entity.Book;
+import com.beyourshelf.model.entity.CartItem;
+import com.beyourshelf.model.entity.Order;
+import com.beyourshelf.model.entity.OrderItem;
+import com.beyourshelf.service.ServiceManager;
+import com.beyourshelf.service.book.IBookService;
+import com.beyourshelf.service.cart.ICartService;
+import com.beyourshelf.service.inventory.IInventoryService;
+import com.beyourshelf.service.order.IOrderService;
+import com.beyourshelf.service.payment.IPaymentService;
+
+/**
+ * Harness that drives many concurrent checkouts against a temporary SQLite
+ * database and reports throughput, latency percentiles, SQLITE_BUSY errors,
+ * and any overselling or stock drift. CheckoutStressHarnessTest runs a small
+ * configuration as part of the test suite; main runs a full-size one from the
+ * test classpath.
+ *
+ * Each simulated shopper runs on its own virtual thread and goes through the
+ * same services as the UI: it fills a cart, reserves stock, pays, and places
+ * the order (or reverts the reservation if the order cannot be saved).
+ *
+ * Usage: {@code CheckoutStressHarness [shoppers] [stockPerBook] [maxItemsPerCart]}
+ * The inventory engine under test is selected with
+ * {@code -Dbeyourshelf.inventory.engine=sql|striped}.
+ */
+public class CheckoutStressHarness {
+
+    // Payment details accepted by PaymentValidator
+    private static final String CARD_NUMBER = "4111111111111111";
+    private static final String CARD_HOLDER = "Stress Shopper";
+    private static final String EXPIRY_DATE = "12/99";
+    private static final String CVV = "123";
+
+    // Number of runs started in this JVM, so each run creates distinct shopper accounts
+    private static final AtomicInteger RUNS = new AtomicInteger();
+
+    // Outcome counters shared by all shoppers
+    private final AtomicInteger completed = new AtomicInteger();
+    private final AtomicInteger outOfStock = new AtomicInteger();
+    private final AtomicInteger paymentFailures = new AtomicInteger();
+    private final AtomicInteger orderFailures = new AtomicInteger();
+    private final AtomicInteger errors = new AtomicInteger();
+
+    private final int shoppers; // Number of concurrent shoppers
+    private final int stockPerBook; // Physical copies each book starts with
+    private final int maxItemsPerCart; // Maximum distinct books per cart
+    private final long[] latenciesNanos; // Checkout latency per shopper, -1 if not measured
+
+    public CheckoutStressHarness(int shoppers, int stockPerBook, int maxItemsPerCart) {
+        this.shoppers = shoppers;
+        this.stockPerBook = stockPerBook;
+        this.maxItemsPerCart = maxItemsPerCart;
+        this.latenciesNanos = new long[shoppers];
+        Arrays.fill(latenciesNanos, -1);
+    }
+
+    public static void main(String[] args) throws Exception {
+        int shoppers = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int stockPerBook = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int maxItemsPerCart = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+
+        // Point the application at a throwaway database before any DAO is touched
+        Path dbFile = Files.createTempFile("beyourshelf-stress", ".db");
+        Path journalFile = Files.createTempFile("beyourshelf-stress", ".log");
+        System.setProperty(Database.DB_URL_PROPERTY, "jdbc:sqlite:" + dbFile.toAbsolutePath());
+        System.setProperty(ServiceManager.STOCK_JOURNAL_PROPERTY, journalFile.toAbsolutePath().toString());
+
+        BusyCountingStream busyCounter = new BusyCountingStream(System.out);
+        PrintStream originalOut = System.out;
+        int exitCode;
+        try {
+            DatabaseInitializer.initializeDatabase();
+            System.setOut(new PrintStream(busyCounter, true, StandardCharsets.UTF_8));
+
+            CheckoutStressHarness harness = new CheckoutStressHarness(shoppers, stockPerBook, maxItemsPerCart);
+            Report report = harness.run();
+
+            System.setOut(originalOut);
+            report.print(busyCounter.getBusyCount());
+            exitCode = report.isConsistent() ? 0 : 1;
+        } finally {
+            System.setOut(originalOut);
+            ServiceManager.shutdown();
+            Files.deleteIfExists(dbFile);
+            Files.deleteIfExists(journalFile);
+        }
+        // Exit only after cleanup; exiting inside the try would skip the finally block
+        System.exit(exitCode);
+    }
+
+    /**
+     * Prepares the database, runs every shopper concurrently, and checks the
+     * resulting stock against the orders that were placed.
+     *
+     * @return The report for this run.
+     * @throws Exception if the database cannot be prepared or inspected.
+     */
+    public Report run() throws Exception {
+        ServiceManager services = ServiceManager.getInstance();
+        IBookService bookService = services.getBookService();
+
+        // Give every book the same, deliberately scarce, stock
+        for (Book book : bookService.getAllBooks()) {
+            bookService.updatePhysicalCopies(book.getBookId(), stockPerBook);
+            services.getInventoryService().refreshStock(book.getBookId());
+        }
+        List<Book> books = bookService.getAllBooks();
+        Map<Integer, int[]> initialStock = snapshotStock(books);
+        Map<Integer, Integer> orderedBefore = readOrderedQuantities(); // Orders left by earlier runs
+        List<Integer> userIds = createShoppers();
+
+        CountDownLatch start = new CountDownLatch(1);
+        long startedAt;
+        long finishedAt;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < shoppers; i++) {
+                int shopper = i;
+                executor.submit(() -> {
+                    start.await();
+                    runShopper(shopper, userIds.get(shopper), books, services);
+                    return null;
+                });
+            }
+            startedAt = System.nanoTime();
+            start.countDown(); // Release every shopper at once
+        } // Closing the executor waits for all shoppers
+        finishedAt = System.nanoTime();
+
+        // Make sure write-behind engines have persisted everything before checking
+        ServiceManager.shutdown();
+
+        return new Report(finishedAt - startedAt, latenciesNanos, completed.get(), outOfStock.get(),
+                paymentFailures.get(), orderFailures.get(), errors.get(),
+                verifyStock(initialStock, orderedBefore, bookService.getAllBooks()));
+    }
+
+    // Simulates one shopper going through the full checkout flow
+    private void runShopper(int shopper, int userId, List<Book> books, ServiceManager services) {
+        ICartService cartService = services.getCartService();
+        IInventoryService inventoryService = services.getInventoryService();
+        IPaymentService paymentService = services.getPaymentService();
+        IOrderService orderService = services.getOrderService();
+
+        try {
+            // Fill the cart with a few random books
+            int cartId = cartService.getOrCreateCart(userId);
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int items = 1 + random.nextInt(maxItemsPerCart);
+            for (int i = 0; i < items; i++) {
+                Book book = books.get(random.nextInt(books.size()));
+                cartService.addOrUpdateBookInCart(cartId, book.getBookId(), 1 + random.nextInt(3));
+            }
+
+            Map<Integer, Book> booksById = new HashMap<>();
+            books.forEach(book -> booksById.put(book.getBookId(), book));
+            Map<Book, Integer> cart = new HashMap<>();
+            for (CartItem item : cartService.getCartItems(cartId)) {
+                cart.put(booksById.get(item.getBookId()), item.getQuantity());
+            }
+
+            long checkoutStart = System.nanoTime();
+            if (!inventoryService.reserveBooks(cart)) {
+                outOfStock.incrementAndGet();
+                latenciesNanos[shopper] = System.nanoTime() - checkoutStart;
+                return;
+            }
+
+            Optional<String> reference = paymentService.processPayment(CARD_NUMBER, CARD_HOLDER, EXPIRY_DATE, CVV);
+            if (reference.isEmpty()) {
+                paymentFailures.incrementAndGet();
+                inventoryService.revertReservations(toCartItems(cart));
+                return;
+            }
+
+            List<OrderItem> orderItems = new ArrayList<>();
+            double total = 0;
+            for (Map.Entry<Book, Integer> entry : cart.entrySet()) {
+                Book book = entry.getKey();
+                orderItems.add(new OrderItem(book.getBookId(), book.getTitle(), entry.getValue(), book.getPrice()));
+                total += book.getPrice() * entry.getValue();
+            }
+
+            if (orderService.placeOrder(new Order(reference.get(), userId, total, orderItems))) {
+                cartService.removeBooksFromCart(cartId, new ArrayList<>(cart.keySet()));
+                completed.incrementAndGet();
+            } else {
+                orderFailures.incrementAndGet();
+                inventoryService.revertReservations(toCartItems(cart));
+            }
+            latenciesNanos[shopper] = System.nanoTime() - checkoutStart;
+        } catch (RuntimeException e) {
+            errors.incrementAndGet();
+            System.err.println("Shopper " + shopper + " failed: " + e.getMessage());
+        }
+    }
+
+    // Converts reserved books back into cart items for reverting a reservation
+    private static List<CartItem> toCartItems(Map<Book, Integer> cart) {
+        List<CartItem> items = new ArrayList<>();
+        cart.forEach((book, quantity) -> items.add(new CartItem(book.getBookId(), quantity)));
+        return items;
+    }
+
+    // Inserts the shopper accounts directly; their passwords are never checked
+    private List<Integer> createShoppers() throws SQLException {
+        List<Integer> userIds = new ArrayList<>();
+        int run = RUNS.incrementAndGet();
+        String insertSQL = "INSERT INTO users (username, password, first_name, last_name, is_admin) VALUES (?, ?, ?, ?, 0)";
+        try (Connection conn = Database.getInstance().getConnection();
+                PreparedStatement pstmt = conn.prepareStatement(insertSQL, PreparedStatement.RETURN_GENERATED_KEYS)) {
+            conn.setAutoCommit(false);
+            for (int i = 0; i < shoppers; i++) {
+                pstmt.setString(1, "shopper" + run + "_" + i);
+                pstmt.setString(2, "unused");
+                pstmt.setString(3, "Shopper");
+                pstmt.setString(4, String.valueOf(i));
+                pstmt.executeUpdate();
+                try (ResultSet keys = pstmt.getGeneratedKeys()) {
+                    keys.next();
+                    userIds.add(keys.getInt(1));
+                }
+            }
+            conn.commit();
+        }
+        return userIds;
+    }
+
+    // Records physical and sold copies per book as {physical, sold}
+    private static Map<Integer, int[]> snapshotStock(List<Book> books) {
+        Map<Integer, int[]> snapshot = new HashMap<>();
+        for (Book book : books) {
+            snapshot.put(book.getBookId(), new int[] { book.getPhysicalCopies(), book.getSoldCopies() });
+        }
+        return snapshot;
+    }
+
+    // Sums the quantities recorded in order_items per book
+    private static Map<Integer, Integer> readOrderedQuantities() throws SQLException {
+        Map<Integer, Integer> ordered = new HashMap<>();
+        String orderedSQL = "SELECT book_id, SUM(quantity) FROM order_items GROUP BY book_id";
+        try (Connection conn = Database.getInstance().getConnection();
+                PreparedStatement pstmt = conn.prepareStatement(orderedSQL);
+                ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                ordered.put(rs.getInt(1), rs.getInt(2));
+            }
+        }
+        return ordered;
+    }
+
+    // Compares the final stock with the quantities ordered during this run
+    private static List<String> verifyStock(Map<Integer, int[]> initialStock, Map<Integer, Integer> orderedBefore,
+            List<Book> finalBooks) throws SQLException {
+        Map<Integer, Integer> ordered = readOrderedQuantities();
+
+        List<String> problems = new ArrayList<>();
+        for (Book book : finalBooks) {
+            int[] initial = initialStock.get(book.getBookId());
+            int orderedQuantity = ordered.getOrDefault(book.getBookId(), 0)
+                    - orderedBefore.getOrDefault(book.getBookId(), 0);
+            if (book.getPhysicalCopies() < 0) {
+                problems.add("Oversold \"" + book.getTitle() + "\": stock is " + book.getPhysicalCopies());
+            }
+            if (initial[0] - book.getPhysicalCopies() != orderedQuantity) {
+                problems.add("Stock drift for \"" + book.getTitle() + "\": " + (initial[0] - book.getPhysicalCopies())
+                        + " copies left the shelf but " + orderedQuantity + " were ordered");
+            }
+            if (book.getSoldCopies() - initial[1] != orderedQuantity) {
+                problems.add("Sold-copies drift for \"" + book.getTitle() + "\": " + (book.getSoldCopies() - initial[1])
+                        + " recorded as sold but " + orderedQuantity + " were ordered");
+            }
+        }
+        return problems;
+    }
+
+    /**
+     * Results of a single stress run.
+     */
+    public static final class Report {
+        private final long elapsedNanos; // Wall-clock duration of the run
+        private final long[] latenciesNanos; // Measured checkout latencies, sorted
+        private final int completed; // Orders placed successfully
+        private final int outOfStock; // Checkouts rejected for insufficient stock
+        private final int paymentFailures; // Checkouts whose payment failed
+        private final int orderFailures; // Checkouts whose order could not be saved
+        private final int errors; // Shoppers that failed with an unexpected exception
+        private final List<String> problems; // Oversell and drift findings
+
+        public Report(long elapsedNanos, long[] latenciesNanos, int completed, int outOfStock, int paymentFailures,
+                int orderFailures, int errors, List<String> problems) {
+            this.elapsedNanos = elapsedNanos;
+            this.latenciesNanos = Arrays.stream(latenciesNanos).filter(latency -> latency >= 0).sorted().toArray();
+            this.completed = completed;
+            this.outOfStock = outOfStock;
+            this.paymentFailures = paymentFailures;
+            this.orderFailures = orderFailures;
+            this.errors = errors;
+            this.problems = problems;
+        }
+
+        // Returns true if no overselling or drift was detected
+        public boolean isConsistent() {
+            return problems.isEmpty();
+        }
+
+        // Returns the oversell and drift findings, empty if the run was consistent
+        public List<String> getProblems() {
+            return problems;
+        }
+
+        // Returns the number of orders placed successfully
+        public int getCompleted() {
+            return completed;
+        }
+
+        // Returns the number of shoppers that failed with an unexpected exception
+        public int getErrors() {
+            return errors;
+        }
+
+        // Prints the report to standard output
+        public void print(long busyCount) {
+            double seconds = elapsedNanos / 1_000_000_000.0;
+            System.out.println("=== Checkout stress report ===");
+            System.out.printf("Elapsed:            %.2f s%n", seconds);
+            System.out.printf("Throughput:         %.1f orders/s%n", completed / seconds);
+            System.out.println("Orders placed:      " + completed);
+            System.out.println("Out of stock:       " + outOfStock);
+            System.out.println("Payment failures:   " + paymentFailures);
+            System.out.println("Order failures:     " + orderFailures);
+            System.out.println("Unexpected errors:  " + errors);
+            System.out.println("SQLITE_BUSY errors: " + busyCount);
+            System.out.printf("Latency p50/p95/p99/max: %.1f / %.1f / %.1f / %.1f ms%n", percentile(50),
+                    percentile(95), percentile(99), percentile(100));
+            if (problems.isEmpty()) {
+                System.out.println("Stock check:        OK (no overselling or drift)");
+            } else {
+                System.out.println("Stock check:        FAILED");
+                problems.forEach(problem -> System.out.println("  " + problem));
+            }
+        }
+
+        // Returns the given latency percentile in milliseconds (nearest-rank)
+        private double percentile(int percentile) {
+            if (latenciesNanos.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile / 100.0 * latenciesNanos.length);
+            return latenciesNanos[Math.max(0, rank - 1)] / 1_000_000.0;
+        }
+    }
+
+    /**
+     * Output stream that counts SQLITE_BUSY errors reported by the DAOs, which log
+     * failures to standard output, and discards the rest of their chatter.
+     */
+    private static final class BusyCountingStream extends OutputStream {
+        private final PrintStream errorEcho; // Where busy errors are echoed
+        private final StringBuilder line = new StringBuilder(); // Current, unterminated line
+        private long busyCount; // Number of lines mentioning SQLITE_BUSY
+
+        BusyCountingStream(PrintStream errorEcho) {
+            this.errorEcho = errorEcho;
+        }
+
+        @Override
+        public synchronized void write(int b) {
+            if (b == '\n') {
+                if (line.indexOf("SQLITE_BUSY") >= 0) {
+                    busyCount++;
+                    errorEcho.println(line);
+                }
+                line.setLength(0);
+            } else {
+                line.append((char) b);
+            }
+        }
+
+        synchronized long getBusyCount() {
+            return busyCount;
+        }
+    }
+}
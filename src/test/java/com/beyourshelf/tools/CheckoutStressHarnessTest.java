@@ -0,0 +1,52 @@
+package com.beyourshelf.tools;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.beyourshelf.model.dao.database.Database;
+import com.beyourshelf.model.dao.database.DatabaseInitializer;
+import com.beyourshelf.model.dao.order.OrderPartitionRouter;
+import com.beyourshelf.service.ServiceManager;
+
+/**
+ * Runs a small checkout stress run against a temporary database and fails if
+ * any book is oversold or its stock drifts from the orders placed. The engine
+ * under test follows {@code -Dbeyourshelf.inventory.engine}, as in the app.
+ */
+class CheckoutStressHarnessTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void concurrentCheckoutsNeitherOversellNorDrift() throws Exception {
+        // Database reads its URL once per JVM, so this must happen before any DAO is touched; the
+        // test runs in its own fork (see pom.xml) so no other test has touched it yet
+        System.setProperty(Database.DB_URL_PROPERTY, "jdbc:sqlite:" + tempDir.resolve("stress.db").toAbsolutePath());
+        System.setProperty(ServiceManager.STOCK_JOURNAL_PROPERTY, tempDir.resolve("stock_journal.log").toString());
+        // Keep any order partitions and archive files out of the working directory
+        System.setProperty(OrderPartitionRouter.PARTITION_DIR_PROPERTY, tempDir.resolve("orders").toString());
+        System.setProperty(OrderPartitionRouter.ARCHIVE_DIR_PROPERTY, tempDir.resolve("archive").toString());
+
+        try {
+            DatabaseInitializer.initializeDatabase();
+            CheckoutStressHarness.Report report = new CheckoutStressHarness(50, 5, 3).run();
+
+            assertTrue(report.isConsistent(), String.join("\n", report.getProblems()));
+            assertEquals(0, report.getErrors());
+            assertTrue(report.getCompleted() > 0, "No order was placed");
+
+            // The run shut the services down; a second run in this JVM must get fresh ones
+            report = new CheckoutStressHarness(20, 5, 3).run();
+            assertTrue(report.isConsistent(), String.join("\n", report.getProblems()));
+            assertEquals(0, report.getErrors());
+        } finally {
+            ServiceManager.shutdown();
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.beyourshelf.tools;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.beyourshelf.server.Json;
+
+/**
+ * Command-line load generator for the headless HTTP API (see HeadlessServer).
+ *
+ * Each virtual user runs on its own virtual thread: it registers, logs in, and
+ * then repeatedly browses the catalog, adds a few books to its cart, reads the
+ * cart, checks out and lists its orders, before logging out. The report shows
+ * overall throughput and, per endpoint, the request count, status codes and
+ * p50/p95 latency.
+ *
+ * Usage: {@code HttpLoadGenerator [baseUrl] [users] [iterations]}
+ */
+public class HttpLoadGenerator {
+
+    // Payment details accepted by PaymentValidator
+    private static final String CARD_NUMBER = "4111111111111111";
+    private static final String CARD_HOLDER = "Load Shopper";
+    private static final String EXPIRY_DATE = "12/99";
+    private static final String CVV = "123";
+    private static final String PASSWORD = "LoadTest123";
+    private static final int MAX_ITEMS_PER_CART = 3;
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final AtomicInteger failedUsers = new AtomicInteger();
+    private final String baseUrl; // Address of the API, without a trailing slash
+    private final int iterations; // Shopping rounds per virtual user
+    private final String runId = Long.toString(System.currentTimeMillis(), 36); // Keeps usernames unique per run
+
+    public HttpLoadGenerator(String baseUrl, int iterations) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.iterations = iterations;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int users = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        int iterations = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+        HttpLoadGenerator generator = new HttpLoadGenerator(baseUrl, iterations);
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int user = 0; user < users; user++) {
+                int userNumber = user;
+                executor.submit(() -> generator.runUser(userNumber));
+            }
+        } // Waits for every virtual user to finish
+        generator.report(users, (System.nanoTime() - start) / 1e9);
+    }
+
+    // Runs one virtual user from registration to logout
+    private void runUser(int userNumber) {
+        try {
+            String username = "load_" + runId + "_" + userNumber;
+            call("POST /api/auth/register", "POST", "/api/auth/register", null, Map.of("username", username,
+                    "firstName", "Load", "lastName", "User" + userNumber, "password", PASSWORD));
+            Map<?, ?> login = (Map<?, ?>) call("POST /api/auth/login", "POST", "/api/auth/login", null,
+                    Map.of("username", username, "password", PASSWORD));
+            if (login == null || !(login.get("token") instanceof String token)) {
+                failedUsers.incrementAndGet();
+                return;
+            }
+
+            for (int i = 0; i < iterations; i++) {
+                shop(token);
+            }
+            call("POST /api/auth/logout", "POST", "/api/auth/logout", token, null);
+        } catch (Exception e) {
+            failedUsers.incrementAndGet();
+            System.out.println("Virtual user " + userNumber + " failed: " + e);
+        }
+    }
+
+    // One shopping round: browse, fill the cart, check out and list orders
+    private void shop(String token) throws Exception {
+        List<?> books = (List<?>) call("GET /api/books", "GET", "/api/books", null, null);
+        call("GET /api/books/top", "GET", "/api/books/top", null, null);
+        if (books == null || books.isEmpty()) {
+            return;
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int items = random.nextInt(1, MAX_ITEMS_PER_CART + 1);
+        for (int i = 0; i < items; i++) {
+            Map<?, ?> book = (Map<?, ?>) books.get(random.nextInt(books.size()));
+            int bookId = ((Number) book.get("id")).intValue();
+            call("GET /api/books/{id}", "GET", "/api/books/" + bookId, null, null);
+            call("POST /api/cart/items", "POST", "/api/cart/items", token,
+                    Map.of("bookId", bookId, "quantity", 1));
+        }
+        call("GET /api/cart", "GET", "/api/cart", token, null);
+        call("POST /api/checkout", "POST", "/api/checkout", token, Map.of("cardNumber", CARD_NUMBER,
+                "cardHolderName", CARD_HOLDER, "expiryDate", EXPIRY_DATE, "cvv", CVV));
+        call("GET /api/orders", "GET", "/api/orders", token, null);
+    }
+
+    // Sends a request, records its status and latency, and returns the parsed body
+    private Object call(String name, String method, String path, String token, Map<String, ?> body)
+            throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(Json.write(body)));
+        if (body != null) {
+            request.header("Content-Type", "application/json");
+        }
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+
+        long start = System.nanoTime();
+        HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        endpoints.computeIfAbsent(name, _ -> new Endpoint()).record(response.statusCode(), System.nanoTime() - start);
+        if (response.statusCode() >= 300 || response.body().isEmpty()) {
+            return null;
+        }
+        return Json.parse(response.body());
+    }
+
+    // Prints throughput and per-endpoint statistics
+    private void report(int users, double seconds) {
+        int requests = endpoints.values().stream().mapToInt(Endpoint::count).sum();
+        System.out.println("=== HTTP load test ===");
+        System.out.printf("Virtual users:      %d x %d rounds (%d failed)%n", users, iterations, failedUsers.get());
+        System.out.printf("Elapsed:            %.2f s%n", seconds);
+        System.out.printf("Throughput:         %.1f requests/s%n", requests / seconds);
+        System.out.printf("%-24s %8s %10s %10s  %s%n", "endpoint", "requests", "p50 ms", "p95 ms", "statuses");
+        new TreeMap<>(endpoints).forEach((name, endpoint) -> endpoint.print(name));
+    }
+
+    /**
+     * Latencies and status codes recorded for one endpoint.
+     */
+    private static class Endpoint {
+        private final List<Long> latenciesNanos = new ArrayList<>();
+        private final Map<Integer, Integer> statuses = new TreeMap<>();
+
+        synchronized void record(int status, long latencyNanos) {
+            latenciesNanos.add(latencyNanos);
+            statuses.merge(status, 1, Integer::sum);
+        }
+
+        synchronized int count() {
+            return latenciesNanos.size();
+        }
+
+        synchronized void print(String name) {
+            List<Long> sorted = new ArrayList<>(latenciesNanos);
+            sorted.sort(null);
+            System.out.printf("%-24s %8d %10.1f %10.1f  %s%n", name, sorted.size(), percentile(sorted, 50),
+                    percentile(sorted, 95), statuses);
+        }
+
+        // Returns the given latency percentile in milliseconds (nearest-rank)
+        private static double percentile(List<Long> sorted, int percentile) {
+            if (sorted.isEmpty()) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile / 100.0 * sorted.size());
+            return sorted.get(Math.max(0, rank - 1)) / 1e6;
+        }
+    }
+}
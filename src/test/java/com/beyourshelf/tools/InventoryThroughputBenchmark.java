@@ -0,0 +1,136 @@
+package com.beyourshelf.tools;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.beyourshelf.model.dao.book.BookDAO;
+import com.beyourshelf.model.dao.database.Database;
+import com.beyourshelf.model.dao.database.DatabaseInitializer;
+import com.beyourshelf.model.dao.inventory.StockJournalDAO;
+import com.beyourshelf.model.entity.Book;
+import com.beyourshelf.model.entity.CartItem;
+import com.beyourshelf.service.inventory.IInventoryService;
+import com.beyourshelf.service.inventory.InventoryService;
+import com.beyourshelf.service.inventory.StripedInventoryService;
+
+/**
+ * Command-line benchmark comparing reserve/release throughput of the SQL-only
+ * inventory engine with the striped, journal-backed engine on a temporary
+ * SQLite database.
+ *
+ * Every operation reserves one copy of a random book and immediately releases
+ * it, so stock never runs out and both engines do the same logical work. The
+ * striped engine is closed before its timing stops, so its final flush to the
+ * database is included.
+ *
+ * Usage, from the test classpath: {@code InventoryThroughputBenchmark [threads] [operationsPerThread] [books]}
+ */
+public class InventoryThroughputBenchmark {
+
+    private static final int WARMUP_OPERATIONS = 200;
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+        int operationsPerThread = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+        int bookCount = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+
+        // Point the application at a throwaway database before any DAO is touched
+        Path dbFile = Files.createTempFile("beyourshelf-inventory", ".db");
+        Path journalFile = Files.createTempFile("beyourshelf-inventory", ".log");
+        System.setProperty(Database.DB_URL_PROPERTY, "jdbc:sqlite:" + dbFile.toAbsolutePath());
+
+        try {
+            DatabaseInitializer.initializeDatabase();
+            List<Book> books = createBooks(bookCount);
+
+            System.out.printf("%-8s %8s %12s %12s%n", "engine", "threads", "ops", "ops/s");
+            BookDAO bookDAO = new BookDAO();
+            run("sql", new InventoryService(bookDAO), books, threads, operationsPerThread);
+            run("striped", new StripedInventoryService(bookDAO, new StockJournalDAO(), journalFile), books, threads,
+                    operationsPerThread);
+        } finally {
+            Files.deleteIfExists(dbFile);
+            Files.deleteIfExists(journalFile);
+        }
+    }
+
+    // Warms the engine up, times the concurrent reserve/release loop and prints the result
+    private static void run(String name, IInventoryService engine, List<Book> books, int threads,
+            int operationsPerThread) throws Exception {
+        AtomicInteger failures = new AtomicInteger();
+        for (int i = 0; i < WARMUP_OPERATIONS; i++) {
+            reserveAndRelease(engine, books, failures);
+        }
+        failures.set(0);
+
+        CountDownLatch start = new CountDownLatch(1);
+        long startedAt;
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (int t = 0; t < threads; t++) {
+                executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < operationsPerThread; i++) {
+                        reserveAndRelease(engine, books, failures);
+                    }
+                    return null;
+                });
+            }
+            startedAt = System.nanoTime();
+            start.countDown(); // Release every worker at once
+        } // Closing the executor waits for all workers
+        if (engine instanceof AutoCloseable closeable) {
+            closeable.close(); // Include the final write-behind flush
+        }
+        double seconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+
+        int operations = threads * operationsPerThread;
+        System.out.printf("%-8s %8d %12d %12.1f%n", name, threads, operations, operations / seconds);
+        if (failures.get() > 0) {
+            System.out.println("  " + failures.get() + " reservations failed");
+        }
+    }
+
+    // Reserves one copy of a random book and releases it again
+    private static void reserveAndRelease(IInventoryService engine, List<Book> books, AtomicInteger failures) {
+        Book book = books.get(ThreadLocalRandom.current().nextInt(books.size()));
+        if (engine.reserveBooks(Map.of(book, 1))) {
+            engine.revertReservations(List.of(new CartItem(book.getBookId(), 1)));
+        } else {
+            failures.incrementAndGet();
+        }
+    }
+
+    // Inserts the given number of well-stocked books and returns them
+    private static List<Book> createBooks(int count) throws SQLException {
+        List<Book> books = new ArrayList<>();
+        String insertSQL = "INSERT INTO books (title, author, physical_copies, price, sold_copies) VALUES (?, ?, 1000000, 10, 0)";
+        try (Connection conn = Database.getInstance().getConnection();
+                PreparedStatement pstmt = conn.prepareStatement(insertSQL, PreparedStatement.RETURN_GENERATED_KEYS)) {
+            conn.setAutoCommit(false);
+            for (int i = 0; i < count; i++) {
+                String title = "Benchmark Book " + i;
+                pstmt.setString(1, title);
+                pstmt.setString(2, "Benchmark Author");
+                pstmt.executeUpdate();
+                try (ResultSet keys = pstmt.getGeneratedKeys()) {
+                    keys.next();
+                    books.add(new Book(keys.getInt(1), title, "Benchmark Author", 1000000, 10, 0));
+                }
+            }
+            conn.commit();
+        }
+        return books;
+    }
+}
@@ -0,0 +1,155 @@
+package com.beyourshelf.tools;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.beyourshelf.model.dao.database.Database;
+import com.beyourshelf.model.dao.database.DatabaseInitializer;
+import com.beyourshelf.model.dao.user.LoginProfile;
+import com.beyourshelf.model.dao.user.UserDAO;
+import com.beyourshelf.model.entity.CartChange;
+import com.beyourshelf.model.entity.LoginResult;
+import com.beyourshelf.model.entity.ShoppingCart;
+import com.beyourshelf.service.ServiceManager;
+import com.beyourshelf.service.cart.ICartService;
+import com.beyourshelf.service.user.IUserService;
+
+/**
+ * Command-line benchmark for login latency against a temporary SQLite
+ * database, for users whose carts hold 0, 10 and 100 lines.
+ *
+ * Two timings are reported per cart size. "authenticate" is the full
+ * UserService.authenticate call, including the bcrypt check. "queries" leaves
+ * bcrypt out and compares the database work of the previous login flow
+ * (user lookup twice, role lookup, cart lookup, cart version and cart lines)
+ * with the login profile query followed by the cart lines query.
+ *
+ * Usage, from the test classpath: {@code LoginLatencyBenchmark [iterations]}
+ */
+public class LoginLatencyBenchmark {
+
+    private static final int[] CART_SIZES = { 0, 10, 100 };
+    private static final String PASSWORD = "benchmark-password";
+    private static final int WARMUP_ITERATIONS = 5;
+
+    public static void main(String[] args) throws Exception {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+
+        // Point the application at a throwaway database before any DAO is touched
+        Path dbFile = Files.createTempFile("beyourshelf-login", ".db");
+        Path journalFile = Files.createTempFile("beyourshelf-login", ".log");
+        System.setProperty(Database.DB_URL_PROPERTY, "jdbc:sqlite:" + dbFile.toAbsolutePath());
+        System.setProperty(ServiceManager.STOCK_JOURNAL_PROPERTY, journalFile.toAbsolutePath().toString());
+
+        try {
+            DatabaseInitializer.initializeDatabase();
+            List<Integer> bookIds = createBooks(CART_SIZES[CART_SIZES.length - 1]);
+
+            ServiceManager services = ServiceManager.getInstance();
+            IUserService userService = services.getUserService();
+            ICartService cartService = services.getCartService();
+            UserDAO userDAO = new UserDAO();
+
+            System.out.printf("%-6s %-14s %10s %10s %10s%n", "lines", "measurement", "mean ms", "p50 ms", "p95 ms");
+            for (int cartSize : CART_SIZES) {
+                String username = "login-bench-" + cartSize;
+                createUserWithCart(username, bookIds.subList(0, cartSize), services);
+
+                long[] authenticate = measure(iterations, () -> {
+                    LoginResult result = userService.authenticate(username, PASSWORD);
+                    if (!result.isSuccess() || result.getCartLines().size() != cartSize) {
+                        throw new IllegalStateException("Unexpected login result for " + username);
+                    }
+                });
+                long[] previousQueries = measure(iterations, () -> {
+                    userDAO.getUserByUsername(username); // Read by validateUserLogin
+                    int userId = userDAO.getUserByUsername(username).getId(); // Not the cached service lookup
+                    userDAO.isAdminUser(username);
+                    int cartId = cartService.getOrCreateCart(userId);
+                    cartService.reloadCart(new ShoppingCart(userId, cartId)); // Cart version and lines
+                });
+                long[] profileQueries = measure(iterations, () -> {
+                    LoginProfile profile = userDAO.getLoginProfile(username);
+                    cartService.getCartWithBooks(profile.getCartId());
+                });
+
+                print(cartSize, "authenticate", authenticate);
+                print(cartSize, "queries before", previousQueries);
+                print(cartSize, "queries now", profileQueries);
+            }
+        } finally {
+            ServiceManager.shutdown();
+            Files.deleteIfExists(dbFile);
+            Files.deleteIfExists(journalFile);
+        }
+    }
+
+    // Runs the task after a warm-up and returns the sorted latencies in nanoseconds
+    private static long[] measure(int iterations, Runnable task) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            task.run();
+        }
+        long[] latencies = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            task.run();
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        return latencies;
+    }
+
+    // Prints the mean, median and 95th percentile of sorted latencies
+    private static void print(int cartSize, String measurement, long[] sortedNanos) {
+        double mean = Arrays.stream(sortedNanos).average().orElse(0) / 1_000_000.0;
+        double p50 = sortedNanos[sortedNanos.length / 2] / 1_000_000.0;
+        double p95 = sortedNanos[(int) Math.min(sortedNanos.length - 1, Math.ceil(sortedNanos.length * 0.95) - 1)]
+                / 1_000_000.0;
+        System.out.printf("%-6d %-14s %10.3f %10.3f %10.3f%n", cartSize, measurement, mean, p50, p95);
+    }
+
+    // Inserts the given number of books and returns their IDs
+    private static List<Integer> createBooks(int count) throws SQLException {
+        List<Integer> bookIds = new ArrayList<>();
+        String insertSQL = "INSERT INTO books (title, author, physical_copies, price, sold_copies) VALUES (?, ?, 100, 10, 0)";
+        try (Connection conn = Database.getInstance().getConnection();
+                PreparedStatement pstmt = conn.prepareStatement(insertSQL, PreparedStatement.RETURN_GENERATED_KEYS)) {
+            conn.setAutoCommit(false);
+            for (int i = 0; i < count; i++) {
+                pstmt.setString(1, "Benchmark Book " + i);
+                pstmt.setString(2, "Benchmark Author");
+                pstmt.executeUpdate();
+                try (ResultSet keys = pstmt.getGeneratedKeys()) {
+                    keys.next();
+                    bookIds.add(keys.getInt(1));
+                }
+            }
+            conn.commit();
+        }
+        return bookIds;
+    }
+
+    // Registers a user and fills their cart with one copy of each given book
+    private static void createUserWithCart(String username, List<Integer> bookIds, ServiceManager services) {
+        IUserService userService = services.getUserService();
+        ICartService cartService = services.getCartService();
+
+        userService.registerUser(username, "Login", "Benchmark", PASSWORD, false);
+        int userId = userService.getUserIdByUsername(username);
+        int cartId = cartService.getOrCreateCart(userId);
+        List<CartChange> changes = new ArrayList<>();
+        for (int bookId : bookIds) {
+            changes.add(CartChange.set(bookId, 1));
+        }
+        if (!changes.isEmpty()) {
+            cartService.applyCartChanges(cartId, changes);
+        }
+    }
+}
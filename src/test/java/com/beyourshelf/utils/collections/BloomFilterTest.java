@@ -0,0 +1,51 @@
+package com.beyourshelf.utils.collections;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTest {
+
+    @Test
+    void addedValuesAreAlwaysFound() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("user" + i);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("user" + i), "user" + i);
+        }
+    }
+
+    @Test
+    void falsePositiveRateIsNearTheTargetAtCapacity() {
+        int capacity = 10_000;
+        BloomFilter filter = new BloomFilter(capacity, 0.01);
+        for (int i = 0; i < capacity; i++) {
+            filter.add("taken-" + i);
+        }
+
+        int probes = 100_000;
+        int falsePositives = 0;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("free-" + i)) {
+                falsePositives++;
+            }
+        }
+        double rate = (double) falsePositives / probes;
+        assertTrue(rate > 0.005 && rate < 0.02, "False positive rate " + rate);
+    }
+
+    @Test
+    void reportsWhenFilledBeyondCapacity() {
+        BloomFilter filter = new BloomFilter(100, 0.01);
+        for (int i = 0; i < 100; i++) {
+            filter.add("user" + i);
+        }
+        assertFalse(filter.isOverCapacity());
+
+        filter.add("one more");
+        assertTrue(filter.isOverCapacity());
+    }
+}
@@ -0,0 +1,89 @@
+package com.beyourshelf.utils.collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class IntIntMapTest {
+
+    private static final int MISSING = -1;
+
+    @Test
+    void zeroKeyIsStoredSeparately() {
+        IntIntMap map = new IntIntMap();
+        assertFalse(map.containsKey(0));
+        assertEquals(MISSING, map.put(0, 5, MISSING));
+        assertEquals(5, map.put(0, 6, MISSING));
+        assertEquals(6, map.get(0, MISSING));
+        assertEquals(1, map.size());
+        assertEquals(6, map.remove(0, MISSING));
+        assertEquals(MISSING, map.remove(0, MISSING));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void removingFromCollidingChainKeepsOtherKeysReachable() {
+        IntIntMap map = new IntIntMap(4);
+        // A small table with many keys forces long probe chains that wrap around
+        for (int key = 1; key <= 100; key++) {
+            map.put(key, key * 10, MISSING);
+        }
+        for (int key = 1; key <= 100; key += 2) {
+            assertEquals(key * 10, map.remove(key, MISSING));
+        }
+        for (int key = 1; key <= 100; key++) {
+            assertEquals(key % 2 == 0 ? key * 10 : MISSING, map.get(key, MISSING));
+        }
+        assertEquals(50, map.size());
+    }
+
+    @Test
+    void clearKeepsMapUsable() {
+        IntIntMap map = new IntIntMap();
+        map.put(0, 1, MISSING);
+        map.put(7, 2, MISSING);
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertFalse(map.containsKey(7));
+        map.put(7, 3, MISSING);
+        assertEquals(3, map.get(7, MISSING));
+    }
+
+    @Test
+    void matchesHashMapUnderRandomOperations() {
+        Random random = new Random(42);
+        for (int round = 0; round < 20; round++) {
+            IntIntMap map = new IntIntMap();
+            Map<Integer, Integer> expected = new HashMap<>();
+            // A narrow key range makes updates and removals of existing keys common
+            int keyRange = 16 << round % 8;
+
+            for (int op = 0; op < 20_000; op++) {
+                int key = random.nextInt(keyRange) - keyRange / 8; // Includes zero and negative keys
+                switch (random.nextInt(4)) {
+                    case 0, 1 -> {
+                        int value = random.nextInt();
+                        Integer previous = expected.put(key, value);
+                        assertEquals(previous != null ? previous : MISSING, map.put(key, value, MISSING));
+                    }
+                    case 2 -> {
+                        Integer removed = expected.remove(key);
+                        assertEquals(removed != null ? removed : MISSING, map.remove(key, MISSING));
+                    }
+                    default -> assertEquals((int) expected.getOrDefault(key, MISSING), map.get(key, MISSING));
+                }
+                assertEquals(expected.size(), map.size());
+            }
+
+            Map<Integer, Integer> iterated = new HashMap<>();
+            map.forEach(iterated::put);
+            assertEquals(expected, iterated);
+        }
+    }
+}